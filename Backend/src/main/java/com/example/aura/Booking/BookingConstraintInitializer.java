@@ -0,0 +1,108 @@
+package com.example.aura.Booking;
+
+import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Crea en PostgreSQL la restricción EXCLUDE que impide solapes de reservas activas del mismo
+ * técnico. Es el respaldo de BookingEngine: el esquema lo genera Hibernate (ddl-auto), así que
+ * se crea al arrancar si aún no existe. Si hay solapes previos el arranque falla listándolos,
+ * para limpiarlos o desactivar la restricción con booking.exclusion-constraint.enabled=false.
+ * En otras bases de datos no hace nada.
+ */
+@Component
+@Slf4j
+public class BookingConstraintInitializer {
+
+    static final String CONSTRAINT_NAME = "reservation_no_technician_overlap";
+    private static final int MAX_REPORTED_OVERLAPS = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final long defaultDurationMinutes;
+
+    public BookingConstraintInitializer(
+            JdbcTemplate jdbcTemplate,
+            @Value("${booking.exclusion-constraint.enabled:true}") boolean enabled,
+            @Value("${booking.default-duration-minutes:60}") long defaultDurationMinutes
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.defaultDurationMinutes = defaultDurationMinutes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createExclusionConstraint() {
+        if (!enabled || !isPostgres() || constraintExists()) {
+            return;
+        }
+        List<String> overlaps = findOverlaps();
+        if (!overlaps.isEmpty()) {
+            log.error("❌ Reservas solapadas impiden crear {}:\n{}", CONSTRAINT_NAME, String.join("\n", overlaps));
+            throw new IllegalStateException(overlaps.size() + (overlaps.size() == MAX_REPORTED_OVERLAPS ? "+" : "")
+                    + " overlapping active reservations prevent creating " + CONSTRAINT_NAME
+                    + "; resolve them or set booking.exclusion-constraint.enabled=false");
+        }
+        // ADD CONSTRAINT bloquea la tabla mientras construye el índice: solo ocurre una vez
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS btree_gist");
+        jdbcTemplate.execute(constraintDdl());
+        log.info("📅 Restricción {} creada", CONSTRAINT_NAME);
+    }
+
+    // status se guarda como ordinal; end_time nulo en reservas antiguas ocupa la duración por defecto
+    String constraintDdl() {
+        return "ALTER TABLE reservation ADD CONSTRAINT " + CONSTRAINT_NAME + " EXCLUDE USING gist (" +
+                "technician_id WITH =, " + slotRange("") + " WITH &&" +
+                ") WHERE (status IN (" + blockingStatuses() + "))";
+    }
+
+    // Mismo rango y filtro que la restricción, para que un informe vacío garantice que se podrá crear
+    String overlapQuery() {
+        return "SELECT a.technician_id, a.reservation_id, b.reservation_id FROM reservation a JOIN reservation b " +
+                "ON a.technician_id = b.technician_id AND a.reservation_id < b.reservation_id " +
+                "AND " + slotRange("a.") + " && " + slotRange("b.") + " " +
+                "WHERE a.status IN (" + blockingStatuses() + ") AND b.status IN (" + blockingStatuses() + ") " +
+                "ORDER BY a.technician_id, a.reservation_id, b.reservation_id LIMIT " + MAX_REPORTED_OVERLAPS;
+    }
+
+    private boolean constraintExists() {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ? AND conrelid = 'reservation'::regclass)",
+                Boolean.class, CONSTRAINT_NAME);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    private List<String> findOverlaps() {
+        return jdbcTemplate.query(overlapQuery(), (rs, rowNum) ->
+                "técnico " + rs.getLong(1) + ": reservas " + rs.getLong(2) + " y " + rs.getLong(3));
+    }
+
+    private String slotRange(String alias) {
+        String start = alias + "service_date + " + alias + "start_time";
+        return "tsrange(" + start + ", " + start + " + GREATEST(" +
+                "COALESCE(" + alias + "end_time - " + alias + "start_time, interval '" + defaultDurationMinutes + " minutes'), " +
+                "interval '1 minute'))";
+    }
+
+    private static String blockingStatuses() {
+        return BookingEngine.BLOCKING_STATUSES.stream()
+                .map(ReservationStatus::ordinal)
+                .map(String::valueOf)
+                .collect(Collectors.joining(", "));
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return product != null && product.toLowerCase().contains("postgres");
+    }
+}
@@ -0,0 +1,377 @@
+package com.example.aura.Booking;
+
+import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+import com.example.aura.Entity.Reservation.Repository.ReservationHoldRepository;
+import com.example.aura.Entity.Reservation.Repository.ReservationRepository;
+import com.example.aura.Exception.ConflictException;
+import com.example.aura.Exception.InvalidOperationException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Detecta solapes de reservas por técnico y día sin transacciones SERIALIZABLE.
+ * Cada técnico-día tiene un índice de intervalos en memoria que se carga bajo demanda
+ * desde ReservationRepository; los locks se reparten en franjas por técnico para que
+ * reservas de técnicos distintos no compitan. La restricción EXCLUDE de PostgreSQL
+ * (BookingConstraintInitializer) cubre lo que el índice local no ve, p. ej. otros nodos.
+ * Las retenciones de checkout (reservation_hold) viven en el mismo índice con caducidad y
+ * se recargan desde la BD cuando el índice del día se descarta.
+ */
+@Component
+@Slf4j
+public class BookingEngine {
+
+    public static final Set<ReservationStatus> BLOCKING_STATUSES =
+            EnumSet.of(ReservationStatus.PENDING, ReservationStatus.CONFIRMED, ReservationStatus.IN_PROGRESS);
+
+    static final String EXCLUSION_VIOLATION = "23P01";
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationHoldRepository holdRepository;
+    private final ReentrantLock[] stripes;
+    private final int stripeMask;
+    private final Cache<TechnicianDay, TechnicianDayIndex> indexes;
+    private final Duration defaultDuration;
+    private final AtomicLong temporaryIds = new AtomicLong();
+
+    private final LongAdder holds = new LongAdder();
+    private final LongAdder checkoutHolds = new LongAdder();
+    private final LongAdder expiredHolds = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder warmups = new LongAdder();
+
+    public BookingEngine(
+            ReservationRepository reservationRepository,
+            ReservationHoldRepository holdRepository,
+            @Value("${booking.lock-stripes:256}") int lockStripes,
+            @Value("${booking.index.max-days:50000}") long maxIndexedDays,
+            @Value("${booking.index.idle-minutes:30}") long idleMinutes,
+            @Value("${booking.default-duration-minutes:60}") long defaultDurationMinutes
+    ) {
+        this.reservationRepository = reservationRepository;
+        this.holdRepository = holdRepository;
+        int size = Integer.highestOneBit(Math.max(1, lockStripes - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.stripeMask = size - 1;
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxIndexedDays)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .build();
+        this.defaultDuration = Duration.ofMinutes(defaultDurationMinutes);
+    }
+
+    /**
+     * Fin efectivo de la reserva: el indicado o inicio + duración por defecto. No se admiten
+     * reservas que crucen la medianoche.
+     */
+    public LocalTime resolveEnd(LocalTime start, LocalTime end) {
+        LocalTime resolved = end != null ? end : start.plus(defaultDuration);
+        if (!resolved.isAfter(start)) {
+            throw new InvalidOperationException("booking", "endTime must be after startTime on the same day");
+        }
+        return resolved;
+    }
+
+    /**
+     * Reserva [start, end) para el técnico si no solapa con otra reserva activa.
+     * replacedReservationId es la reserva que se está moviendo: su intervalo actual no cuenta
+     * como conflicto y se libera cuando la retención se confirma.
+     */
+    public BookingHold hold(Long technicianId, LocalDate date, LocalTime start, LocalTime end,
+                            TechnicianDay replacedDay, Long replacedReservationId) {
+        TechnicianDay day = new TechnicianDay(technicianId, date);
+        BookingSlot slot = new BookingSlot(temporaryIds.decrementAndGet(), start, end);
+
+        ReentrantLock lock = stripeFor(technicianId);
+        lock.lock();
+        try {
+            TechnicianDayIndex index = indexFor(day);
+            Optional<BookingSlot> conflict = index.findConflict(start, end, replacedReservationId, LocalDateTime.now());
+            if (conflict.isPresent()) {
+                throw conflict(technicianId, date, conflict.get());
+            }
+            index.add(slot);
+        } finally {
+            lock.unlock();
+        }
+        holds.increment();
+
+        return track(new BookingHold(this, day, slot, replacedDay, replacedReservationId, null));
+    }
+
+    public BookingHold hold(Long technicianId, LocalDate date, LocalTime start, LocalTime end) {
+        return hold(technicianId, date, start, end, null, null);
+    }
+
+    /**
+     * Retiene [start, end) durante un checkout hasta expiresAt sin insertar ninguna reserva.
+     * Ocupa agenda igual que una reserva hasta que vence, se cancela o se confirma con claimHold.
+     * Con transacción activa, un rollback la quita del índice.
+     */
+    public void placeHold(Long holdId, Long technicianId, LocalDate date, LocalTime start, LocalTime end,
+                          LocalDateTime expiresAt) {
+        TechnicianDay day = new TechnicianDay(technicianId, date);
+        long key = holdKey(holdId);
+        LocalDateTime now = LocalDateTime.now();
+
+        ReentrantLock lock = stripeFor(technicianId);
+        lock.lock();
+        try {
+            TechnicianDayIndex index = indexFor(day);
+            expiredHolds.add(index.purgeExpired(now));
+            // Si el índice se acaba de cargar ya incluye esta retención (insertada en la misma transacción)
+            Optional<BookingSlot> conflict = index.findConflict(start, end, key, now);
+            if (conflict.isPresent()) {
+                throw conflict(technicianId, date, conflict.get());
+            }
+            index.addHold(new BookingSlot(key, start, end), expiresAt);
+        } finally {
+            lock.unlock();
+        }
+        checkoutHolds.increment();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        removeNow(day, key);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Convierte una retención de checkout en la reserva que se va a insertar. Si sigue viva en el
+     * índice deja de caducar y no se vuelve a comprobar el solape; si el índice ya no la tiene
+     * se comprueba como una reserva nueva. Un rollback la devuelve a su estado anterior.
+     */
+    public BookingHold claimHold(Long holdId, Long technicianId, LocalDate date, LocalTime start, LocalTime end) {
+        TechnicianDay day = new TechnicianDay(technicianId, date);
+        long key = holdKey(holdId);
+        BookingSlot slot = new BookingSlot(key, start, end);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime heldUntil = null;
+
+        ReentrantLock lock = stripeFor(technicianId);
+        lock.lock();
+        try {
+            TechnicianDayIndex index = indexFor(day);
+            if (index.get(key) != null && index.isLive(key, now)) {
+                heldUntil = index.pin(key);
+            } else {
+                index.remove(key);
+                Optional<BookingSlot> conflict = index.findConflict(start, end, key, now);
+                if (conflict.isPresent()) {
+                    throw conflict(technicianId, date, conflict.get());
+                }
+                index.add(slot);
+            }
+        } finally {
+            lock.unlock();
+        }
+        holds.increment();
+
+        return track(new BookingHold(this, day, slot, null, null, heldUntil));
+    }
+
+    /**
+     * Indica si [start, end) está libre ahora mismo, sin retener nada. Es orientativo: la
+     * comprobación que cuenta es la de hold al reservar.
+     */
+    public boolean isFree(Long technicianId, LocalDate date, LocalTime start, LocalTime end) {
+        ReentrantLock lock = stripeFor(technicianId);
+        lock.lock();
+        try {
+            return indexFor(new TechnicianDay(technicianId, date))
+                    .findConflict(start, end, null, LocalDateTime.now())
+                    .isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Libera una retención de checkout cancelada. Con transacción activa espera al commit.
+     */
+    public void releaseHold(Long holdId, Long technicianId, LocalDate date) {
+        release(technicianId, date, holdKey(holdId));
+    }
+
+    /**
+     * Libera el intervalo de una reserva que deja de bloquear agenda (cancelada, rechazada,
+     * completada, eliminada). Con transacción activa espera al commit.
+     */
+    public void release(Long technicianId, LocalDate date, Long reservationId) {
+        TechnicianDay day = new TechnicianDay(technicianId, date);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removeNow(day, reservationId);
+                }
+            });
+        } else {
+            removeNow(day, reservationId);
+        }
+    }
+
+    /**
+     * Descarta el índice de un día que resultó estar desfasado (p. ej. la restricción de la BD
+     * detectó un solape que el índice local no conocía).
+     */
+    public void invalidate(Long technicianId, LocalDate date) {
+        TechnicianDay day = new TechnicianDay(technicianId, date);
+        ReentrantLock lock = stripeFor(technicianId);
+        lock.lock();
+        try {
+            indexes.invalidate(day);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public static boolean isOverlapViolation(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("indexedDays", indexes.estimatedSize());
+        result.put("lockStripes", stripes.length);
+        result.put("holds", holds.sum());
+        result.put("checkoutHolds", checkoutHolds.sum());
+        result.put("expiredHolds", expiredHolds.sum());
+        result.put("conflicts", conflicts.sum());
+        result.put("warmups", warmups.sum());
+        return result;
+    }
+
+    void complete(BookingHold hold, boolean committed) {
+        Long reservationId = hold.reservationId();
+        if (committed && reservationId != null && hold.replacedReservationId() != null) {
+            removeNow(hold.replacedDay(), hold.replacedReservationId());
+        }
+
+        TechnicianDay day = hold.day();
+        ReentrantLock lock = stripeFor(day.technicianId());
+        lock.lock();
+        try {
+            TechnicianDayIndex index = indexes.getIfPresent(day);
+            if (index == null) {
+                return;
+            }
+            if (committed && reservationId != null) {
+                index.rebind(hold.slot().reservationId(), reservationId);
+            } else if (hold.heldUntil() != null) {
+                index.addHold(hold.slot(), hold.heldUntil());
+            } else {
+                index.remove(hold.slot().reservationId());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Ids de retención en el extremo negativo: no chocan con los temporales (-1, -2, ...) ni con ids reales
+    static long holdKey(Long holdId) {
+        return Long.MIN_VALUE + holdId;
+    }
+
+    private BookingHold track(BookingHold hold) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    complete(hold, status == STATUS_COMMITTED);
+                }
+            });
+        }
+        return hold;
+    }
+
+    private ConflictException conflict(Long technicianId, LocalDate date, BookingSlot slot) {
+        conflicts.increment();
+        return new ConflictException(String.format(
+                "Technician %d is already booked on %s from %s to %s",
+                technicianId, date, slot.start(), slot.end()));
+    }
+
+    private void removeNow(TechnicianDay day, Long reservationId) {
+        if (day == null || reservationId == null) {
+            return;
+        }
+        ReentrantLock lock = stripeFor(day.technicianId());
+        lock.lock();
+        try {
+            TechnicianDayIndex index = indexes.getIfPresent(day);
+            if (index != null) {
+                index.remove(reservationId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Se llama con el lock de la franja tomado, así que la carga no compite con otra del mismo técnico
+    private TechnicianDayIndex indexFor(TechnicianDay day) {
+        TechnicianDayIndex index = indexes.getIfPresent(day);
+        if (index != null) {
+            return index;
+        }
+        index = new TechnicianDayIndex();
+        List<BookingSlot> slots = reservationRepository.findBookingSlots(day.technicianId(), day.date(), BLOCKING_STATUSES);
+        for (BookingSlot slot : slots) {
+            index.add(new BookingSlot(slot.reservationId(), slot.start(), resolveStoredEnd(slot)));
+        }
+        for (HeldSlot held : holdRepository.findHeldSlots(day.technicianId(), day.date(), LocalDateTime.now())) {
+            index.addHold(new BookingSlot(holdKey(held.holdId()), held.start(), held.end()), held.expiresAt());
+        }
+        indexes.put(day, index);
+        warmups.increment();
+        return index;
+    }
+
+    // Reservas antiguas sin endTime ocupan la duración por defecto, sin pasar de medianoche
+    private LocalTime resolveStoredEnd(BookingSlot slot) {
+        if (slot.end() != null && slot.end().isAfter(slot.start())) {
+            return slot.end();
+        }
+        LocalTime end = slot.start().plus(defaultDuration);
+        return end.isAfter(slot.start()) ? end : LocalTime.MAX;
+    }
+
+    private ReentrantLock stripeFor(Long technicianId) {
+        int hash = technicianId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & stripeMask];
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.aura.Booking;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * Intervalo retenido en el índice mientras se inserta la reserva. Con transacción activa
+ * se confirma tras el commit y se libera si hay rollback; sin transacción, attach lo confirma al momento.
+ * Si procede de una retención de checkout, heldUntil guarda su caducidad para restaurarla en el rollback.
+ */
+public final class BookingHold {
+
+    private final BookingEngine engine;
+    private final TechnicianDay day;
+    private final BookingSlot slot;
+    private final TechnicianDay replacedDay;
+    private final Long replacedReservationId;
+    private final LocalDateTime heldUntil;
+    private volatile Long reservationId;
+
+    BookingHold(BookingEngine engine, TechnicianDay day, BookingSlot slot,
+                TechnicianDay replacedDay, Long replacedReservationId, LocalDateTime heldUntil) {
+        this.engine = engine;
+        this.day = day;
+        this.slot = slot;
+        this.replacedDay = replacedDay;
+        this.replacedReservationId = replacedReservationId;
+        this.heldUntil = heldUntil;
+    }
+
+    public void attach(Long reservationId) {
+        this.reservationId = reservationId;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            engine.complete(this, true);
+        }
+    }
+
+    public TechnicianDay day() {
+        return day;
+    }
+
+    public BookingSlot slot() {
+        return slot;
+    }
+
+    TechnicianDay replacedDay() {
+        return replacedDay;
+    }
+
+    Long replacedReservationId() {
+        return replacedReservationId;
+    }
+
+    LocalDateTime heldUntil() {
+        return heldUntil;
+    }
+
+    Long reservationId() {
+        return reservationId;
+    }
+}
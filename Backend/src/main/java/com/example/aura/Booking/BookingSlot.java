@@ -0,0 +1,19 @@
+package com.example.aura.Booking;
+
+import java.time.LocalTime;
+
+/**
+ * Intervalo semiabierto [start, end) ocupado por una reserva del técnico.
+ * Las retenciones aún sin commit usan ids negativos temporales y las retenciones de checkout
+ * ids a partir de Long.MIN_VALUE (ver BookingEngine.holdKey).
+ */
+public record BookingSlot(Long reservationId, LocalTime start, LocalTime end) {
+
+    public boolean overlaps(LocalTime otherStart, LocalTime otherEnd) {
+        return start.isBefore(otherEnd) && otherStart.isBefore(end);
+    }
+
+    int durationSeconds() {
+        return end.toSecondOfDay() - start.toSecondOfDay();
+    }
+}
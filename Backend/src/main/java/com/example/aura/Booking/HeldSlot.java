@@ -0,0 +1,11 @@
+package com.example.aura.Booking;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Retención de checkout guardada en reservation_hold; se carga junto a las reservas al
+ * calentar el índice de un técnico-día.
+ */
+public record HeldSlot(Long holdId, LocalTime start, LocalTime end, LocalDateTime expiresAt) {
+}
@@ -0,0 +1,6 @@
+package com.example.aura.Booking;
+
+import java.time.LocalDate;
+
+public record TechnicianDay(Long technicianId, LocalDate date) {
+}
@@ -0,0 +1,118 @@
+package com.example.aura.Booking;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Reservas activas de un técnico en un día, ordenadas por inicio, más las retenciones de
+ * checkout, que llevan caducidad y dejan de contar en cuanto vence.
+ * No es thread-safe: BookingEngine solo lo usa con el lock de la franja del técnico.
+ */
+public final class TechnicianDayIndex {
+
+    private static final Comparator<BookingSlot> BY_START = Comparator
+            .comparing(BookingSlot::start)
+            .thenComparing(BookingSlot::reservationId);
+
+    private final NavigableSet<BookingSlot> slots = new TreeSet<>(BY_START);
+    private final Map<Long, BookingSlot> byReservation = new HashMap<>();
+    private final Map<Long, LocalDateTime> expiries = new HashMap<>();
+    private int longestSeconds;
+
+    /**
+     * Recorre hacia atrás los intervalos que empiezan antes de end y se detiene cuando
+     * ni el intervalo más largo del día podría alcanzar start. Las retenciones vencidas en now se ignoran.
+     */
+    public Optional<BookingSlot> findConflict(LocalTime start, LocalTime end, Long ignoredReservationId, LocalDateTime now) {
+        BookingSlot probe = new BookingSlot(Long.MIN_VALUE, end, end);
+        int startSecond = start.toSecondOfDay();
+        for (BookingSlot slot : slots.headSet(probe, false).descendingSet()) {
+            if (slot.overlaps(start, end) && !slot.reservationId().equals(ignoredReservationId)
+                    && isLive(slot.reservationId(), now)) {
+                return Optional.of(slot);
+            }
+            if (slot.start().toSecondOfDay() + longestSeconds <= startSecond) {
+                break;
+            }
+        }
+        return Optional.empty();
+    }
+
+    public void add(BookingSlot slot) {
+        BookingSlot previous = byReservation.put(slot.reservationId(), slot);
+        if (previous != null) {
+            slots.remove(previous);
+        }
+        slots.add(slot);
+        longestSeconds = Math.max(longestSeconds, slot.durationSeconds());
+    }
+
+    public void addHold(BookingSlot slot, LocalDateTime expiresAt) {
+        add(slot);
+        expiries.put(slot.reservationId(), expiresAt);
+    }
+
+    public boolean isLive(Long reservationId, LocalDateTime now) {
+        LocalDateTime expiresAt = expiries.get(reservationId);
+        return expiresAt == null || now.isBefore(expiresAt);
+    }
+
+    public BookingSlot get(Long reservationId) {
+        return byReservation.get(reservationId);
+    }
+
+    /**
+     * Quita la caducidad de una retención para que no venza mientras se convierte en reserva;
+     * devuelve la caducidad anterior para poder restaurarla si la conversión falla.
+     */
+    public LocalDateTime pin(Long reservationId) {
+        return expiries.remove(reservationId);
+    }
+
+    public int purgeExpired(LocalDateTime now) {
+        int purged = 0;
+        Iterator<Map.Entry<Long, LocalDateTime>> iterator = expiries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, LocalDateTime> entry = iterator.next();
+            if (!now.isBefore(entry.getValue())) {
+                iterator.remove();
+                BookingSlot slot = byReservation.remove(entry.getKey());
+                if (slot != null) {
+                    slots.remove(slot);
+                }
+                purged++;
+            }
+        }
+        return purged;
+    }
+
+    public BookingSlot remove(Long reservationId) {
+        expiries.remove(reservationId);
+        BookingSlot slot = byReservation.remove(reservationId);
+        if (slot != null) {
+            slots.remove(slot);
+        }
+        return slot;
+    }
+
+    /**
+     * Sustituye el id temporal de una retención por el id real de la reserva.
+     */
+    public void rebind(Long temporaryId, Long reservationId) {
+        BookingSlot slot = remove(temporaryId);
+        if (slot != null) {
+            add(new BookingSlot(reservationId, slot.start(), slot.end()));
+        }
+    }
+
+    public int size() {
+        return slots.size();
+    }
+}
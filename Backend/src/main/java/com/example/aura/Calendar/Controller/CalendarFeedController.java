@@ -0,0 +1,51 @@
+package com.example.aura.Calendar.Controller;
+
+import com.example.aura.Calendar.DTO.CalendarFeedUrlDTO;
+import com.example.aura.Calendar.Service.CalendarFeedService;
+import com.example.aura.Calendar.Service.CalendarFeedService.CalendarFeed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/api/calendar")
+@RequiredArgsConstructor
+public class CalendarFeedController {
+
+    private static final MediaType TEXT_CALENDAR = MediaType.parseMediaType("text/calendar;charset=UTF-8");
+
+    private final CalendarFeedService calendarFeedService;
+
+    // Público: lo consultan las apps de calendario sin JWT, autorizado por el token firmado
+    @GetMapping("/technicians/{technicianId}/feed.ics")
+    public ResponseEntity<String> getFeed(@PathVariable Long technicianId,
+                                          @RequestParam String token,
+                                          WebRequest request) {
+        CalendarFeed feed = calendarFeedService.getFeed(technicianId, token);
+        if (request.checkNotModified(feed.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(feed.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(TEXT_CALENDAR)
+                .body(feed.body());
+    }
+
+    @GetMapping("/feed-url")
+    @PreAuthorize("hasRole('TECHNICIAN')")
+    public ResponseEntity<CalendarFeedUrlDTO> getMyFeedUrl() {
+        return ResponseEntity.ok(calendarFeedService.getMyFeedUrl());
+    }
+
+    // Revoca la URL anterior (p. ej. si se filtró); también cierra los access tokens actuales
+    @PostMapping("/feed-url/rotate")
+    @PreAuthorize("hasRole('TECHNICIAN')")
+    public ResponseEntity<CalendarFeedUrlDTO> rotateMyFeedUrl() {
+        return ResponseEntity.ok(calendarFeedService.rotateMyFeedUrl());
+    }
+}
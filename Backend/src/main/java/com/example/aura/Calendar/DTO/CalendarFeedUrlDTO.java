@@ -0,0 +1,14 @@
+package com.example.aura.Calendar.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarFeedUrlDTO {
+    private String url;
+    private int pastDays;
+    private int futureDays;
+}
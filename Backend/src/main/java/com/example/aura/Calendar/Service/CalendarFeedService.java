@@ -0,0 +1,193 @@
+package com.example.aura.Calendar.Service;
+
+import com.example.aura.Calendar.DTO.CalendarFeedUrlDTO;
+import com.example.aura.Entity.Reservation.DTO.ReservationCalendarEntry;
+import com.example.aura.Entity.Reservation.Repository.ReservationRepository;
+import com.example.aura.Entity.Superuser.Domain.Superuser;
+import com.example.aura.Entity.Superuser.Repository.SuperuserRepository;
+import com.example.aura.Event.User.AccountChangedEvent;
+import com.example.aura.Exception.ForbiddenException;
+import com.example.aura.Exception.UnauthorizedException;
+import com.example.aura.Security.Service.CurrentAccountService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Feed iCalendar por técnico. El feed renderizado se guarda en memoria con un ETag fuerte
+ * derivado de la última modificación y del número de reservas de la ventana, así los
+ * sondeos sin cambios se responden con 304 sin consultar reservation. Los cambios de
+ * reservas lo invalidan tras el commit; el TTL acota lo que tarda en verse un cambio hecho
+ * en otro nodo o fuera de los eventos (nombres del cliente o del servicio).
+ * La URL se revoca rotándola, lo que sube la versión de tokens del técnico.
+ */
+@Service
+public class CalendarFeedService {
+
+    public record CalendarFeed(String etag, String body) {
+    }
+
+    private record FeedEntry(LocalDate from, CalendarFeed feed) {
+    }
+
+    private final ReservationRepository reservationRepository;
+    private final SuperuserRepository<Superuser> superuserRepository;
+    private final CurrentAccountService currentAccountService;
+    private final CalendarFeedSigner signer;
+    private final IcsRenderer renderer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int pastDays;
+    private final int futureDays;
+    private final Cache<Long, FeedEntry> cache;
+
+    private final LongAdder renders = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder rotations = new LongAdder();
+
+    public CalendarFeedService(
+            ReservationRepository reservationRepository,
+            SuperuserRepository<Superuser> superuserRepository,
+            CurrentAccountService currentAccountService,
+            CalendarFeedSigner signer,
+            IcsRenderer renderer,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${calendar.feed.past-days:30}") int pastDays,
+            @Value("${calendar.feed.future-days:180}") int futureDays,
+            @Value("${calendar.feed.cache.max-size:5000}") long maxSize,
+            @Value("${calendar.feed.cache.ttl-seconds:900}") long ttlSeconds
+    ) {
+        this.reservationRepository = reservationRepository;
+        this.superuserRepository = superuserRepository;
+        this.currentAccountService = currentAccountService;
+        this.signer = signer;
+        this.renderer = renderer;
+        this.eventPublisher = eventPublisher;
+        this.pastDays = pastDays;
+        this.futureDays = futureDays;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Devuelve el feed del técnico si el token firmado es válido. Solo consulta reservas si no
+     * hay feed en caché para la ventana de hoy.
+     */
+    public CalendarFeed getFeed(Long technicianId, String token) {
+        if (!signer.verify(technicianId, token)) {
+            rejected.increment();
+            throw new ForbiddenException("CalendarFeed", "read calendar feed of technician " + technicianId);
+        }
+        LocalDate from = LocalDate.now().minusDays(pastDays);
+        FeedEntry entry = cache.get(technicianId, id -> render(id, from));
+        if (!entry.from().equals(from)) {
+            // La ventana avanzó de día: se descarta solo si nadie la ha reemplazado ya
+            cache.asMap().remove(technicianId, entry);
+            entry = cache.get(technicianId, id -> render(id, from));
+        }
+        return entry.feed();
+    }
+
+    @Transactional(readOnly = true)
+    public CalendarFeedUrlDTO getMyFeedUrl() {
+        return feedUrl(currentAccountService.currentAccountId());
+    }
+
+    /**
+     * Invalida la URL actual del feed subiendo la versión de tokens del técnico y devuelve la
+     * nueva. Los access tokens emitidos antes también dejan de valer; los refresh tokens no, así
+     * que el cliente sigue con un /refresh.
+     */
+    @Transactional
+    public CalendarFeedUrlDTO rotateMyFeedUrl() {
+        Long technicianId = currentAccountService.currentAccountId();
+        if (superuserRepository.incrementTokenVersion(technicianId) == 0) {
+            throw new UnauthorizedException();
+        }
+        // AccountEventListener vacía TokenVersionCache y PrincipalCache tras el commit
+        eventPublisher.publishEvent(new AccountChangedEvent(this, technicianId,
+                currentAccountService.currentEmail(), "CALENDAR_FEED_ROTATED"));
+        rotations.increment();
+        return feedUrl(technicianId);
+    }
+
+    private CalendarFeedUrlDTO feedUrl(Long technicianId) {
+        long tokenVersion = superuserRepository.findActiveTokenVersionById(technicianId)
+                .orElseThrow(UnauthorizedException::new);
+        return new CalendarFeedUrlDTO(
+                "/api/calendar/technicians/" + technicianId + "/feed.ics?token=" + signer.sign(technicianId, tokenVersion),
+                pastDays,
+                futureDays
+        );
+    }
+
+    // Si la invalidación llega mientras se renderiza, Caffeine espera y descarta ese resultado
+    public void evict(Collection<Long> technicianIds) {
+        if (technicianIds.isEmpty()) {
+            return;
+        }
+        cache.invalidateAll(technicianIds);
+        invalidations.add(technicianIds.size());
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("pastDays", pastDays);
+        result.put("futureDays", futureDays);
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("renders", renders.sum());
+        result.put("invalidations", invalidations.sum());
+        result.put("rejectedTokens", rejected.sum());
+        result.put("rotations", rotations.sum());
+        return result;
+    }
+
+    private FeedEntry render(Long technicianId, LocalDate from) {
+        List<ReservationCalendarEntry> entries = reservationRepository.findCalendarEntries(
+                technicianId, from, from.plusDays(pastDays + futureDays));
+        LocalDateTime lastChange = entries.stream()
+                .map(ReservationCalendarEntry::updatedAt)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+        String body = renderer.render("Aura", entries);
+        renders.increment();
+        return new FeedEntry(from, new CalendarFeed(etag(technicianId, from, entries.size(), lastChange), body));
+    }
+
+    // Cambia con cualquier alta, baja o modificación dentro de la ventana y con el avance de la ventana
+    private static String etag(Long technicianId, LocalDate from, int count, LocalDateTime lastChange) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(
+                    (technicianId + "|" + from + "|" + count + "|" + lastChange).getBytes(StandardCharsets.UTF_8));
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
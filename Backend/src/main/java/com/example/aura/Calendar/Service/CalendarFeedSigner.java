@@ -0,0 +1,69 @@
+package com.example.aura.Calendar.Service;
+
+import com.example.aura.Security.Service.TokenVersionCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Firma las URLs del feed: token = versión de tokens del técnico + HMAC-SHA256 de
+ * (técnico, versión). Validar no toca la base salvo al caducar TokenVersionCache. Cualquier
+ * subida de la versión (rotar la URL del feed o un cambio de rol) invalida las URLs ya
+ * repartidas, igual que los access tokens.
+ */
+@Component
+public class CalendarFeedSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final TokenVersionCache tokenVersionCache;
+
+    public CalendarFeedSigner(
+            @Value("${calendar.feed.secret}") String secret,
+            TokenVersionCache tokenVersionCache
+    ) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.tokenVersionCache = tokenVersionCache;
+    }
+
+    public String sign(Long technicianId, long tokenVersion) {
+        return tokenVersion + "." + mac(technicianId, tokenVersion);
+    }
+
+    public boolean verify(Long technicianId, String token) {
+        if (token == null) {
+            return false;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return false;
+        }
+        long tokenVersion;
+        try {
+            tokenVersion = Long.parseLong(token.substring(0, dot));
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+        byte[] expected = mac(technicianId, tokenVersion).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = token.substring(dot + 1).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, actual) && tokenVersionCache.isCurrent(technicianId, tokenVersion);
+    }
+
+    private String mac(Long technicianId, long tokenVersion) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            byte[] digest = mac.doFinal(("calendar-feed:" + technicianId + ":" + tokenVersion).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HmacSHA256 not available", ex);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.aura.Calendar.Service;
+
+import com.example.aura.Entity.Reservation.DTO.ReservationCalendarEntry;
+import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Escribe un VCALENDAR (RFC 5545) con un VEVENT por reserva. Las horas se guardan sin zona;
+ * se interpretan en calendar.feed.time-zone y se emiten en UTC. DTSTAMP sale de updatedAt,
+ * así el mismo estado de reservas produce siempre los mismos bytes.
+ */
+@Component
+public class IcsRenderer {
+
+    private static final DateTimeFormatter UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final String CRLF = "\r\n";
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private final ZoneId zone;
+    private final Duration defaultDuration;
+
+    public IcsRenderer(
+            @Value("${calendar.feed.time-zone:}") String timeZone,
+            @Value("${booking.default-duration-minutes:60}") long defaultDurationMinutes
+    ) {
+        this.zone = timeZone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(timeZone);
+        this.defaultDuration = Duration.ofMinutes(defaultDurationMinutes);
+    }
+
+    public String render(String calendarName, List<ReservationCalendarEntry> entries) {
+        StringBuilder out = new StringBuilder(256 + entries.size() * 320);
+        line(out, "BEGIN:VCALENDAR");
+        line(out, "VERSION:2.0");
+        line(out, "PRODID:-//Aura//Technician Calendar//ES");
+        line(out, "CALSCALE:GREGORIAN");
+        line(out, "METHOD:PUBLISH");
+        line(out, "X-WR-CALNAME:" + escape(calendarName));
+        for (ReservationCalendarEntry entry : entries) {
+            LocalDateTime start = entry.serviceDate().atTime(entry.startTime());
+            LocalTime end = entry.endTime() != null ? entry.endTime() : entry.startTime().plus(defaultDuration);
+            LocalDateTime stamp = entry.updatedAt() != null ? entry.updatedAt() : start;
+            line(out, "BEGIN:VEVENT");
+            line(out, "UID:reservation-" + entry.id() + "@aura");
+            line(out, "DTSTAMP:" + utc(stamp));
+            line(out, "LAST-MODIFIED:" + utc(stamp));
+            line(out, "DTSTART:" + utc(start));
+            line(out, "DTEND:" + utc(entry.serviceDate().atTime(end)));
+            line(out, "SUMMARY:" + escape(entry.serviceName() + " - " + entry.userFirstName() + " " + entry.userLastName()));
+            if (entry.address() != null) {
+                line(out, "LOCATION:" + escape(entry.address()));
+            }
+            String description = "Reserva #" + entry.id() + " (" + entry.status() + ")";
+            if (entry.userPhone() != null) {
+                description += "\nTeléfono: " + entry.userPhone();
+            }
+            line(out, "DESCRIPTION:" + escape(description));
+            line(out, "STATUS:" + status(entry.status()));
+            line(out, "END:VEVENT");
+        }
+        line(out, "END:VCALENDAR");
+        return out.toString();
+    }
+
+    private String utc(LocalDateTime localDateTime) {
+        return localDateTime.atZone(zone).withZoneSameInstant(ZoneOffset.UTC).format(UTC);
+    }
+
+    private static String status(ReservationStatus status) {
+        return switch (status) {
+            case PENDING -> "TENTATIVE";
+            case CANCELLED, REJECTED, NO_SHOW -> "CANCELLED";
+            default -> "CONFIRMED";
+        };
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n");
+    }
+
+    // Plegado a 75 octetos sin partir caracteres UTF-8; cada continuación empieza con un espacio
+    private static void line(StringBuilder out, String content) {
+        int octets = 0;
+        int limit = MAX_LINE_OCTETS;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int size = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + size > limit) {
+                out.append(CRLF).append(' ');
+                octets = 0;
+                limit = MAX_LINE_OCTETS - 1;
+            }
+            out.appendCodePoint(codePoint);
+            octets += size;
+            i += Character.charCount(codePoint);
+        }
+        out.append(CRLF);
+    }
+}
@@ -7,7 +7,10 @@ import com.example.aura.Entity.Admin.Domain.Admin;
 import com.example.aura.Entity.Admin.Repository.AdminRepository;
 import com.example.aura.Entity.Certification.Domain.Certification;
 import com.example.aura.Entity.Certification.Repository.CertificationRepository;
+import com.example.aura.Entity.Superuser.Domain.Superuser;
+import com.example.aura.Entity.Superuser.Repository.SuperuserRepository;
 import com.example.aura.Event.Certification.CertificationValidatedEvent;
+import com.example.aura.Event.User.AccountChangedEvent;
 import com.example.aura.Exception.ConflictException;
 import com.example.aura.Exception.ResourceNotFoundException;
 import com.example.aura.Security.Domain.Role;
@@ -27,6 +30,7 @@ import java.util.stream.Collectors;
 public class AdminService {
 
     private final AdminRepository adminRepository;
+    private final SuperuserRepository<Superuser> superuserRepository;
     private final CertificationRepository certificationRepository;
     private final ModelMapper modelMapper;
     private final PasswordEncoder passwordEncoder;
@@ -85,8 +89,16 @@ public class AdminService {
         Admin admin = adminRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Admin", "id", id));
 
+        Role newRole = newAccessLevel == AccessLevel.SUPERADMIN ? Role.SUPERADMIN : Role.ADMIN;
+        boolean roleChanged = admin.getRole() != newRole;
+        admin.setRole(newRole);
         admin.setAccessLevel(newAccessLevel);
-        Admin updatedAdmin = adminRepository.save(admin);
+        Admin updatedAdmin = adminRepository.saveAndFlush(admin);
+        if (roleChanged) {
+            // UPDATE atómico tras el flush: los tokens emitidos con el rol anterior dejan de valer
+            superuserRepository.incrementTokenVersion(updatedAdmin.getId());
+        }
+        eventPublisher.publishEvent(new AccountChangedEvent(this, updatedAdmin.getId(), updatedAdmin.getEmail(), "UPDATED"));
         return mapToResponseDTO(updatedAdmin);
     }
 
@@ -100,6 +112,7 @@ public class AdminService {
         }
 
         adminRepository.delete(admin);
+        eventPublisher.publishEvent(new AccountChangedEvent(this, admin.getId(), admin.getEmail(), "DELETED"));
     }
 
     @Transactional
@@ -1,8 +1,17 @@
 package com.example.aura.Entity.Chat.Domain;
 
+import com.example.aura.Transition.TransitionTable;
+
 public enum ChatStatus {
     OPEN,
     CLOSED,
     ARCHIVED,
-    BLOCKED
-}
\ No newline at end of file
+    BLOCKED;
+
+    public static final TransitionTable<ChatStatus> TRANSITIONS = TransitionTable.of(ChatStatus.class)
+            .allow(OPEN, CLOSED, BLOCKED)
+            .allow(CLOSED, OPEN, BLOCKED)
+            .allow(ARCHIVED, OPEN, CLOSED, BLOCKED)
+            .allow(BLOCKED, OPEN)
+            .build();
+}
@@ -3,13 +3,27 @@ package com.example.aura.Entity.Chat.Repository;
 import com.example.aura.Entity.Chat.Domain.Chat;
 import com.example.aura.Entity.Chat.Domain.ChatStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ChatRepository extends JpaRepository<Chat, Long> {
     List<Chat> findByStatus(ChatStatus status);
     List<Chat> findByReservationId(Long reservationId);
     List<Chat> findByTicketId(Long ticketId);
+
+    @Query("SELECT c.status FROM Chat c WHERE c.id = :id")
+    Optional<ChatStatus> findStatusById(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Chat c SET c.status = :target WHERE c.id = :id AND c.status IN :sources")
+    int transition(@Param("id") Long id,
+                   @Param("sources") Collection<ChatStatus> sources,
+                   @Param("target") ChatStatus target);
 }
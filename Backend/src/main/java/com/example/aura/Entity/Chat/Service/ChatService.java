@@ -9,6 +9,7 @@ import com.example.aura.Entity.Reservation.Repository.ReservationRepository;
 import com.example.aura.Entity.SupportTicket.Domain.SupportTicket;
 import com.example.aura.Entity.SupportTicket.Repository.SupportTicketRepository;
 import com.example.aura.Exception.ResourceNotFoundException;
+import com.example.aura.Transition.StatusTransitionEngine;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,6 +24,7 @@ public class ChatService {
     private final ChatRepository chatRepository;
     private final ReservationRepository reservationRepository;
     private final SupportTicketRepository supportTicketRepository;
+    private final StatusTransitionEngine transitionEngine;
 
     @Transactional
     public Chat createChatForReservation(Long reservationId, ChatType chatType) {
@@ -86,29 +88,17 @@ public class ChatService {
 
     @Transactional
     public Chat updateChatStatus(Long id, ChatStatus status) {
-        Chat chat = chatRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Chat", "id", id));
-
-        chat.setStatus(status);
-        return chatRepository.save(chat);
+        return applyTransition(id, status);
     }
 
     @Transactional
     public Chat closeChat(Long id) {
-        Chat chat = chatRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Chat", "id", id));
-
-        chat.setStatus(ChatStatus.CLOSED);
-        return chatRepository.save(chat);
+        return applyTransition(id, ChatStatus.CLOSED);
     }
 
     @Transactional
     public Chat archiveChat(Long id) {
-        Chat chat = chatRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Chat", "id", id));
-
-        chat.setStatus(ChatStatus.ARCHIVED);
-        return chatRepository.save(chat);
+        return applyTransition(id, ChatStatus.ARCHIVED);
     }
 
     @Transactional
@@ -117,4 +107,12 @@ public class ChatService {
                 .orElseThrow(() -> new ResourceNotFoundException("Chat", "id", id));
         chatRepository.delete(chat);
     }
+
+    private Chat applyTransition(Long id, ChatStatus target) {
+        transitionEngine.apply("Chat", id, ChatStatus.TRANSITIONS, target,
+                sources -> chatRepository.transition(id, sources, target),
+                chatRepository::findStatusById).orThrow();
+        return chatRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Chat", "id", id));
+    }
 }
@@ -3,6 +3,7 @@ package com.example.aura.Entity.Message.Controller;
 import com.example.aura.Entity.Message.Domain.Message;
 import com.example.aura.Entity.Message.Domain.MessageType;
 import com.example.aura.Entity.Message.Service.MessageService;
+import com.example.aura.Pagination.CursorPage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -42,6 +43,15 @@ public class MessageController {
         return ResponseEntity.ok(response);
     }
 
+    // Historial paginado hacia atrás desde el mensaje más reciente
+    @GetMapping("/chat/{chatId}/scroll")
+    public ResponseEntity<CursorPage<Message>> scrollMessagesByChatId(
+            @PathVariable Long chatId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(messageService.scrollMessagesByChatId(chatId, cursor, size));
+    }
+
     @GetMapping("/sender/{senderId}")
     public ResponseEntity<List<Message>> getMessagesBySenderId(@PathVariable Long senderId) {
         List<Message> response = messageService.getMessagesBySenderId(senderId);
@@ -11,7 +11,9 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "message")
+@Table(name = "message", indexes = {
+        @Index(name = "idx_message_chat_sent", columnList = "chat_id, sent_at, message_id")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
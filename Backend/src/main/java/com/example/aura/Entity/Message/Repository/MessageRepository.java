@@ -2,9 +2,13 @@ package com.example.aura.Entity.Message.Repository;
 
 import com.example.aura.Entity.Message.Domain.Message;
 import com.example.aura.Entity.Message.Domain.MessageStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -13,4 +17,12 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     List<Message> findBySenderIdOrderBySentAtDesc(Long senderId);
     List<Message> findByReceiverIdOrderBySentAtDesc(Long receiverId);
     List<Message> findByReceiverIdAndMessageStatus(Long receiverId, MessageStatus status);
+
+    // Historial del chat de lo más reciente hacia atrás
+    @Query("SELECT m FROM Message m WHERE m.chat.id = :chatId AND (m.sentAt, m.id) < (:sortKey, :id) " +
+            "ORDER BY m.sentAt DESC, m.id DESC")
+    List<Message> scrollByChatId(@Param("chatId") Long chatId,
+                                 @Param("sortKey") LocalDateTime sortKey,
+                                 @Param("id") Long id,
+                                 Limit limit);
 }
@@ -9,6 +9,9 @@ import com.example.aura.Entity.Message.Repository.MessageRepository;
 import com.example.aura.Entity.Superuser.Domain.Superuser;
 import com.example.aura.Entity.Superuser.Repository.SuperuserRepository;
 import com.example.aura.Exception.ResourceNotFoundException;
+import com.example.aura.Pagination.Cursor;
+import com.example.aura.Pagination.CursorPage;
+import com.example.aura.Pagination.Keyset;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,6 +23,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class MessageService {
 
+    private static final Keyset<LocalDateTime> KEYSET = Keyset.dateTime("message.sentAt");
+
     private final MessageRepository messageRepository;
     private final ChatRepository chatRepository;
     private final SuperuserRepository<Superuser> superuserRepository;
@@ -61,6 +66,13 @@ public class MessageService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<Message> scrollMessagesByChatId(Long chatId, String cursor, int size) {
+        Cursor<LocalDateTime> position = KEYSET.decode(cursor);
+        return KEYSET.page(messageRepository.scrollByChatId(chatId, position.sortKey(), position.id(), KEYSET.limit(size)),
+                size, Message::getSentAt, Message::getId);
+    }
+
     @Transactional(readOnly = true)
     public List<Message> getMessagesBySenderId(Long senderId) {
         return messageRepository.findAll().stream()
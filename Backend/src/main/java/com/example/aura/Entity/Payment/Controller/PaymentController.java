@@ -4,6 +4,7 @@ import com.example.aura.Entity.Payment.DTO.PaymentRequestDTO;
 import com.example.aura.Entity.Payment.DTO.PaymentResponseDTO;
 import com.example.aura.Entity.Payment.Domain.PaymentStatus;
 import com.example.aura.Entity.Payment.Service.PaymentService;
+import com.example.aura.Pagination.CursorPage;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -63,6 +64,25 @@ public class PaymentController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/my/scroll")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'SUPERADMIN')")
+    public ResponseEntity<CursorPage<PaymentResponseDTO>> scrollMyPayments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(paymentService.scrollPaymentsForCurrentUser(cursor, size));
+    }
+
+    @GetMapping("/reservation/{reservationId}/scroll")
+    @PreAuthorize("hasAnyRole('USER', 'TECHNICIAN', 'ADMIN', 'SUPERADMIN')")
+    public ResponseEntity<CursorPage<PaymentResponseDTO>> scrollPaymentsByReservationId(
+            @PathVariable Long reservationId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(paymentService.scrollPaymentsByReservationId(reservationId, cursor, size));
+    }
+
     @GetMapping("/status/{status}")
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
     public ResponseEntity<List<PaymentResponseDTO>> getPaymentsByStatus(@PathVariable PaymentStatus status) {
@@ -13,7 +13,9 @@ import lombok.Setter;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "payment")
+@Table(name = "payment", indexes = {
+        @Index(name = "idx_payment_reservation_date", columnList = "reservation_id, payment_date, payment_id")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
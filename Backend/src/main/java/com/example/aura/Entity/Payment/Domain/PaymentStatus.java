@@ -1,9 +1,18 @@
 package com.example.aura.Entity.Payment.Domain;
 
+import com.example.aura.Transition.TransitionTable;
+
 public enum PaymentStatus {
     PENDING,
     COMPLETED,
     FAILED,
     REFUNDED,
-    CANCELLED
+    CANCELLED;
+
+    public static final TransitionTable<PaymentStatus> TRANSITIONS = TransitionTable.of(PaymentStatus.class)
+            .allow(COMPLETED, PENDING, FAILED)
+            .allow(FAILED, PENDING)
+            .allow(REFUNDED, COMPLETED)
+            .allow(CANCELLED, PENDING, FAILED)
+            .build();
 }
@@ -2,12 +2,19 @@ package com.example.aura.Entity.Payment.Repository;
 
 import com.example.aura.Entity.Payment.Domain.Payment;
 import com.example.aura.Entity.Payment.Domain.PaymentStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
@@ -15,4 +22,53 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     List<Payment> findByPaymentStatus(PaymentStatus status);
     Page<Payment> findByReservationUserId(Long userId, Pageable pageable);
     Page<Payment> findByReservationTechnicianServiceTechnicianId(Long technicianId, Pageable pageable);
+    List<Payment> findByReservationIdIn(Collection<Long> reservationIds);
+
+    // Keyset sobre (paymentDate, id); reserva y servicio vienen en el mismo SELECT para el mapeo
+    @Query("SELECT p FROM Payment p JOIN FETCH p.reservation r JOIN FETCH r.technicianService ts JOIN FETCH ts.service " +
+            "WHERE r.user.id = :userId " +
+            "AND (p.paymentDate, p.id) < (:sortKey, :id) ORDER BY p.paymentDate DESC, p.id DESC")
+    List<Payment> scrollByReservationUserId(@Param("userId") Long userId,
+                                            @Param("sortKey") LocalDate sortKey,
+                                            @Param("id") Long id,
+                                            Limit limit);
+
+    @Query("SELECT p FROM Payment p JOIN FETCH p.reservation r JOIN FETCH r.technicianService ts JOIN FETCH ts.service " +
+            "WHERE r.id = :reservationId " +
+            "AND (p.paymentDate, p.id) < (:sortKey, :id) ORDER BY p.paymentDate DESC, p.id DESC")
+    List<Payment> scrollByReservationId(@Param("reservationId") Long reservationId,
+                                        @Param("sortKey") LocalDate sortKey,
+                                        @Param("id") Long id,
+                                        Limit limit);
+
+    @Query("SELECT p.paymentStatus FROM Payment p WHERE p.id = :id")
+    Optional<PaymentStatus> findStatusById(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.paymentStatus = :target " +
+            "WHERE p.id = :id AND p.paymentStatus IN :sources")
+    int transition(@Param("id") Long id,
+                   @Param("sources") Collection<PaymentStatus> sources,
+                   @Param("target") PaymentStatus target);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.paymentStatus = :target, p.paymentDate = :paymentDate " +
+            "WHERE p.id = :id AND p.paymentStatus IN :sources")
+    int transitionWithDate(@Param("id") Long id,
+                           @Param("sources") Collection<PaymentStatus> sources,
+                           @Param("target") PaymentStatus target,
+                           @Param("paymentDate") LocalDate paymentDate);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.paymentStatus = :target " +
+            "WHERE p.id = :id AND p.paymentStatus IN :sources " +
+            "AND p.reservation.id IN (SELECT r.id FROM Reservation r WHERE r.user.id = :userId)")
+    int transitionForUser(@Param("id") Long id,
+                          @Param("userId") Long userId,
+                          @Param("sources") Collection<PaymentStatus> sources,
+                          @Param("target") PaymentStatus target);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Payment p WHERE p.reservation.id IN :reservationIds")
+    int deleteByReservationIds(@Param("reservationIds") Collection<Long> reservationIds);
 }
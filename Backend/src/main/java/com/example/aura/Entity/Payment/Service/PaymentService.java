@@ -11,8 +11,16 @@ import com.example.aura.Entity.Reservation.Domain.Reservation;
 import com.example.aura.Entity.Reservation.Repository.ReservationRepository;
 import com.example.aura.Entity.User.Domain.User;
 import com.example.aura.Entity.User.Repository.UserRepository;
+import com.example.aura.Event.Payment.PaymentChangedEvent;
 import com.example.aura.Event.Payment.PaymentCompletedEvent;
+import com.example.aura.Event.Reservation.ReservationChangedEvent;
 import com.example.aura.Exception.ResourceNotFoundException;
+import com.example.aura.Security.Domain.Role;
+import com.example.aura.Security.Service.CurrentAccountService;
+import com.example.aura.Pagination.Cursor;
+import com.example.aura.Pagination.CursorPage;
+import com.example.aura.Pagination.Keyset;
+import com.example.aura.Transition.StatusTransitionEngine;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
@@ -22,17 +30,24 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PaymentService {
 
+    private static final Keyset<LocalDate> KEYSET = Keyset.date("payment.paymentDate");
+
     private final PaymentRepository paymentRepository;
     private final ReservationRepository reservationRepository;
     private final UserRepository userRepository;
     private final ApplicationEventPublisher eventPublisher;
+    private final StatusTransitionEngine transitionEngine;
+    private final CurrentAccountService currentAccountService;
 
     @Transactional
     public PaymentResponseDTO createPayment(PaymentRequestDTO requestDTO) {
@@ -94,6 +109,29 @@ public class PaymentService {
                 .map(this::mapToResponseDTO);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<PaymentResponseDTO> scrollPaymentsForCurrentUser(String cursor, int size) {
+        Long userId = currentAccountService.currentAccountId();
+        Cursor<LocalDate> position = KEYSET.decode(cursor);
+        return KEYSET.page(paymentRepository.scrollByReservationUserId(userId, position.sortKey(), position.id(), KEYSET.limit(size)),
+                size, Payment::getPaymentDate, Payment::getId).map(this::mapToResponseDTO);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<PaymentResponseDTO> scrollPaymentsByReservationId(Long reservationId, String cursor, int size) {
+        Cursor<LocalDate> position = KEYSET.decode(cursor);
+        return KEYSET.page(paymentRepository.scrollByReservationId(reservationId, position.sortKey(), position.id(), KEYSET.limit(size)),
+                size, Payment::getPaymentDate, Payment::getId).map(this::mapToResponseDTO);
+    }
+
+    // Los ids que ya no existen se omiten
+    @Transactional(readOnly = true)
+    public List<PaymentResponseDTO> getPaymentsByIds(Collection<Long> ids) {
+        return paymentRepository.findAllById(ids).stream()
+                .map(this::mapToResponseDTO)
+                .collect(Collectors.toList());
+    }
+
     @Transactional(readOnly = true)
     public List<PaymentResponseDTO> getPaymentsByStatus(PaymentStatus status) {
         return paymentRepository.findByPaymentStatus(status).stream()
@@ -103,13 +141,9 @@ public class PaymentService {
 
     @Transactional
     public PaymentResponseDTO processPayment(Long id) {
-        Payment payment = paymentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Payment", "id", id));
-
-        payment.setPaymentStatus(PaymentStatus.COMPLETED);
-        payment.setPaymentDate(LocalDate.now());
+        Payment processedPayment = applyTransition(id, PaymentStatus.COMPLETED, sources ->
+                paymentRepository.transitionWithDate(id, sources, PaymentStatus.COMPLETED, LocalDate.now()));
 
-        Payment processedPayment = paymentRepository.save(payment);
         eventPublisher.publishEvent(new PaymentCompletedEvent(
                 this,
                 processedPayment.getId(),
@@ -123,35 +157,32 @@ public class PaymentService {
 
     @Transactional
     public PaymentResponseDTO failPayment(Long id) {
-        Payment payment = paymentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Payment", "id", id));
-
-        payment.setPaymentStatus(PaymentStatus.FAILED);
-        Payment failedPayment = paymentRepository.save(payment);
+        Payment failedPayment = applyTransition(id, PaymentStatus.FAILED, sources ->
+                paymentRepository.transition(id, sources, PaymentStatus.FAILED));
+        eventPublisher.publishEvent(new PaymentChangedEvent(this, List.of(id), "FAILED"));
         return mapToResponseDTO(failedPayment);
     }
 
     @Transactional
     public PaymentResponseDTO refundPayment(Long id) {
-        Payment payment = paymentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Payment", "id", id));
-
-        if (payment.getPaymentStatus() != PaymentStatus.COMPLETED) {
-            throw new IllegalStateException("Cannot refund a payment that is not completed");
-        }
-
-        payment.setPaymentStatus(PaymentStatus.REFUNDED);
-        Payment refundedPayment = paymentRepository.save(payment);
+        Payment refundedPayment = applyTransition(id, PaymentStatus.REFUNDED, sources ->
+                paymentRepository.transition(id, sources, PaymentStatus.REFUNDED));
+        eventPublisher.publishEvent(new PaymentChangedEvent(this, List.of(id), "REFUNDED"));
         return mapToResponseDTO(refundedPayment);
     }
 
     @Transactional
     public PaymentResponseDTO cancelPayment(Long id) {
-        Payment payment = paymentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Payment", "id", id));
-
-        payment.setPaymentStatus(PaymentStatus.CANCELLED);
-        Payment cancelledPayment = paymentRepository.save(payment);
+        Payment cancelledPayment;
+        if (currentAccountService.hasRole(Role.USER)) {
+            Long userId = currentAccountService.currentAccountId();
+            cancelledPayment = applyTransition(id, PaymentStatus.CANCELLED, sources ->
+                    paymentRepository.transitionForUser(id, userId, sources, PaymentStatus.CANCELLED));
+        } else {
+            cancelledPayment = applyTransition(id, PaymentStatus.CANCELLED, sources ->
+                    paymentRepository.transition(id, sources, PaymentStatus.CANCELLED));
+        }
+        eventPublisher.publishEvent(new PaymentChangedEvent(this, List.of(id), "CANCELLED"));
         return mapToResponseDTO(cancelledPayment);
     }
 
@@ -160,6 +191,9 @@ public class PaymentService {
         Payment payment = paymentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Payment", "id", id));
         paymentRepository.delete(payment);
+        eventPublisher.publishEvent(new ReservationChangedEvent(
+                this, List.of(payment.getReservation().getId()), "PAYMENT_DELETED"));
+        eventPublisher.publishEvent(new PaymentChangedEvent(this, List.of(id), "DELETED"));
     }
 
     private PaymentResponseDTO mapToResponseDTO(Payment payment) {
@@ -205,4 +239,11 @@ public class PaymentService {
                 payment.getPaymentStatus()
         );
     }
+
+    private Payment applyTransition(Long id, PaymentStatus target, ToIntFunction<Set<PaymentStatus>> guardedUpdate) {
+        transitionEngine.apply("Payment", id, PaymentStatus.TRANSITIONS, target,
+                guardedUpdate, paymentRepository::findStatusById).orThrow();
+        return paymentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Payment", "id", id));
+    }
 }
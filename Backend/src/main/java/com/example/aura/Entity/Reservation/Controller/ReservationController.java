@@ -1,16 +1,32 @@
 package com.example.aura.Entity.Reservation.Controller;
 
+import com.example.aura.Entity.Reservation.DTO.ArchivedReservation;
+import com.example.aura.Entity.Reservation.DTO.ReservationBulkActionDTO;
+import com.example.aura.Entity.Reservation.DTO.ReservationBulkResultDTO;
 import com.example.aura.Entity.Reservation.DTO.ReservationRequestDTO;
 import com.example.aura.Entity.Reservation.DTO.ReservationResponseDTO;
+import com.example.aura.Entity.Reservation.DTO.ReservationSearchCriteria;
+import com.example.aura.Entity.Reservation.Domain.ExportFormat;
+import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+import com.example.aura.Entity.Reservation.Service.ReservationExportService;
 import com.example.aura.Entity.Reservation.Service.ReservationService;
+import com.example.aura.Idempotency.Service.IdempotencyService;
+import com.example.aura.Idempotency.Service.IdempotencyService.IdempotentResponse;
+import com.example.aura.Pagination.CursorPage;
+import com.example.aura.Security.Service.CurrentAccountService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/reservations")
@@ -18,12 +34,25 @@ import org.springframework.web.bind.annotation.RequestParam;
 public class ReservationController {
 
     private final ReservationService reservationService;
+    private final IdempotencyService idempotencyService;
+    private final CurrentAccountService currentAccountService;
+    private final ReservationExportService reservationExportService;
 
     @PostMapping
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<ReservationResponseDTO> createReservation(@Valid @RequestBody ReservationRequestDTO requestDTO) {
-        ReservationResponseDTO response = reservationService.createReservation(requestDTO);
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    public ResponseEntity<ReservationResponseDTO> createReservation(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody ReservationRequestDTO requestDTO) {
+        if (idempotencyKey == null) {
+            ReservationResponseDTO response = reservationService.createReservation(requestDTO);
+            return new ResponseEntity<>(response, HttpStatus.CREATED);
+        }
+        IdempotentResponse<ReservationResponseDTO> response = idempotencyService.execute(
+                currentAccountService.currentAccountId(), idempotencyKey, requestDTO,
+                ReservationResponseDTO.class, () -> reservationService.createReservation(requestDTO));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IdempotencyService.REPLAYED_HEADER, String.valueOf(response.replayed()))
+                .body(response.body());
     }
 
     @GetMapping("/{id}")
@@ -33,6 +62,13 @@ public class ReservationController {
         return ResponseEntity.ok(response);
     }
 
+    // Incluye los pagos que se archivaron con la reserva
+    @GetMapping("/archive/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    public ResponseEntity<ArchivedReservation> getArchivedReservation(@PathVariable Long id) {
+        return ResponseEntity.ok(reservationService.getArchivedReservation(id));
+    }
+
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
     public ResponseEntity<Page<ReservationResponseDTO>> getAllReservations(
@@ -42,6 +78,20 @@ public class ReservationController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportReservations(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(required = false) ReservationStatus status,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        String filename = "reservations-" + LocalDate.now() + "." + format.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = outputStream -> reservationExportService.export(format, status, gzip, outputStream);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, gzip ? "application/gzip" : format.getContentType() + ";charset=UTF-8")
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
     @GetMapping("/user/{userId}")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'SUPERADMIN')")
     public ResponseEntity<Page<ReservationResponseDTO>> getReservationsByUserId(
@@ -80,6 +130,74 @@ public class ReservationController {
         return ResponseEntity.ok(response);
     }
 
+    // Variantes por cursor: sin COUNT ni OFFSET, "cursor" es el nextCursor de la respuesta anterior
+    @GetMapping("/scroll")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    public ResponseEntity<CursorPage<ReservationResponseDTO>> scrollAllReservations(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(reservationService.scrollAllReservations(cursor, size));
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    public ResponseEntity<CursorPage<ReservationResponseDTO>> searchReservations(
+            ReservationSearchCriteria criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(reservationService.searchReservations(criteria, cursor, size));
+    }
+
+    @GetMapping("/user/{userId}/scroll")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'SUPERADMIN')")
+    public ResponseEntity<CursorPage<ReservationResponseDTO>> scrollReservationsByUserId(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(reservationService.scrollReservationsByUserId(userId, cursor, size));
+    }
+
+    @GetMapping("/my/scroll")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<CursorPage<ReservationResponseDTO>> scrollMyReservations(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(reservationService.scrollMyReservations(cursor, size));
+    }
+
+    @GetMapping("/technician/{technicianId}/scroll")
+    @PreAuthorize("hasAnyRole('TECHNICIAN', 'ADMIN', 'SUPERADMIN')")
+    public ResponseEntity<CursorPage<ReservationResponseDTO>> scrollReservationsByTechnicianId(
+            @PathVariable Long technicianId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(reservationService.scrollReservationsByTechnicianId(technicianId, cursor, size));
+    }
+
+    @GetMapping("/my/technician/scroll")
+    @PreAuthorize("hasRole('TECHNICIAN')")
+    public ResponseEntity<CursorPage<ReservationResponseDTO>> scrollMyTechnicianReservations(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(reservationService.scrollMyTechnicianReservations(cursor, size));
+    }
+
+    @GetMapping("/status/{status}/scroll")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    public ResponseEntity<CursorPage<ReservationResponseDTO>> scrollReservationsByStatus(
+            @PathVariable ReservationStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(reservationService.scrollReservationsByStatus(status, cursor, size));
+    }
+
+    @PatchMapping("/bulk")
+    @PreAuthorize("hasAnyRole('TECHNICIAN', 'ADMIN', 'SUPERADMIN')")
+    public ResponseEntity<ReservationBulkResultDTO> applyBulkAction(@Valid @RequestBody ReservationBulkActionDTO requestDTO) {
+        ReservationBulkResultDTO response = reservationService.applyBulkAction(requestDTO);
+        return ResponseEntity.ok(response);
+    }
+
     @PatchMapping("/{id}/confirm")
     @PreAuthorize("hasRole('TECHNICIAN')")
     public ResponseEntity<ReservationResponseDTO> confirmReservation(@PathVariable Long id) {
@@ -0,0 +1,44 @@
+package com.example.aura.Entity.Reservation.Controller;
+
+import com.example.aura.Entity.Reservation.DTO.ReservationHoldResponseDTO;
+import com.example.aura.Entity.Reservation.DTO.ReservationRequestDTO;
+import com.example.aura.Entity.Reservation.DTO.ReservationResponseDTO;
+import com.example.aura.Entity.Reservation.Service.ReservationHoldService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reservations/holds")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('USER')")
+public class ReservationHoldController {
+
+    private final ReservationHoldService reservationHoldService;
+
+    @PostMapping
+    public ResponseEntity<ReservationHoldResponseDTO> createHold(@Valid @RequestBody ReservationRequestDTO requestDTO) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(reservationHoldService.createHold(requestDTO));
+    }
+
+    @GetMapping("/my")
+    public ResponseEntity<List<ReservationHoldResponseDTO>> getMyHolds() {
+        return ResponseEntity.ok(reservationHoldService.getMyHolds());
+    }
+
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<ReservationResponseDTO> confirmHold(@PathVariable Long id) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(reservationHoldService.confirmHold(id));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancelHold(@PathVariable Long id) {
+        reservationHoldService.cancelHold(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.aura.Entity.Reservation.Controller;
+
+import com.example.aura.Booking.BookingEngine;
+import com.example.aura.Calendar.Service.CalendarFeedService;
+import com.example.aura.Entity.Reservation.Service.ReservationArchiveService;
+import com.example.aura.Entity.Reservation.Service.ReservationExpiryService;
+import com.example.aura.Entity.Reservation.Service.ReservationHoldService;
+import com.example.aura.Entity.Reservation.Service.ReservationSeriesService;
+import com.example.aura.Entity.Reservation.Service.ReservationViewProjector;
+import com.example.aura.Entity.Reservation.Service.WaitlistService;
+import com.example.aura.Idempotency.Service.IdempotencyService;
+import com.example.aura.Sync.Service.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/dashboard/reservations")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+public class ReservationMetricsController {
+
+    private final BookingEngine bookingEngine;
+    private final IdempotencyService idempotencyService;
+    private final ReservationExpiryService reservationExpiryService;
+    private final ReservationViewProjector reservationViewProjector;
+    private final ReservationArchiveService reservationArchiveService;
+    private final ReservationSeriesService reservationSeriesService;
+    private final ReservationHoldService reservationHoldService;
+    private final WaitlistService waitlistService;
+    private final SyncService syncService;
+    private final CalendarFeedService calendarFeedService;
+
+    @GetMapping("/booking")
+    public ResponseEntity<Map<String, Object>> getBookingStats() {
+        return ResponseEntity.ok(bookingEngine.stats());
+    }
+
+    @GetMapping("/idempotency")
+    public ResponseEntity<Map<String, Object>> getIdempotencyStats() {
+        return ResponseEntity.ok(idempotencyService.stats());
+    }
+
+    @GetMapping("/expiry")
+    public ResponseEntity<Map<String, Object>> getExpiryStats() {
+        return ResponseEntity.ok(reservationExpiryService.stats());
+    }
+
+    @GetMapping("/view")
+    public ResponseEntity<Map<String, Object>> getViewStats() {
+        return ResponseEntity.ok(reservationViewProjector.stats());
+    }
+
+    // Backfill: reconstruye reservation_view en segundo plano; el progreso se consulta en /view
+    @PostMapping("/view/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildView() {
+        reservationViewProjector.startRebuild();
+        return ResponseEntity.accepted().body(reservationViewProjector.stats());
+    }
+
+    @GetMapping("/archive")
+    public ResponseEntity<Map<String, Object>> getArchiveStats() {
+        return ResponseEntity.ok(reservationArchiveService.stats());
+    }
+
+    @GetMapping("/series")
+    public ResponseEntity<Map<String, Object>> getSeriesStats() {
+        return ResponseEntity.ok(reservationSeriesService.stats());
+    }
+
+    @GetMapping("/holds")
+    public ResponseEntity<Map<String, Object>> getHoldStats() {
+        return ResponseEntity.ok(reservationHoldService.stats());
+    }
+
+    @GetMapping("/waitlist")
+    public ResponseEntity<Map<String, Object>> getWaitlistStats() {
+        return ResponseEntity.ok(waitlistService.stats());
+    }
+
+    @GetMapping("/sync")
+    public ResponseEntity<Map<String, Object>> getSyncStats() {
+        return ResponseEntity.ok(syncService.stats());
+    }
+
+    @GetMapping("/calendar")
+    public ResponseEntity<Map<String, Object>> getCalendarFeedStats() {
+        return ResponseEntity.ok(calendarFeedService.stats());
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.aura.Entity.Reservation.Controller;
+
+import com.example.aura.Entity.Reservation.DTO.ReservationOccurrenceDTO;
+import com.example.aura.Entity.Reservation.DTO.ReservationResponseDTO;
+import com.example.aura.Entity.Reservation.DTO.ReservationSeriesRequestDTO;
+import com.example.aura.Entity.Reservation.DTO.ReservationSeriesResponseDTO;
+import com.example.aura.Entity.Reservation.Service.ReservationSeriesService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reservations/series")
+@RequiredArgsConstructor
+public class ReservationSeriesController {
+
+    private final ReservationSeriesService reservationSeriesService;
+
+    @PostMapping
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<ReservationSeriesResponseDTO> createSeries(@Valid @RequestBody ReservationSeriesRequestDTO requestDTO) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(reservationSeriesService.createSeries(requestDTO));
+    }
+
+    @GetMapping("/my")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<List<ReservationSeriesResponseDTO>> getMySeries() {
+        return ResponseEntity.ok(reservationSeriesService.getMySeries());
+    }
+
+    @GetMapping("/my/occurrences")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<List<ReservationOccurrenceDTO>> getMyOccurrences(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(reservationSeriesService.getMyOccurrences(from, to));
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('USER', 'TECHNICIAN', 'ADMIN', 'SUPERADMIN')")
+    public ResponseEntity<ReservationSeriesResponseDTO> getSeries(@PathVariable Long id) {
+        return ResponseEntity.ok(reservationSeriesService.getSeries(id));
+    }
+
+    @GetMapping("/{id}/occurrences")
+    @PreAuthorize("hasAnyRole('USER', 'TECHNICIAN', 'ADMIN', 'SUPERADMIN')")
+    public ResponseEntity<List<ReservationOccurrenceDTO>> getOccurrences(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(reservationSeriesService.getOccurrences(id, from, to));
+    }
+
+    // Después se modifica o cancela con los endpoints normales de /api/reservations/{id}
+    @PostMapping("/{id}/occurrences/{date}")
+    @PreAuthorize("hasAnyRole('USER', 'TECHNICIAN')")
+    public ResponseEntity<ReservationResponseDTO> materializeOccurrence(
+            @PathVariable Long id,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(reservationSeriesService.materializeOccurrence(id, date));
+    }
+
+    @PatchMapping("/{id}/occurrences/{date}/confirm")
+    @PreAuthorize("hasRole('TECHNICIAN')")
+    public ResponseEntity<ReservationResponseDTO> confirmOccurrence(
+            @PathVariable Long id,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(reservationSeriesService.confirmOccurrence(id, date));
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'SUPERADMIN')")
+    public ResponseEntity<ReservationSeriesResponseDTO> cancelSeries(@PathVariable Long id) {
+        return ResponseEntity.ok(reservationSeriesService.cancelSeries(id));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.aura.Entity.Reservation.Controller;
+
+import com.example.aura.Entity.Reservation.DTO.ReservationRequestDTO;
+import com.example.aura.Entity.Reservation.DTO.WaitlistEntryResponseDTO;
+import com.example.aura.Entity.Reservation.Service.WaitlistService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reservations/waitlist")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('USER')")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    @PostMapping
+    public ResponseEntity<WaitlistEntryResponseDTO> join(@Valid @RequestBody ReservationRequestDTO requestDTO) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(waitlistService.join(requestDTO));
+    }
+
+    @GetMapping("/my")
+    public ResponseEntity<List<WaitlistEntryResponseDTO>> getMyEntries() {
+        return ResponseEntity.ok(waitlistService.getMyEntries());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> leave(@PathVariable Long id) {
+        waitlistService.leave(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.aura.Entity.Reservation.DTO;
+
+import com.example.aura.Entity.Payment.Domain.Payment;
+import com.example.aura.Entity.Payment.Domain.PaymentMethod;
+import com.example.aura.Entity.Payment.Domain.PaymentStatus;
+
+import java.time.LocalDate;
+
+public record ArchivedPayment(
+        Long id,
+        Double amount,
+        LocalDate paymentDate,
+        PaymentMethod paymentMethod,
+        PaymentStatus paymentStatus
+) {
+
+    public static ArchivedPayment from(Payment payment) {
+        return new ArchivedPayment(payment.getId(), payment.getAmount(), payment.getPaymentDate(),
+                payment.getPaymentMethod(), payment.getPaymentStatus());
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.aura.Entity.Reservation.DTO;
+
+import java.util.List;
+
+/**
+ * Contenido archivado de una reserva: la reserva tal como estaba al archivarse y sus pagos.
+ */
+public record ArchivedReservation(
+        ReservationRow reservation,
+        List<ArchivedPayment> payments
+) {
+}
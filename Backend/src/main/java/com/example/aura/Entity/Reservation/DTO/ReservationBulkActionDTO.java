@@ -0,0 +1,24 @@
+package com.example.aura.Entity.Reservation.DTO;
+
+import com.example.aura.Entity.Reservation.Domain.ReservationBulkAction;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationBulkActionDTO {
+
+    @NotNull(message = "Action is required")
+    private ReservationBulkAction action;
+
+    @NotEmpty(message = "At least one reservation ID is required")
+    @Size(max = 200, message = "At most 200 reservations can be updated at once")
+    private List<@NotNull Long> reservationIds;
+}
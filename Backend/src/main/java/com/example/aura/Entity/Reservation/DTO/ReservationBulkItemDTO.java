@@ -0,0 +1,20 @@
+package com.example.aura.Entity.Reservation.DTO;
+
+import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+import com.example.aura.Transition.TransitionResult;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationBulkItemDTO {
+
+    private Long reservationId;
+
+    private TransitionResult.Outcome outcome;
+
+    // Estado tras la operación; null si la reserva no existe o no pertenece al técnico
+    private ReservationStatus status;
+}
@@ -0,0 +1,22 @@
+package com.example.aura.Entity.Reservation.DTO;
+
+import com.example.aura.Entity.Reservation.Domain.ReservationBulkAction;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationBulkResultDTO {
+
+    private ReservationBulkAction action;
+
+    private Integer requested;
+
+    private Integer applied;
+
+    private List<ReservationBulkItemDTO> results;
+}
@@ -0,0 +1,25 @@
+package com.example.aura.Entity.Reservation.DTO;
+
+import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Lo justo para pintar una reserva en el calendario del técnico; sin pagos ni reseñas.
+ */
+public record ReservationCalendarEntry(
+        Long id,
+        LocalDate serviceDate,
+        LocalTime startTime,
+        LocalTime endTime,
+        String address,
+        ReservationStatus status,
+        LocalDateTime updatedAt,
+        String serviceName,
+        String userFirstName,
+        String userLastName,
+        String userPhone
+) {
+}
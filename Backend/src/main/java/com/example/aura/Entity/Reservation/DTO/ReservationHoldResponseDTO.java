@@ -0,0 +1,24 @@
+package com.example.aura.Entity.Reservation.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationHoldResponseDTO {
+    private Long id;
+    private Long userId;
+    private Long technicianId;
+    private Long serviceId;
+    private LocalDate serviceDate;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private String address;
+    private LocalDateTime expiresAt;
+}
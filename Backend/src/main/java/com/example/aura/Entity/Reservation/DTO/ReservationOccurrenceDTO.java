@@ -0,0 +1,35 @@
+package com.example.aura.Entity.Reservation.DTO;
+
+import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Ocurrencia de una serie en una ventana de calendario. PROJECTED sale solo de la regla;
+ * MATERIALIZED ya es una reserva (reservationId y status); SKIPPED es una fecha que el job no
+ * pudo reservar porque el técnico estaba ocupado.
+ */
+public record ReservationOccurrenceDTO(
+        Long seriesId,
+        LocalDate occurrenceDate,
+        Long reservationId,
+        LocalDate serviceDate,
+        LocalTime startTime,
+        LocalTime endTime,
+        ReservationStatus status,
+        State state
+) {
+
+    public enum State {
+        PROJECTED,
+        MATERIALIZED,
+        SKIPPED
+    }
+
+    // Usado por la consulta JPQL de las ocurrencias ya materializadas
+    public ReservationOccurrenceDTO(Long seriesId, LocalDate occurrenceDate, Long reservationId, LocalDate serviceDate,
+                                    LocalTime startTime, LocalTime endTime, ReservationStatus status) {
+        this(seriesId, occurrenceDate, reservationId, serviceDate, startTime, endTime, status, State.MATERIALIZED);
+    }
+}
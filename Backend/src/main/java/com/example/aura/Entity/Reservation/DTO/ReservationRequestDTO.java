@@ -29,6 +29,9 @@ public class ReservationRequestDTO {
     @NotNull(message = "Start time is required")
     private LocalTime startTime;
 
+    // Opcional: si falta se usa la duración por defecto de booking.default-duration-minutes
+    private LocalTime endTime;
+
     @NotBlank(message = "Address is required")
     @Size(max = 255, message = "Address must not exceed 255 characters")
     private String address;
@@ -0,0 +1,79 @@
+package com.example.aura.Entity.Reservation.DTO;
+
+import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+import com.example.aura.Entity.Service.Domain.ServiceCategory;
+import com.example.aura.Security.Domain.Role;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Fila plana construida por ReservationRepository con un único SELECT
+ * (usuario, técnico, servicio, suma de pagos y existencia de reseña ya resueltos en SQL).
+ */
+public record ReservationRow(
+        Long id,
+        Long userId,
+        String userFirstName,
+        String userLastName,
+        String userEmail,
+        String userPhone,
+        Role userRole,
+        Boolean userEnabled,
+        LocalDate userRegisterDate,
+        Long technicianId,
+        String technicianFirstName,
+        String technicianLastName,
+        String technicianEmail,
+        String technicianPhone,
+        String technicianDescription,
+        Role technicianRole,
+        Boolean technicianEnabled,
+        LocalDate technicianRegisterDate,
+        Long serviceId,
+        String serviceName,
+        String serviceDescription,
+        ServiceCategory serviceCategory,
+        Double serviceSuggestedPrice,
+        Double technicianBaseRate,
+        LocalDate reservationDate,
+        LocalDate serviceDate,
+        LocalTime startTime,
+        LocalTime endTime,
+        String address,
+        ReservationStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Double paymentTotal,
+        Boolean hasReview
+) {
+
+    public ReservationResponseDTO toResponseDTO() {
+        ReservationParticipantDTO user = new ReservationParticipantDTO(
+                userId, userFirstName, userLastName, userEmail, userPhone,
+                null, null, null,
+                userRole != null ? userRole.name() : null,
+                userEnabled,
+                userRegisterDate != null ? userRegisterDate.atStartOfDay() : null
+        );
+        ReservationParticipantDTO technician = new ReservationParticipantDTO(
+                technicianId, technicianFirstName, technicianLastName, technicianEmail, technicianPhone,
+                technicianDescription, 0.0, 0L,
+                technicianRole != null ? technicianRole.name() : null,
+                technicianEnabled,
+                technicianRegisterDate != null ? technicianRegisterDate.atStartOfDay() : null
+        );
+        ReservationServiceDTO service = new ReservationServiceDTO(
+                serviceId, serviceName, serviceDescription, serviceCategory, serviceSuggestedPrice
+        );
+
+        Double finalPrice = paymentTotal != null && paymentTotal > 0 ? paymentTotal : technicianBaseRate;
+
+        return new ReservationResponseDTO(
+                id, user, technician, service, technicianBaseRate,
+                reservationDate, serviceDate, startTime, endTime, address, status,
+                createdAt, updatedAt, finalPrice, Boolean.TRUE.equals(hasReview)
+        );
+    }
+}
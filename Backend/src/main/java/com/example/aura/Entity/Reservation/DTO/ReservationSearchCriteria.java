@@ -0,0 +1,39 @@
+package com.example.aura.Entity.Reservation.DTO;
+
+import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+import com.example.aura.Entity.Service.Domain.ServiceCategory;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Filtros de la búsqueda de reservas; los nulos o vacíos no se aplican.
+ * El precio es el final de la reserva: total pagado o, si no hay pagos, la tarifa base.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationSearchCriteria {
+
+    private Set<ReservationStatus> statuses;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    private ServiceCategory category;
+
+    private Long technicianId;
+
+    private Long userId;
+
+    private Double minPrice;
+
+    private Double maxPrice;
+}
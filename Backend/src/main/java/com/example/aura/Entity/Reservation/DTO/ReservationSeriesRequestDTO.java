@@ -0,0 +1,54 @@
+package com.example.aura.Entity.Reservation.DTO;
+
+import com.example.aura.Entity.Reservation.Domain.RecurrenceFrequency;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationSeriesRequestDTO {
+
+    @NotNull(message = "Technician ID is required")
+    private Long technicianId;
+
+    @NotNull(message = "Service ID is required")
+    private Long serviceId;
+
+    @NotNull(message = "Frequency is required")
+    private RecurrenceFrequency frequency;
+
+    @Min(value = 1, message = "Interval must be at least 1")
+    @Max(value = 12, message = "Interval must not exceed 12")
+    private Integer interval = 1;
+
+    @NotNull(message = "Start date is required")
+    @FutureOrPresent(message = "Start date must be today or later")
+    private LocalDate startDate;
+
+    // Opcionales: sin fecha final ni número de ocurrencias la serie no termina
+    private LocalDate endDate;
+
+    @Min(value = 1, message = "Occurrences must be at least 1")
+    @Max(value = 520, message = "Occurrences must not exceed 520")
+    private Integer occurrences;
+
+    @NotNull(message = "Start time is required")
+    private LocalTime startTime;
+
+    private LocalTime endTime;
+
+    @NotBlank(message = "Address is required")
+    @Size(max = 255, message = "Address must not exceed 255 characters")
+    private String address;
+}
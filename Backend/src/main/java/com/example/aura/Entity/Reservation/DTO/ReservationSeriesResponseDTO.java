@@ -0,0 +1,32 @@
+package com.example.aura.Entity.Reservation.DTO;
+
+import com.example.aura.Entity.Reservation.Domain.RecurrenceFrequency;
+import com.example.aura.Entity.Reservation.Domain.ReservationSeriesStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationSeriesResponseDTO {
+    private Long id;
+    private Long userId;
+    private Long technicianId;
+    private Long serviceId;
+    private RecurrenceFrequency frequency;
+    private Integer interval;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer occurrences;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private String address;
+    private ReservationSeriesStatus status;
+    private LocalDate materializedThrough;
+    private LocalDateTime createdAt;
+}
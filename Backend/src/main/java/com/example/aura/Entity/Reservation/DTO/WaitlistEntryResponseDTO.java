@@ -0,0 +1,28 @@
+package com.example.aura.Entity.Reservation.DTO;
+
+import com.example.aura.Entity.Reservation.Domain.WaitlistStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntryResponseDTO {
+    private Long id;
+    private Long technicianId;
+    private Long serviceId;
+    private LocalDate serviceDate;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private String address;
+    private WaitlistStatus status;
+    // Entradas por delante en la cola del técnico-día; solo mientras espera
+    private Long position;
+    private Long reservationId;
+    private LocalDateTime createdAt;
+}
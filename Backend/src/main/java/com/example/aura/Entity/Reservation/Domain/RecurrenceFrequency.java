@@ -0,0 +1,18 @@
+package com.example.aura.Entity.Reservation.Domain;
+
+import java.time.temporal.ChronoUnit;
+
+public enum RecurrenceFrequency {
+    WEEKLY(ChronoUnit.WEEKS),
+    MONTHLY(ChronoUnit.MONTHS);
+
+    private final ChronoUnit unit;
+
+    RecurrenceFrequency(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public ChronoUnit getUnit() {
+        return unit;
+    }
+}
@@ -22,7 +22,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "reservation")
+@Table(name = "reservation", indexes = {
+        @Index(name = "idx_reservation_user_created", columnList = "user_id, created_at, reservation_id"),
+        @Index(name = "idx_reservation_technician_created", columnList = "technician_id, created_at, reservation_id"),
+        @Index(name = "idx_reservation_technician_service_date", columnList = "technician_id, service_date"),
+        @Index(name = "idx_reservation_status_service_date", columnList = "status, service_date, reservation_id")
+}, uniqueConstraints = {
+        // Una ocurrencia de una serie se materializa como mucho una vez
+        @UniqueConstraint(name = "uk_reservation_series_occurrence", columnNames = {"series_id", "occurrence_date"})
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -70,6 +78,14 @@ public class Reservation {
     })
     private TechnicianService technicianService;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "series_id")
+    private ReservationSeries series;
+
+    // Fecha de la regla que originó la reserva; se conserva aunque se cambie serviceDate
+    @Column(name = "occurrence_date")
+    private LocalDate occurrenceDate;
+
     @OneToMany(mappedBy = "reservation", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Payment> payments = new ArrayList<>();
 
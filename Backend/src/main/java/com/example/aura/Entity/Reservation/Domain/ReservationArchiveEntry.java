@@ -0,0 +1,62 @@
+package com.example.aura.Entity.Reservation.Domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Reserva archivada por ReservationArchiveService: columnas para filtrar y la reserva con sus
+ * pagos como JSON comprimido. Vive en la base de datos, así que cualquier nodo la lee y se
+ * respalda con el resto de datos.
+ */
+@Entity
+@Table(name = "reservation_archive")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ReservationArchiveEntry implements Persistable<Long> {
+
+    @Id
+    @Column(name = "reservation_id")
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "technician_id", nullable = false)
+    private Long technicianId;
+
+    @Column(name = "service_date", nullable = false)
+    private LocalDate serviceDate;
+
+    @Column(name = "status", length = 20, nullable = false)
+    private ReservationStatus status;
+
+    // ArchivedReservation en JSON y gzip; bytea en PostgreSQL
+    @Column(name = "payload", nullable = false, length = 1_048_576)
+    private byte[] payload;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    @Transient
+    private boolean fresh = true;
+
+    @Override
+    public boolean isNew() {
+        return fresh;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        fresh = false;
+    }
+}
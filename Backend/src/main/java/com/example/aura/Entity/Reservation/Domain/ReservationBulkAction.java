@@ -0,0 +1,14 @@
+package com.example.aura.Entity.Reservation.Domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ReservationBulkAction {
+    CONFIRM(ReservationStatus.CONFIRMED),
+    REJECT(ReservationStatus.REJECTED),
+    CANCEL(ReservationStatus.CANCELLED);
+
+    private final ReservationStatus target;
+}
@@ -0,0 +1,69 @@
+package com.example.aura.Entity.Reservation.Domain;
+
+import com.example.aura.Entity.TechnicianService.Domain.TechnicianService;
+import com.example.aura.Entity.User.Domain.User;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Retención temporal de una franja mientras el cliente completa el checkout. No es una
+ * reserva: al confirmarse se inserta la fila de reservation y esta se borra. Las vencidas
+ * dejan de contar en cuanto pasa expires_at y un job las elimina después.
+ */
+@Entity
+@Table(name = "reservation_hold", indexes = {
+        @Index(name = "idx_reservation_hold_technician_date", columnList = "technician_id, service_date"),
+        @Index(name = "idx_reservation_hold_user", columnList = "user_id, expires_at"),
+        @Index(name = "idx_reservation_hold_expires", columnList = "expires_at")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ReservationHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "hold_id")
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumns({
+            @JoinColumn(name = "technician_id", referencedColumnName = "technician_id"),
+            @JoinColumn(name = "service_id", referencedColumnName = "service_id")
+    })
+    private TechnicianService technicianService;
+
+    @Column(name = "service_date", nullable = false)
+    private LocalDate serviceDate;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+
+    @Column(name = "address", length = 255, nullable = false)
+    private String address;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public boolean isExpired(LocalDateTime now) {
+        return !now.isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.aura.Entity.Reservation.Domain;
+
+import com.example.aura.Entity.TechnicianService.Domain.TechnicianService;
+import com.example.aura.Entity.User.Domain.User;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reserva recurrente: solo guarda la regla. Las ocurrencias se calculan bajo demanda y se
+ * convierten en filas de reservation (con series_id y occurrence_date) al confirmarse,
+ * modificarse o acercarse su fecha; hasta entonces no ocupan agenda en BookingEngine.
+ */
+@Entity
+@Table(name = "reservation_series", indexes = {
+        @Index(name = "idx_reservation_series_user", columnList = "user_id, series_id"),
+        @Index(name = "idx_reservation_series_status_materialized", columnList = "status, materialized_through")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ReservationSeries {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "series_id")
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumns({
+            @JoinColumn(name = "technician_id", referencedColumnName = "technician_id"),
+            @JoinColumn(name = "service_id", referencedColumnName = "service_id")
+    })
+    private TechnicianService technicianService;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "frequency", length = 20, nullable = false)
+    private RecurrenceFrequency frequency;
+
+    // Cada cuántas semanas o meses
+    @Column(name = "recurrence_interval", nullable = false)
+    private Integer interval;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    // Número máximo de ocurrencias; nulo si la serie no tiene límite
+    @Column(name = "occurrence_count")
+    private Integer occurrenceCount;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+
+    @Column(name = "address", length = 255, nullable = false)
+    private String address;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private ReservationSeriesStatus status;
+
+    // Última fecha hasta la que el job ya creó las reservas de las ocurrencias
+    @Column(name = "materialized_through", nullable = false)
+    private LocalDate materializedThrough;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Fechas de la regla dentro de [from, to]. La ocurrencia k es startDate + k * interval
+     * (no acumulativa, así un mensual del día 31 vuelve al 31 cuando el mes lo tiene).
+     */
+    public List<LocalDate> occurrencesBetween(LocalDate from, LocalDate to) {
+        List<LocalDate> result = new ArrayList<>();
+        LocalDate last = endDate != null && endDate.isBefore(to) ? endDate : to;
+        if (last.isBefore(startDate) || last.isBefore(from)) {
+            return result;
+        }
+        long step = interval;
+        long k = from.isAfter(startDate)
+                ? Math.max(0, frequency.getUnit().between(startDate, from) / step - 1)
+                : 0;
+        for (; occurrenceCount == null || k < occurrenceCount; k++) {
+            LocalDate date = startDate.plus(k * step, frequency.getUnit());
+            if (date.isAfter(last)) {
+                break;
+            }
+            if (!date.isBefore(from)) {
+                result.add(date);
+            }
+        }
+        return result;
+    }
+
+    public boolean isOccurrence(LocalDate date) {
+        return occurrencesBetween(date, date).contains(date);
+    }
+}
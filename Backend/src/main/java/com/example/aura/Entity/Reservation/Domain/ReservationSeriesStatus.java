@@ -0,0 +1,6 @@
+package com.example.aura.Entity.Reservation.Domain;
+
+public enum ReservationSeriesStatus {
+    ACTIVE,
+    CANCELLED
+}
@@ -1,5 +1,7 @@
 package com.example.aura.Entity.Reservation.Domain;
 
+import com.example.aura.Transition.TransitionTable;
+
 public enum ReservationStatus {
     PENDING,
     CONFIRMED,
@@ -7,5 +9,14 @@ public enum ReservationStatus {
     IN_PROGRESS,
     COMPLETED,
     CANCELLED,
-    NO_SHOW
+    NO_SHOW;
+
+    public static final TransitionTable<ReservationStatus> TRANSITIONS = TransitionTable.of(ReservationStatus.class)
+            .allow(CONFIRMED, PENDING)
+            .allow(REJECTED, PENDING)
+            .allow(CANCELLED, PENDING, CONFIRMED)
+            .allow(IN_PROGRESS, CONFIRMED)
+            .allow(COMPLETED, CONFIRMED, IN_PROGRESS)
+            .allow(NO_SHOW, CONFIRMED)
+            .build();
 }
@@ -0,0 +1,191 @@
+package com.example.aura.Entity.Reservation.Domain;
+
+import com.example.aura.Entity.Reservation.DTO.ReservationRow;
+import com.example.aura.Entity.Service.Domain.ServiceCategory;
+import com.example.aura.Security.Domain.Role;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Modelo de lectura desnormalizado de reservas: una fila por reserva con participantes,
+ * servicio, total pagado y reseña ya resueltos. Lo mantiene ReservationViewProjector a partir
+ * de los eventos de dominio; los listados leen solo esta tabla.
+ */
+@Entity
+@Table(name = "reservation_view", indexes = {
+        @Index(name = "idx_reservation_view_created", columnList = "created_at, reservation_id"),
+        @Index(name = "idx_reservation_view_user_created", columnList = "user_id, created_at, reservation_id"),
+        @Index(name = "idx_reservation_view_technician_created", columnList = "technician_id, created_at, reservation_id"),
+        @Index(name = "idx_reservation_view_status_created", columnList = "status, created_at, reservation_id"),
+        @Index(name = "idx_reservation_view_service", columnList = "service_id"),
+        // Búsqueda multicriterio: cada filtro principal tiene su índice terminado en el orden del cursor
+        @Index(name = "idx_reservation_view_service_date", columnList = "service_date, reservation_id"),
+        @Index(name = "idx_reservation_view_status_date", columnList = "status, service_date, reservation_id"),
+        @Index(name = "idx_reservation_view_technician_date", columnList = "technician_id, service_date, reservation_id"),
+        @Index(name = "idx_reservation_view_user_date", columnList = "user_id, service_date, reservation_id"),
+        @Index(name = "idx_reservation_view_category_date", columnList = "service_category, service_date, reservation_id")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ReservationView implements Persistable<Long> {
+
+    @Id
+    @Column(name = "reservation_id")
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "user_first_name")
+    private String userFirstName;
+
+    @Column(name = "user_last_name")
+    private String userLastName;
+
+    @Column(name = "user_email")
+    private String userEmail;
+
+    @Column(name = "user_phone")
+    private String userPhone;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "user_role", length = 20)
+    private Role userRole;
+
+    @Column(name = "user_enabled")
+    private Boolean userEnabled;
+
+    @Column(name = "user_register_date")
+    private LocalDate userRegisterDate;
+
+    @Column(name = "technician_id", nullable = false)
+    private Long technicianId;
+
+    @Column(name = "technician_first_name")
+    private String technicianFirstName;
+
+    @Column(name = "technician_last_name")
+    private String technicianLastName;
+
+    @Column(name = "technician_email")
+    private String technicianEmail;
+
+    @Column(name = "technician_phone")
+    private String technicianPhone;
+
+    @Column(name = "technician_description", length = 500)
+    private String technicianDescription;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "technician_role", length = 20)
+    private Role technicianRole;
+
+    @Column(name = "technician_enabled")
+    private Boolean technicianEnabled;
+
+    @Column(name = "technician_register_date")
+    private LocalDate technicianRegisterDate;
+
+    @Column(name = "service_id", nullable = false)
+    private Long serviceId;
+
+    @Column(name = "service_name")
+    private String serviceName;
+
+    @Column(name = "service_description")
+    private String serviceDescription;
+
+    @Column(name = "service_category")
+    private ServiceCategory serviceCategory;
+
+    @Column(name = "service_suggested_price")
+    private Double serviceSuggestedPrice;
+
+    @Column(name = "technician_base_rate")
+    private Double technicianBaseRate;
+
+    @Column(name = "reservation_date")
+    private LocalDate reservationDate;
+
+    @Column(name = "service_date")
+    private LocalDate serviceDate;
+
+    @Column(name = "start_time")
+    private LocalTime startTime;
+
+    @Column(name = "end_time")
+    private LocalTime endTime;
+
+    @Column(name = "address")
+    private String address;
+
+    @Column(name = "status", nullable = false)
+    private ReservationStatus status;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "payment_total", nullable = false)
+    private Double paymentTotal;
+
+    @Column(name = "has_review", nullable = false)
+    private Boolean hasReview;
+
+    // El proyector borra e inserta: save() nunca necesita un SELECT previo
+    @Transient
+    private boolean fresh = true;
+
+    @Override
+    public boolean isNew() {
+        return fresh;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        fresh = false;
+    }
+
+    public static ReservationView from(ReservationRow row) {
+        return new ReservationView(
+                row.id(),
+                row.userId(), row.userFirstName(), row.userLastName(), row.userEmail(), row.userPhone(),
+                row.userRole(), row.userEnabled(), row.userRegisterDate(),
+                row.technicianId(), row.technicianFirstName(), row.technicianLastName(), row.technicianEmail(),
+                row.technicianPhone(), row.technicianDescription(), row.technicianRole(), row.technicianEnabled(),
+                row.technicianRegisterDate(),
+                row.serviceId(), row.serviceName(), row.serviceDescription(), row.serviceCategory(),
+                row.serviceSuggestedPrice(), row.technicianBaseRate(),
+                row.reservationDate(), row.serviceDate(), row.startTime(), row.endTime(), row.address(),
+                row.status(), row.createdAt(), row.updatedAt(),
+                row.paymentTotal() != null ? row.paymentTotal() : 0.0,
+                Boolean.TRUE.equals(row.hasReview()),
+                true
+        );
+    }
+
+    public ReservationRow toRow() {
+        return new ReservationRow(
+                id,
+                userId, userFirstName, userLastName, userEmail, userPhone, userRole, userEnabled, userRegisterDate,
+                technicianId, technicianFirstName, technicianLastName, technicianEmail, technicianPhone,
+                technicianDescription, technicianRole, technicianEnabled, technicianRegisterDate,
+                serviceId, serviceName, serviceDescription, serviceCategory, serviceSuggestedPrice, technicianBaseRate,
+                reservationDate, serviceDate, startTime, endTime, address, status, createdAt, updatedAt,
+                paymentTotal, hasReview
+        );
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.aura.Entity.Reservation.Domain;
+
+import com.example.aura.Entity.TechnicianService.Domain.TechnicianService;
+import com.example.aura.Entity.User.Domain.User;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Petición en espera de una franja ocupada. La cola de cada técnico-día es FIFO por id:
+ * al liberarse agenda se promueve la entrada más antigua cuya franja ya cabe.
+ */
+@Entity
+@Table(name = "reservation_waitlist", indexes = {
+        @Index(name = "idx_reservation_waitlist_queue", columnList = "technician_id, service_date, status, waitlist_id"),
+        @Index(name = "idx_reservation_waitlist_user", columnList = "user_id, status")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "waitlist_id")
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumns({
+            @JoinColumn(name = "technician_id", referencedColumnName = "technician_id"),
+            @JoinColumn(name = "service_id", referencedColumnName = "service_id")
+    })
+    private TechnicianService technicianService;
+
+    @Column(name = "service_date", nullable = false)
+    private LocalDate serviceDate;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+
+    @Column(name = "address", length = 255, nullable = false)
+    private String address;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private WaitlistStatus status;
+
+    // Reserva creada al promover la entrada
+    @Column(name = "reservation_id")
+    private Long reservationId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,8 @@
+package com.example.aura.Entity.Reservation.Domain;
+
+public enum WaitlistStatus {
+    WAITING,
+    PROMOTED,
+    LEFT,
+    EXPIRED
+}
@@ -0,0 +1,9 @@
+package com.example.aura.Entity.Reservation.Repository;
+
+import com.example.aura.Entity.Reservation.Domain.ReservationArchiveEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReservationArchiveRepository extends JpaRepository<ReservationArchiveEntry, Long> {
+}
@@ -0,0 +1,38 @@
+package com.example.aura.Entity.Reservation.Repository;
+
+import com.example.aura.Booking.HeldSlot;
+import com.example.aura.Entity.Reservation.Domain.ReservationHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ReservationHoldRepository extends JpaRepository<ReservationHold, Long> {
+
+    @Query("SELECT new com.example.aura.Booking.HeldSlot(h.id, h.startTime, h.endTime, h.expiresAt) FROM ReservationHold h " +
+            "WHERE h.technicianService.id.technicianId = :technicianId AND h.serviceDate = :date AND h.expiresAt > :now")
+    List<HeldSlot> findHeldSlots(@Param("technicianId") Long technicianId,
+                                 @Param("date") LocalDate date,
+                                 @Param("now") LocalDateTime now);
+
+    @Query("SELECT h FROM ReservationHold h WHERE h.user.id = :userId AND h.expiresAt > :now ORDER BY h.expiresAt")
+    List<ReservationHold> findActiveByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT COUNT(h) FROM ReservationHold h WHERE h.user.id = :userId AND h.expiresAt > :now")
+    long countActiveByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    // Devuelve 0 si otra petición ya confirmó o canceló la retención
+    @Modifying
+    @Query("DELETE FROM ReservationHold h WHERE h.id = :id")
+    int deleteHold(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM ReservationHold h WHERE h.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,14 +1,30 @@
 package com.example.aura.Entity.Reservation.Repository;
 
+import com.example.aura.Booking.BookingSlot;
+import com.example.aura.Entity.Reservation.DTO.ReservationCalendarEntry;
+import com.example.aura.Entity.Reservation.DTO.ReservationOccurrenceDTO;
+import com.example.aura.Entity.Reservation.DTO.ReservationRow;
 import com.example.aura.Entity.Reservation.Domain.Reservation;
 import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
@@ -22,4 +38,171 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     Page<Reservation> findByTechnicianServiceTechnicianId(Long technicianId, Pageable pageable);
 
     Page<Reservation> findByStatus(ReservationStatus status, Pageable pageable);
+
+    // Proyección de una sola consulta sobre las tablas base; alimenta reservation_view y las lecturas puntuales
+    String ROW_SELECT = "SELECT new com.example.aura.Entity.Reservation.DTO.ReservationRow(" +
+            "r.id, u.id, u.firstName, u.lastName, u.email, u.phone, u.role, u.enabled, u.registerDate, " +
+            "t.id, t.firstName, t.lastName, t.email, t.phone, t.description, t.role, t.enabled, t.registerDate, " +
+            "s.id, s.name, s.description, s.category, s.suggestedPrice, ts.baseRate, " +
+            "r.reservationDate, r.serviceDate, r.startTime, r.endTime, r.address, r.status, r.createdAt, r.updatedAt, " +
+            "COALESCE((SELECT SUM(p.amount) FROM Payment p WHERE p.reservation = r), 0.0), " +
+            "CASE WHEN EXISTS (SELECT rv.id FROM Review rv WHERE rv.reservation = r) THEN true ELSE false END) " +
+            "FROM Reservation r JOIN r.user u JOIN r.technicianService ts JOIN ts.technician t JOIN ts.service s ";
+
+    @Query(ROW_SELECT + "WHERE r.id = :id")
+    Optional<ReservationRow> findRowById(@Param("id") Long id);
+
+    @Query(ROW_SELECT + "WHERE r.id IN :ids")
+    List<ReservationRow> findRowsByIds(@Param("ids") Collection<Long> ids);
+
+    // Feed iCalendar del técnico; usa idx_reservation_technician_service_date
+    @Query("SELECT new com.example.aura.Entity.Reservation.DTO.ReservationCalendarEntry(" +
+            "r.id, r.serviceDate, r.startTime, r.endTime, r.address, r.status, r.updatedAt, s.name, " +
+            "u.firstName, u.lastName, u.phone) " +
+            "FROM Reservation r JOIN r.user u JOIN r.technicianService ts JOIN ts.service s " +
+            "WHERE ts.id.technicianId = :technicianId AND r.serviceDate BETWEEN :from AND :to " +
+            "ORDER BY r.serviceDate, r.startTime, r.id")
+    List<ReservationCalendarEntry> findCalendarEntries(@Param("technicianId") Long technicianId,
+                                                       @Param("from") LocalDate from,
+                                                       @Param("to") LocalDate to);
+
+    @Query("SELECT DISTINCT r.technicianService.id.technicianId FROM Reservation r WHERE r.id IN :ids")
+    List<Long> findTechnicianIdsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT r.id FROM Reservation r WHERE r.id > :after ORDER BY r.id")
+    List<Long> findIdsAfter(@Param("after") Long after, Limit limit);
+
+    // Ocurrencias ya materializadas de una o varias series; usa uk_reservation_series_occurrence
+    @Query("SELECT new com.example.aura.Entity.Reservation.DTO.ReservationOccurrenceDTO(" +
+            "r.series.id, r.occurrenceDate, r.id, r.serviceDate, r.startTime, r.endTime, r.status) " +
+            "FROM Reservation r WHERE r.series.id IN :seriesIds AND r.occurrenceDate BETWEEN :from AND :to")
+    List<ReservationOccurrenceDTO> findOccurrences(@Param("seriesIds") Collection<Long> seriesIds,
+                                                   @Param("from") LocalDate from,
+                                                   @Param("to") LocalDate to);
+
+    @Query("SELECT r.id FROM Reservation r WHERE r.series.id = :seriesId AND r.occurrenceDate = :occurrenceDate")
+    Optional<Long> findIdBySeriesOccurrence(@Param("seriesId") Long seriesId,
+                                            @Param("occurrenceDate") LocalDate occurrenceDate);
+
+    @Query("SELECT r.id FROM Reservation r " +
+            "WHERE r.series.id = :seriesId AND r.serviceDate >= :from AND r.status IN :statuses")
+    List<Long> findSeriesReservationIds(@Param("seriesId") Long seriesId,
+                                        @Param("from") LocalDate from,
+                                        @Param("statuses") Collection<ReservationStatus> statuses);
+
+    // Exportación: cursor del driver con fetch size fijo; las filas son proyecciones, no entidades gestionadas
+    String EXPORT_FETCH_SIZE = "1000";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(ROW_SELECT + "ORDER BY r.id")
+    Stream<ReservationRow> streamAllRows();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(ROW_SELECT + "WHERE r.status = :status ORDER BY r.id")
+    Stream<ReservationRow> streamRowsByStatus(@Param("status") ReservationStatus status);
+
+    @Query("SELECT new com.example.aura.Booking.BookingSlot(r.id, r.startTime, r.endTime) FROM Reservation r " +
+            "WHERE r.technicianService.id.technicianId = :technicianId AND r.serviceDate = :date AND r.status IN :statuses")
+    List<BookingSlot> findBookingSlots(@Param("technicianId") Long technicianId,
+                                       @Param("date") LocalDate date,
+                                       @Param("statuses") Collection<ReservationStatus> statuses);
+
+    @Query("SELECT r.status FROM Reservation r WHERE r.id = :id")
+    Optional<ReservationStatus> findStatusById(@Param("id") Long id);
+
+    // SKIP LOCKED: cada nodo reclama un bloque distinto; status es el ordinal del enum
+    @Query(value = "SELECT r.reservation_id FROM reservation r " +
+            "WHERE r.status = :status AND r.service_date < :cutoff " +
+            "ORDER BY r.service_date, r.reservation_id " +
+            "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> claimStale(@Param("status") int status,
+                          @Param("cutoff") LocalDate cutoff,
+                          @Param("limit") int limit);
+
+    @Query("SELECT MIN(r.serviceDate) FROM Reservation r WHERE r.status = :status AND r.serviceDate < :cutoff")
+    Optional<LocalDate> findOldestServiceDate(@Param("status") ReservationStatus status,
+                                              @Param("cutoff") LocalDate cutoff);
+
+    // Archivo: reservas terminadas sin reseña, tickets ni chats, que siguen alimentando valoraciones y soporte
+    @Query(value = "SELECT r.reservation_id FROM reservation r " +
+            "WHERE r.status IN (:statuses) AND r.service_date < :cutoff " +
+            "AND NOT EXISTS (SELECT 1 FROM review rv WHERE rv.reservation_id = r.reservation_id) " +
+            "AND NOT EXISTS (SELECT 1 FROM support_ticket st WHERE st.reservation_id = r.reservation_id) " +
+            "AND NOT EXISTS (SELECT 1 FROM chat c WHERE c.reservation_id = r.reservation_id) " +
+            "ORDER BY r.service_date, r.reservation_id " +
+            "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> claimArchivable(@Param("statuses") Collection<Integer> statuses,
+                               @Param("cutoff") LocalDate cutoff,
+                               @Param("limit") int limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Reservation r WHERE r.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.status = :target, r.updatedAt = :now " +
+            "WHERE r.id = :id AND r.status IN :sources")
+    int transition(@Param("id") Long id,
+                   @Param("sources") Collection<ReservationStatus> sources,
+                   @Param("target") ReservationStatus target,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.status = :target, r.updatedAt = :now " +
+            "WHERE r.id = :id AND r.status IN :sources AND r.technicianService.id.technicianId = :technicianId")
+    int transitionForTechnician(@Param("id") Long id,
+                                @Param("technicianId") Long technicianId,
+                                @Param("sources") Collection<ReservationStatus> sources,
+                                @Param("target") ReservationStatus target,
+                                @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.status = :target, r.updatedAt = :now " +
+            "WHERE r.id = :id AND r.status IN :sources AND r.user.id = :userId")
+    int transitionForUser(@Param("id") Long id,
+                          @Param("userId") Long userId,
+                          @Param("sources") Collection<ReservationStatus> sources,
+                          @Param("target") ReservationStatus target,
+                          @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.status = :target, r.endTime = :endTime, r.updatedAt = :now " +
+            "WHERE r.id = :id AND r.status IN :sources AND r.user.id = :userId")
+    int completeForUser(@Param("id") Long id,
+                        @Param("userId") Long userId,
+                        @Param("sources") Collection<ReservationStatus> sources,
+                        @Param("target") ReservationStatus target,
+                        @Param("endTime") LocalTime endTime,
+                        @Param("now") LocalDateTime now);
+
+    /**
+     * Bloquea hasta el commit las reservas de la lista que aún admiten la transición y devuelve
+     * sus ids; un UPDATE posterior sobre esos ids afecta exactamente a estas filas. Orden por id
+     * para que dos lotes solapados no se bloqueen mutuamente. status es el ordinal del enum.
+     */
+    @Query(value = "SELECT r.reservation_id FROM reservation r " +
+            "WHERE r.reservation_id IN (:ids) AND r.status IN (:sources) " +
+            "ORDER BY r.reservation_id FOR UPDATE", nativeQuery = true)
+    List<Long> lockTransitionable(@Param("ids") Collection<Long> ids,
+                                  @Param("sources") Collection<Integer> sources);
+
+    @Query(value = "SELECT r.reservation_id FROM reservation r " +
+            "WHERE r.reservation_id IN (:ids) AND r.status IN (:sources) AND r.technician_id = :technicianId " +
+            "ORDER BY r.reservation_id FOR UPDATE", nativeQuery = true)
+    List<Long> lockTransitionableForTechnician(@Param("ids") Collection<Long> ids,
+                                               @Param("technicianId") Long technicianId,
+                                               @Param("sources") Collection<Integer> sources);
+
+    // Variante por lotes: un solo UPDATE para los ids ya bloqueados con lockTransitionable
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.status = :target, r.updatedAt = :now WHERE r.id IN :ids")
+    int transitionAll(@Param("ids") Collection<Long> ids,
+                      @Param("target") ReservationStatus target,
+                      @Param("now") LocalDateTime now);
 }
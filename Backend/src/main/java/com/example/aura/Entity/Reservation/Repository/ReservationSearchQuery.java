@@ -0,0 +1,93 @@
+package com.example.aura.Entity.Reservation.Repository;
+
+import com.example.aura.Entity.Reservation.DTO.ReservationSearchCriteria;
+import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL de la búsqueda multicriterio sobre reservation_view. Solo se añaden los predicados de
+ * los filtros presentes (nada de "(:x IS NULL OR col = :x)"), así el planificador ve
+ * condiciones simples y puede usar el índice compuesto correspondiente.
+ * El orden es (service_date, reservation_id) descendente, el mismo sufijo de esos índices.
+ */
+public final class ReservationSearchQuery {
+
+    static final String FINAL_PRICE =
+            "CASE WHEN v.payment_total > 0 THEN v.payment_total ELSE v.technician_base_rate END";
+
+    private final String sql;
+    private final Map<String, Object> parameters;
+
+    private ReservationSearchQuery(String sql, Map<String, Object> parameters) {
+        this.sql = sql;
+        this.parameters = parameters;
+    }
+
+    public static ReservationSearchQuery of(ReservationSearchCriteria criteria, LocalDate sortKey, Long id, int limit) {
+        StringBuilder where = new StringBuilder();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+
+        // Enums guardados como ordinal
+        if (criteria.getStatuses() != null && !criteria.getStatuses().isEmpty()) {
+            List<Integer> statuses = criteria.getStatuses().stream().map(ReservationStatus::ordinal).sorted().toList();
+            if (statuses.size() == 1) {
+                where.append(" AND v.status = :status");
+                parameters.put("status", statuses.get(0));
+            } else {
+                where.append(" AND v.status IN (:statuses)");
+                parameters.put("statuses", statuses);
+            }
+        }
+        if (criteria.getTechnicianId() != null) {
+            where.append(" AND v.technician_id = :technicianId");
+            parameters.put("technicianId", criteria.getTechnicianId());
+        }
+        if (criteria.getUserId() != null) {
+            where.append(" AND v.user_id = :userId");
+            parameters.put("userId", criteria.getUserId());
+        }
+        if (criteria.getCategory() != null) {
+            where.append(" AND v.service_category = :category");
+            parameters.put("category", criteria.getCategory().ordinal());
+        }
+        if (criteria.getFrom() != null) {
+            where.append(" AND v.service_date >= :from");
+            parameters.put("from", criteria.getFrom());
+        }
+        if (criteria.getTo() != null) {
+            where.append(" AND v.service_date <= :to");
+            parameters.put("to", criteria.getTo());
+        }
+        if (criteria.getMinPrice() != null) {
+            where.append(" AND ").append(FINAL_PRICE).append(" >= :minPrice");
+            parameters.put("minPrice", criteria.getMinPrice());
+        }
+        if (criteria.getMaxPrice() != null) {
+            where.append(" AND ").append(FINAL_PRICE).append(" <= :maxPrice");
+            parameters.put("maxPrice", criteria.getMaxPrice());
+        }
+
+        // service_date <= :sortKey es redundante pero deja un rango sobre la columna indexada
+        String sql = "SELECT v.* FROM reservation_view v " +
+                "WHERE v.service_date <= :sortKey " +
+                "AND (v.service_date < :sortKey OR (v.service_date = :sortKey AND v.reservation_id < :id))" +
+                where +
+                " ORDER BY v.service_date DESC, v.reservation_id DESC LIMIT :limit";
+        parameters.put("sortKey", sortKey);
+        parameters.put("id", id);
+        parameters.put("limit", limit);
+        return new ReservationSearchQuery(sql, parameters);
+    }
+
+    public String sql() {
+        return sql;
+    }
+
+    public Map<String, Object> parameters() {
+        return parameters;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.aura.Entity.Reservation.Repository;
+
+import com.example.aura.Entity.Reservation.DTO.ReservationRow;
+import com.example.aura.Entity.Reservation.Domain.ReservationView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public class ReservationSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @SuppressWarnings("unchecked")
+    public List<ReservationRow> search(ReservationSearchQuery searchQuery) {
+        Query query = entityManager.createNativeQuery(searchQuery.sql(), ReservationView.class)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        searchQuery.parameters().forEach(query::setParameter);
+        return ((List<ReservationView>) query.getResultList()).stream()
+                .map(ReservationView::toRow)
+                .toList();
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.aura.Entity.Reservation.Repository;
+
+import com.example.aura.Entity.Reservation.Domain.ReservationSeries;
+import com.example.aura.Entity.Reservation.Domain.ReservationSeriesStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ReservationSeriesRepository extends JpaRepository<ReservationSeries, Long> {
+
+    List<ReservationSeries> findByUserIdOrderByIdDesc(Long userId);
+
+    List<ReservationSeries> findByUserIdAndStatus(Long userId, ReservationSeriesStatus status);
+
+    // Series con ocurrencias aún sin materializar antes del horizonte
+    @Query("SELECT s.id FROM ReservationSeries s WHERE s.status = :status AND s.materializedThrough < :horizon " +
+            "AND (s.endDate IS NULL OR s.endDate > s.materializedThrough) ORDER BY s.materializedThrough, s.id")
+    List<Long> findDueIds(@Param("status") ReservationSeriesStatus status,
+                          @Param("horizon") LocalDate horizon,
+                          Limit limit);
+
+    @Modifying
+    @Query("UPDATE ReservationSeries s SET s.materializedThrough = :through, s.updatedAt = :now " +
+            "WHERE s.id = :id AND s.materializedThrough < :through")
+    int advanceMaterializedThrough(@Param("id") Long id,
+                                   @Param("through") LocalDate through,
+                                   @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,102 @@
+package com.example.aura.Entity.Reservation.Repository;
+
+import com.example.aura.Entity.Reservation.DTO.ReservationRow;
+import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+import com.example.aura.Entity.Reservation.Domain.ReservationView;
+import com.example.aura.Entity.Service.Domain.ServiceCategory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReservationViewRepository extends JpaRepository<ReservationView, Long> {
+
+    // Misma forma que ReservationRepository.ROW_SELECT, pero sobre una sola tabla sin joins
+    String VIEW_SELECT = "SELECT new com.example.aura.Entity.Reservation.DTO.ReservationRow(" +
+            "v.id, v.userId, v.userFirstName, v.userLastName, v.userEmail, v.userPhone, v.userRole, v.userEnabled, " +
+            "v.userRegisterDate, v.technicianId, v.technicianFirstName, v.technicianLastName, v.technicianEmail, " +
+            "v.technicianPhone, v.technicianDescription, v.technicianRole, v.technicianEnabled, v.technicianRegisterDate, " +
+            "v.serviceId, v.serviceName, v.serviceDescription, v.serviceCategory, v.serviceSuggestedPrice, " +
+            "v.technicianBaseRate, v.reservationDate, v.serviceDate, v.startTime, v.endTime, v.address, v.status, " +
+            "v.createdAt, v.updatedAt, v.paymentTotal, v.hasReview) " +
+            "FROM ReservationView v ";
+
+    @Query(value = VIEW_SELECT,
+            countQuery = "SELECT COUNT(v) FROM ReservationView v")
+    Page<ReservationRow> findAllRows(Pageable pageable);
+
+    @Query(value = VIEW_SELECT + "WHERE v.userId = :userId",
+            countQuery = "SELECT COUNT(v) FROM ReservationView v WHERE v.userId = :userId")
+    Page<ReservationRow> findRowsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = VIEW_SELECT + "WHERE v.technicianId = :technicianId",
+            countQuery = "SELECT COUNT(v) FROM ReservationView v WHERE v.technicianId = :technicianId")
+    Page<ReservationRow> findRowsByTechnicianId(@Param("technicianId") Long technicianId, Pageable pageable);
+
+    @Query(value = VIEW_SELECT + "WHERE v.status = :status",
+            countQuery = "SELECT COUNT(v) FROM ReservationView v WHERE v.status = :status")
+    Page<ReservationRow> findRowsByStatus(@Param("status") ReservationStatus status, Pageable pageable);
+
+    // Keyset sobre (createdAt, id) descendente; sin OFFSET ni COUNT
+    String VIEW_AFTER = "(v.createdAt, v.id) < (:sortKey, :id) ";
+    String VIEW_ORDER = "ORDER BY v.createdAt DESC, v.id DESC";
+
+    @Query(VIEW_SELECT + "WHERE " + VIEW_AFTER + VIEW_ORDER)
+    List<ReservationRow> scrollAllRows(@Param("sortKey") LocalDateTime sortKey,
+                                       @Param("id") Long id,
+                                       Limit limit);
+
+    @Query(VIEW_SELECT + "WHERE v.userId = :userId AND " + VIEW_AFTER + VIEW_ORDER)
+    List<ReservationRow> scrollRowsByUserId(@Param("userId") Long userId,
+                                            @Param("sortKey") LocalDateTime sortKey,
+                                            @Param("id") Long id,
+                                            Limit limit);
+
+    @Query(VIEW_SELECT + "WHERE v.technicianId = :technicianId AND " + VIEW_AFTER + VIEW_ORDER)
+    List<ReservationRow> scrollRowsByTechnicianId(@Param("technicianId") Long technicianId,
+                                                  @Param("sortKey") LocalDateTime sortKey,
+                                                  @Param("id") Long id,
+                                                  Limit limit);
+
+    @Query(VIEW_SELECT + "WHERE v.status = :status AND " + VIEW_AFTER + VIEW_ORDER)
+    List<ReservationRow> scrollRowsByStatus(@Param("status") ReservationStatus status,
+                                            @Param("sortKey") LocalDateTime sortKey,
+                                            @Param("id") Long id,
+                                            Limit limit);
+
+    @Query("SELECT v.id FROM ReservationView v WHERE v.userId = :accountId OR v.technicianId = :accountId")
+    List<Long> findIdsByParticipant(@Param("accountId") Long accountId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ReservationView v WHERE v.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM ReservationView v WHERE NOT EXISTS (SELECT r.id FROM Reservation r WHERE r.id = v.id)")
+    int deleteOrphans();
+
+    @Modifying
+    @Query("UPDATE ReservationView v SET v.serviceName = :name, v.serviceDescription = :description, " +
+            "v.serviceCategory = :category, v.serviceSuggestedPrice = :suggestedPrice WHERE v.serviceId = :serviceId")
+    int updateService(@Param("serviceId") Long serviceId,
+                      @Param("name") String name,
+                      @Param("description") String description,
+                      @Param("category") ServiceCategory category,
+                      @Param("suggestedPrice") Double suggestedPrice);
+
+    @Modifying
+    @Query("UPDATE ReservationView v SET v.technicianBaseRate = :baseRate " +
+            "WHERE v.technicianId = :technicianId AND v.serviceId = :serviceId")
+    int updateBaseRate(@Param("technicianId") Long technicianId,
+                       @Param("serviceId") Long serviceId,
+                       @Param("baseRate") Double baseRate);
+}
@@ -0,0 +1,61 @@
+package com.example.aura.Entity.Reservation.Repository;
+
+import com.example.aura.Entity.Reservation.Domain.WaitlistEntry;
+import com.example.aura.Entity.Reservation.Domain.WaitlistStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    // Cabeza de la cola del técnico-día, en orden de llegada
+    @Query("SELECT w.id FROM WaitlistEntry w WHERE w.technicianService.id.technicianId = :technicianId " +
+            "AND w.serviceDate = :date AND w.status = :status ORDER BY w.id")
+    List<Long> findQueue(@Param("technicianId") Long technicianId,
+                         @Param("date") LocalDate date,
+                         @Param("status") WaitlistStatus status,
+                         Limit limit);
+
+    @Query("SELECT COUNT(w) FROM WaitlistEntry w WHERE w.technicianService.id.technicianId = :technicianId " +
+            "AND w.serviceDate = :date AND w.status = :status AND w.id < :id")
+    long countAhead(@Param("technicianId") Long technicianId,
+                    @Param("date") LocalDate date,
+                    @Param("status") WaitlistStatus status,
+                    @Param("id") Long id);
+
+    @Query("SELECT COUNT(w) > 0 FROM WaitlistEntry w WHERE w.user.id = :userId " +
+            "AND w.technicianService.id.technicianId = :technicianId AND w.serviceDate = :date " +
+            "AND w.startTime = :startTime AND w.status = :status")
+    boolean existsForUser(@Param("userId") Long userId,
+                          @Param("technicianId") Long technicianId,
+                          @Param("date") LocalDate date,
+                          @Param("startTime") LocalTime startTime,
+                          @Param("status") WaitlistStatus status);
+
+    List<WaitlistEntry> findByUserIdAndStatusOrderByIdAsc(Long userId, WaitlistStatus status);
+
+    // Cambio de estado condicional: solo una petición o nodo gana la entrada
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = :target, w.updatedAt = :now WHERE w.id = :id AND w.status = :source")
+    int transition(@Param("id") Long id,
+                   @Param("source") WaitlistStatus source,
+                   @Param("target") WaitlistStatus target,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = :target, w.updatedAt = :now " +
+            "WHERE w.status = :source AND w.serviceDate < :today")
+    int expireBefore(@Param("today") LocalDate today,
+                     @Param("source") WaitlistStatus source,
+                     @Param("target") WaitlistStatus target,
+                     @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,214 @@
+package com.example.aura.Entity.Reservation.Service;
+
+import com.example.aura.Entity.Payment.Domain.Payment;
+import com.example.aura.Entity.Payment.Repository.PaymentRepository;
+import com.example.aura.Entity.Reservation.DTO.ArchivedPayment;
+import com.example.aura.Entity.Reservation.DTO.ArchivedReservation;
+import com.example.aura.Entity.Reservation.DTO.ReservationRow;
+import com.example.aura.Entity.Reservation.Domain.ReservationArchiveEntry;
+import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+import com.example.aura.Entity.Reservation.Repository.ReservationArchiveRepository;
+import com.example.aura.Entity.Reservation.Repository.ReservationRepository;
+import com.example.aura.Event.Payment.PaymentChangedEvent;
+import com.example.aura.Event.Reservation.ReservationChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Saca de la tabla reservation las reservas terminadas más antiguas que el horizonte
+ * configurado y las guarda, con sus pagos, como JSON comprimido en reservation_archive.
+ * Cada bloque se archiva y se borra de las tablas calientes en la misma transacción, así que
+ * una reserva está siempre en un solo sitio y sigue accesible por id desde cualquier nodo.
+ */
+@Service
+@Slf4j
+public class ReservationArchiveService {
+
+    public static final Set<ReservationStatus> ARCHIVABLE_STATUSES =
+            EnumSet.of(ReservationStatus.COMPLETED, ReservationStatus.CANCELLED, ReservationStatus.REJECTED);
+
+    private final ReservationRepository reservationRepository;
+    private final PaymentRepository paymentRepository;
+    private final ReservationArchiveRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long horizonDays;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder archivedTotal = new LongAdder();
+    private final LongAdder lookups = new LongAdder();
+    private volatile RunReport lastRun;
+
+    public ReservationArchiveService(
+            ReservationRepository reservationRepository,
+            PaymentRepository paymentRepository,
+            ReservationArchiveRepository archiveRepository,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            @Value("${reservation.archive.enabled:false}") boolean enabled,
+            @Value("${reservation.archive.horizon-days:365}") long horizonDays,
+            @Value("${reservation.archive.chunk-size:500}") int chunkSize,
+            @Value("${reservation.archive.max-chunks-per-run:20}") int maxChunksPerRun
+    ) {
+        this.reservationRepository = reservationRepository;
+        this.paymentRepository = paymentRepository;
+        this.archiveRepository = archiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.horizonDays = horizonDays;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+    }
+
+    public record RunReport(Instant startedAt, long durationMs, int archived, int payments,
+                            long bytes, LocalDate cutoff) {
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.archive.interval-ms:3600000}",
+            initialDelayString = "${reservation.archive.interval-ms:3600000}")
+    public void runScheduled() {
+        if (enabled) {
+            run(LocalDate.now());
+        }
+    }
+
+    public RunReport run(LocalDate today) {
+        Instant startedAt = Instant.now();
+        long begin = System.nanoTime();
+        LocalDate cutoff = today.minusDays(horizonDays);
+        List<Integer> statuses = ARCHIVABLE_STATUSES.stream().map(ReservationStatus::ordinal).toList();
+
+        int archived = 0;
+        int payments = 0;
+        long bytes = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            ChunkResult result = transactionTemplate.execute(status -> archiveChunk(statuses, cutoff));
+            if (result == null || result.reservations() == 0) {
+                break;
+            }
+            archived += result.reservations();
+            payments += result.payments();
+            bytes += result.bytes();
+            if (result.reservations() < chunkSize) {
+                break;
+            }
+        }
+
+        RunReport report = new RunReport(startedAt, (System.nanoTime() - begin) / 1_000_000,
+                archived, payments, bytes, cutoff);
+        runs.increment();
+        archivedTotal.add(archived);
+        lastRun = report;
+        if (archived > 0) {
+            log.info("📦 Archivo de reservas: {} reservas y {} pagos ({} bytes comprimidos) en {} ms",
+                    archived, payments, bytes, report.durationMs());
+        }
+        return report;
+    }
+
+    // Busca una reserva archivada por id: una consulta por clave primaria
+    public Optional<ArchivedReservation> find(Long reservationId) {
+        return archiveRepository.findById(reservationId).map(entry -> {
+            lookups.increment();
+            return decode(entry);
+        });
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", enabled);
+        result.put("horizonDays", horizonDays);
+        result.put("runs", runs.sum());
+        result.put("archivedTotal", archivedTotal.sum());
+        result.put("lookups", lookups.sum());
+        result.put("lastRun", lastRun);
+        return result;
+    }
+
+    private record ChunkResult(int reservations, int payments, long bytes) {
+    }
+
+    // Las filas reclamadas quedan bloqueadas hasta el commit; otros nodos las saltan
+    private ChunkResult archiveChunk(List<Integer> statuses, LocalDate cutoff) {
+        List<Long> ids = reservationRepository.claimArchivable(statuses, cutoff, chunkSize);
+        if (ids.isEmpty()) {
+            return new ChunkResult(0, 0, 0);
+        }
+        Map<Long, List<ArchivedPayment>> paymentsByReservation = paymentRepository.findByReservationIdIn(ids).stream()
+                .sorted(Comparator.comparing(Payment::getId))
+                .collect(Collectors.groupingBy(payment -> payment.getReservation().getId(),
+                        Collectors.mapping(ArchivedPayment::from, Collectors.toList())));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ReservationArchiveEntry> entries = new ArrayList<>(ids.size());
+        long bytes = 0;
+        for (ReservationRow row : reservationRepository.findRowsByIds(ids)) {
+            byte[] payload = encode(new ArchivedReservation(row, paymentsByReservation.getOrDefault(row.id(), List.of())));
+            bytes += payload.length;
+            entries.add(new ReservationArchiveEntry(row.id(), row.userId(), row.technicianId(), row.serviceDate(),
+                    row.status(), payload, now, true));
+        }
+
+        archiveRepository.saveAll(entries);
+        int payments = paymentRepository.deleteByReservationIds(ids);
+        reservationRepository.deleteByIds(ids);
+        eventPublisher.publishEvent(new ReservationChangedEvent(this, ids, "ARCHIVED"));
+        List<Long> paymentIds = paymentsByReservation.values().stream().flatMap(List::stream).map(ArchivedPayment::id).toList();
+        if (!paymentIds.isEmpty()) {
+            eventPublisher.publishEvent(new PaymentChangedEvent(this, paymentIds, "ARCHIVED"));
+        }
+        return new ChunkResult(ids.size(), payments, bytes);
+    }
+
+    private byte[] encode(ArchivedReservation archived) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(512);
+        try (OutputStream out = new GZIPOutputStream(buffer)) {
+            objectMapper.writeValue(out, archived);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not encode archived reservation " + archived.reservation().id(), ex);
+        }
+        return buffer.toByteArray();
+    }
+
+    private ArchivedReservation decode(ReservationArchiveEntry entry) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(entry.getPayload()))) {
+            return objectMapper.readValue(in, ArchivedReservation.class);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not decode archived reservation " + entry.getId(), ex);
+        }
+    }
+}
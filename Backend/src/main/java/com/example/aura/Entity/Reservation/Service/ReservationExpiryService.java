@@ -0,0 +1,155 @@
+package com.example.aura.Entity.Reservation.Service;
+
+import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+import com.example.aura.Entity.Reservation.Repository.ReservationRepository;
+import com.example.aura.Event.Reservation.ReservationBulkActionEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cierra en segundo plano las reservas que ya no van a avanzar: PENDING cuya fecha pasó sin
+ * respuesta del técnico pasan a CANCELLED y CONFIRMED vencidas pasan a NO_SHOW.
+ * Trabaja en bloques acotados, cada uno en su propia transacción, reclamando filas con
+ * FOR UPDATE SKIP LOCKED para que varios nodos se repartan el trabajo sin repetirlo.
+ * Las fechas ya pasadas no admiten reservas nuevas, así que no hace falta tocar BookingEngine.
+ */
+@Service
+@Slf4j
+public class ReservationExpiryService {
+
+    private final ReservationRepository reservationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final long pendingGraceDays;
+    private final long noShowGraceDays;
+
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder expiredTotal = new LongAdder();
+    private final LongAdder noShowTotal = new LongAdder();
+    private volatile RunReport lastRun;
+
+    public ReservationExpiryService(
+            ReservationRepository reservationRepository,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${reservation.expiry.enabled:true}") boolean enabled,
+            @Value("${reservation.expiry.chunk-size:500}") int chunkSize,
+            @Value("${reservation.expiry.max-chunks-per-run:20}") int maxChunksPerRun,
+            @Value("${reservation.expiry.pending-grace-days:0}") long pendingGraceDays,
+            @Value("${reservation.expiry.no-show-grace-days:1}") long noShowGraceDays
+    ) {
+        this.reservationRepository = reservationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.pendingGraceDays = pendingGraceDays;
+        this.noShowGraceDays = noShowGraceDays;
+    }
+
+    /**
+     * Resultado de una pasada. El retraso (lag) es la antigüedad, en días respecto al corte,
+     * de la reserva más vieja que sigue pendiente de procesar; 0 si no queda ninguna.
+     */
+    public record RunReport(Instant startedAt, long durationMs, int expired, int noShows, int chunks,
+                            double rowsPerSecond, long pendingLagDays, long noShowLagDays) {
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.expiry.interval-ms:60000}",
+            initialDelayString = "${reservation.expiry.interval-ms:60000}")
+    public void runScheduled() {
+        if (enabled) {
+            run(LocalDate.now());
+        }
+    }
+
+    public RunReport run(LocalDate today) {
+        Instant startedAt = Instant.now();
+        long begin = System.nanoTime();
+
+        LocalDate pendingCutoff = today.minusDays(pendingGraceDays);
+        LocalDate noShowCutoff = today.minusDays(noShowGraceDays);
+        int[] chunks = new int[1];
+        int expired = sweep(ReservationStatus.PENDING, ReservationStatus.CANCELLED, pendingCutoff, "EXPIRE", chunks);
+        int noShows = sweep(ReservationStatus.CONFIRMED, ReservationStatus.NO_SHOW, noShowCutoff, "NO_SHOW", chunks);
+
+        long durationNanos = Math.max(1, System.nanoTime() - begin);
+        RunReport report = new RunReport(
+                startedAt,
+                durationNanos / 1_000_000,
+                expired,
+                noShows,
+                chunks[0],
+                (expired + noShows) * 1_000_000_000.0 / durationNanos,
+                lagDays(ReservationStatus.PENDING, pendingCutoff),
+                lagDays(ReservationStatus.CONFIRMED, noShowCutoff)
+        );
+
+        runs.increment();
+        expiredTotal.add(expired);
+        noShowTotal.add(noShows);
+        lastRun = report;
+        if (expired + noShows > 0) {
+            log.info("⏰ Expiración de reservas: {} canceladas, {} no presentadas en {} ms",
+                    expired, noShows, report.durationMs());
+        }
+        return report;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", enabled);
+        result.put("runs", runs.sum());
+        result.put("expiredTotal", expiredTotal.sum());
+        result.put("noShowTotal", noShowTotal.sum());
+        result.put("lastRun", lastRun);
+        return result;
+    }
+
+    private int sweep(ReservationStatus from, ReservationStatus to, LocalDate cutoff, String action, int[] chunks) {
+        int total = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            Integer processed = transactionTemplate.execute(status -> processChunk(from, to, cutoff, action));
+            chunks[0]++;
+            total += processed != null ? processed : 0;
+            if (processed == null || processed < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    // Las filas quedan bloqueadas hasta el commit del bloque; otros nodos las saltan
+    private int processChunk(ReservationStatus from, ReservationStatus to, LocalDate cutoff, String action) {
+        List<Long> ids = reservationRepository.claimStale(from.ordinal(), cutoff, chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        reservationRepository.transitionAll(ids, to, LocalDateTime.now());
+        eventPublisher.publishEvent(new ReservationBulkActionEvent(this, null, action, ids, List.of()));
+        return ids.size();
+    }
+
+    private long lagDays(ReservationStatus status, LocalDate cutoff) {
+        return reservationRepository.findOldestServiceDate(status, cutoff)
+                .map(oldest -> ChronoUnit.DAYS.between(oldest, cutoff))
+                .orElse(0L);
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.aura.Entity.Reservation.Service;
+
+import com.example.aura.Entity.Reservation.DTO.ReservationRow;
+import com.example.aura.Entity.Reservation.Domain.ExportFormat;
+import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+import com.example.aura.Entity.Reservation.Repository.ReservationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.zip.GZIPOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Exporta reservas en CSV o NDJSON recorriendo un único cursor de base de datos.
+ * Cada fila se escribe y se descarta; la memoria no crece con el número de filas.
+ */
+@Service
+@Slf4j
+public class ReservationExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    static final String CSV_HEADER = "id,status,reservationDate,serviceDate,startTime,endTime,createdAt,updatedAt," +
+            "userId,userFirstName,userLastName,userEmail,technicianId,technicianFirstName,technicianLastName," +
+            "technicianEmail,serviceId,serviceName,serviceCategory,address,technicianBaseRate,paymentTotal,hasReview";
+
+    private final ReservationRepository reservationRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public ReservationExportService(ReservationRepository reservationRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    ObjectMapper objectMapper) {
+        this.reservationRepository = reservationRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Escribe todas las reservas (o solo las de un estado) en target y devuelve cuántas filas
+     * se exportaron. No cierra target. La transacción de solo lectura mantiene abierto el cursor
+     * (PostgreSQL solo respeta el fetch size con autocommit desactivado).
+     */
+    public long export(ExportFormat format, ReservationStatus status, boolean gzip, OutputStream target) throws IOException {
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(target, BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(compressed != null ? compressed : target, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        long started = System.nanoTime();
+        Long written;
+        try {
+            written = readOnlyTransaction.execute(tx -> {
+                try (Stream<ReservationRow> rows = status != null
+                        ? reservationRepository.streamRowsByStatus(status)
+                        : reservationRepository.streamAllRows()) {
+                    return write(format, rows.iterator(), writer);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            // Normalmente el cliente cortó la descarga
+            throw ex.getCause();
+        }
+
+        writer.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        log.info("📤 Exportadas {} reservas en {} ({} ms)", written, format,
+                (System.nanoTime() - started) / 1_000_000);
+        return written != null ? written : 0;
+    }
+
+    private long write(ExportFormat format, Iterator<ReservationRow> rows, Writer writer) throws IOException {
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        long count = 0;
+        while (rows.hasNext()) {
+            ReservationRow row = rows.next();
+            if (format == ExportFormat.CSV) {
+                writeCsv(row, writer);
+            } else {
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write('\n');
+            }
+            if (++count % FLUSH_EVERY_ROWS == 0) {
+                writer.flush();
+            }
+        }
+        return count;
+    }
+
+    private void writeCsv(ReservationRow row, Writer writer) throws IOException {
+        Object[] values = {
+                row.id(), row.status(), row.reservationDate(), row.serviceDate(), row.startTime(), row.endTime(),
+                row.createdAt(), row.updatedAt(),
+                row.userId(), text(row.userFirstName()), text(row.userLastName()), text(row.userEmail()),
+                row.technicianId(), text(row.technicianFirstName()), text(row.technicianLastName()),
+                text(row.technicianEmail()),
+                row.serviceId(), text(row.serviceName()), row.serviceCategory(), text(row.address()),
+                row.technicianBaseRate(), row.paymentTotal(), row.hasReview()
+        };
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(escape(values[i].toString()));
+            }
+        }
+        writer.write('\n');
+    }
+
+    // Texto libre del usuario: evita que una hoja de cálculo lo interprete como fórmula
+    static String text(String value) {
+        if (value == null || value.isEmpty()) {
+            return value;
+        }
+        char first = value.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r'
+                ? "'" + value
+                : value;
+    }
+
+    static String escape(String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.aura.Entity.Reservation.Service;
+
+import com.example.aura.Booking.BookingEngine;
+import com.example.aura.Booking.BookingHold;
+import com.example.aura.Entity.Reservation.DTO.ReservationHoldResponseDTO;
+import com.example.aura.Entity.Reservation.DTO.ReservationRequestDTO;
+import com.example.aura.Entity.Reservation.DTO.ReservationResponseDTO;
+import com.example.aura.Entity.Reservation.Domain.Reservation;
+import com.example.aura.Entity.Reservation.Domain.ReservationHold;
+import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+import com.example.aura.Entity.Reservation.Repository.ReservationHoldRepository;
+import com.example.aura.Entity.TechnicianService.Domain.TechnicianService;
+import com.example.aura.Entity.TechnicianService.Domain.TechnicianServiceId;
+import com.example.aura.Entity.TechnicianService.Repository.TechnicianServiceRepository;
+import com.example.aura.Entity.User.Repository.UserRepository;
+import com.example.aura.Exception.ConflictException;
+import com.example.aura.Exception.ForbiddenException;
+import com.example.aura.Exception.InvalidOperationException;
+import com.example.aura.Exception.ResourceNotFoundException;
+import com.example.aura.Security.Service.CurrentAccountService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Retenciones de franja durante el checkout. Se guardan en reservation_hold y en el índice
+ * de BookingEngine, donde ocupan agenda hasta que caducan; confirmar una retención inserta
+ * la reserva sin volver a competir por la franja. Ninguna operación bloquea filas del técnico:
+ * la exclusión la resuelve el lock en memoria de su franja.
+ */
+@Service
+@Slf4j
+public class ReservationHoldService {
+
+    private final ReservationHoldRepository holdRepository;
+    private final ReservationService reservationService;
+    private final UserRepository userRepository;
+    private final TechnicianServiceRepository technicianServiceRepository;
+    private final CurrentAccountService currentAccountService;
+    private final BookingEngine bookingEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final int maxPerUser;
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder confirmed = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder purged = new LongAdder();
+
+    public ReservationHoldService(
+            ReservationHoldRepository holdRepository,
+            ReservationService reservationService,
+            UserRepository userRepository,
+            TechnicianServiceRepository technicianServiceRepository,
+            CurrentAccountService currentAccountService,
+            BookingEngine bookingEngine,
+            TransactionTemplate transactionTemplate,
+            @Value("${reservation.hold.ttl-seconds:600}") long ttlSeconds,
+            @Value("${reservation.hold.max-per-user:3}") int maxPerUser
+    ) {
+        this.holdRepository = holdRepository;
+        this.reservationService = reservationService;
+        this.userRepository = userRepository;
+        this.technicianServiceRepository = technicianServiceRepository;
+        this.currentAccountService = currentAccountService;
+        this.bookingEngine = bookingEngine;
+        this.transactionTemplate = transactionTemplate;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.maxPerUser = maxPerUser;
+    }
+
+    /**
+     * Retiene la franja para el cliente actual durante reservation.hold.ttl-seconds.
+     * 409 si la franja ya está reservada o retenida por otro.
+     */
+    @Transactional
+    public ReservationHoldResponseDTO createHold(ReservationRequestDTO requestDTO) {
+        Long userId = currentAccountService.currentAccountId();
+        LocalDateTime now = LocalDateTime.now();
+        if (holdRepository.countActiveByUserId(userId, now) >= maxPerUser) {
+            throw new InvalidOperationException("create hold", "At most " + maxPerUser + " active holds per user");
+        }
+        TechnicianServiceId tsId = new TechnicianServiceId(requestDTO.getTechnicianId(), requestDTO.getServiceId());
+        TechnicianService technicianService = technicianServiceRepository.findById(tsId)
+                .orElseThrow(() -> new ResourceNotFoundException("TechnicianService", "id",
+                        requestDTO.getTechnicianId() + "-" + requestDTO.getServiceId()));
+
+        ReservationHold hold = new ReservationHold();
+        hold.setUser(userRepository.getReferenceById(userId));
+        hold.setTechnicianService(technicianService);
+        hold.setServiceDate(requestDTO.getServiceDate());
+        hold.setStartTime(requestDTO.getStartTime());
+        hold.setEndTime(bookingEngine.resolveEnd(requestDTO.getStartTime(), requestDTO.getEndTime()));
+        hold.setAddress(requestDTO.getAddress());
+        hold.setExpiresAt(now.plus(ttl));
+        hold.setCreatedAt(now);
+        ReservationHold saved = holdRepository.saveAndFlush(hold);
+
+        bookingEngine.placeHold(saved.getId(), requestDTO.getTechnicianId(), saved.getServiceDate(),
+                saved.getStartTime(), saved.getEndTime(), saved.getExpiresAt());
+        created.increment();
+        return mapToResponseDTO(saved, userId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReservationHoldResponseDTO> getMyHolds() {
+        Long userId = currentAccountService.currentAccountId();
+        return holdRepository.findActiveByUserId(userId, LocalDateTime.now()).stream()
+                .map(hold -> mapToResponseDTO(hold, userId))
+                .toList();
+    }
+
+    /**
+     * Convierte la retención en una reserva PENDING: un borrado de la retención y un único
+     * insert en reservation. Si ya caducó responde 409 y hay que volver a retener.
+     */
+    @Transactional
+    public ReservationResponseDTO confirmHold(Long id) {
+        ReservationHold hold = findOwned(id);
+        LocalDateTime now = LocalDateTime.now();
+        if (hold.isExpired(now)) {
+            throw new ConflictException("Hold " + id + " expired at " + hold.getExpiresAt());
+        }
+        // El borrado serializa confirmaciones concurrentes de la misma retención
+        if (holdRepository.deleteHold(id) == 0) {
+            throw new ConflictException("Hold " + id + " was already confirmed or cancelled");
+        }
+        Long technicianId = hold.getTechnicianService().getId().getTechnicianId();
+        BookingHold bookingHold = bookingEngine.claimHold(id, technicianId, hold.getServiceDate(),
+                hold.getStartTime(), hold.getEndTime());
+
+        Reservation reservation = new Reservation();
+        reservation.setUser(hold.getUser());
+        reservation.setTechnicianService(hold.getTechnicianService());
+        reservation.setReservationDate(LocalDate.now());
+        reservation.setServiceDate(hold.getServiceDate());
+        reservation.setStartTime(hold.getStartTime());
+        reservation.setEndTime(hold.getEndTime());
+        reservation.setAddress(hold.getAddress());
+        reservation.setStatus(ReservationStatus.PENDING);
+        reservation.setCreatedAt(now);
+        reservation.setUpdatedAt(now);
+        Reservation saved = reservationService.book(reservation, bookingHold);
+        confirmed.increment();
+        return reservationService.getReservationById(saved.getId());
+    }
+
+    @Transactional
+    public void cancelHold(Long id) {
+        ReservationHold hold = findOwned(id);
+        if (holdRepository.deleteHold(id) > 0) {
+            bookingEngine.releaseHold(id, hold.getTechnicianService().getId().getTechnicianId(), hold.getServiceDate());
+            cancelled.increment();
+        }
+    }
+
+    // Las vencidas ya no cuentan en el índice; aquí solo se limpian de la tabla
+    @Scheduled(fixedDelayString = "${reservation.hold.purge-interval-ms:60000}",
+            initialDelayString = "${reservation.hold.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        Integer deleted = transactionTemplate.execute(status -> holdRepository.deleteExpired(LocalDateTime.now()));
+        if (deleted != null && deleted > 0) {
+            purged.add(deleted);
+            log.debug("Retenciones caducadas eliminadas: {}", deleted);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("ttlSeconds", ttl.toSeconds());
+        result.put("maxPerUser", maxPerUser);
+        result.put("created", created.sum());
+        result.put("confirmed", confirmed.sum());
+        result.put("cancelled", cancelled.sum());
+        result.put("purged", purged.sum());
+        return result;
+    }
+
+    private ReservationHold findOwned(Long id) {
+        ReservationHold hold = holdRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("ReservationHold", "id", id));
+        if (!currentAccountService.currentAccountId().equals(hold.getUser().getId())) {
+            throw new ForbiddenException("ReservationHold", "access hold " + id);
+        }
+        return hold;
+    }
+
+    private ReservationHoldResponseDTO mapToResponseDTO(ReservationHold hold, Long userId) {
+        return new ReservationHoldResponseDTO(
+                hold.getId(),
+                userId,
+                hold.getTechnicianService().getId().getTechnicianId(),
+                hold.getTechnicianService().getId().getServiceId(),
+                hold.getServiceDate(),
+                hold.getStartTime(),
+                hold.getEndTime(),
+                hold.getAddress(),
+                hold.getExpiresAt()
+        );
+    }
+}
@@ -0,0 +1,393 @@
+package com.example.aura.Entity.Reservation.Service;
+
+import com.example.aura.Booking.BookingEngine;
+import com.example.aura.Booking.TechnicianDay;
+import com.example.aura.Entity.Reservation.DTO.ReservationOccurrenceDTO;
+import com.example.aura.Entity.Reservation.DTO.ReservationResponseDTO;
+import com.example.aura.Entity.Reservation.DTO.ReservationRow;
+import com.example.aura.Entity.Reservation.DTO.ReservationSeriesRequestDTO;
+import com.example.aura.Entity.Reservation.DTO.ReservationSeriesResponseDTO;
+import com.example.aura.Entity.Reservation.Domain.Reservation;
+import com.example.aura.Entity.Reservation.Domain.ReservationSeries;
+import com.example.aura.Entity.Reservation.Domain.ReservationSeriesStatus;
+import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+import com.example.aura.Entity.Reservation.Repository.ReservationRepository;
+import com.example.aura.Entity.Reservation.Repository.ReservationSeriesRepository;
+import com.example.aura.Entity.TechnicianService.Domain.TechnicianService;
+import com.example.aura.Entity.TechnicianService.Domain.TechnicianServiceId;
+import com.example.aura.Entity.TechnicianService.Repository.TechnicianServiceRepository;
+import com.example.aura.Entity.User.Domain.User;
+import com.example.aura.Entity.User.Repository.UserRepository;
+import com.example.aura.Event.Reservation.ReservationChangedEvent;
+import com.example.aura.Event.Reservation.ReservationSlotFreedEvent;
+import com.example.aura.Exception.ConflictException;
+import com.example.aura.Exception.ForbiddenException;
+import com.example.aura.Exception.InvalidOperationException;
+import com.example.aura.Exception.ResourceNotFoundException;
+import com.example.aura.Security.Domain.Role;
+import com.example.aura.Security.Service.CurrentAccountService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Series de reservas recurrentes. La serie solo guarda la regla; las ocurrencias se expanden
+ * al pedir una ventana de calendario y se materializan como reservas normales (mismo
+ * BookingEngine, mismos eventos) cuando el cliente o el técnico actúan sobre ellas o cuando
+ * entran en los próximos reservation.series.materialize-ahead-days días.
+ */
+@Service
+@Slf4j
+public class ReservationSeriesService {
+
+    private final ReservationSeriesRepository seriesRepository;
+    private final ReservationRepository reservationRepository;
+    private final ReservationService reservationService;
+    private final UserRepository userRepository;
+    private final TechnicianServiceRepository technicianServiceRepository;
+    private final CurrentAccountService currentAccountService;
+    private final BookingEngine bookingEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final long materializeAheadDays;
+    private final int batchSize;
+    private final long maxWindowDays;
+
+    private final LongAdder materialized = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder expansions = new LongAdder();
+
+    public ReservationSeriesService(
+            ReservationSeriesRepository seriesRepository,
+            ReservationRepository reservationRepository,
+            ReservationService reservationService,
+            UserRepository userRepository,
+            TechnicianServiceRepository technicianServiceRepository,
+            CurrentAccountService currentAccountService,
+            BookingEngine bookingEngine,
+            ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate,
+            @Value("${reservation.series.materialize-ahead-days:7}") long materializeAheadDays,
+            @Value("${reservation.series.batch-size:200}") int batchSize,
+            @Value("${reservation.series.max-window-days:366}") long maxWindowDays
+    ) {
+        this.seriesRepository = seriesRepository;
+        this.reservationRepository = reservationRepository;
+        this.reservationService = reservationService;
+        this.userRepository = userRepository;
+        this.technicianServiceRepository = technicianServiceRepository;
+        this.currentAccountService = currentAccountService;
+        this.bookingEngine = bookingEngine;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.materializeAheadDays = materializeAheadDays;
+        this.batchSize = batchSize;
+        this.maxWindowDays = maxWindowDays;
+    }
+
+    /**
+     * Crea la serie y materializa ya las ocurrencias cercanas; si alguna choca con la agenda
+     * del técnico la creación falla entera con 409.
+     */
+    @Transactional
+    public ReservationSeriesResponseDTO createSeries(ReservationSeriesRequestDTO requestDTO) {
+        if (requestDTO.getEndDate() != null && requestDTO.getEndDate().isBefore(requestDTO.getStartDate())) {
+            throw new InvalidOperationException("create series", "endDate must not be before startDate");
+        }
+        Long userId = currentAccountService.currentAccountId();
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+        TechnicianServiceId tsId = new TechnicianServiceId(requestDTO.getTechnicianId(), requestDTO.getServiceId());
+        TechnicianService technicianService = technicianServiceRepository.findById(tsId)
+                .orElseThrow(() -> new ResourceNotFoundException("TechnicianService", "id",
+                        requestDTO.getTechnicianId() + "-" + requestDTO.getServiceId()));
+
+        LocalDateTime now = LocalDateTime.now();
+        ReservationSeries series = new ReservationSeries();
+        series.setUser(user);
+        series.setTechnicianService(technicianService);
+        series.setFrequency(requestDTO.getFrequency());
+        series.setInterval(requestDTO.getInterval() != null ? requestDTO.getInterval() : 1);
+        series.setStartDate(requestDTO.getStartDate());
+        series.setEndDate(requestDTO.getEndDate());
+        series.setOccurrenceCount(requestDTO.getOccurrences());
+        series.setStartTime(requestDTO.getStartTime());
+        series.setEndTime(bookingEngine.resolveEnd(requestDTO.getStartTime(), requestDTO.getEndTime()));
+        series.setAddress(requestDTO.getAddress());
+        series.setStatus(ReservationSeriesStatus.ACTIVE);
+        series.setMaterializedThrough(requestDTO.getStartDate().minusDays(1));
+        series.setCreatedAt(now);
+        series.setUpdatedAt(now);
+        ReservationSeries saved = seriesRepository.save(series);
+
+        LocalDate horizon = LocalDate.now().plusDays(materializeAheadDays);
+        for (LocalDate date : saved.occurrencesBetween(saved.getStartDate(), horizon)) {
+            reservationService.book(occurrence(saved, date));
+            materialized.increment();
+        }
+        if (!horizon.isBefore(saved.getStartDate())) {
+            saved.setMaterializedThrough(horizon);
+        }
+        return mapToResponseDTO(saved);
+    }
+
+    @Transactional(readOnly = true)
+    public ReservationSeriesResponseDTO getSeries(Long id) {
+        return mapToResponseDTO(findAccessible(id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReservationSeriesResponseDTO> getMySeries() {
+        return seriesRepository.findByUserIdOrderByIdDesc(currentAccountService.currentAccountId()).stream()
+                .map(this::mapToResponseDTO)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReservationOccurrenceDTO> getOccurrences(Long id, LocalDate from, LocalDate to) {
+        return expand(List.of(findAccessible(id)), from, to);
+    }
+
+    // Calendario del cliente: todas sus series activas en una ventana, con una sola consulta de reservas
+    @Transactional(readOnly = true)
+    public List<ReservationOccurrenceDTO> getMyOccurrences(LocalDate from, LocalDate to) {
+        Long userId = currentAccountService.currentAccountId();
+        return expand(seriesRepository.findByUserIdAndStatus(userId, ReservationSeriesStatus.ACTIVE), from, to);
+    }
+
+    /**
+     * Convierte una ocurrencia en reserva PENDING (o devuelve la que ya existe) para que se
+     * pueda confirmar, modificar o cancelar con los endpoints de reservas.
+     */
+    @Transactional
+    public ReservationResponseDTO materializeOccurrence(Long id, LocalDate occurrenceDate) {
+        ReservationSeries series = findAccessible(id);
+        return reservationService.getReservationById(materialize(series, occurrenceDate));
+    }
+
+    @Transactional
+    public ReservationResponseDTO confirmOccurrence(Long id, LocalDate occurrenceDate) {
+        ReservationSeries series = findAccessible(id);
+        Long reservationId = materialize(series, occurrenceDate);
+        return reservationService.confirmReservation(reservationId);
+    }
+
+    /**
+     * Detiene la serie y cancela sus reservas futuras que aún ocupan agenda.
+     */
+    @Transactional
+    public ReservationSeriesResponseDTO cancelSeries(Long id) {
+        ReservationSeries series = findAccessible(id);
+        if (series.getStatus() == ReservationSeriesStatus.CANCELLED) {
+            return mapToResponseDTO(series);
+        }
+        series.setStatus(ReservationSeriesStatus.CANCELLED);
+        series.setUpdatedAt(LocalDateTime.now());
+        seriesRepository.save(series);
+
+        List<Long> ids = reservationRepository.findSeriesReservationIds(id, LocalDate.now(), BookingEngine.BLOCKING_STATUSES);
+        if (!ids.isEmpty()) {
+            List<Integer> sources = ReservationStatus.TRANSITIONS.sourcesFor(ReservationStatus.CANCELLED).stream()
+                    .map(ReservationStatus::ordinal)
+                    .toList();
+            // Solo se cancelan, liberan y notifican las que siguen cancelables tras el bloqueo
+            List<Long> locked = reservationRepository.lockTransitionable(ids, sources);
+            if (!locked.isEmpty()) {
+                reservationRepository.transitionAll(locked, ReservationStatus.CANCELLED, LocalDateTime.now());
+                List<ReservationRow> rows = reservationRepository.findRowsByIds(locked);
+                rows.forEach(row -> bookingEngine.release(row.technicianId(), row.serviceDate(), row.id()));
+                rows.stream()
+                        .map(row -> new TechnicianDay(row.technicianId(), row.serviceDate()))
+                        .distinct()
+                        .forEach(day -> eventPublisher.publishEvent(
+                                new ReservationSlotFreedEvent(this, day.technicianId(), day.date())));
+                eventPublisher.publishEvent(new ReservationChangedEvent(this, locked, "SERIES_CANCELLED"));
+            }
+        }
+        return mapToResponseDTO(series);
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.series.interval-ms:3600000}",
+            initialDelayString = "${reservation.series.interval-ms:3600000}")
+    public void runScheduled() {
+        materializeDue(LocalDate.now());
+    }
+
+    /**
+     * Materializa las ocurrencias que entran en el horizonte. Cada ocurrencia va en su propia
+     * transacción: si el técnico ya está ocupado esa fecha queda como SKIPPED y el resto sigue.
+     */
+    public int materializeDue(LocalDate today) {
+        LocalDate horizon = today.plusDays(materializeAheadDays);
+        int created = 0;
+        List<Long> due = seriesRepository.findDueIds(ReservationSeriesStatus.ACTIVE, horizon, Limit.of(batchSize));
+        for (Long seriesId : due) {
+            ReservationSeries series = seriesRepository.findById(seriesId).orElse(null);
+            if (series == null) {
+                continue;
+            }
+            LocalDate from = series.getMaterializedThrough().plusDays(1);
+            for (LocalDate date : series.occurrencesBetween(from.isBefore(today) ? today : from, horizon)) {
+                try {
+                    Boolean booked = transactionTemplate.execute(status -> {
+                        if (reservationRepository.findIdBySeriesOccurrence(seriesId, date).isPresent()) {
+                            return false;
+                        }
+                        ReservationSeries current = seriesRepository.findById(seriesId).orElseThrow();
+                        reservationService.book(occurrence(current, date));
+                        return true;
+                    });
+                    if (Boolean.TRUE.equals(booked)) {
+                        created++;
+                        materialized.increment();
+                    }
+                } catch (ConflictException ex) {
+                    skipped.increment();
+                    log.info("📅 Ocurrencia {} de la serie {} sin hueco: {}", date, seriesId, ex.getMessage());
+                } catch (DataIntegrityViolationException ex) {
+                    // Otro nodo o el propio cliente la materializó a la vez
+                    log.debug("Ocurrencia {} de la serie {} ya materializada", date, seriesId);
+                }
+            }
+            transactionTemplate.executeWithoutResult(status ->
+                    seriesRepository.advanceMaterializedThrough(seriesId, horizon, LocalDateTime.now()));
+        }
+        return created;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("materializeAheadDays", materializeAheadDays);
+        result.put("materialized", materialized.sum());
+        result.put("skipped", skipped.sum());
+        result.put("expansions", expansions.sum());
+        return result;
+    }
+
+    private Long materialize(ReservationSeries series, LocalDate occurrenceDate) {
+        if (series.getStatus() != ReservationSeriesStatus.ACTIVE) {
+            throw new InvalidOperationException("materialize occurrence", "Series " + series.getId() + " is cancelled");
+        }
+        if (!series.isOccurrence(occurrenceDate)) {
+            throw new InvalidOperationException("materialize occurrence",
+                    occurrenceDate + " is not an occurrence of series " + series.getId());
+        }
+        if (occurrenceDate.isBefore(LocalDate.now())) {
+            throw new InvalidOperationException("materialize occurrence", "Occurrence " + occurrenceDate + " is in the past");
+        }
+        return reservationRepository.findIdBySeriesOccurrence(series.getId(), occurrenceDate)
+                .orElseGet(() -> {
+                    materialized.increment();
+                    return reservationService.book(occurrence(series, occurrenceDate)).getId();
+                });
+    }
+
+    private List<ReservationOccurrenceDTO> expand(List<ReservationSeries> seriesList, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidOperationException("list occurrences", "from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > maxWindowDays) {
+            throw new InvalidOperationException("list occurrences", "window must not exceed " + maxWindowDays + " days");
+        }
+        if (seriesList.isEmpty()) {
+            return List.of();
+        }
+        expansions.increment();
+        Map<Long, ReservationSeries> byId = seriesList.stream()
+                .collect(Collectors.toMap(ReservationSeries::getId, Function.identity()));
+        Map<String, ReservationOccurrenceDTO> materializedRows = reservationRepository
+                .findOccurrences(byId.keySet(), from, to).stream()
+                .collect(Collectors.toMap(row -> row.seriesId() + "|" + row.occurrenceDate(), Function.identity()));
+
+        List<ReservationOccurrenceDTO> result = new ArrayList<>();
+        for (ReservationSeries series : seriesList) {
+            for (LocalDate date : series.occurrencesBetween(from, to)) {
+                ReservationOccurrenceDTO row = materializedRows.get(series.getId() + "|" + date);
+                if (row != null) {
+                    result.add(row);
+                } else if (series.getStatus() == ReservationSeriesStatus.ACTIVE) {
+                    ReservationOccurrenceDTO.State state = date.isAfter(series.getMaterializedThrough())
+                            ? ReservationOccurrenceDTO.State.PROJECTED
+                            : ReservationOccurrenceDTO.State.SKIPPED;
+                    result.add(new ReservationOccurrenceDTO(series.getId(), date, null, date,
+                            series.getStartTime(), series.getEndTime(), null, state));
+                }
+            }
+        }
+        result.sort(Comparator.comparing(ReservationOccurrenceDTO::serviceDate)
+                .thenComparing(ReservationOccurrenceDTO::startTime)
+                .thenComparing(ReservationOccurrenceDTO::seriesId));
+        return result;
+    }
+
+    private Reservation occurrence(ReservationSeries series, LocalDate date) {
+        LocalDateTime now = LocalDateTime.now();
+        Reservation reservation = new Reservation();
+        reservation.setUser(series.getUser());
+        reservation.setTechnicianService(series.getTechnicianService());
+        reservation.setSeries(series);
+        reservation.setOccurrenceDate(date);
+        reservation.setReservationDate(LocalDate.now());
+        reservation.setServiceDate(date);
+        reservation.setStartTime(series.getStartTime());
+        reservation.setEndTime(series.getEndTime());
+        reservation.setAddress(series.getAddress());
+        reservation.setStatus(ReservationStatus.PENDING);
+        reservation.setCreatedAt(now);
+        reservation.setUpdatedAt(now);
+        return reservation;
+    }
+
+    // El cliente dueño, el técnico de la serie o un administrador
+    private ReservationSeries findAccessible(Long id) {
+        ReservationSeries series = seriesRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("ReservationSeries", "id", id));
+        if (currentAccountService.hasRole(Role.ADMIN) || currentAccountService.hasRole(Role.SUPERADMIN)) {
+            return series;
+        }
+        Long accountId = currentAccountService.currentAccountId();
+        if (!accountId.equals(series.getUser().getId())
+                && !accountId.equals(series.getTechnicianService().getId().getTechnicianId())) {
+            throw new ForbiddenException("ReservationSeries", "access series " + id);
+        }
+        return series;
+    }
+
+    private ReservationSeriesResponseDTO mapToResponseDTO(ReservationSeries series) {
+        return new ReservationSeriesResponseDTO(
+                series.getId(),
+                series.getUser().getId(),
+                series.getTechnicianService().getId().getTechnicianId(),
+                series.getTechnicianService().getId().getServiceId(),
+                series.getFrequency(),
+                series.getInterval(),
+                series.getStartDate(),
+                series.getEndDate(),
+                series.getOccurrenceCount(),
+                series.getStartTime(),
+                series.getEndTime(),
+                series.getAddress(),
+                series.getStatus(),
+                series.getMaterializedThrough(),
+                series.getCreatedAt()
+        );
+    }
+}
@@ -1,41 +1,85 @@
 package com.example.aura.Entity.Reservation.Service;
 
+import com.example.aura.Booking.BookingEngine;
+import com.example.aura.Booking.BookingHold;
+import com.example.aura.Booking.TechnicianDay;
+import com.example.aura.Entity.Reservation.DTO.ArchivedReservation;
+import com.example.aura.Entity.Reservation.DTO.ReservationBulkActionDTO;
+import com.example.aura.Entity.Reservation.DTO.ReservationBulkItemDTO;
+import com.example.aura.Entity.Reservation.DTO.ReservationBulkResultDTO;
 import com.example.aura.Entity.Reservation.DTO.ReservationParticipantDTO;
 import com.example.aura.Entity.Reservation.DTO.ReservationRequestDTO;
 import com.example.aura.Entity.Reservation.DTO.ReservationResponseDTO;
+import com.example.aura.Entity.Reservation.DTO.ReservationRow;
+import com.example.aura.Entity.Reservation.DTO.ReservationSearchCriteria;
 import com.example.aura.Entity.Reservation.DTO.ReservationServiceDTO;
 import com.example.aura.Entity.Reservation.DTO.ReservationUpdateDTO;
 import com.example.aura.Entity.Reservation.Domain.Reservation;
+import com.example.aura.Entity.Reservation.Domain.ReservationBulkAction;
 import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
 import com.example.aura.Entity.Reservation.Repository.ReservationRepository;
+import com.example.aura.Entity.Reservation.Repository.ReservationSearchQuery;
+import com.example.aura.Entity.Reservation.Repository.ReservationSearchRepository;
+import com.example.aura.Entity.Reservation.Repository.ReservationViewRepository;
 import com.example.aura.Entity.TechnicianService.Domain.TechnicianService;
 import com.example.aura.Entity.TechnicianService.Domain.TechnicianServiceId;
 import com.example.aura.Entity.TechnicianService.Repository.TechnicianServiceRepository;
 import com.example.aura.Entity.User.Domain.User;
 import com.example.aura.Entity.User.Repository.UserRepository;
+import com.example.aura.Exception.ConflictException;
+import com.example.aura.Exception.InvalidOperationException;
 import com.example.aura.Exception.ResourceNotFoundException;
+import com.example.aura.Security.Domain.Role;
+import com.example.aura.Security.Service.CurrentAccountService;
+import com.example.aura.Pagination.Cursor;
+import com.example.aura.Pagination.CursorPage;
+import com.example.aura.Pagination.Keyset;
+import com.example.aura.Transition.StatusTransitionEngine;
+import com.example.aura.Transition.TransitionResult;
 import com.example.aura.Service.AuditService;
 import com.example.aura.Service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import com.example.aura.Event.Reservation.ReservationBulkActionEvent;
+import com.example.aura.Event.Reservation.ReservationChangedEvent;
 import com.example.aura.Event.Reservation.ReservationCreatedEvent;
 import com.example.aura.Event.Reservation.ReservationConfirmedEvent;
 import com.example.aura.Event.Reservation.ReservationCompletedEvent;
+import com.example.aura.Event.Reservation.ReservationSlotFreedEvent;
 import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.function.ToIntFunction;
 
 @Service
 @RequiredArgsConstructor
 public class ReservationService {
 
+    private static final Keyset<LocalDateTime> KEYSET = Keyset.dateTime("reservation.createdAt");
+    private static final Keyset<LocalDate> SEARCH_KEYSET = Keyset.date("reservation.search");
+
     private final ReservationRepository reservationRepository;
+    private final ReservationViewRepository reservationViewRepository;
+    private final ReservationSearchRepository reservationSearchRepository;
     private final UserRepository userRepository;
     private final TechnicianServiceRepository technicianServiceRepository;
     private final com.example.aura.Entity.Technician.Repository.TechnicianRepository technicianRepository;
@@ -43,6 +87,10 @@ public class ReservationService {
     private final AuditService auditService;
     private final ModelMapper modelMapper;
     private final ApplicationEventPublisher eventPublisher;
+    private final StatusTransitionEngine transitionEngine;
+    private final CurrentAccountService currentAccountService;
+    private final BookingEngine bookingEngine;
+    private final ReservationArchiveService reservationArchiveService;
 
     @Transactional
     public ReservationResponseDTO createReservation(ReservationRequestDTO requestDTO) {
@@ -65,12 +113,34 @@ public class ReservationService {
         reservation.setReservationDate(LocalDate.now());
         reservation.setServiceDate(requestDTO.getServiceDate());
         reservation.setStartTime(requestDTO.getStartTime());
+        reservation.setEndTime(bookingEngine.resolveEnd(requestDTO.getStartTime(), requestDTO.getEndTime()));
         reservation.setAddress(requestDTO.getAddress());
         reservation.setStatus(ReservationStatus.PENDING);
         reservation.setCreatedAt(LocalDateTime.now());
         reservation.setUpdatedAt(LocalDateTime.now());
 
-        Reservation savedReservation = reservationRepository.save(reservation);
+        return mapToResponseDTO(book(reservation));
+    }
+
+    /**
+     * Reserva la franja en BookingEngine, guarda la reserva y publica ReservationCreatedEvent.
+     * La usan la creación directa y la materialización de ocurrencias de series.
+     */
+    @Transactional
+    public Reservation book(Reservation reservation) {
+        return book(reservation, bookingEngine.hold(reservation.getTechnicianService().getId().getTechnicianId(),
+                reservation.getServiceDate(), reservation.getStartTime(), reservation.getEndTime()));
+    }
+
+    /**
+     * Igual que book(Reservation) pero con la franja ya retenida, p. ej. al confirmar una
+     * retención de checkout con BookingEngine.claimHold.
+     */
+    @Transactional
+    public Reservation book(Reservation reservation, BookingHold hold) {
+        TechnicianService technicianService = reservation.getTechnicianService();
+        User user = reservation.getUser();
+        Reservation savedReservation = saveBooking(reservation, hold);
         eventPublisher.publishEvent(new ReservationCreatedEvent(
                 this,
                 savedReservation.getId(),
@@ -81,42 +151,61 @@ public class ReservationService {
                 technicianService.getService().getName(),
                 savedReservation.getServiceDate().toString()
         ));
+        return savedReservation;
+    }
 
-        return mapToResponseDTO(savedReservation);
+    /**
+     * Reserva la franja y guarda la reserva sin ReservationCreatedEvent; solo refresca la vista.
+     * Para flujos que notifican por su cuenta, como la promoción desde la lista de espera.
+     */
+    @Transactional
+    public Reservation bookWithoutNotification(Reservation reservation, String changeType) {
+        BookingHold hold = bookingEngine.hold(reservation.getTechnicianService().getId().getTechnicianId(),
+                reservation.getServiceDate(), reservation.getStartTime(), reservation.getEndTime());
+        Reservation savedReservation = saveBooking(reservation, hold);
+        eventPublisher.publishEvent(new ReservationChangedEvent(this, List.of(savedReservation.getId()), changeType));
+        return savedReservation;
     }
 
     @Transactional(readOnly = true)
     public ReservationResponseDTO getReservationById(Long id) {
-        Reservation reservation = reservationRepository.findById(id)
+        return reservationRepository.findRowById(id)
+                .or(() -> reservationArchiveService.find(id).map(ArchivedReservation::reservation))
+                .map(ReservationRow::toResponseDTO)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation", "id", id));
-        return mapToResponseDTO(reservation);
+    }
+
+    @Transactional(readOnly = true)
+    public ArchivedReservation getArchivedReservation(Long id) {
+        return reservationArchiveService.find(id)
+                .orElseThrow(() -> new ResourceNotFoundException("ArchivedReservation", "id", id));
     }
 
     @Transactional(readOnly = true)
     public Page<ReservationResponseDTO> getAllReservations(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return reservationRepository.findAll(pageable).map(this::mapToResponseDTO);
+        return reservationViewRepository.findAllRows(pageable).map(ReservationRow::toResponseDTO);
     }
 
     @Transactional(readOnly = true)
     public Page<ReservationResponseDTO> getReservationsByUserId(Long userId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return reservationRepository.findByUserId(userId, pageable)
-                .map(this::mapToResponseDTO);
+        return reservationViewRepository.findRowsByUserId(userId, pageable)
+                .map(ReservationRow::toResponseDTO);
     }
 
     @Transactional(readOnly = true)
     public Page<ReservationResponseDTO> getReservationsByTechnicianId(Long technicianId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return reservationRepository.findByTechnicianServiceTechnicianId(technicianId, pageable)
-                .map(this::mapToResponseDTO);
+        return reservationViewRepository.findRowsByTechnicianId(technicianId, pageable)
+                .map(ReservationRow::toResponseDTO);
     }
 
     @Transactional(readOnly = true)
     public Page<ReservationResponseDTO> getReservationsByStatus(ReservationStatus status, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return reservationRepository.findByStatus(status, pageable)
-                .map(this::mapToResponseDTO);
+        return reservationViewRepository.findRowsByStatus(status, pageable)
+                .map(ReservationRow::toResponseDTO);
     }
 
     @Transactional(readOnly = true)
@@ -145,10 +234,68 @@ public class ReservationService {
         return getReservationsByTechnicianId(technician.getId(), page, size);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<ReservationResponseDTO> scrollAllReservations(String cursor, int size) {
+        return scrollRows(cursor, size, (position, limit) ->
+                reservationViewRepository.scrollAllRows(position.sortKey(), position.id(), limit));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ReservationResponseDTO> scrollReservationsByUserId(Long userId, String cursor, int size) {
+        return scrollRows(cursor, size, (position, limit) ->
+                reservationViewRepository.scrollRowsByUserId(userId, position.sortKey(), position.id(), limit));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ReservationResponseDTO> scrollReservationsByTechnicianId(Long technicianId, String cursor, int size) {
+        return scrollRows(cursor, size, (position, limit) ->
+                reservationViewRepository.scrollRowsByTechnicianId(technicianId, position.sortKey(), position.id(), limit));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ReservationResponseDTO> scrollReservationsByStatus(ReservationStatus status, String cursor, int size) {
+        return scrollRows(cursor, size, (position, limit) ->
+                reservationViewRepository.scrollRowsByStatus(status, position.sortKey(), position.id(), limit));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ReservationResponseDTO> scrollMyReservations(String cursor, int size) {
+        return scrollReservationsByUserId(currentAccountService.currentAccountId(), cursor, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ReservationResponseDTO> scrollMyTechnicianReservations(String cursor, int size) {
+        return scrollReservationsByTechnicianId(currentAccountService.currentAccountId(), cursor, size);
+    }
+
+    /**
+     * Búsqueda con cualquier combinación de filtros, paginada por (serviceDate, id) descendente.
+     * El cursor solo es válido para los mismos filtros con los que se emitió.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ReservationResponseDTO> searchReservations(ReservationSearchCriteria criteria, String cursor, int size) {
+        if (criteria.getFrom() != null && criteria.getTo() != null && criteria.getFrom().isAfter(criteria.getTo())) {
+            throw new InvalidOperationException("search", "from must not be after to");
+        }
+        if (criteria.getMinPrice() != null && criteria.getMaxPrice() != null && criteria.getMinPrice() > criteria.getMaxPrice()) {
+            throw new InvalidOperationException("search", "minPrice must not be greater than maxPrice");
+        }
+        Cursor<LocalDate> position = SEARCH_KEYSET.decode(cursor);
+        List<ReservationRow> rows = reservationSearchRepository.search(
+                ReservationSearchQuery.of(criteria, position.sortKey(), position.id(), Keyset.clamp(size) + 1));
+        return SEARCH_KEYSET.page(rows, size, ReservationRow::serviceDate, ReservationRow::id)
+                .map(ReservationRow::toResponseDTO);
+    }
+
     @Transactional
     public ReservationResponseDTO updateReservation(Long id, ReservationUpdateDTO updateDTO) {
         Reservation reservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation", "id", id));
+        TechnicianDay previousDay = technicianDayOf(reservation);
+        LocalDate previousDate = reservation.getServiceDate();
+        LocalTime previousStart = reservation.getStartTime();
+        LocalTime previousEnd = reservation.getEndTime();
+        ReservationStatus previousStatus = reservation.getStatus();
 
         if (updateDTO.getServiceDate() != null) {
             reservation.setServiceDate(updateDTO.getServiceDate());
@@ -162,82 +309,165 @@ public class ReservationService {
         if (updateDTO.getAddress() != null) {
             reservation.setAddress(updateDTO.getAddress());
         }
-        if (updateDTO.getStatus() != null) {
+        if (updateDTO.getStatus() != null && updateDTO.getStatus() != reservation.getStatus()) {
+            if (!ReservationStatus.TRANSITIONS.allows(reservation.getStatus(), updateDTO.getStatus())) {
+                throw new InvalidOperationException("transition to " + updateDTO.getStatus(),
+                        String.format("Reservation %d is %s", id, reservation.getStatus()));
+            }
             reservation.setStatus(updateDTO.getStatus());
         }
 
         reservation.setUpdatedAt(LocalDateTime.now());
-        Reservation updatedReservation = reservationRepository.save(reservation);
+
+        boolean wasBlocking = BookingEngine.BLOCKING_STATUSES.contains(previousStatus);
+        boolean blocking = BookingEngine.BLOCKING_STATUSES.contains(reservation.getStatus());
+        boolean rescheduled = !reservation.getServiceDate().equals(previousDate)
+                || !reservation.getStartTime().equals(previousStart)
+                || !Objects.equals(reservation.getEndTime(), previousEnd);
+
+        Reservation updatedReservation;
+        if (blocking && rescheduled) {
+            reservation.setEndTime(bookingEngine.resolveEnd(reservation.getStartTime(), reservation.getEndTime()));
+            BookingHold hold = bookingEngine.hold(previousDay.technicianId(), reservation.getServiceDate(),
+                    reservation.getStartTime(), reservation.getEndTime(), previousDay, id);
+            updatedReservation = saveBooking(reservation, hold);
+        } else {
+            updatedReservation = reservationRepository.save(reservation);
+            if (wasBlocking && !blocking) {
+                bookingEngine.release(previousDay.technicianId(), previousDay.date(), id);
+            }
+        }
+        eventPublisher.publishEvent(new ReservationChangedEvent(this, List.of(id), "UPDATED"));
         return mapToResponseDTO(updatedReservation);
     }
 
     @Transactional
     public ReservationResponseDTO confirmReservation(Long id) {
-        Reservation reservation = reservationRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Reservation", "id", id));
+        Long technicianId = currentAccountService.currentAccountId();
+        ReservationRow updated = applyTransition(id, ReservationStatus.CONFIRMED, sources ->
+                reservationRepository.transitionForTechnician(id, technicianId, sources, ReservationStatus.CONFIRMED, LocalDateTime.now()));
 
-        enforceTechnicianOwnership(reservation);
-
-        reservation.setStatus(ReservationStatus.CONFIRMED);
-        reservation.setUpdatedAt(LocalDateTime.now());
-        Reservation updatedReservation = reservationRepository.save(reservation);
-
-        eventPublisher.publishEvent(new ReservationConfirmedEvent(
-                this,
-                updatedReservation.getId(),
-                updatedReservation.getUser().getEmail(),
-                updatedReservation.getUser().getPhone(),
-                updatedReservation.getTechnicianService().getTechnician().getFirstName() + " " +
-                        updatedReservation.getTechnicianService().getTechnician().getLastName(),
-                updatedReservation.getServiceDate().toString()
-        ));
+        eventPublisher.publishEvent(confirmedEvent(updated));
 
-        return mapToResponseDTO(updatedReservation);
+        return updated.toResponseDTO();
     }
 
     @Transactional
     public ReservationResponseDTO rejectReservation(Long id) {
-        Reservation reservation = reservationRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Reservation", "id", id));
-
-        enforceTechnicianOwnership(reservation);
-
-        reservation.setStatus(ReservationStatus.REJECTED);
-        reservation.setUpdatedAt(LocalDateTime.now());
-        Reservation updatedReservation = reservationRepository.save(reservation);
-        return mapToResponseDTO(updatedReservation);
+        Long technicianId = currentAccountService.currentAccountId();
+        ReservationRow updated = applyTransition(id, ReservationStatus.REJECTED, sources ->
+                reservationRepository.transitionForTechnician(id, technicianId, sources, ReservationStatus.REJECTED, LocalDateTime.now()));
+        bookingEngine.release(updated.technicianId(), updated.serviceDate(), id);
+        eventPublisher.publishEvent(new ReservationChangedEvent(this, List.of(id), "REJECTED"));
+        eventPublisher.publishEvent(new ReservationSlotFreedEvent(this, updated.technicianId(), updated.serviceDate()));
+        return updated.toResponseDTO();
     }
 
     @Transactional
     public ReservationResponseDTO cancelReservation(Long id) {
-        Reservation reservation = reservationRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Reservation", "id", id));
-
-        reservation.setStatus(ReservationStatus.CANCELLED);
-        reservation.setUpdatedAt(LocalDateTime.now());
-        Reservation updatedReservation = reservationRepository.save(reservation);
-        return mapToResponseDTO(updatedReservation);
+        ReservationRow updated;
+        if (currentAccountService.hasRole(Role.USER)) {
+            Long userId = currentAccountService.currentAccountId();
+            updated = applyTransition(id, ReservationStatus.CANCELLED, sources ->
+                    reservationRepository.transitionForUser(id, userId, sources, ReservationStatus.CANCELLED, LocalDateTime.now()));
+        } else {
+            updated = applyTransition(id, ReservationStatus.CANCELLED, sources ->
+                    reservationRepository.transition(id, sources, ReservationStatus.CANCELLED, LocalDateTime.now()));
+        }
+        bookingEngine.release(updated.technicianId(), updated.serviceDate(), id);
+        eventPublisher.publishEvent(new ReservationChangedEvent(this, List.of(id), "CANCELLED"));
+        eventPublisher.publishEvent(new ReservationSlotFreedEvent(this, updated.technicianId(), updated.serviceDate()));
+        return updated.toResponseDTO();
     }
 
     @Transactional
     public ReservationResponseDTO completeReservation(Long id) {
-        Reservation reservation = reservationRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Reservation", "id", id));
-
-        enforceUserOwnership(reservation);
+        Long userId = currentAccountService.currentAccountId();
+        ReservationRow updated = applyTransition(id, ReservationStatus.COMPLETED, sources ->
+                reservationRepository.completeForUser(id, userId, sources, ReservationStatus.COMPLETED,
+                        java.time.LocalTime.now(), LocalDateTime.now()));
 
-        reservation.setStatus(ReservationStatus.COMPLETED);
-        reservation.setEndTime(java.time.LocalTime.now());
-        reservation.setUpdatedAt(LocalDateTime.now());
-        Reservation updatedReservation = reservationRepository.save(reservation);
         eventPublisher.publishEvent(new ReservationCompletedEvent(
                 this,
-                updatedReservation.getId(),
-                updatedReservation.getUser().getId(),
-                updatedReservation.getTechnicianService().getTechnician().getId(),
-                updatedReservation.getUser().getEmail()
+                updated.id(),
+                updated.userId(),
+                updated.technicianId(),
+                updated.userEmail()
         ));
-        return mapToResponseDTO(updatedReservation);
+        bookingEngine.release(updated.technicianId(), updated.serviceDate(), id);
+        return updated.toResponseDTO();
+    }
+
+    /**
+     * Aplica la misma acción a varias reservas: bloquea las que aún admiten la transición, las
+     * actualiza con un único UPDATE y relee todas las filas en una sola consulta. Los técnicos
+     * solo afectan a sus reservas; los administradores a cualquiera. Devuelve el resultado por
+     * id y publica un solo evento.
+     */
+    @Transactional
+    public ReservationBulkResultDTO applyBulkAction(ReservationBulkActionDTO requestDTO) {
+        ReservationBulkAction action = requestDTO.getAction();
+        ReservationStatus target = action.getTarget();
+        Set<Long> ids = new LinkedHashSet<>(requestDTO.getReservationIds());
+        List<Integer> sources = ReservationStatus.TRANSITIONS.sourcesFor(target).stream()
+                .map(ReservationStatus::ordinal)
+                .toList();
+        Long actorId = currentAccountService.currentAccountId();
+        boolean technician = currentAccountService.hasRole(Role.TECHNICIAN);
+
+        Set<Long> locked = new HashSet<>(technician
+                ? reservationRepository.lockTransitionableForTechnician(ids, actorId, sources)
+                : reservationRepository.lockTransitionable(ids, sources));
+        if (!locked.isEmpty()) {
+            reservationRepository.transitionAll(locked, target, LocalDateTime.now());
+        }
+
+        Map<Long, ReservationRow> rows = reservationRepository.findRowsByIds(ids).stream()
+                .collect(Collectors.toMap(ReservationRow::id, Function.identity()));
+
+        List<ReservationBulkItemDTO> results = new ArrayList<>(ids.size());
+        List<ReservationRow> applied = new ArrayList<>();
+        for (Long id : ids) {
+            ReservationRow row = rows.get(id);
+            TransitionResult.Outcome outcome;
+            if (row == null) {
+                outcome = TransitionResult.Outcome.NOT_FOUND;
+            } else if (technician && !actorId.equals(row.technicianId())) {
+                outcome = TransitionResult.Outcome.FORBIDDEN;
+                row = null;
+            } else if (locked.contains(id)) {
+                outcome = TransitionResult.Outcome.APPLIED;
+                applied.add(row);
+            } else {
+                outcome = TransitionResult.Outcome.INVALID_STATE;
+            }
+            results.add(new ReservationBulkItemDTO(id, outcome, row != null ? row.status() : null));
+        }
+
+        if (!applied.isEmpty()) {
+            if (!BookingEngine.BLOCKING_STATUSES.contains(target)) {
+                applied.forEach(row -> bookingEngine.release(row.technicianId(), row.serviceDate(), row.id()));
+            }
+            if (target == ReservationStatus.CANCELLED || target == ReservationStatus.REJECTED) {
+                applied.stream()
+                        .map(row -> new TechnicianDay(row.technicianId(), row.serviceDate()))
+                        .distinct()
+                        .forEach(day -> eventPublisher.publishEvent(
+                                new ReservationSlotFreedEvent(this, day.technicianId(), day.date())));
+            }
+            List<ReservationConfirmedEvent> confirmations = target == ReservationStatus.CONFIRMED
+                    ? applied.stream().map(this::confirmedEvent).toList()
+                    : List.of();
+            eventPublisher.publishEvent(new ReservationBulkActionEvent(
+                    this,
+                    actorId,
+                    action.name(),
+                    applied.stream().map(ReservationRow::id).toList(),
+                    confirmations
+            ));
+        }
+
+        return new ReservationBulkResultDTO(action, ids.size(), applied.size(), results);
     }
 
     @Transactional
@@ -245,6 +475,9 @@ public class ReservationService {
         Reservation reservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation", "id", id));
         reservationRepository.delete(reservation);
+        TechnicianDay day = technicianDayOf(reservation);
+        bookingEngine.release(day.technicianId(), day.date(), id);
+        eventPublisher.publishEvent(new ReservationChangedEvent(this, List.of(id), "DELETED"));
     }
 
     private ReservationResponseDTO mapToResponseDTO(Reservation reservation) {
@@ -315,30 +548,54 @@ public class ReservationService {
         return dto;
     }
 
-    private void enforceTechnicianOwnership(Reservation reservation) {
-        String authenticatedEmail = org.springframework.security.core.context.SecurityContextHolder
-                .getContext()
-                .getAuthentication()
-                .getName();
+    // Un único UPDATE condicional; la fila proyectada se relee solo si la transición se aplicó
+    private ReservationRow applyTransition(Long id, ReservationStatus target, ToIntFunction<Set<ReservationStatus>> guardedUpdate) {
+        transitionEngine.apply("Reservation", id, ReservationStatus.TRANSITIONS, target,
+                guardedUpdate, reservationRepository::findStatusById).orThrow();
+        return findRow(id);
+    }
 
-        if (!reservation.getTechnicianService().getTechnician().getEmail().equalsIgnoreCase(authenticatedEmail)) {
-            throw new SecurityException("Technician not authorized to modify this reservation");
-        }
+    private ReservationConfirmedEvent confirmedEvent(ReservationRow row) {
+        return new ReservationConfirmedEvent(
+                this,
+                row.id(),
+                row.userEmail(),
+                row.userPhone(),
+                row.technicianFirstName() + " " + row.technicianLastName(),
+                row.serviceDate().toString()
+        );
     }
 
-    private void enforceUserOwnership(Reservation reservation) {
-        String authenticatedEmail = org.springframework.security.core.context.SecurityContextHolder
-                .getContext()
-                .getAuthentication()
-                .getName();
+    private CursorPage<ReservationResponseDTO> scrollRows(String cursor, int size,
+                                                         BiFunction<Cursor<LocalDateTime>, Limit, List<ReservationRow>> query) {
+        List<ReservationRow> rows = query.apply(KEYSET.decode(cursor), KEYSET.limit(size));
+        return KEYSET.page(rows, size, ReservationRow::createdAt, ReservationRow::id)
+                .map(ReservationRow::toResponseDTO);
+    }
 
-        if (!reservation.getUser().getEmail().equalsIgnoreCase(authenticatedEmail)) {
-            throw new SecurityException("User not authorized to complete this reservation");
+    // saveAndFlush para que la restricción EXCLUDE salte aquí y no en el commit
+    private Reservation saveBooking(Reservation reservation, BookingHold hold) {
+        Reservation saved;
+        try {
+            saved = reservationRepository.saveAndFlush(reservation);
+        } catch (DataIntegrityViolationException ex) {
+            if (BookingEngine.isOverlapViolation(ex)) {
+                bookingEngine.invalidate(hold.day().technicianId(), hold.day().date());
+                throw new ConflictException(String.format("Technician %d is already booked on %s at %s",
+                        hold.day().technicianId(), hold.day().date(), reservation.getStartTime()));
+            }
+            throw ex;
         }
+        hold.attach(saved.getId());
+        return saved;
+    }
 
-        if (reservation.getStatus() != ReservationStatus.CONFIRMED &&
-                reservation.getStatus() != ReservationStatus.IN_PROGRESS) {
-            throw new IllegalStateException("Only confirmed reservations can be completed by the customer");
-        }
+    private TechnicianDay technicianDayOf(Reservation reservation) {
+        return new TechnicianDay(reservation.getTechnicianService().getId().getTechnicianId(), reservation.getServiceDate());
+    }
+
+    private ReservationRow findRow(Long id) {
+        return reservationRepository.findRowById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation", "id", id));
     }
 }
@@ -0,0 +1,226 @@
+package com.example.aura.Entity.Reservation.Service;
+
+import com.example.aura.Entity.Reservation.DTO.ReservationRow;
+import com.example.aura.Entity.Reservation.Domain.ReservationView;
+import com.example.aura.Entity.Reservation.Repository.ReservationRepository;
+import com.example.aura.Entity.Reservation.Repository.ReservationViewRepository;
+import com.example.aura.Exception.ConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mantiene reservation_view. Los eventos de dominio marcan reservas como desactualizadas; al
+ * final de la transacción (beforeCommit) se releen una sola vez desde las tablas base con la
+ * proyección de ReservationRepository y se reescriben, así la vista se confirma junto con el cambio.
+ * rebuild() la reconstruye entera por bloques de ids para backfills; al arrancar se lanza sola
+ * en segundo plano si la vista está vacía y hay reservas.
+ */
+@Service
+@Slf4j
+public class ReservationViewProjector {
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationViewRepository reservationViewRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    private final int batchSize;
+    private final boolean rebuildOnStartup;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final LongAdder refreshedRows = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private volatile Map<String, Object> lastRebuild;
+
+    public ReservationViewProjector(
+            ReservationRepository reservationRepository,
+            ReservationViewRepository reservationViewRepository,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("taskExecutor") Executor executor,
+            @Value("${reservation.view.batch-size:1000}") int batchSize,
+            @Value("${reservation.view.rebuild-on-startup:false}") boolean rebuildOnStartup
+    ) {
+        this.reservationRepository = reservationRepository;
+        this.reservationViewRepository = reservationViewRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    /**
+     * Anota reservas para refrescar al confirmar la transacción actual; varias llamadas en la
+     * misma transacción se agrupan en un solo refresco. Sin transacción refresca en una nueva.
+     */
+    public void markStale(Collection<Long> reservationIds) {
+        if (reservationIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionTemplate.executeWithoutResult(status -> refresh(reservationIds));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Long> created = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    refresh(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ReservationViewProjector.this);
+                }
+            });
+            pending = created;
+        }
+        pending.addAll(reservationIds);
+    }
+
+    public void markStaleForParticipant(Long accountId) {
+        markStale(reservationViewRepository.findIdsByParticipant(accountId));
+    }
+
+    // Cambios de catálogo: se aplican directamente sobre la vista con un UPDATE por servicio
+    public void serviceChanged(com.example.aura.Entity.Service.Domain.Service service) {
+        reservationViewRepository.updateService(service.getId(), service.getName(), service.getDescription(),
+                service.getCategory(), service.getSuggestedPrice());
+    }
+
+    public void baseRateChanged(Long technicianId, Long serviceId, Double baseRate) {
+        reservationViewRepository.updateBaseRate(technicianId, serviceId, baseRate);
+    }
+
+    /**
+     * Reescribe las filas de la vista para esas reservas; las que ya no existen se eliminan.
+     * Debe ejecutarse dentro de una transacción.
+     */
+    public void refresh(Collection<Long> reservationIds) {
+        List<Long> ids = new ArrayList<>(reservationIds);
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + batchSize));
+            List<ReservationRow> rows = reservationRepository.findRowsByIds(batch);
+            reservationViewRepository.deleteByIds(batch);
+            reservationViewRepository.saveAll(rows.stream().map(ReservationView::from).toList());
+            reservationViewRepository.flush();
+            refreshedRows.add(rows.size());
+        }
+        refreshes.increment();
+    }
+
+    /**
+     * Reconstruye la vista completa recorriendo las reservas por id en bloques, cada uno en su
+     * propia transacción, y elimina después las filas huérfanas. Solo una reconstrucción a la vez.
+     */
+    public Map<String, Object> rebuild() {
+        acquire();
+        try {
+            return doRebuild();
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    // Igual que rebuild() pero en el taskExecutor; el resultado queda en stats().lastRebuild
+    public void startRebuild() {
+        acquire();
+        try {
+            executor.execute(() -> {
+                try {
+                    doRebuild();
+                } catch (RuntimeException ex) {
+                    log.error("❌ Falló la reconstrucción de reservation_view", ex);
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        } catch (RuntimeException ex) {
+            rebuilding.set(false);
+            throw ex;
+        }
+    }
+
+    private void acquire() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new ConflictException("A reservation view rebuild is already running");
+        }
+    }
+
+    private Map<String, Object> doRebuild() {
+        Instant startedAt = Instant.now();
+        long begin = System.nanoTime();
+        long rows = 0;
+        Long after = 0L;
+        while (true) {
+            Long cursor = after;
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> batch = reservationRepository.findIdsAfter(cursor, Limit.of(batchSize));
+                refresh(batch);
+                return batch;
+            });
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            rows += ids.size();
+            after = ids.get(ids.size() - 1);
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        Integer orphans = transactionTemplate.execute(status -> reservationViewRepository.deleteOrphans());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", startedAt);
+        report.put("durationMs", (System.nanoTime() - begin) / 1_000_000);
+        report.put("rows", rows);
+        report.put("orphansRemoved", orphans != null ? orphans : 0);
+        lastRebuild = report;
+        log.info("🔄 reservation_view reconstruida: {} filas, {} huérfanas eliminadas en {} ms",
+                rows, report.get("orphansRemoved"), report.get("durationMs"));
+        return report;
+    }
+
+    // Una vista vacía con reservas existentes es un despliegue sobre una base ya poblada
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        boolean empty = reservationViewRepository.count() == 0
+                && !reservationRepository.findIdsAfter(0L, Limit.of(1)).isEmpty();
+        if (rebuildOnStartup || empty) {
+            log.info("🔄 Reconstruyendo reservation_view en segundo plano{}", empty ? " (vista vacía)" : "");
+            startRebuild();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("rows", reservationViewRepository.count());
+        result.put("refreshes", refreshes.sum());
+        result.put("refreshedRows", refreshedRows.sum());
+        result.put("rebuilding", rebuilding.get());
+        result.put("lastRebuild", lastRebuild);
+        return result;
+    }
+}
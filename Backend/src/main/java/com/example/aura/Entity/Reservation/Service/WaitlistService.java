@@ -0,0 +1,235 @@
+package com.example.aura.Entity.Reservation.Service;
+
+import com.example.aura.Booking.BookingEngine;
+import com.example.aura.Entity.Reservation.DTO.ReservationRequestDTO;
+import com.example.aura.Entity.Reservation.DTO.WaitlistEntryResponseDTO;
+import com.example.aura.Entity.Reservation.Domain.Reservation;
+import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+import com.example.aura.Entity.Reservation.Domain.WaitlistEntry;
+import com.example.aura.Entity.Reservation.Domain.WaitlistStatus;
+import com.example.aura.Entity.Reservation.Repository.WaitlistRepository;
+import com.example.aura.Entity.TechnicianService.Domain.TechnicianService;
+import com.example.aura.Entity.TechnicianService.Domain.TechnicianServiceId;
+import com.example.aura.Entity.TechnicianService.Repository.TechnicianServiceRepository;
+import com.example.aura.Entity.User.Repository.UserRepository;
+import com.example.aura.Event.Reservation.WaitlistPromotedEvent;
+import com.example.aura.Exception.ConflictException;
+import com.example.aura.Exception.ForbiddenException;
+import com.example.aura.Exception.InvalidOperationException;
+import com.example.aura.Exception.ResourceNotFoundException;
+import com.example.aura.Security.Service.CurrentAccountService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lista de espera por técnico-día. Quien no consigue una franja se pone en cola en lugar de
+ * reintentar; al cancelarse o rechazarse una reserva se promueven, en orden de llegada, las
+ * entradas cuya franja ya cabe. Cada promoción reclama la entrada y crea la reserva en una
+ * misma transacción y publica una única notificación al cliente.
+ */
+@Service
+@Slf4j
+public class WaitlistService {
+
+    private final WaitlistRepository waitlistRepository;
+    private final ReservationService reservationService;
+    private final UserRepository userRepository;
+    private final TechnicianServiceRepository technicianServiceRepository;
+    private final CurrentAccountService currentAccountService;
+    private final BookingEngine bookingEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int promoteBatchSize;
+
+    private final LongAdder joined = new LongAdder();
+    private final LongAdder promoted = new LongAdder();
+    private final LongAdder stillBlocked = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    public WaitlistService(
+            WaitlistRepository waitlistRepository,
+            ReservationService reservationService,
+            UserRepository userRepository,
+            TechnicianServiceRepository technicianServiceRepository,
+            CurrentAccountService currentAccountService,
+            BookingEngine bookingEngine,
+            ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate,
+            @Value("${reservation.waitlist.promote-batch-size:20}") int promoteBatchSize
+    ) {
+        this.waitlistRepository = waitlistRepository;
+        this.reservationService = reservationService;
+        this.userRepository = userRepository;
+        this.technicianServiceRepository = technicianServiceRepository;
+        this.currentAccountService = currentAccountService;
+        this.bookingEngine = bookingEngine;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.promoteBatchSize = promoteBatchSize;
+    }
+
+    /**
+     * Pone al cliente en la cola de una franja ocupada. Si la franja está libre responde 400:
+     * se reserva directamente.
+     */
+    @Transactional
+    public WaitlistEntryResponseDTO join(ReservationRequestDTO requestDTO) {
+        Long userId = currentAccountService.currentAccountId();
+        TechnicianServiceId tsId = new TechnicianServiceId(requestDTO.getTechnicianId(), requestDTO.getServiceId());
+        TechnicianService technicianService = technicianServiceRepository.findById(tsId)
+                .orElseThrow(() -> new ResourceNotFoundException("TechnicianService", "id",
+                        requestDTO.getTechnicianId() + "-" + requestDTO.getServiceId()));
+        LocalDateTime now = LocalDateTime.now();
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setUser(userRepository.getReferenceById(userId));
+        entry.setTechnicianService(technicianService);
+        entry.setServiceDate(requestDTO.getServiceDate());
+        entry.setStartTime(requestDTO.getStartTime());
+        entry.setEndTime(bookingEngine.resolveEnd(requestDTO.getStartTime(), requestDTO.getEndTime()));
+        entry.setAddress(requestDTO.getAddress());
+        entry.setStatus(WaitlistStatus.WAITING);
+        entry.setCreatedAt(now);
+        entry.setUpdatedAt(now);
+
+        if (bookingEngine.isFree(requestDTO.getTechnicianId(), entry.getServiceDate(), entry.getStartTime(), entry.getEndTime())) {
+            throw new InvalidOperationException("join waitlist", "The slot is available; book it directly");
+        }
+        if (waitlistRepository.existsForUser(userId, requestDTO.getTechnicianId(), entry.getServiceDate(),
+                entry.getStartTime(), WaitlistStatus.WAITING)) {
+            throw new ConflictException("You are already waiting for this slot");
+        }
+        WaitlistEntry saved = waitlistRepository.save(entry);
+        joined.increment();
+        return mapToResponseDTO(saved);
+    }
+
+    @Transactional(readOnly = true)
+    public List<WaitlistEntryResponseDTO> getMyEntries() {
+        return waitlistRepository.findByUserIdAndStatusOrderByIdAsc(currentAccountService.currentAccountId(),
+                        WaitlistStatus.WAITING).stream()
+                .map(this::mapToResponseDTO)
+                .toList();
+    }
+
+    @Transactional
+    public void leave(Long id) {
+        WaitlistEntry entry = waitlistRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("WaitlistEntry", "id", id));
+        if (!currentAccountService.currentAccountId().equals(entry.getUser().getId())) {
+            throw new ForbiddenException("WaitlistEntry", "leave waitlist entry " + id);
+        }
+        if (waitlistRepository.transition(id, WaitlistStatus.WAITING, WaitlistStatus.LEFT, LocalDateTime.now()) == 0) {
+            throw new InvalidOperationException("leave waitlist", "Entry " + id + " is " + entry.getStatus());
+        }
+    }
+
+    /**
+     * Recorre la cola del técnico-día en orden de llegada y promueve cada entrada cuya franja
+     * ya está libre; las que siguen bloqueadas conservan su puesto. Cada promoción va en su
+     * propia transacción.
+     */
+    public int promote(Long technicianId, LocalDate date) {
+        if (date.isBefore(LocalDate.now())) {
+            return 0;
+        }
+        int count = 0;
+        for (Long id : waitlistRepository.findQueue(technicianId, date, WaitlistStatus.WAITING, Limit.of(promoteBatchSize))) {
+            try {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> promoteEntry(id)))) {
+                    count++;
+                    promoted.increment();
+                }
+            } catch (ConflictException ex) {
+                stillBlocked.increment();
+            }
+        }
+        return count;
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.waitlist.expire-interval-ms:3600000}",
+            initialDelayString = "${reservation.waitlist.expire-interval-ms:3600000}")
+    public void expirePast() {
+        Integer count = transactionTemplate.execute(status -> waitlistRepository.expireBefore(LocalDate.now(),
+                WaitlistStatus.WAITING, WaitlistStatus.EXPIRED, LocalDateTime.now()));
+        if (count != null && count > 0) {
+            expired.add(count);
+            log.info("⏳ Entradas de lista de espera caducadas: {}", count);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("joined", joined.sum());
+        result.put("promoted", promoted.sum());
+        result.put("stillBlocked", stillBlocked.sum());
+        result.put("expired", expired.sum());
+        return result;
+    }
+
+    // Reclamar la entrada y crear la reserva van juntos: si la franja no cabe, el rollback la deja en cola
+    private boolean promoteEntry(Long id) {
+        if (waitlistRepository.transition(id, WaitlistStatus.WAITING, WaitlistStatus.PROMOTED, LocalDateTime.now()) == 0) {
+            return false;
+        }
+        WaitlistEntry entry = waitlistRepository.findById(id).orElseThrow();
+        LocalDateTime now = LocalDateTime.now();
+        Reservation reservation = new Reservation();
+        reservation.setUser(entry.getUser());
+        reservation.setTechnicianService(entry.getTechnicianService());
+        reservation.setReservationDate(LocalDate.now());
+        reservation.setServiceDate(entry.getServiceDate());
+        reservation.setStartTime(entry.getStartTime());
+        reservation.setEndTime(entry.getEndTime());
+        reservation.setAddress(entry.getAddress());
+        reservation.setStatus(ReservationStatus.PENDING);
+        reservation.setCreatedAt(now);
+        reservation.setUpdatedAt(now);
+        Reservation saved = reservationService.bookWithoutNotification(reservation, "WAITLIST_PROMOTED");
+
+        entry.setReservationId(saved.getId());
+        entry.setUpdatedAt(now);
+        eventPublisher.publishEvent(new WaitlistPromotedEvent(
+                this,
+                id,
+                saved.getId(),
+                entry.getUser().getId(),
+                entry.getTechnicianService().getService().getName(),
+                entry.getServiceDate().toString(),
+                entry.getStartTime().toString()
+        ));
+        return true;
+    }
+
+    private WaitlistEntryResponseDTO mapToResponseDTO(WaitlistEntry entry) {
+        Long technicianId = entry.getTechnicianService().getId().getTechnicianId();
+        Long position = entry.getStatus() == WaitlistStatus.WAITING
+                ? waitlistRepository.countAhead(technicianId, entry.getServiceDate(), WaitlistStatus.WAITING, entry.getId())
+                : null;
+        return new WaitlistEntryResponseDTO(
+                entry.getId(),
+                technicianId,
+                entry.getTechnicianService().getId().getServiceId(),
+                entry.getServiceDate(),
+                entry.getStartTime(),
+                entry.getEndTime(),
+                entry.getAddress(),
+                entry.getStatus(),
+                position,
+                entry.getReservationId(),
+                entry.getCreatedAt()
+        );
+    }
+}
@@ -4,6 +4,7 @@ import com.example.aura.Entity.Review.DTO.ReviewRequestDTO;
 import com.example.aura.Entity.Review.DTO.ReviewResponseDTO;
 import com.example.aura.Entity.Review.Domain.ReviewStatus;
 import com.example.aura.Entity.Review.Service.ReviewService;
+import com.example.aura.Pagination.CursorPage;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -53,6 +54,15 @@ public class ReviewController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/user/{userId}/scroll")
+    @PreAuthorize("hasAnyRole('USER', 'TECHNICIAN', 'ADMIN', 'SUPERADMIN')")
+    public ResponseEntity<CursorPage<ReviewResponseDTO>> scrollReviewsByUserId(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(reviewService.scrollReviewsByUserId(userId, cursor, size));
+    }
+
     @GetMapping("/my")
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<List<ReviewResponseDTO>> getReviewsForAuthenticatedUser(Authentication authentication) {
@@ -66,6 +76,14 @@ public class ReviewController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/technician/{technicianId}/scroll")
+    public ResponseEntity<CursorPage<ReviewResponseDTO>> scrollReviewsByTechnicianId(
+            @PathVariable Long technicianId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(reviewService.scrollReviewsByTechnicianId(technicianId, cursor, size));
+    }
+
     @GetMapping("/technician/my")
     @PreAuthorize("hasRole('TECHNICIAN')")
     public ResponseEntity<List<ReviewResponseDTO>> getReviewsForAuthenticatedTechnician(Authentication authentication) {
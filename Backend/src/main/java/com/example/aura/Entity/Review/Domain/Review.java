@@ -12,7 +12,10 @@ import lombok.Setter;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "review")
+@Table(name = "review", indexes = {
+        @Index(name = "idx_review_user_created", columnList = "user_id, created_at, review_id"),
+        @Index(name = "idx_review_technician_created", columnList = "technician_id, created_at, review_id")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Setter
@@ -45,4 +48,17 @@ public class Review {
     @OneToOne(optional = false)
     @JoinColumn(name = "reservation_id", nullable = false, unique = true)
     private Reservation reservation;
+
+    // Copias de la reserva para que los listados por usuario o técnico usen su propio índice sin join
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "technician_id")
+    private Long technicianId;
+
+    @PrePersist
+    void copyOwners() {
+        userId = reservation.getUser().getId();
+        technicianId = reservation.getTechnicianService().getId().getTechnicianId();
+    }
 }
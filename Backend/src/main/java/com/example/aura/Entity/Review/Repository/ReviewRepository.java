@@ -2,9 +2,14 @@ package com.example.aura.Entity.Review.Repository;
 
 import com.example.aura.Entity.Review.Domain.Review;
 import com.example.aura.Entity.Review.Domain.ReviewStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Repository
@@ -15,4 +20,26 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     List<Review> findByReservation_User_Email(String email);
     List<Review> findByReservation_TechnicianService_Technician_Id(Long technicianId);
     List<Review> findByReservation_TechnicianService_Technician_Email(String email);
+
+    @Query("SELECT rv FROM Review rv WHERE rv.userId = :userId " +
+            "AND (rv.createdAt, rv.id) < (:sortKey, :id) ORDER BY rv.createdAt DESC, rv.id DESC")
+    List<Review> scrollByUserId(@Param("userId") Long userId,
+                                @Param("sortKey") LocalDate sortKey,
+                                @Param("id") Long id,
+                                Limit limit);
+
+    @Query("SELECT rv FROM Review rv WHERE rv.technicianId = :technicianId " +
+            "AND (rv.createdAt, rv.id) < (:sortKey, :id) ORDER BY rv.createdAt DESC, rv.id DESC")
+    List<Review> scrollByTechnicianId(@Param("technicianId") Long technicianId,
+                                      @Param("sortKey") LocalDate sortKey,
+                                      @Param("id") Long id,
+                                      Limit limit);
+
+    // Reseñas creadas antes de existir user_id y technician_id
+    @Modifying
+    @Query("UPDATE Review rv SET " +
+            "rv.userId = (SELECT r.user.id FROM Reservation r WHERE r = rv.reservation), " +
+            "rv.technicianId = (SELECT r.technicianService.id.technicianId FROM Reservation r WHERE r = rv.reservation) " +
+            "WHERE rv.userId IS NULL OR rv.technicianId IS NULL")
+    int backfillOwners();
 }
@@ -8,30 +8,51 @@ import com.example.aura.Entity.Review.DTO.ReviewResponseDTO;
 import com.example.aura.Entity.Review.Domain.Review;
 import com.example.aura.Entity.Review.Domain.ReviewStatus;
 import com.example.aura.Entity.Review.Repository.ReviewRepository;
+import com.example.aura.Event.Review.ReviewChangedEvent;
 import com.example.aura.Event.Review.ReviewCreatedEvent;
 import com.example.aura.Exception.ConflictException;
 import com.example.aura.Exception.ResourceNotFoundException;
+import com.example.aura.Pagination.Cursor;
+import com.example.aura.Pagination.CursorPage;
+import com.example.aura.Pagination.Keyset;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.context.ApplicationEventPublisher;
 
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class ReviewService {
 
+    private static final Keyset<LocalDate> KEYSET = Keyset.date("review.createdAt");
+
     private final ReviewRepository reviewRepository;
     private final ReservationRepository reservationRepository;
     private final ModelMapper modelMapper;
     private final ApplicationEventPublisher eventPublisher;
 
+    // Completa user_id y technician_id de las reseñas anteriores a esas columnas; luego no hace nada
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillOwners() {
+        int updated = reviewRepository.backfillOwners();
+        if (updated > 0) {
+            log.info("📝 {} reseñas completadas con usuario y técnico", updated);
+        }
+    }
+
     @Transactional
     public ReviewResponseDTO createReview(ReviewRequestDTO requestDTO) {
         Reservation reservation = reservationRepository.findById(requestDTO.getReservationId())
@@ -59,6 +80,7 @@ public class ReviewService {
         eventPublisher.publishEvent(new ReviewCreatedEvent(
                 this,
                 savedReview.getId(),
+                savedReview.getReservation().getId(),
                 savedReview.getReservation().getTechnicianService().getTechnician().getId(),
                 savedReview.getReservation().getTechnicianService().getTechnician().getEmail(),
                 savedReview.getRating(),
@@ -106,6 +128,20 @@ public class ReviewService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<ReviewResponseDTO> scrollReviewsByUserId(Long userId, String cursor, int size) {
+        Cursor<LocalDate> position = KEYSET.decode(cursor);
+        return KEYSET.page(reviewRepository.scrollByUserId(userId, position.sortKey(), position.id(), KEYSET.limit(size)),
+                size, Review::getCreatedAt, Review::getId).map(this::mapToResponseDTO);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ReviewResponseDTO> scrollReviewsByTechnicianId(Long technicianId, String cursor, int size) {
+        Cursor<LocalDate> position = KEYSET.decode(cursor);
+        return KEYSET.page(reviewRepository.scrollByTechnicianId(technicianId, position.sortKey(), position.id(), KEYSET.limit(size)),
+                size, Review::getCreatedAt, Review::getId).map(this::mapToResponseDTO);
+    }
+
     @Transactional(readOnly = true)
     public List<ReviewResponseDTO> getReviewsByUserEmail(String email) {
         return reviewRepository.findByReservation_User_Email(email).stream()
@@ -122,6 +158,14 @@ public class ReviewService {
                 .collect(Collectors.toList());
     }
 
+    // Los ids que ya no existen se omiten
+    @Transactional(readOnly = true)
+    public List<ReviewResponseDTO> getReviewsByIds(Collection<Long> ids) {
+        return reviewRepository.findAllById(ids).stream()
+                .map(this::mapToResponseDTO)
+                .collect(Collectors.toList());
+    }
+
     @Transactional(readOnly = true)
     public List<ReviewResponseDTO> getReviewsByStatus(ReviewStatus status) {
         return reviewRepository.findAll().stream()
@@ -149,6 +193,7 @@ public class ReviewService {
         review.setStatus(ReviewStatus.EDITED);
 
         Review updatedReview = reviewRepository.save(review);
+        eventPublisher.publishEvent(new ReviewChangedEvent(this, updatedReview.getId(), "EDITED"));
         return mapToResponseDTO(updatedReview);
     }
 
@@ -159,6 +204,7 @@ public class ReviewService {
 
         review.setStatus(ReviewStatus.DELETED);
         reviewRepository.save(review);
+        eventPublisher.publishEvent(new ReviewChangedEvent(this, id, "DELETED"));
     }
 
     @Transactional(readOnly = true)
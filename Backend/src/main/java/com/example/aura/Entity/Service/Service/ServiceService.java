@@ -1,5 +1,6 @@
 package com.example.aura.Entity.Service.Service;
 
+import com.example.aura.Entity.Reservation.Service.ReservationViewProjector;
 import com.example.aura.Entity.Service.DTO.ServiceRequestDTO;
 import com.example.aura.Entity.Service.DTO.ServiceResponseDTO;
 import com.example.aura.Entity.Service.Domain.Service;
@@ -20,6 +21,7 @@ public class ServiceService {
 
     private final ServiceRepository serviceRepository;
     private final ModelMapper modelMapper;
+    private final ReservationViewProjector reservationViewProjector;
 
     @Transactional
     public ServiceResponseDTO createService(ServiceRequestDTO requestDTO) {
@@ -93,6 +95,7 @@ public class ServiceService {
         }
 
         Service updatedService = serviceRepository.save(service);
+        reservationViewProjector.serviceChanged(updatedService);
         return mapToResponseDTO(updatedService);
     }
 
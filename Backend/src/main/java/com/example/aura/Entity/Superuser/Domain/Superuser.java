@@ -20,7 +20,10 @@ import java.util.Collection;
 import java.util.List;
 
 @Entity
-@Table(name = "superuser")
+@Table(name = "superuser", uniqueConstraints = {
+        @UniqueConstraint(name = Superuser.EMAIL_CONSTRAINT, columnNames = "email"),
+        @UniqueConstraint(name = Superuser.PHONE_CONSTRAINT, columnNames = "phone")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -29,6 +32,9 @@ import java.util.List;
 @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
 public abstract class Superuser implements UserDetails {
 
+    public static final String EMAIL_CONSTRAINT = "uk_superuser_email";
+    public static final String PHONE_CONSTRAINT = "uk_superuser_phone";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id")
@@ -40,14 +46,14 @@ public abstract class Superuser implements UserDetails {
     @Column(name = "last_name", length = 50, nullable = false)
     private String lastName;
 
-    @Column(name = "email", length = 100, nullable = false, unique = true)
+    @Column(name = "email", length = 100, nullable = false)
     private String email;
 
     @Column(name = "password_hash", length = 255, nullable = false)
     @JsonIgnore
     private String passwordHash;
 
-    @Column(name = "phone", length = 20, unique = true, nullable = true)
+    @Column(name = "phone", length = 20, nullable = true)
     private String phone;
 
     @Column(name = "register_date", nullable = false)
@@ -60,6 +66,10 @@ public abstract class Superuser implements UserDetails {
     @Column(name = "enabled", nullable = false)
     private Boolean enabled = true;
 
+    @Column(name = "token_version", nullable = false)
+    @JsonIgnore
+    private Long tokenVersion = 0L;
+
     @OneToMany(mappedBy = "sender")
     @JsonIgnore
     private List<Message> sentMessages = new ArrayList<>();
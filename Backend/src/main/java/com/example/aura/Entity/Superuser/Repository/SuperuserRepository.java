@@ -1,7 +1,11 @@
 package com.example.aura.Entity.Superuser.Repository;
 
 import com.example.aura.Entity.Superuser.Domain.Superuser;
+import com.example.aura.Security.Domain.AuthPrincipal;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,4 +13,23 @@ import java.util.Optional;
 @Repository
 public interface SuperuserRepository<T extends Superuser> extends JpaRepository<T, Long> {
     Optional<T> findByEmail(String email);
-}
\ No newline at end of file
+
+    @Query("SELECT new com.example.aura.Security.Domain.AuthPrincipal(s.id, s.email, s.role, s.enabled, s.passwordHash, s.tokenVersion) " +
+            "FROM Superuser s WHERE s.email = :email")
+    Optional<AuthPrincipal> findPrincipalByEmail(@Param("email") String email);
+
+    @Query("SELECT s.id FROM Superuser s WHERE s.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+
+    @Query("SELECT s.tokenVersion FROM Superuser s WHERE s.id = :id AND s.enabled = true")
+    Optional<Long> findActiveTokenVersionById(@Param("id") Long id);
+
+    // Nativo: en JPQL la herencia JOINED genera un CTE que recorre todas las subtablas
+    @Modifying
+    @Query(value = "UPDATE superuser SET token_version = token_version + 1 WHERE id = :id", nativeQuery = true)
+    int incrementTokenVersion(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Superuser s SET s.passwordHash = :passwordHash WHERE s.email = :email")
+    int updatePasswordHash(@Param("email") String email, @Param("passwordHash") String passwordHash);
+}
@@ -4,6 +4,7 @@ import com.example.aura.Entity.SupportTicket.DTO.SupportTicketRequestDTO;
 import com.example.aura.Entity.SupportTicket.DTO.SupportTicketResponseDTO;
 import com.example.aura.Entity.SupportTicket.Domain.TicketStatus;
 import com.example.aura.Entity.SupportTicket.Service.SupportTicketService;
+import com.example.aura.Pagination.CursorPage;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -48,6 +49,23 @@ public class SupportTicketController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/scroll")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    public ResponseEntity<CursorPage<SupportTicketResponseDTO>> scrollSupportTickets(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(supportTicketService.scrollSupportTickets(cursor, size));
+    }
+
+    @GetMapping("/status/{status}/scroll")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    public ResponseEntity<CursorPage<SupportTicketResponseDTO>> scrollTicketsByStatus(
+            @PathVariable TicketStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(supportTicketService.scrollTicketsByStatus(status, cursor, size));
+    }
+
     @GetMapping("/reservation/{reservationId}")
     @PreAuthorize("hasAnyRole('USER', 'TECHNICIAN', 'ADMIN', 'SUPERADMIN')")
     public ResponseEntity<List<SupportTicketResponseDTO>> getTicketsByReservationId(@PathVariable Long reservationId) {
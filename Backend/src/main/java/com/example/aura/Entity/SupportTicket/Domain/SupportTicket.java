@@ -12,7 +12,10 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "support_ticket")
+@Table(name = "support_ticket", indexes = {
+        @Index(name = "idx_support_ticket_created", columnList = "created_at, ticket_id"),
+        @Index(name = "idx_support_ticket_status_created", columnList = "status, created_at, ticket_id")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -1,8 +1,16 @@
 package com.example.aura.Entity.SupportTicket.Domain;
 
+import com.example.aura.Transition.TransitionTable;
+
 public enum TicketStatus {
     OPEN,
     IN_PROGRESS,
     RESOLVED,
-    CLOSED
+    CLOSED;
+
+    public static final TransitionTable<TicketStatus> TRANSITIONS = TransitionTable.of(TicketStatus.class)
+            .allow(IN_PROGRESS, OPEN, IN_PROGRESS)
+            .allow(RESOLVED, OPEN, IN_PROGRESS)
+            .allow(CLOSED, OPEN, IN_PROGRESS, RESOLVED)
+            .build();
 }
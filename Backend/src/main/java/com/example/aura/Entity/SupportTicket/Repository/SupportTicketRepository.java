@@ -3,10 +3,17 @@ package com.example.aura.Entity.SupportTicket.Repository;
 import com.example.aura.Entity.SupportTicket.Domain.SupportTicket;
 import com.example.aura.Entity.SupportTicket.Domain.TicketPriority;
 import com.example.aura.Entity.SupportTicket.Domain.TicketStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SupportTicketRepository extends JpaRepository<SupportTicket, Long> {
@@ -15,4 +22,28 @@ public interface SupportTicketRepository extends JpaRepository<SupportTicket, Lo
     List<SupportTicket> findByAdminId(Long adminId);
     List<SupportTicket> findByReservationId(Long reservationId);
     List<SupportTicket> findByAdminIsNull();
+
+    @Query("SELECT t FROM SupportTicket t WHERE (t.createdAt, t.id) < (:sortKey, :id) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<SupportTicket> scrollAll(@Param("sortKey") LocalDateTime sortKey,
+                                  @Param("id") Long id,
+                                  Limit limit);
+
+    @Query("SELECT t FROM SupportTicket t WHERE t.status = :status AND (t.createdAt, t.id) < (:sortKey, :id) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<SupportTicket> scrollByStatus(@Param("status") TicketStatus status,
+                                       @Param("sortKey") LocalDateTime sortKey,
+                                       @Param("id") Long id,
+                                       Limit limit);
+
+    @Query("SELECT t.status FROM SupportTicket t WHERE t.id = :id")
+    Optional<TicketStatus> findStatusById(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SupportTicket t SET t.status = :target, t.updatedAt = :now " +
+            "WHERE t.id = :id AND t.status IN :sources")
+    int transition(@Param("id") Long id,
+                   @Param("sources") Collection<TicketStatus> sources,
+                   @Param("target") TicketStatus target,
+                   @Param("now") LocalDateTime now);
 }
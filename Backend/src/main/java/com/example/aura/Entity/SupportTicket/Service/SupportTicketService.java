@@ -13,6 +13,10 @@ import com.example.aura.Entity.SupportTicket.Domain.TicketStatus;
 import com.example.aura.Entity.SupportTicket.Repository.SupportTicketRepository;
 import com.example.aura.Event.SupportTicket.TicketCreatedEvent;
 import com.example.aura.Exception.ResourceNotFoundException;
+import com.example.aura.Pagination.Cursor;
+import com.example.aura.Pagination.CursorPage;
+import com.example.aura.Pagination.Keyset;
+import com.example.aura.Transition.StatusTransitionEngine;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.context.ApplicationEventPublisher;
@@ -27,12 +31,15 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class SupportTicketService {
 
+    private static final Keyset<LocalDateTime> KEYSET = Keyset.dateTime("ticket.createdAt");
+
     private final SupportTicketRepository supportTicketRepository;
     private final ReservationRepository reservationRepository;
     private final AdminRepository adminRepository;
     private final PaymentRepository paymentRepository;
     private final ModelMapper modelMapper;
     private final ApplicationEventPublisher eventPublisher;
+    private final StatusTransitionEngine transitionEngine;
 
     @Transactional
     public SupportTicketResponseDTO createSupportTicket(SupportTicketRequestDTO requestDTO) {
@@ -88,6 +95,20 @@ public class SupportTicketService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<SupportTicketResponseDTO> scrollSupportTickets(String cursor, int size) {
+        Cursor<LocalDateTime> position = KEYSET.decode(cursor);
+        return KEYSET.page(supportTicketRepository.scrollAll(position.sortKey(), position.id(), KEYSET.limit(size)),
+                size, SupportTicket::getCreatedAt, SupportTicket::getId).map(this::mapToResponseDTO);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<SupportTicketResponseDTO> scrollTicketsByStatus(TicketStatus status, String cursor, int size) {
+        Cursor<LocalDateTime> position = KEYSET.decode(cursor);
+        return KEYSET.page(supportTicketRepository.scrollByStatus(status, position.sortKey(), position.id(), KEYSET.limit(size)),
+                size, SupportTicket::getCreatedAt, SupportTicket::getId).map(this::mapToResponseDTO);
+    }
+
     @Transactional(readOnly = true)
     public List<SupportTicketResponseDTO> getTicketsByReservationId(Long reservationId) {
         return supportTicketRepository.findAll().stream()
@@ -130,26 +151,12 @@ public class SupportTicketService {
 
     @Transactional
     public SupportTicketResponseDTO resolveTicket(Long id) {
-        SupportTicket ticket = supportTicketRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("SupportTicket", "id", id));
-
-        ticket.setStatus(TicketStatus.RESOLVED);
-        ticket.setUpdatedAt(LocalDateTime.now());
-
-        SupportTicket resolvedTicket = supportTicketRepository.save(ticket);
-        return mapToResponseDTO(resolvedTicket);
+        return mapToResponseDTO(applyTransition(id, TicketStatus.RESOLVED));
     }
 
     @Transactional
     public SupportTicketResponseDTO closeTicket(Long id) {
-        SupportTicket ticket = supportTicketRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("SupportTicket", "id", id));
-
-        ticket.setStatus(TicketStatus.CLOSED);
-        ticket.setUpdatedAt(LocalDateTime.now());
-
-        SupportTicket closedTicket = supportTicketRepository.save(ticket);
-        return mapToResponseDTO(closedTicket);
+        return mapToResponseDTO(applyTransition(id, TicketStatus.CLOSED));
     }
 
     @Transactional
@@ -185,4 +192,12 @@ public class SupportTicketService {
 
         return dto;
     }
+
+    private SupportTicket applyTransition(Long id, TicketStatus target) {
+        transitionEngine.apply("SupportTicket", id, TicketStatus.TRANSITIONS, target,
+                sources -> supportTicketRepository.transition(id, sources, target, LocalDateTime.now()),
+                supportTicketRepository::findStatusById).orThrow();
+        return supportTicketRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("SupportTicket", "id", id));
+    }
 }
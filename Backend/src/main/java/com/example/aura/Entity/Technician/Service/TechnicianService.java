@@ -12,11 +12,13 @@ import com.example.aura.Entity.Technician.DTO.TechnicianUpdateDTO;
 import com.example.aura.Entity.Technician.Domain.Technician;
 import com.example.aura.Entity.Technician.Repository.TechnicianRepository;
 import com.example.aura.Entity.TechnicianService.Repository.TechnicianServiceRepository;
+import com.example.aura.Event.User.AccountChangedEvent;
 import com.example.aura.Exception.ConflictException;
 import com.example.aura.Exception.ResourceNotFoundException;
 import com.example.aura.Security.Domain.Role;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -35,6 +37,7 @@ public class TechnicianService {
     private final ServiceRepository serviceRepository;
     private final ModelMapper modelMapper;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public TechnicianResponseDTO createTechnician(TechnicianRequestDTO requestDTO) {
@@ -145,6 +148,7 @@ public class TechnicianService {
         }
 
         Technician updatedTechnician = technicianRepository.save(technician);
+        eventPublisher.publishEvent(new AccountChangedEvent(this, updatedTechnician.getId(), updatedTechnician.getEmail(), "UPDATED"));
         return mapToResponseDTO(updatedTechnician);
     }
 
@@ -153,6 +157,7 @@ public class TechnicianService {
         Technician technician = technicianRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Technician", "id", id));
         technicianRepository.delete(technician);
+        eventPublisher.publishEvent(new AccountChangedEvent(this, technician.getId(), technician.getEmail(), "DELETED"));
     }
 
     @Transactional
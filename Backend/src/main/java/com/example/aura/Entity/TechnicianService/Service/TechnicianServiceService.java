@@ -1,5 +1,6 @@
 package com.example.aura.Entity.TechnicianService.Service;
 
+import com.example.aura.Entity.Reservation.Service.ReservationViewProjector;
 import com.example.aura.Entity.Service.Domain.Service;
 import com.example.aura.Entity.Service.Repository.ServiceRepository;
 import com.example.aura.Entity.Technician.Domain.Technician;
@@ -26,6 +27,7 @@ public class TechnicianServiceService {
     private final TechnicianRepository technicianRepository;
     private final ServiceRepository serviceRepository;
     private final ModelMapper modelMapper;
+    private final ReservationViewProjector reservationViewProjector;
 
     @Transactional
     public TechnicianServiceResponseDTO createTechnicianService(TechnicianServiceRequestDTO requestDTO) {
@@ -91,6 +93,7 @@ public class TechnicianServiceService {
 
         ts.setBaseRate(newBaseRate);
         TechnicianService updatedTS = technicianServiceRepository.save(ts);
+        reservationViewProjector.baseRateChanged(technicianId, serviceId, newBaseRate);
         return mapToResponseDTO(updatedTS);
     }
 
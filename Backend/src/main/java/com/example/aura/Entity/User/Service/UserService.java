@@ -5,11 +5,13 @@ import com.example.aura.Entity.User.DTO.UserResponseDTO;
 import com.example.aura.Entity.User.DTO.UserUpdateDTO;
 import com.example.aura.Entity.User.Domain.User;
 import com.example.aura.Entity.User.Repository.UserRepository;
+import com.example.aura.Event.User.AccountChangedEvent;
 import com.example.aura.Exception.ConflictException;
 import com.example.aura.Exception.ResourceNotFoundException;
 import com.example.aura.Security.Domain.Role;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +27,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final ModelMapper modelMapper;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public UserResponseDTO createUser(UserRequestDTO requestDTO) {
@@ -83,6 +86,7 @@ public class UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new AccountChangedEvent(this, updatedUser.getId(), updatedUser.getEmail(), "UPDATED"));
         return mapToResponseDTO(updatedUser);
     }
 
@@ -91,6 +95,7 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
         userRepository.delete(user);
+        eventPublisher.publishEvent(new AccountChangedEvent(this, user.getId(), user.getEmail(), "DELETED"));
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,27 @@
+package com.example.aura.Event.Listener;
+
+import com.example.aura.Event.User.AccountChangedEvent;
+import com.example.aura.Security.Service.PrincipalCache;
+import com.example.aura.Security.Service.TokenVersionCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AccountEventListener {
+
+    private final PrincipalCache principalCache;
+    private final TokenVersionCache tokenVersionCache;
+
+    // Sincrono y despues del commit: un request concurrente no puede recachear el estado anterior
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleAccountChanged(AccountChangedEvent event) {
+        principalCache.evict(event.getEmail());
+        tokenVersionCache.evict(event.getAccountId());
+        log.debug("🔑 Principal invalidado para cuenta #{} ({})", event.getAccountId(), event.getChangeType());
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.aura.Event.Listener;
+
+import com.example.aura.Calendar.Service.CalendarFeedService;
+import com.example.aura.Entity.Reservation.Repository.ReservationRepository;
+import com.example.aura.Event.Reservation.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Invalida el feed iCalendar de los técnicos afectados una vez confirmado el cambio, para que
+ * el siguiente sondeo ya renderice el estado nuevo. Es solo una invalidación en memoria, por
+ * eso corre en el hilo que confirma.
+ */
+@Component
+@RequiredArgsConstructor
+public class CalendarFeedEventListener {
+
+    private final CalendarFeedService calendarFeedService;
+    private final ReservationRepository reservationRepository;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReservationCreated(ReservationCreatedEvent event) {
+        calendarFeedService.evict(List.of(event.getTechnicianId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReservationConfirmed(ReservationConfirmedEvent event) {
+        evictFor(List.of(event.getReservationId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReservationCompleted(ReservationCompletedEvent event) {
+        calendarFeedService.evict(List.of(event.getTechnicianId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReservationChanged(ReservationChangedEvent event) {
+        evictFor(event.getReservationIds());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReservationBulkAction(ReservationBulkActionEvent event) {
+        evictFor(event.getReservationIds());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSlotFreed(ReservationSlotFreedEvent event) {
+        calendarFeedService.evict(List.of(event.getTechnicianId()));
+    }
+
+    // Las reservas archivadas ya no existen, pero quedan fuera de la ventana del feed
+    private void evictFor(List<Long> reservationIds) {
+        if (!reservationIds.isEmpty()) {
+            calendarFeedService.evict(reservationRepository.findTechnicianIdsByIds(reservationIds));
+        }
+    }
+}
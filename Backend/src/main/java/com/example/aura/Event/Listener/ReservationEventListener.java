@@ -64,31 +64,42 @@ public class ReservationEventListener {
         log.info("✅ Procesando evento: Reserva confirmada #{}", event.getReservationId());
 
         try {
-            Map<String, Object> variables = new HashMap<>();
-            variables.put("reservationId", event.getReservationId());
-            variables.put("technicianName", event.getTechnicianName());
-            variables.put("serviceDate", event.getServiceDate());
+            notifyConfirmation(event);
+            log.info("✅ Notificaciones de confirmación enviadas");
 
-            notificationService.sendEmailWithTemplate(
-                    event.getUserEmail(),
-                    "✅ ¡Reserva Confirmada! - Aura",
-                    "reservation-confirmed",
-                    variables
-            );
+        } catch (Exception e) {
+            log.error("❌ Error procesando evento de reserva confirmada: {}", e.getMessage());
+        }
+    }
 
-            if (event.getUserPhone() != null && !event.getUserPhone().isEmpty()) {
-                notificationService.sendSMSNotification(
-                        event.getUserPhone(),
-                        String.format("Reserva #%d confirmada. Fecha: %s",
-                                event.getReservationId(), event.getServiceDate())
-                );
+    // Un solo evento por lote: una tarea asíncrona y una entrada de auditoría para todas las reservas
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Async("notificationExecutor")
+    public void handleReservationBulkAction(ReservationBulkActionEvent event) {
+        log.info("📦 Procesando evento: {} sobre {} reservas", event.getAction(), event.getReservationIds().size());
+
+        int failed = 0;
+        for (ReservationConfirmedEvent confirmation : event.getConfirmations()) {
+            try {
+                notifyConfirmation(confirmation);
+            } catch (Exception e) {
+                failed++;
+                log.error("❌ Error notificando la confirmación de la reserva #{}: {}",
+                        confirmation.getReservationId(), e.getMessage());
             }
+        }
 
-            log.info("✅ Notificaciones de confirmación enviadas");
-
+        try {
+            auditService.logUserAction(
+                    event.getActorId(),
+                    "BULK_" + event.getAction() + "_RESERVATIONS",
+                    String.format("Reservation IDs: %s", event.getReservationIds())
+            );
         } catch (Exception e) {
-            log.error("❌ Error procesando evento de reserva confirmada: {}", e.getMessage());
+            log.error("❌ Error auditando la acción masiva sobre reservas: {}", e.getMessage());
         }
+
+        log.info("✅ Acción masiva procesada ({} notificaciones fallidas)", failed);
     }
 
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
@@ -113,4 +124,52 @@ public class ReservationEventListener {
             log.error("❌ Error procesando evento de reserva completada: {}", e.getMessage());
         }
     }
+
+    // Una sola notificación: la promoción no publica ReservationCreatedEvent
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Async("notificationExecutor")
+    public void handleWaitlistPromoted(WaitlistPromotedEvent event) {
+        log.info("📋 Procesando evento: Entrada de lista de espera #{} promovida a reserva #{}",
+                event.getWaitlistEntryId(), event.getReservationId());
+
+        try {
+            notificationService.sendPushNotification(
+                    event.getUserId(),
+                    "¡Se liberó tu franja!",
+                    String.format("Reserva #%d creada para %s el %s a las %s",
+                            event.getReservationId(), event.getServiceName(), event.getServiceDate(), event.getStartTime())
+            );
+
+            auditService.logUserAction(
+                    event.getUserId(),
+                    "WAITLIST_PROMOTED",
+                    String.format("Waitlist ID: %d, Reservation ID: %d", event.getWaitlistEntryId(), event.getReservationId())
+            );
+
+        } catch (Exception e) {
+            log.error("❌ Error procesando evento de lista de espera: {}", e.getMessage());
+        }
+    }
+
+    private void notifyConfirmation(ReservationConfirmedEvent event) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("reservationId", event.getReservationId());
+        variables.put("technicianName", event.getTechnicianName());
+        variables.put("serviceDate", event.getServiceDate());
+
+        notificationService.sendEmailWithTemplate(
+                event.getUserEmail(),
+                "✅ ¡Reserva Confirmada! - Aura",
+                "reservation-confirmed",
+                variables
+        );
+
+        if (event.getUserPhone() != null && !event.getUserPhone().isEmpty()) {
+            notificationService.sendSMSNotification(
+                    event.getUserPhone(),
+                    String.format("Reserva #%d confirmada. Fecha: %s",
+                            event.getReservationId(), event.getServiceDate())
+            );
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.example.aura.Event.Listener;
+
+import com.example.aura.Entity.Reservation.Service.ReservationViewProjector;
+import com.example.aura.Event.Payment.PaymentCompletedEvent;
+import com.example.aura.Event.Reservation.*;
+import com.example.aura.Event.Review.ReviewCreatedEvent;
+import com.example.aura.Event.User.AccountChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Traduce los eventos de dominio en refrescos de reservation_view. Se ejecuta de forma síncrona
+ * dentro de la transacción que publica el evento; el refresco real ocurre una vez, antes del commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReservationViewEventListener {
+
+    private final ReservationViewProjector projector;
+
+    @EventListener
+    public void onReservationCreated(ReservationCreatedEvent event) {
+        projector.markStale(List.of(event.getReservationId()));
+    }
+
+    @EventListener
+    public void onReservationConfirmed(ReservationConfirmedEvent event) {
+        projector.markStale(List.of(event.getReservationId()));
+    }
+
+    @EventListener
+    public void onReservationCompleted(ReservationCompletedEvent event) {
+        projector.markStale(List.of(event.getReservationId()));
+    }
+
+    @EventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+        projector.markStale(event.getReservationIds());
+    }
+
+    @EventListener
+    public void onReservationBulkAction(ReservationBulkActionEvent event) {
+        projector.markStale(event.getReservationIds());
+    }
+
+    @EventListener
+    public void onPaymentCompleted(PaymentCompletedEvent event) {
+        projector.markStale(List.of(event.getReservationId()));
+    }
+
+    @EventListener
+    public void onReviewCreated(ReviewCreatedEvent event) {
+        projector.markStale(List.of(event.getReservationId()));
+    }
+
+    @EventListener
+    public void onAccountChanged(AccountChangedEvent event) {
+        projector.markStaleForParticipant(event.getAccountId());
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.aura.Event.Listener;
+
+import com.example.aura.Event.Payment.PaymentChangedEvent;
+import com.example.aura.Event.Payment.PaymentCompletedEvent;
+import com.example.aura.Event.Reservation.*;
+import com.example.aura.Event.Review.ReviewChangedEvent;
+import com.example.aura.Event.Review.ReviewCreatedEvent;
+import com.example.aura.Event.User.AccountChangedEvent;
+import com.example.aura.Sync.Domain.SyncEntityType;
+import com.example.aura.Sync.Service.SyncChangeRecorder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Anota en sync_change las entidades que tocan los eventos de dominio. Como el listener de
+ * reservation_view, corre dentro de la transacción que publica y escribe antes del commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class SyncEventListener {
+
+    private final SyncChangeRecorder recorder;
+
+    @EventListener
+    public void onReservationCreated(ReservationCreatedEvent event) {
+        recorder.record(SyncEntityType.RESERVATION, List.of(event.getReservationId()));
+    }
+
+    @EventListener
+    public void onReservationConfirmed(ReservationConfirmedEvent event) {
+        recorder.record(SyncEntityType.RESERVATION, List.of(event.getReservationId()));
+    }
+
+    @EventListener
+    public void onReservationCompleted(ReservationCompletedEvent event) {
+        recorder.record(SyncEntityType.RESERVATION, List.of(event.getReservationId()));
+    }
+
+    @EventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+        recorder.record(SyncEntityType.RESERVATION, event.getReservationIds());
+    }
+
+    @EventListener
+    public void onReservationBulkAction(ReservationBulkActionEvent event) {
+        recorder.record(SyncEntityType.RESERVATION, event.getReservationIds());
+    }
+
+    // El total pagado forma parte de la reserva
+    @EventListener
+    public void onPaymentCompleted(PaymentCompletedEvent event) {
+        recorder.record(SyncEntityType.PAYMENT, List.of(event.getPaymentId()));
+        recorder.record(SyncEntityType.RESERVATION, List.of(event.getReservationId()));
+    }
+
+    @EventListener
+    public void onPaymentChanged(PaymentChangedEvent event) {
+        recorder.record(SyncEntityType.PAYMENT, event.getPaymentIds());
+    }
+
+    @EventListener
+    public void onReviewCreated(ReviewCreatedEvent event) {
+        recorder.record(SyncEntityType.REVIEW, List.of(event.getReviewId()));
+        recorder.record(SyncEntityType.RESERVATION, List.of(event.getReservationId()));
+    }
+
+    @EventListener
+    public void onReviewChanged(ReviewChangedEvent event) {
+        recorder.record(SyncEntityType.REVIEW, List.of(event.getReviewId()));
+    }
+
+    // Las reservas llevan nombre y contacto de ambas partes
+    @EventListener
+    public void onAccountChanged(AccountChangedEvent event) {
+        recorder.recordForParticipant(event.getAccountId());
+    }
+}
@@ -21,7 +21,7 @@ public class UserEventListener {
     private final NotificationService notificationService;
     private final AuditService auditService;
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
     @Async("emailExecutor")
     public void handleUserRegistered(UserRegisteredEvent event) {
         log.info("👤 Procesando evento: Usuario registrado #{}", event.getUserId());
@@ -0,0 +1,37 @@
+package com.example.aura.Event.Listener;
+
+import com.example.aura.Entity.Reservation.Service.WaitlistService;
+import com.example.aura.Event.Reservation.ReservationSlotFreedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Promueve la lista de espera cuando se libera agenda. Va tras el commit y fuera del hilo de
+ * la petición: la cancelación no espera a la promoción y la franja ya está libre en BookingEngine.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistEventListener {
+
+    private final WaitlistService waitlistService;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Async("taskExecutor")
+    public void handleSlotFreed(ReservationSlotFreedEvent event) {
+        try {
+            int promoted = waitlistService.promote(event.getTechnicianId(), event.getServiceDate());
+            if (promoted > 0) {
+                log.info("📋 Lista de espera: {} entradas promovidas para el técnico {} el {}",
+                        promoted, event.getTechnicianId(), event.getServiceDate());
+            }
+        } catch (Exception e) {
+            log.error("❌ Error promoviendo la lista de espera del técnico {} el {}: {}",
+                    event.getTechnicianId(), event.getServiceDate(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.aura.Event.Payment;
+
+import com.example.aura.Event.Base.BaseEvent;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class PaymentChangedEvent extends BaseEvent {
+    private final List<Long> paymentIds;
+    private final String changeType;
+
+    public PaymentChangedEvent(Object source, List<Long> paymentIds, String changeType) {
+        super(source, "PAYMENT_CHANGED");
+        this.paymentIds = paymentIds;
+        this.changeType = changeType;
+    }
+}
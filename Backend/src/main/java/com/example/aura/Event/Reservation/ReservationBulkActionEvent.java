@@ -0,0 +1,24 @@
+package com.example.aura.Event.Reservation;
+
+import com.example.aura.Event.Base.BaseEvent;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class ReservationBulkActionEvent extends BaseEvent {
+    private final Long actorId;
+    private final String action;
+    private final List<Long> reservationIds;
+    private final List<ReservationConfirmedEvent> confirmations;
+
+    public ReservationBulkActionEvent(Object source, Long actorId, String action,
+                                      List<Long> reservationIds,
+                                      List<ReservationConfirmedEvent> confirmations) {
+        super(source, "RESERVATION_BULK_ACTION");
+        this.actorId = actorId;
+        this.action = action;
+        this.reservationIds = reservationIds;
+        this.confirmations = confirmations;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.aura.Event.Reservation;
+
+import com.example.aura.Event.Base.BaseEvent;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class ReservationChangedEvent extends BaseEvent {
+    private final List<Long> reservationIds;
+    private final String changeType;
+
+    public ReservationChangedEvent(Object source, List<Long> reservationIds, String changeType) {
+        super(source, "RESERVATION_CHANGED");
+        this.reservationIds = reservationIds;
+        this.changeType = changeType;
+    }
+}
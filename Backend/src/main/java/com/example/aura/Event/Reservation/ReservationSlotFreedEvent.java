@@ -0,0 +1,18 @@
+package com.example.aura.Event.Reservation;
+
+import com.example.aura.Event.Base.BaseEvent;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+@Getter
+public class ReservationSlotFreedEvent extends BaseEvent {
+    private final Long technicianId;
+    private final LocalDate serviceDate;
+
+    public ReservationSlotFreedEvent(Object source, Long technicianId, LocalDate serviceDate) {
+        super(source, "RESERVATION_SLOT_FREED");
+        this.technicianId = technicianId;
+        this.serviceDate = serviceDate;
+    }
+}
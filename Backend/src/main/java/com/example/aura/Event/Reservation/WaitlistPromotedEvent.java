@@ -0,0 +1,25 @@
+package com.example.aura.Event.Reservation;
+
+import com.example.aura.Event.Base.BaseEvent;
+import lombok.Getter;
+
+@Getter
+public class WaitlistPromotedEvent extends BaseEvent {
+    private final Long waitlistEntryId;
+    private final Long reservationId;
+    private final Long userId;
+    private final String serviceName;
+    private final String serviceDate;
+    private final String startTime;
+
+    public WaitlistPromotedEvent(Object source, Long waitlistEntryId, Long reservationId, Long userId,
+                                 String serviceName, String serviceDate, String startTime) {
+        super(source, "WAITLIST_PROMOTED");
+        this.waitlistEntryId = waitlistEntryId;
+        this.reservationId = reservationId;
+        this.userId = userId;
+        this.serviceName = serviceName;
+        this.serviceDate = serviceDate;
+        this.startTime = startTime;
+    }
+}
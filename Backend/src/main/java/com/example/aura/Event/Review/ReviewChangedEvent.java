@@ -0,0 +1,16 @@
+package com.example.aura.Event.Review;
+
+import com.example.aura.Event.Base.BaseEvent;
+import lombok.Getter;
+
+@Getter
+public class ReviewChangedEvent extends BaseEvent {
+    private final Long reviewId;
+    private final String changeType;
+
+    public ReviewChangedEvent(Object source, Long reviewId, String changeType) {
+        super(source, "REVIEW_CHANGED");
+        this.reviewId = reviewId;
+        this.changeType = changeType;
+    }
+}
@@ -7,16 +7,18 @@ import lombok.Getter;
 public class ReviewCreatedEvent extends BaseEvent {
 
     private final Long reviewId;
+    private final Long reservationId;
     private final Long technicianId;
     private final String technicianEmail;
     private final Integer rating;
     private final String comment;
 
-    public ReviewCreatedEvent(Object source, Long reviewId, Long technicianId,
+    public ReviewCreatedEvent(Object source, Long reviewId, Long reservationId, Long technicianId,
                               String technicianEmail, Integer rating,
                               String comment) {
         super(source, "REVIEW_CREATED");
         this.reviewId = reviewId;
+        this.reservationId = reservationId;
         this.technicianId = technicianId;
         this.technicianEmail = technicianEmail;
         this.rating = rating;
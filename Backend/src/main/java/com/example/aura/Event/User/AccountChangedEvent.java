@@ -0,0 +1,19 @@
+package com.example.aura.Event.User;
+
+import com.example.aura.Event.Base.BaseEvent;
+import lombok.Getter;
+
+@Getter
+public class AccountChangedEvent extends BaseEvent {
+
+    private final Long accountId;
+    private final String email;
+    private final String changeType;
+
+    public AccountChangedEvent(Object source, Long accountId, String email, String changeType) {
+        super(source, "ACCOUNT_CHANGED");
+        this.accountId = accountId;
+        this.email = email;
+        this.changeType = changeType;
+    }
+}
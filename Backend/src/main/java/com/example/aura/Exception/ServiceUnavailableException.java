@@ -2,11 +2,29 @@ package com.example.aura.Exception;
 
 public class ServiceUnavailableException extends RuntimeException {
 
+    private final Long retryAfterSeconds;
+
     public ServiceUnavailableException(String message) {
+        this(message, null);
+    }
+
+    public ServiceUnavailableException(String message, Long retryAfterSeconds) {
         super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public Long getRetryAfterSeconds() {
+        return retryAfterSeconds;
     }
 
     public static ServiceUnavailableException forService(String serviceName) {
         return new ServiceUnavailableException(String.format("Service '%s' is temporarily unavailable", serviceName));
     }
+
+    public static ServiceUnavailableException forService(String serviceName, long retryAfterSeconds) {
+        return new ServiceUnavailableException(
+                String.format("Service '%s' is temporarily unavailable, retry in %d seconds", serviceName, retryAfterSeconds),
+                retryAfterSeconds
+        );
+    }
 }
@@ -0,0 +1,62 @@
+package com.example.aura.Idempotency.Domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "idempotency_key", indexes = {
+        @Index(name = "idx_idempotency_key_expires_at", columnList = "expires_at")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class IdempotencyRecord implements Persistable<String> {
+
+    // "<accountId>:<Idempotency-Key>"; la misma clave de dos cuentas no colisiona
+    @Id
+    @Column(name = "id", length = 300)
+    private String id;
+
+    // SHA-256 del cuerpo de la petición para detectar reutilización de la clave con otro payload
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private IdempotencyStatus status;
+
+    @Column(name = "response_body", columnDefinition = "text")
+    private String responseBody;
+
+    // Si el nodo que la reclamó muere, otra petición puede retomarla al vencer
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // Forzamos INSERT en save(): el id lo asigna el cliente y no queremos un merge previo
+    @Transient
+    private boolean fresh = true;
+
+    @Override
+    public boolean isNew() {
+        return fresh;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        fresh = false;
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.aura.Idempotency.Domain;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
@@ -0,0 +1,44 @@
+package com.example.aura.Idempotency.Repository;
+
+import com.example.aura.Idempotency.Domain.IdempotencyRecord;
+import com.example.aura.Idempotency.Domain.IdempotencyStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Retoma una clave caducada o cuyo procesamiento quedó abandonado; solo un llamante obtiene 1
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = :inProgress, r.requestHash = :requestHash, " +
+            "r.responseBody = NULL, r.lockedUntil = :lockedUntil, r.createdAt = :now, r.expiresAt = :expiresAt " +
+            "WHERE r.id = :id AND (r.expiresAt <= :now OR (r.status = :inProgress AND r.lockedUntil <= :now))")
+    int takeOver(@Param("id") String id,
+                 @Param("requestHash") String requestHash,
+                 @Param("inProgress") IdempotencyStatus inProgress,
+                 @Param("lockedUntil") Instant lockedUntil,
+                 @Param("now") Instant now,
+                 @Param("expiresAt") Instant expiresAt);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = :completed, r.responseBody = :responseBody, r.expiresAt = :expiresAt " +
+            "WHERE r.id = :id AND r.status = :inProgress")
+    int complete(@Param("id") String id,
+                 @Param("responseBody") String responseBody,
+                 @Param("expiresAt") Instant expiresAt,
+                 @Param("completed") IdempotencyStatus completed,
+                 @Param("inProgress") IdempotencyStatus inProgress);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.status = :inProgress")
+    int release(@Param("id") String id, @Param("inProgress") IdempotencyStatus inProgress);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,248 @@
+package com.example.aura.Idempotency.Service;
+
+import com.example.aura.Exception.ConflictException;
+import com.example.aura.Exception.InvalidOperationException;
+import com.example.aura.Idempotency.Domain.IdempotencyRecord;
+import com.example.aura.Idempotency.Domain.IdempotencyStatus;
+import com.example.aura.Idempotency.Repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta una operación como mucho una vez por (cuenta, Idempotency-Key) y devuelve la respuesta
+ * guardada en los reintentos. Los duplicados concurrentes del mismo nodo esperan a la primera
+ * ejecución; entre nodos, la fila IN_PROGRESS (insertada antes de ejecutar) hace de cerrojo.
+ * La respuesta se guarda en la misma transacción que la operación, así que no hay ventana en la
+ * que el efecto exista sin su respuesta.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration lease;
+    private final Duration waitTimeout;
+
+    private final ConcurrentHashMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder replays = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public IdempotencyService(
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            @Value("${idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${idempotency.in-progress-lease-seconds:60}") long leaseSeconds,
+            @Value("${idempotency.wait-timeout-ms:10000}") long waitTimeoutMs
+    ) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.waitTimeout = Duration.ofMillis(waitTimeoutMs);
+    }
+
+    public record IdempotentResponse<T>(T body, boolean replayed) {
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<String> response) {
+    }
+
+    /**
+     * Sin clave ejecuta la acción tal cual. Con clave, la primera petición la ejecuta y las
+     * repeticiones con el mismo cuerpo reciben la misma respuesta; reutilizar la clave con otro
+     * cuerpo es un error del cliente.
+     */
+    public <T> IdempotentResponse<T> execute(Long accountId, String key, Object request,
+                                             Class<T> responseType, Supplier<T> action) {
+        if (key == null) {
+            return new IdempotentResponse<>(action.get(), false);
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidOperationException(HEADER, "must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String id = accountId + ":" + key;
+        String requestHash = hash(write(request));
+
+        InFlight mine = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(id, mine);
+        if (running != null) {
+            return awaitRunning(running, requestHash, responseType);
+        }
+
+        try {
+            String stored = claim(id, requestHash);
+            if (stored != null) {
+                replays.increment();
+                mine.response().complete(stored);
+                return new IdempotentResponse<>(read(stored, responseType), true);
+            }
+
+            T body = runAndStore(id, action);
+            mine.response().complete(write(body));
+            return new IdempotentResponse<>(body, false);
+        } catch (RuntimeException ex) {
+            mine.response().completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(id, mine);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:600000}",
+            initialDelayString = "${idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        Integer removed = transactionTemplate.execute(status ->
+                idempotencyRecordRepository.deleteExpired(Instant.now()));
+        if (removed != null && removed > 0) {
+            log.info("🧹 {} claves de idempotencia expiradas eliminadas", removed);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("inFlight", inFlight.size());
+        result.put("executions", executions.sum());
+        result.put("replays", replays.sum());
+        result.put("coalesced", coalesced.sum());
+        return result;
+    }
+
+    // Devuelve la respuesta guardada si la clave ya se completó, o null si esta petición la reclamó
+    private String claim(String id, String requestHash) {
+        Instant now = Instant.now();
+        try {
+            idempotencyRecordRepository.saveAndFlush(new IdempotencyRecord(
+                    id, requestHash, IdempotencyStatus.IN_PROGRESS, null,
+                    now.plus(lease), now, now.plus(ttl), true));
+            return null;
+        } catch (DataIntegrityViolationException duplicate) {
+            // La clave ya existe: la resolvemos abajo
+        }
+
+        IdempotencyRecord existing = idempotencyRecordRepository.findById(id).orElse(null);
+        if (existing != null && existing.getExpiresAt().isAfter(now)) {
+            boolean completed = existing.getStatus() == IdempotencyStatus.COMPLETED;
+            if (completed || existing.getLockedUntil().isAfter(now)) {
+                if (!existing.getRequestHash().equals(requestHash)) {
+                    throw keyReused();
+                }
+                if (completed) {
+                    return existing.getResponseBody();
+                }
+                throw inProgress();
+            }
+        }
+
+        Integer taken = transactionTemplate.execute(status -> idempotencyRecordRepository.takeOver(
+                id, requestHash, IdempotencyStatus.IN_PROGRESS, now.plus(lease), now, now.plus(ttl)));
+        if (taken == null || taken == 0) {
+            throw inProgress();
+        }
+        return null;
+    }
+
+    private <T> T runAndStore(String id, Supplier<T> action) {
+        executions.increment();
+        try {
+            return transactionTemplate.execute(status -> {
+                T body = action.get();
+                idempotencyRecordRepository.complete(id, write(body), Instant.now().plus(ttl),
+                        IdempotencyStatus.COMPLETED, IdempotencyStatus.IN_PROGRESS);
+                return body;
+            });
+        } catch (RuntimeException ex) {
+            // Si la operación falla la clave queda libre para que el cliente reintente
+            transactionTemplate.executeWithoutResult(status ->
+                    idempotencyRecordRepository.release(id, IdempotencyStatus.IN_PROGRESS));
+            throw ex;
+        }
+    }
+
+    private <T> IdempotentResponse<T> awaitRunning(InFlight running, String requestHash, Class<T> responseType) {
+        if (!running.requestHash().equals(requestHash)) {
+            throw keyReused();
+        }
+        coalesced.increment();
+        try {
+            String body = running.response().get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            return new IdempotentResponse<>(read(body, responseType), true);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw inProgress();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw inProgress();
+        }
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize idempotent payload", ex);
+        }
+    }
+
+    private <T> T read(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not read stored idempotent response", ex);
+        }
+    }
+
+    private static ConflictException inProgress() {
+        return new ConflictException("A request with this Idempotency-Key is still being processed");
+    }
+
+    private static InvalidOperationException keyReused() {
+        return new InvalidOperationException(HEADER, "was already used with a different request body");
+    }
+
+    static String hash(String payload) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
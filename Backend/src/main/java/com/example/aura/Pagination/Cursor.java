@@ -0,0 +1,7 @@
+package com.example.aura.Pagination;
+
+/**
+ * Posición decodificada: la siguiente página empieza estrictamente después de (sortKey, id).
+ */
+public record Cursor<K>(K sortKey, Long id) {
+}
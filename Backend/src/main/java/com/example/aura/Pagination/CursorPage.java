@@ -0,0 +1,15 @@
+package com.example.aura.Pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página por cursor. No lleva total: nextCursor es null cuando no hay más filas.
+ */
+public record CursorPage<T>(List<T> content, String nextCursor, boolean hasNext, int size) {
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().<R>map(mapper).toList();
+        return new CursorPage<>(mapped, nextCursor, hasNext, size);
+    }
+}
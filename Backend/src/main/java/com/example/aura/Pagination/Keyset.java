@@ -0,0 +1,97 @@
+package com.example.aura.Pagination;
+
+import com.example.aura.Exception.InvalidOperationException;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Paginación por clave sobre (columna de orden, id), ambas descendentes.
+ * Las consultas filtran con "(col, id) &lt; (:sortKey, :id)" y piden size + 1 filas para
+ * saber si hay página siguiente sin COUNT ni OFFSET.
+ * El cursor es opaco (Base64 URL) e incluye el nombre del keyset, así que un cursor
+ * de un listado no se acepta en otro.
+ */
+public final class Keyset<K extends Comparable<? super K>> {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private static final String SEPARATOR = "|";
+
+    private final String name;
+    private final Function<String, K> parser;
+    private final K start;
+
+    private Keyset(String name, Function<String, K> parser, K start) {
+        this.name = name;
+        this.parser = parser;
+        this.start = start;
+    }
+
+    // El centinela inicial debe ser mayor que cualquier valor real y representable en PostgreSQL
+    public static Keyset<LocalDateTime> dateTime(String name) {
+        return new Keyset<>(name, LocalDateTime::parse, LocalDateTime.of(9999, 12, 31, 23, 59, 59));
+    }
+
+    public static Keyset<LocalDate> date(String name) {
+        return new Keyset<>(name, LocalDate::parse, LocalDate.of(9999, 12, 31));
+    }
+
+    public static int clamp(int size) {
+        if (size <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    public Limit limit(int size) {
+        return Limit.of(clamp(size) + 1);
+    }
+
+    public Cursor<K> decode(String token) {
+        if (token == null || token.isBlank()) {
+            return new Cursor<>(start, Long.MAX_VALUE);
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, 3);
+            if (parts.length != 3 || !parts[0].equals(name)) {
+                throw invalidCursor();
+            }
+            return new Cursor<>(parser.apply(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            throw invalidCursor();
+        }
+    }
+
+    public String encode(K sortKey, Long id) {
+        String raw = name + SEPARATOR + sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Recorta las size + 1 filas leídas y genera el cursor a partir de la última fila devuelta.
+     */
+    public <T> CursorPage<T> page(List<T> fetched, int size, Function<T, K> sortKey, Function<T, Long> id) {
+        int pageSize = clamp(size);
+        boolean hasNext = fetched.size() > pageSize;
+        List<T> content = hasNext ? fetched.subList(0, pageSize) : fetched;
+        String nextCursor = null;
+        if (hasNext) {
+            T last = content.get(content.size() - 1);
+            nextCursor = encode(sortKey.apply(last), id.apply(last));
+        }
+        return new CursorPage<>(List.copyOf(content), nextCursor, hasNext, pageSize);
+    }
+
+    private InvalidOperationException invalidCursor() {
+        return new InvalidOperationException("cursor", "malformed or issued for another listing (" + name + ")");
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.aura.Security.Config;
+
+import com.example.aura.Security.Service.AuthLatencyRecorder;
+import com.example.aura.Security.Service.AuthLatencyRecorder.Phase;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.core.Authentication;
+
+import java.util.function.Supplier;
+
+/**
+ * Registra @PreAuthorize manualmente para poder medir la evaluación de cada expresión.
+ */
+@Configuration
+@EnableMethodSecurity(prePostEnabled = false)
+public class MethodSecurityConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor preAuthorizeAuthorizationAdvisor(AuthLatencyRecorder latencyRecorder, ApplicationContext context) {
+        PreAuthorizeAuthorizationManager manager = new PreAuthorizeAuthorizationManager();
+        manager.setApplicationContext(context);
+        return AuthorizationManagerBeforeMethodInterceptor.preAuthorize(new TimedAuthorizationManager(manager, latencyRecorder));
+    }
+
+    private record TimedAuthorizationManager(
+            AuthorizationManager<MethodInvocation> delegate,
+            AuthLatencyRecorder latencyRecorder
+    ) implements AuthorizationManager<MethodInvocation> {
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+            long start = System.nanoTime();
+            try {
+                return delegate.check(authentication, invocation);
+            } finally {
+                latencyRecorder.record(Phase.PRE_AUTHORIZE, start);
+            }
+        }
+
+        @Override
+        public AuthorizationResult authorize(Supplier<Authentication> authentication, MethodInvocation invocation) {
+            long start = System.nanoTime();
+            try {
+                return delegate.authorize(authentication, invocation);
+            } finally {
+                latencyRecorder.record(Phase.PRE_AUTHORIZE, start);
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.aura.Security.Controller;
 
 import com.example.aura.Security.DTO.AuthResponseDTO;
 import com.example.aura.Security.DTO.LoginRequestDTO;
+import com.example.aura.Security.DTO.RefreshRequestDTO;
 import com.example.aura.Security.DTO.RegisterRequestDTO;
 import com.example.aura.Security.Service.AuthenticationService;
 import jakarta.validation.Valid;
@@ -29,6 +30,18 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponseDTO> refresh(@Valid @RequestBody RefreshRequestDTO request) {
+        AuthResponseDTO response = authenticationService.refresh(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        authenticationService.logout(authorization);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/hello")
     public String saludar(){
         return "Hola DBP hemos deployado";
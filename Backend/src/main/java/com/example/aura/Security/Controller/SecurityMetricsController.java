@@ -0,0 +1,77 @@
+package com.example.aura.Security.Controller;
+
+import com.example.aura.Security.Service.AuthLatencyRecorder;
+import com.example.aura.Security.Service.BoundedPasswordEncoder;
+import com.example.aura.Security.Service.LoginThrottle;
+import com.example.aura.Security.Service.PrincipalCache;
+import com.example.aura.Security.Service.TokenRevocationService;
+import com.example.aura.Security.Service.TokenVersionCache;
+import com.example.aura.Security.Service.VerifiedTokenCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/dashboard/security")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+public class SecurityMetricsController {
+
+    private final PrincipalCache principalCache;
+    private final TokenVersionCache tokenVersionCache;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final BoundedPasswordEncoder boundedPasswordEncoder;
+    private final LoginThrottle loginThrottle;
+    private final AuthLatencyRecorder authLatencyRecorder;
+
+    @GetMapping("/principal-cache")
+    public ResponseEntity<Map<String, Object>> getPrincipalCacheStats() {
+        return ResponseEntity.ok(principalCache.stats());
+    }
+
+    @GetMapping("/token-versions")
+    public ResponseEntity<Map<String, Object>> getTokenVersionCacheStats() {
+        return ResponseEntity.ok(tokenVersionCache.stats());
+    }
+
+    @GetMapping("/verified-tokens")
+    public ResponseEntity<Map<String, Object>> getVerifiedTokenCacheStats() {
+        return ResponseEntity.ok(verifiedTokenCache.stats());
+    }
+
+    @GetMapping("/revocations")
+    public ResponseEntity<Map<String, Object>> getRevocationStats() {
+        return ResponseEntity.ok(tokenRevocationService.stats());
+    }
+
+    @GetMapping("/password-hashing")
+    public ResponseEntity<Map<String, Object>> getPasswordHashingStats() {
+        return ResponseEntity.ok(boundedPasswordEncoder.stats());
+    }
+
+    @GetMapping("/login-throttle")
+    public ResponseEntity<Map<String, Object>> getLoginThrottleStats() {
+        return ResponseEntity.ok(loginThrottle.stats());
+    }
+
+    @GetMapping("/auth-latency")
+    public ResponseEntity<Map<String, Object>> getAuthLatency() {
+        return ResponseEntity.ok(authLatencyRecorder.snapshot());
+    }
+
+    // Devuelve el intervalo acumulado y reinicia los histogramas
+    @DeleteMapping("/auth-latency")
+    public ResponseEntity<Map<String, Object>> resetAuthLatency() {
+        return ResponseEntity.ok(authLatencyRecorder.snapshotAndReset());
+    }
+
+    @DeleteMapping("/principal-cache")
+    public ResponseEntity<Void> clearPrincipalCache() {
+        principalCache.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -12,6 +12,7 @@ import lombok.NoArgsConstructor;
 @Builder
 public class AuthResponseDTO {
     private String token;
+    private String refreshToken;
     private String type = "Bearer";
     private Long userId;
     private String email;
@@ -0,0 +1,15 @@
+package com.example.aura.Security.DTO;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshRequestDTO {
+
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+}
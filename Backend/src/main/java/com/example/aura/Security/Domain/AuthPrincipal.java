@@ -0,0 +1,47 @@
+package com.example.aura.Security.Domain;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+public record AuthPrincipal(
+        Long id,
+        String email,
+        Role role,
+        boolean enabled,
+        String passwordHash,
+        long tokenVersion
+) implements UserDetails {
+
+    public static AuthPrincipal fromClaims(Long id, String email, Role role, long tokenVersion) {
+        return new AuthPrincipal(id, email, role, true, null, tokenVersion);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return passwordHash;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthPrincipal[id=" + id + ", email=" + email + ", role=" + role + ", enabled=" + enabled + "]";
+    }
+}
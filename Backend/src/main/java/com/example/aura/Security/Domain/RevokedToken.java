@@ -0,0 +1,34 @@
+package com.example.aura.Security.Domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "revoked_token", indexes = {
+        @Index(name = "idx_revoked_token_revoked_at", columnList = "revoked_at"),
+        @Index(name = "idx_revoked_token_expires_at", columnList = "expires_at")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class RevokedToken {
+
+    @Id
+    @Column(name = "token_id", length = 36)
+    private String tokenId;
+
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
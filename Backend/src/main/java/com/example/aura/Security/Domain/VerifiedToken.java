@@ -0,0 +1,48 @@
+package com.example.aura.Security.Domain;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+
+public record VerifiedToken(
+        String tokenId,
+        String subject,
+        Long userId,
+        Role role,
+        Long tokenVersion,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+
+    public static VerifiedToken from(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        Number tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Number.class);
+
+        return new VerifiedToken(
+                claims.getId(),
+                claims.getSubject(),
+                userId != null ? userId.longValue() : null,
+                role != null ? Role.valueOf(role) : null,
+                tokenVersion != null ? tokenVersion.longValue() : null,
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration().toInstant()
+        );
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    public boolean hasIdentityClaims() {
+        return userId != null && role != null && tokenVersion != null;
+    }
+
+    public AuthPrincipal toPrincipal() {
+        return hasIdentityClaims() ? AuthPrincipal.fromClaims(userId, subject, role, tokenVersion) : null;
+    }
+}
@@ -1,12 +1,18 @@
 package com.example.aura.Security.Filter;
 
+import com.example.aura.Security.Domain.AuthPrincipal;
+import com.example.aura.Security.Domain.VerifiedToken;
+import com.example.aura.Security.Service.AuthLatencyRecorder;
+import com.example.aura.Security.Service.AuthLatencyRecorder.Phase;
 import com.example.aura.Security.Service.CustomUserDetailsService;
 import com.example.aura.Security.Service.JwtService;
+import com.example.aura.Security.Service.TokenRevocationService;
+import com.example.aura.Security.Service.TokenVersionCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -18,11 +24,30 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenVersionCache tokenVersionCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final AuthLatencyRecorder latencyRecorder;
+    private final boolean statelessAuthentication;
+
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            CustomUserDetailsService userDetailsService,
+            TokenVersionCache tokenVersionCache,
+            TokenRevocationService tokenRevocationService,
+            AuthLatencyRecorder latencyRecorder,
+            @Value("${security.jwt.stateless:false}") boolean statelessAuthentication
+    ) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.tokenVersionCache = tokenVersionCache;
+        this.tokenRevocationService = tokenRevocationService;
+        this.latencyRecorder = latencyRecorder;
+        this.statelessAuthentication = statelessAuthentication;
+    }
 
     @Override
     protected void doFilterInternal(
@@ -31,9 +56,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
 
+        long filterStart = System.nanoTime();
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -41,24 +66,56 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
+        latencyRecorder.record(Phase.HEADER_PARSE, filterStart);
+
+        long phaseStart = System.nanoTime();
+        VerifiedToken token = jwtService.verify(jwt);
+        latencyRecorder.record(Phase.SIGNATURE_VERIFY, phaseStart);
+
+        phaseStart = System.nanoTime();
+        boolean revoked = tokenRevocationService.isRevoked(token.tokenId());
+        latencyRecorder.record(Phase.REVOCATION_CHECK, phaseStart);
+
+        if (!revoked && SecurityContextHolder.getContext().getAuthentication() == null) {
+            phaseStart = System.nanoTime();
+            authenticate(token, request);
+            latencyRecorder.record(Phase.USER_LOOKUP, phaseStart);
+        }
+
+        latencyRecorder.record(Phase.FILTER_TOTAL, filterStart);
+        filterChain.doFilter(request, response);
+    }
 
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+    private void authenticate(VerifiedToken token, HttpServletRequest request) {
+        if (statelessAuthentication) {
+            AuthPrincipal principal = token.toPrincipal();
+            if (principal != null) {
+                if (tokenVersionCache.isCurrent(principal.id(), principal.tokenVersion())) {
+                    authenticate(principal, request);
+                }
+                return;
+            }
+        }
+
+        String userEmail = token.subject();
+        if (userEmail != null) {
             UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
 
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+            if (userDetails.isEnabled() && jwtService.isTokenValid(token, userDetails)) {
+                authenticate(userDetails, request);
             }
         }
+    }
 
-        filterChain.doFilter(request, response);
+    private void authenticate(UserDetails userDetails, HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities()
+        );
+        authToken.setDetails(
+                new WebAuthenticationDetailsSource().buildDetails(request)
+        );
+        SecurityContextHolder.getContext().setAuthentication(authToken);
     }
 }
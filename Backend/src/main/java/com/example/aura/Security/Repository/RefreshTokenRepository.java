@@ -0,0 +1,34 @@
+package com.example.aura.Security.Repository;
+
+import com.example.aura.Security.Domain.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // Solo una petición concurrente puede consumir el token
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.rotatedAt = :now WHERE r.id = :id AND r.rotatedAt IS NULL")
+    int markRotated(@Param("id") Long id, @Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.familyId = :familyId")
+    int deleteFamily(@Param("familyId") String familyId);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.accountId = :accountId")
+    int deleteByAccountId(@Param("accountId") Long accountId);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
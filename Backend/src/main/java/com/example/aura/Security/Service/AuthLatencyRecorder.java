@@ -0,0 +1,48 @@
+package com.example.aura.Security.Service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latencias por fase del camino de autenticación, acumuladas por nodo.
+ */
+@Component
+public class AuthLatencyRecorder {
+
+    public enum Phase {
+        HEADER_PARSE,
+        SIGNATURE_VERIFY,
+        REVOCATION_CHECK,
+        USER_LOOKUP,
+        PRE_AUTHORIZE,
+        FILTER_TOTAL
+    }
+
+    private final Map<Phase, LatencyHistogram> histograms = new EnumMap<>(Phase.class);
+
+    public AuthLatencyRecorder() {
+        for (Phase phase : Phase.values()) {
+            histograms.put(phase, new LatencyHistogram());
+        }
+    }
+
+    public void record(Phase phase, long startNanos) {
+        histograms.get(phase).record(System.nanoTime() - startNanos);
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        histograms.forEach((phase, histogram) -> result.put(phase.name(), histogram.snapshot()));
+        return result;
+    }
+
+    // Devuelve el intervalo acumulado y empieza uno nuevo
+    public Map<String, Object> snapshotAndReset() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        histograms.forEach((phase, histogram) -> result.put(phase.name(), histogram.snapshotAndReset()));
+        return result;
+    }
+}
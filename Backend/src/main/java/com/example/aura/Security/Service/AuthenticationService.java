@@ -5,19 +5,29 @@ import com.example.aura.Entity.Superuser.Domain.Superuser;
 import com.example.aura.Entity.Technician.Domain.Technician;
 import com.example.aura.Entity.User.Domain.User;
 import com.example.aura.Exception.ConflictException;
+import com.example.aura.Exception.TooManyRequestsException;
+import com.example.aura.Exception.UnauthorizedException;
 import com.example.aura.Security.DTO.AuthResponseDTO;
 import com.example.aura.Security.DTO.LoginRequestDTO;
+import com.example.aura.Security.DTO.RefreshRequestDTO;
 import com.example.aura.Security.DTO.RegisterRequestDTO;
 import com.example.aura.Security.Domain.Role;
+import com.example.aura.Security.Domain.VerifiedToken;
 import com.example.aura.Service.AuditService;
 import com.example.aura.Service.NotificationService;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import org.hibernate.exception.ConstraintViolationException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import com.example.aura.Event.User.UserRegisteredEvent;
 import org.springframework.context.ApplicationEventPublisher;
 
@@ -34,18 +44,12 @@ public class AuthenticationService {
     private final NotificationService notificationService;
     private final AuditService auditService;
     private final ApplicationEventPublisher eventPublisher;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
+    private final LoginThrottle loginThrottle;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
     public AuthResponseDTO register(RegisterRequestDTO request) {
-        String checkEmailQuery = "SELECT COUNT(s) FROM Superuser s WHERE s.email = :email";
-        Long count = entityManager.createQuery(checkEmailQuery, Long.class)
-                .setParameter("email", request.getEmail())
-                .getSingleResult();
-
-        if (count > 0) {
-            throw new ConflictException("User", "email", request.getEmail());
-        }
-
         Superuser superuser;
 
         switch (request.getRole()) {
@@ -82,10 +86,23 @@ public class AuthenticationService {
         superuser.setRegisterDate(LocalDate.now());
         superuser.setEnabled(true);
 
-        entityManager.persist(superuser);
-        entityManager.flush();
+        // Insert directo: las restricciones unique de email y teléfono detectan duplicados sin un
+        // COUNT previo. La transacción termina aquí, antes de firmar el token y publicar el evento.
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.persist(superuser);
+                entityManager.flush();
+            });
+        } catch (RuntimeException ex) {
+            ConstraintViolationException violation = uniqueViolation(ex);
+            if (violation != null) {
+                throw duplicateField(violation, superuser);
+            }
+            throw ex;
+        }
 
         String jwtToken = jwtService.generateToken(superuser);
+        String refreshToken = refreshTokenService.issue(superuser.getId());
 
         eventPublisher.publishEvent(new UserRegisteredEvent(
                 this,
@@ -95,25 +112,43 @@ public class AuthenticationService {
                 superuser.getRole()
         ));
 
-        return AuthResponseDTO.builder()
-                .token(jwtToken)
-                .type("Bearer")
-                .userId(superuser.getId())
-                .email(superuser.getEmail())
-                .firstName(superuser.getFirstName())
-                .lastName(superuser.getLastName())
-                .role(superuser.getRole())
-                .build();
+        return buildResponse(superuser, jwtToken, refreshToken);
     }
 
 
+    // Revoca el access token y todos los refresh tokens de la cuenta: sin ellos /refresh no puede
+    // emitir nuevos access tokens tras cerrar sesión. Ambas revocaciones van en la misma transacción
+    // y los refresh tokens primero, para no dejar nunca el access token revocado con la familia viva
+    @Transactional
+    public void logout(String authorizationHeader) {
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            throw new UnauthorizedException("Missing bearer token");
+        }
+
+        VerifiedToken token = jwtService.verify(authorizationHeader.substring(7));
+        refreshTokenService.revokeAll(token.userId());
+        tokenRevocationService.revoke(token, token.userId());
+    }
+
     public AuthResponseDTO login(LoginRequestDTO request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail(),
-                        request.getPassword()
-                )
-        );
+        String ipAddress = currentClientIp();
+
+        // El throttling va antes de autenticar para no gastar BCrypt en intentos rechazados
+        try {
+            loginThrottle.checkAllowed(request.getEmail(), ipAddress);
+            authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            request.getEmail(),
+                            request.getPassword()
+                    )
+            );
+        } catch (TooManyRequestsException | AuthenticationException ex) {
+            auditService.logLogin(request.getEmail(), ipAddress, false);
+            throw ex;
+        }
+
+        loginThrottle.reset(request.getEmail());
+        auditService.logLogin(request.getEmail(), ipAddress, true);
 
         String query = "SELECT s FROM Superuser s WHERE s.email = :email";
         Superuser superuser = entityManager.createQuery(query, Superuser.class)
@@ -121,9 +156,68 @@ public class AuthenticationService {
                 .getSingleResult();
 
         String jwtToken = jwtService.generateToken(superuser);
+        String refreshToken = refreshTokenService.issue(superuser.getId());
+
+        return buildResponse(superuser, jwtToken, refreshToken);
+    }
+
+    // Renueva la sesión sin verificar contraseña: solo rota el refresh token
+    public AuthResponseDTO refresh(RefreshRequestDTO request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+
+        Superuser superuser = entityManager.find(Superuser.class, rotation.accountId());
+        if (superuser == null || !superuser.isEnabled()) {
+            refreshTokenService.revokeAll(rotation.accountId());
+            throw new UnauthorizedException("Account is no longer active");
+        }
+
+        return buildResponse(superuser, jwtService.generateToken(superuser), rotation.refreshToken());
+    }
+
+    // SQLSTATE 23505 = unique_violation (PostgreSQL y H2)
+    private static ConstraintViolationException uniqueViolation(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && "23505".equals(violation.getSQLState())) {
+                return violation;
+            }
+        }
+        return null;
+    }
+
+    // El nombre de la restricción indica el campo; si no se conoce (H2, o una restricción con nombre
+    // autogenerado de un esquema antiguo) se comprueba qué valor existe ya, sin volcar la sesión fallida
+    private ConflictException duplicateField(ConstraintViolationException violation, Superuser superuser) {
+        String constraint = violation.getConstraintName() != null ? violation.getConstraintName().toLowerCase() : "";
+        boolean phone;
+        if (constraint.contains(Superuser.PHONE_CONSTRAINT)) {
+            phone = true;
+        } else if (constraint.contains(Superuser.EMAIL_CONSTRAINT)) {
+            phone = false;
+        } else {
+            phone = superuser.getPhone() != null && entityManager
+                    .createQuery("SELECT s.id FROM Superuser s WHERE s.email = :email", Long.class)
+                    .setParameter("email", superuser.getEmail())
+                    .setFlushMode(FlushModeType.COMMIT)
+                    .setMaxResults(1)
+                    .getResultList()
+                    .isEmpty();
+        }
+        return phone
+                ? new ConflictException("User", "phone", superuser.getPhone())
+                : new ConflictException("User", "email", superuser.getEmail());
+    }
+
+    private String currentClientIp() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
 
+    private AuthResponseDTO buildResponse(Superuser superuser, String jwtToken, String refreshToken) {
         return AuthResponseDTO.builder()
                 .token(jwtToken)
+                .refreshToken(refreshToken)
                 .type("Bearer")
                 .userId(superuser.getId())
                 .email(superuser.getEmail())
@@ -0,0 +1,176 @@
+package com.example.aura.Security.Service;
+
+import com.example.aura.Exception.ServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt ejecutado en un pool propio dimensionado a los cores, con cola acotada.
+ * Si la cola está llena la petición se descarta de inmediato con 503 + Retry-After
+ * en lugar de bloquear hilos de Tomcat.
+ */
+@Component
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final String SERVICE_NAME = "password-hashing";
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+    private final ThreadPoolExecutor executor;
+    private final BCryptPasswordEncoder delegate;
+    private final int cost;
+    private final long maxWaitMillis;
+    private final long retryAfterSeconds;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+
+    public BoundedPasswordEncoder(
+            @Value("${security.bcrypt.pool-size:0}") int poolSize,
+            @Value("${security.bcrypt.queue-capacity:64}") int queueCapacity,
+            @Value("${security.bcrypt.max-wait-ms:5000}") long maxWaitMillis,
+            @Value("${security.bcrypt.retry-after-seconds:2}") long retryAfterSeconds,
+            @Value("${security.bcrypt.cost:0}") int fixedCost,
+            @Value("${security.bcrypt.target-millis:250}") long targetMillis,
+            @Value("${security.bcrypt.min-cost:10}") int minCost,
+            @Value("${security.bcrypt.max-cost:14}") int maxCost
+    ) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "aura-bcrypt-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.maxWaitMillis = maxWaitMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.cost = fixedCost > 0 ? fixedCost : calibrate(targetMillis, minCost, maxCost);
+        this.delegate = new BCryptPasswordEncoder(cost);
+        log.info("🔐 BCrypt cost {} con {} hilos y cola de {}", cost, threads, queueCapacity);
+        if (fixedCost <= 0) {
+            log.warn("⚠️ BCrypt cost calibrado en este nodo; con varios nodos fija security.bcrypt.cost para que todos usen el mismo");
+        }
+    }
+
+    /**
+     * Mayor cost cuyo hash tarda como máximo targetMillis en esta máquina, acotado a [minCost, maxCost].
+     */
+    public static int calibrate(long targetMillis, int minCost, int maxCost) {
+        new BCryptPasswordEncoder(4).encode(CALIBRATION_PASSWORD);
+
+        int chosen = minCost;
+        for (int candidate = minCost; candidate <= maxCost; candidate++) {
+            long start = System.nanoTime();
+            new BCryptPasswordEncoder(candidate).encode(CALIBRATION_PASSWORD);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (elapsedMillis > targetMillis) {
+                break;
+            }
+            chosen = candidate;
+        }
+        return chosen;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * DaoAuthenticationProvider lo consulta tras un login correcto para rehashear cuando el cost
+     * almacenado es menor que el actual. Nunca baja el cost: nodos con costs distintos no
+     * reescriben el hash en cada login.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) < cost;
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    public Map<String, Object> stats() {
+        long done = completed.sum();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("cost", cost);
+        result.put("poolSize", executor.getMaximumPoolSize());
+        result.put("active", executor.getActiveCount());
+        result.put("queued", executor.getQueue().size());
+        result.put("queueRemainingCapacity", executor.getQueue().remainingCapacity());
+        result.put("completed", done);
+        result.put("rejected", rejected.sum());
+        result.put("timedOut", timedOut.sum());
+        result.put("averageMillis", done == 0 ? 0.0 : totalNanos.sum() / (double) done / 1_000_000);
+        return result;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    totalNanos.add(System.nanoTime() - start);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw ServiceUnavailableException.forService(SERVICE_NAME, retryAfterSeconds);
+        }
+
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            timedOut.increment();
+            throw ServiceUnavailableException.forService(SERVICE_NAME, retryAfterSeconds);
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw ServiceUnavailableException.forService(SERVICE_NAME, retryAfterSeconds);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+}
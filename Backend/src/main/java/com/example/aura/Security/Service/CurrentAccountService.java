@@ -0,0 +1,46 @@
+package com.example.aura.Security.Service;
+
+import com.example.aura.Entity.Superuser.Domain.Superuser;
+import com.example.aura.Entity.Superuser.Repository.SuperuserRepository;
+import com.example.aura.Exception.UnauthorizedException;
+import com.example.aura.Security.Domain.AuthPrincipal;
+import com.example.aura.Security.Domain.Role;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class CurrentAccountService {
+
+    private final SuperuserRepository<Superuser> superuserRepository;
+
+    // Con AuthPrincipal el id ya viene del filtro JWT; en otro caso se resuelve por email
+    public Long currentAccountId() {
+        Authentication authentication = currentAuthentication();
+        if (authentication.getPrincipal() instanceof AuthPrincipal principal) {
+            return principal.id();
+        }
+        return superuserRepository.findIdByEmail(authentication.getName())
+                .orElseThrow(UnauthorizedException::new);
+    }
+
+    public String currentEmail() {
+        return currentAuthentication().getName();
+    }
+
+    public boolean hasRole(Role role) {
+        String authority = "ROLE_" + role.name();
+        return currentAuthentication().getAuthorities().stream()
+                .anyMatch(granted -> authority.equals(granted.getAuthority()));
+    }
+
+    private Authentication currentAuthentication() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new UnauthorizedException();
+        }
+        return authentication;
+    }
+}
@@ -2,23 +2,38 @@ package com.example.aura.Security.Service;
 
 import com.example.aura.Entity.Superuser.Domain.Superuser;
 import com.example.aura.Entity.Superuser.Repository.SuperuserRepository;
+import com.example.aura.Security.Domain.AuthPrincipal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final SuperuserRepository<Superuser> superuserRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        return superuserRepository.findAll().stream()
-                .filter(user -> user.getEmail().equals(email))
-                .findFirst()
+        return principalCache.get(email, superuserRepository::findPrincipalByEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
     }
+
+    // Rehash transparente tras un login correcto cuando cambia el cost de BCrypt
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        superuserRepository.updatePasswordHash(user.getUsername(), newPassword);
+        principalCache.evict(user.getUsername());
+        if (user instanceof AuthPrincipal principal) {
+            return new AuthPrincipal(principal.id(), principal.email(), principal.role(),
+                    principal.enabled(), newPassword, principal.tokenVersion());
+        }
+        return user;
+    }
 }
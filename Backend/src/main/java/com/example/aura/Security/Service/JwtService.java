@@ -1,6 +1,9 @@
 package com.example.aura.Security.Service;
 
-import io.jsonwebtoken.Claims;
+import com.example.aura.Entity.Superuser.Domain.Superuser;
+import com.example.aura.Security.Domain.AuthPrincipal;
+import com.example.aura.Security.Domain.VerifiedToken;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -10,33 +13,59 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
 
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    public static final String CLAIM_USER_ID = VerifiedToken.CLAIM_USER_ID;
+    public static final String CLAIM_ROLE = VerifiedToken.CLAIM_ROLE;
+    public static final String CLAIM_TOKEN_VERSION = VerifiedToken.CLAIM_TOKEN_VERSION;
 
-    @Value("${jwt.expiration}")
-    private Long jwtExpiration;
+    private final Key signInKey;
+    private final JwtParser parser;
+    private final long jwtExpiration;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public JwtService(
+            @Value("${jwt.secret}") String secretKey,
+            @Value("${jwt.expiration}") Long jwtExpiration,
+            VerifiedTokenCache verifiedTokenCache
+    ) {
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parserBuilder().setSigningKey(signInKey).build();
+        this.jwtExpiration = jwtExpiration;
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
+    public VerifiedToken verify(String token) {
+        return verifiedTokenCache.get(token, this::parse);
+    }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).subject();
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public AuthPrincipal extractPrincipal(String token) {
+        return verify(token).toPrincipal();
     }
 
     public String generateToken(UserDetails userDetails) {
         return generateToken(new HashMap<>(), userDetails);
     }
 
+    public String generateToken(Superuser superuser) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, superuser.getId());
+        claims.put(CLAIM_ROLE, superuser.getRole().name());
+        claims.put(CLAIM_TOKEN_VERSION, superuser.getTokenVersion());
+        return generateToken(claims, superuser);
+    }
+
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
         return buildToken(extraClaims, userDetails, jwtExpiration);
     }
@@ -49,37 +78,28 @@ public class JwtService {
         return Jwts
                 .builder()
                 .setClaims(extraClaims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return isTokenValid(verify(token), userDetails);
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        if (userDetails instanceof AuthPrincipal principal
+                && token.tokenVersion() != null
+                && token.tokenVersion() != principal.tokenVersion()) {
+            return false;
+        }
+        return token.subject().equals(userDetails.getUsername()) && !token.isExpired(Instant.now());
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public VerifiedToken parse(String token) {
+        return VerifiedToken.from(parser.parseClaimsJws(token).getBody());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,96 @@
+package com.example.aura.Security.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias con buckets fijos (1-2-5 por década, en microsegundos).
+ * record() no usa locks: un incremento atómico por bucket más LongAdder para la suma.
+ */
+public class LatencyHistogram {
+
+    private static final long[] BOUNDS_MICROS = {
+            1, 2, 5, 10, 20, 50, 100, 200, 500,
+            1_000, 2_000, 5_000, 10_000, 20_000, 50_000,
+            100_000, 200_000, 500_000, 1_000_000, 2_000_000, 5_000_000
+    };
+
+    private final AtomicLongArray counts = new AtomicLongArray(BOUNDS_MICROS.length + 1);
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long elapsedNanos) {
+        long micros = elapsedNanos / 1_000;
+        int bucket = BOUNDS_MICROS.length;
+        for (int i = 0; i < BOUNDS_MICROS.length; i++) {
+            if (micros <= BOUNDS_MICROS[i]) {
+                bucket = i;
+                break;
+            }
+        }
+        counts.incrementAndGet(bucket);
+        totalNanos.add(elapsedNanos);
+        maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+    }
+
+    public Map<String, Object> snapshot() {
+        return summarize(currentCounts(false), totalNanos.sum(), maxNanos.get());
+    }
+
+    // Devuelve el intervalo acumulado y empieza uno nuevo
+    public Map<String, Object> snapshotAndReset() {
+        long[] drained = currentCounts(true);
+        return summarize(drained, totalNanos.sumThenReset(), maxNanos.getAndSet(0));
+    }
+
+    private long[] currentCounts(boolean reset) {
+        long[] values = new long[counts.length()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = reset ? counts.getAndSet(i, 0) : counts.get(i);
+        }
+        return values;
+    }
+
+    private static Map<String, Object> summarize(long[] values, long sumNanos, long max) {
+        long count = 0;
+        for (long value : values) {
+            count += value;
+        }
+
+        Map<String, Object> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] > 0) {
+                buckets.put(i < BOUNDS_MICROS.length ? "le_" + BOUNDS_MICROS[i] + "us" : "gt_" + BOUNDS_MICROS[BOUNDS_MICROS.length - 1] + "us", values[i]);
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", count);
+        result.put("meanMicros", count == 0 ? 0.0 : sumNanos / (double) count / 1_000);
+        result.put("p50Micros", percentile(values, count, 0.50, max));
+        result.put("p90Micros", percentile(values, count, 0.90, max));
+        result.put("p99Micros", percentile(values, count, 0.99, max));
+        result.put("maxMicros", max / 1_000);
+        result.put("buckets", buckets);
+        return result;
+    }
+
+    // Límite superior del bucket que contiene el percentil solicitado
+    private static long percentile(long[] values, long count, double quantile, long maxNanos) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+        for (int i = 0; i < values.length; i++) {
+            seen += values[i];
+            if (seen >= rank) {
+                return i < BOUNDS_MICROS.length ? BOUNDS_MICROS[i] : maxNanos / 1_000;
+            }
+        }
+        return maxNanos / 1_000;
+    }
+}
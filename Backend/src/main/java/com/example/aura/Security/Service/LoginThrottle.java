@@ -0,0 +1,107 @@
+package com.example.aura.Security.Service;
+
+import com.example.aura.Exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limita intentos de login por email y por IP antes de tocar BCrypt.
+ * Los buckets inactivos expiran por tiempo y el total está acotado por max-keys.
+ */
+@Component
+public class LoginThrottle {
+
+    private final Cache<String, TokenBucket> emailBuckets;
+    private final Cache<String, TokenBucket> ipBuckets;
+    private final long emailCapacity;
+    private final long emailRefillPerMinute;
+    private final long ipCapacity;
+    private final long ipRefillPerMinute;
+
+    private final LongAdder rejectedByEmail = new LongAdder();
+    private final LongAdder rejectedByIp = new LongAdder();
+
+    public LoginThrottle(
+            @Value("${security.login-throttle.email.capacity:5}") long emailCapacity,
+            @Value("${security.login-throttle.email.refill-per-minute:5}") long emailRefillPerMinute,
+            @Value("${security.login-throttle.ip.capacity:30}") long ipCapacity,
+            @Value("${security.login-throttle.ip.refill-per-minute:30}") long ipRefillPerMinute,
+            @Value("${security.login-throttle.max-keys:100000}") long maxKeys,
+            @Value("${security.login-throttle.idle-seconds:900}") long idleSeconds
+    ) {
+        this.emailCapacity = emailCapacity;
+        this.emailRefillPerMinute = emailRefillPerMinute;
+        this.ipCapacity = ipCapacity;
+        this.ipRefillPerMinute = ipRefillPerMinute;
+        this.emailBuckets = buildCache(maxKeys, idleSeconds);
+        this.ipBuckets = buildCache(maxKeys, idleSeconds);
+    }
+
+    /**
+     * La IP se comprueba primero para que un cliente ya limitado no gaste los intentos de los
+     * emails que prueba. Si luego rechaza el email, el token de la IP se devuelve: un email
+     * bloqueado no debe agotar la IP compartida (NAT) del resto de usuarios.
+     */
+    public void checkAllowed(String email, String ipAddress) {
+        long now = System.nanoTime();
+
+        TokenBucket ipBucket = null;
+        if (ipAddress != null) {
+            ipBucket = ipBuckets.get(ipAddress, key -> new TokenBucket(ipCapacity, ipRefillPerMinute, now));
+            long waitNanos = ipBucket.tryConsume(now);
+            if (waitNanos > 0) {
+                rejectedByIp.increment();
+                throw tooManyAttempts(waitNanos);
+            }
+        }
+
+        if (email != null) {
+            String key = email.toLowerCase();
+            long waitNanos = emailBuckets.get(key, k -> new TokenBucket(emailCapacity, emailRefillPerMinute, now))
+                    .tryConsume(now);
+            if (waitNanos > 0) {
+                if (ipBucket != null) {
+                    ipBucket.refund();
+                }
+                rejectedByEmail.increment();
+                throw tooManyAttempts(waitNanos);
+            }
+        }
+    }
+
+    // Un login correcto no debe penalizar al usuario por intentos fallidos previos
+    public void reset(String email) {
+        if (email != null) {
+            emailBuckets.invalidate(email.toLowerCase());
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("trackedEmails", emailBuckets.estimatedSize());
+        result.put("trackedIps", ipBuckets.estimatedSize());
+        result.put("rejectedByEmail", rejectedByEmail.sum());
+        result.put("rejectedByIp", rejectedByIp.sum());
+        return result;
+    }
+
+    private static Cache<String, TokenBucket> buildCache(long maxKeys, long idleSeconds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofSeconds(idleSeconds))
+                .build();
+    }
+
+    private static TooManyRequestsException tooManyAttempts(long waitNanos) {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+        return new TooManyRequestsException("Too many login attempts, retry in " + retryAfter + " seconds", retryAfter);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.aura.Security.Service;
+
+import com.example.aura.Security.Domain.AuthPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, AuthPrincipal> cache;
+    private final LongAdder invalidations = new LongAdder();
+
+    public PrincipalCache(
+            @Value("${security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public Optional<AuthPrincipal> get(String email, Function<String, Optional<AuthPrincipal>> loader) {
+        return Optional.ofNullable(cache.get(email, key -> loader.apply(key).orElse(null)));
+    }
+
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        cache.invalidate(email);
+        invalidations.increment();
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+        invalidations.increment();
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        result.put("invalidations", invalidations.sum());
+        result.put("averageLoadNanos", stats.averageLoadPenalty());
+        return result;
+    }
+}
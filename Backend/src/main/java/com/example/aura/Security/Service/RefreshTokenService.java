@@ -0,0 +1,104 @@
+package com.example.aura.Security.Service;
+
+import com.example.aura.Exception.UnauthorizedException;
+import com.example.aura.Security.Domain.RefreshToken;
+import com.example.aura.Security.Repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Refresh tokens opacos, guardados como SHA-256 y rotados en cada uso.
+ * Presentar un token ya rotado invalida toda su familia (detección de reutilización).
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration ttl;
+
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            @Value("${security.refresh-token.ttl-days:30}") long ttlDays
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.ttl = Duration.ofDays(ttlDays);
+    }
+
+    public record Rotation(Long accountId, String refreshToken) {
+    }
+
+    @Transactional
+    public String issue(Long accountId) {
+        return issue(accountId, UUID.randomUUID().toString());
+    }
+
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+
+        Instant now = Instant.now();
+        if (!current.getExpiresAt().isAfter(now)) {
+            throw new UnauthorizedException("Refresh token has expired");
+        }
+
+        if (refreshTokenRepository.markRotated(current.getId(), now) == 0) {
+            refreshTokenRepository.deleteFamily(current.getFamilyId());
+            log.warn("⚠️ Reutilización de refresh token detectada para la cuenta {}, familia {} revocada",
+                    current.getAccountId(), current.getFamilyId());
+            throw new UnauthorizedException("Refresh token has already been used");
+        }
+
+        return new Rotation(current.getAccountId(), issue(current.getAccountId(), current.getFamilyId()));
+    }
+
+    @Transactional
+    public void revokeAll(Long accountId) {
+        refreshTokenRepository.deleteByAccountId(accountId);
+    }
+
+    @Scheduled(fixedDelayString = "${security.refresh-token.purge-interval-ms:3600000}",
+            initialDelayString = "${security.refresh-token.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int removed = refreshTokenRepository.deleteExpired(Instant.now());
+        if (removed > 0) {
+            log.info("🧹 {} refresh tokens expirados eliminados", removed);
+        }
+    }
+
+    private String issue(Long accountId, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant now = Instant.now();
+        refreshTokenRepository.save(new RefreshToken(null, hash(rawToken), accountId, familyId, now, now.plus(ttl), null));
+        return rawToken;
+    }
+
+    static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
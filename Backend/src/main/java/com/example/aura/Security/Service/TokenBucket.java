@@ -0,0 +1,51 @@
+package com.example.aura.Security.Service;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Token bucket sin locks: el estado es inmutable y se reemplaza con CAS.
+ */
+public class TokenBucket {
+
+    private record State(double tokens, long refilledAtNanos) {
+    }
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    public TokenBucket(long capacity, long refillPerMinute, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerMinute / 60_000_000_000.0;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    /**
+     * Consume un token; devuelve 0 si se concedió o los nanosegundos hasta el siguiente token.
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            State current = state.get();
+            double available = Math.min(capacity,
+                    current.tokens() + Math.max(0, nowNanos - current.refilledAtNanos()) * tokensPerNano);
+            if (available < 1) {
+                return (long) Math.ceil((1 - available) / tokensPerNano);
+            }
+            if (state.compareAndSet(current, new State(available - 1, Math.max(nowNanos, current.refilledAtNanos())))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Devuelve un token concedido por tryConsume cuando la petición se rechaza por otro motivo.
+     */
+    public void refund() {
+        while (true) {
+            State current = state.get();
+            if (state.compareAndSet(current, new State(Math.min(capacity, current.tokens() + 1), current.refilledAtNanos()))) {
+                return;
+            }
+        }
+    }
+}
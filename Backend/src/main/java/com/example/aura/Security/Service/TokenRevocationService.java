@@ -0,0 +1,117 @@
+package com.example.aura.Security.Service;
+
+import com.example.aura.Security.Domain.RevokedToken;
+import com.example.aura.Security.Domain.VerifiedToken;
+import com.example.aura.Security.Repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+    // Solapamiento al sincronizar para tolerar desfase de reloj entre nodos
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(10);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+
+    private volatile RevocationBloomFilter bloomFilter;
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    private final LongAdder bloomNegatives = new LongAdder();
+    private final LongAdder bloomHits = new LongAdder();
+    private final LongAdder confirmedRevocations = new LongAdder();
+
+    public TokenRevocationService(
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${security.revocation.expected-revocations:100000}") long expectedRevocations,
+            @Value("${security.revocation.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloomFilter = new RevocationBloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        if (!bloomFilter.mightContain(tokenId)) {
+            bloomNegatives.increment();
+            return false;
+        }
+        bloomHits.increment();
+        boolean revoked = revokedTokenRepository.existsById(tokenId);
+        if (revoked) {
+            confirmedRevocations.increment();
+        }
+        return revoked;
+    }
+
+    @Transactional
+    public void revoke(VerifiedToken token, Long accountId) {
+        if (token.tokenId() == null || token.isExpired(Instant.now())) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(token.tokenId(), accountId, Instant.now(), token.expiresAt()));
+        bloomFilter.put(token.tokenId());
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.sync-interval-ms:5000}")
+    public void syncIncrementally() {
+        Instant now = Instant.now();
+        List<String> tokenIds = revokedTokenRepository.findTokenIdsRevokedSince(lastSync.minus(SYNC_OVERLAP), now);
+        RevocationBloomFilter current = bloomFilter;
+        tokenIds.forEach(current::put);
+        lastSync = now;
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.compaction-interval-ms:3600000}",
+            initialDelayString = "${security.revocation.compaction-interval-ms:3600000}")
+    @Transactional
+    public void compact() {
+        int removed = revokedTokenRepository.deleteExpired(Instant.now());
+        if (removed > 0) {
+            log.info("🧹 {} tokens revocados expirados eliminados", removed);
+        }
+        rebuild();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("bloomBits", bloomFilter.bitCount());
+        result.put("bloomHashFunctions", bloomFilter.hashFunctions());
+        result.put("bloomNegatives", bloomNegatives.sum());
+        result.put("bloomHits", bloomHits.sum());
+        result.put("confirmedRevocations", confirmedRevocations.sum());
+        result.put("lastSync", lastSync);
+        return result;
+    }
+
+    private void rebuild() {
+        Instant now = Instant.now();
+        RevocationBloomFilter rebuilt = new RevocationBloomFilter(expectedRevocations, falsePositiveRate);
+        revokedTokenRepository.findActiveTokenIds(now).forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+        lastSync = now;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.aura.Security.Service;
+
+import com.example.aura.Entity.Superuser.Domain.Superuser;
+import com.example.aura.Entity.Superuser.Repository.SuperuserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+public class TokenVersionCache {
+
+    private static final long REVOKED = -1L;
+
+    private final LoadingCache<Long, Long> versions;
+
+    public TokenVersionCache(
+            SuperuserRepository<Superuser> superuserRepository,
+            @Value("${security.token-version-cache.max-size:50000}") long maxSize,
+            @Value("${security.token-version-cache.ttl-seconds:30}") long ttlSeconds
+    ) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build(id -> superuserRepository.findActiveTokenVersionById(id).orElse(REVOKED));
+    }
+
+    public boolean isCurrent(Long accountId, long tokenVersion) {
+        if (accountId == null) {
+            return false;
+        }
+        long current = versions.get(accountId);
+        return current != REVOKED && current == tokenVersion;
+    }
+
+    public void evict(Long accountId) {
+        if (accountId != null) {
+            versions.invalidate(accountId);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = versions.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", versions.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.aura.Security.Service;
+
+import com.example.aura.Security.Domain.VerifiedToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final Cache<ByteBuffer, VerifiedToken> cache;
+
+    public VerifiedTokenCache(@Value("${security.jwt.verified-cache.max-size:20000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.<ByteBuffer, VerifiedToken>creating((key, token) ->
+                        Duration.between(Instant.now(), token.expiresAt())))
+                .recordStats()
+                .build();
+    }
+
+    public VerifiedToken get(String token, Function<String, VerifiedToken> verifier) {
+        ByteBuffer key = digest(token);
+        VerifiedToken verified = cache.getIfPresent(key);
+
+        if (verified != null && !verified.isExpired(Instant.now())) {
+            return verified;
+        }
+        if (verified != null) {
+            cache.invalidate(key);
+        }
+
+        verified = verifier.apply(token);
+        cache.put(key, verified);
+        return verified;
+    }
+
+    public void evict(String token) {
+        cache.invalidate(digest(token));
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+
+    private ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
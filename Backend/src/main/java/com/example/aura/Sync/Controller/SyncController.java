@@ -0,0 +1,24 @@
+package com.example.aura.Sync.Controller;
+
+import com.example.aura.Sync.DTO.SyncResponseDTO;
+import com.example.aura.Sync.Service.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('USER', 'TECHNICIAN')")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    @GetMapping
+    public ResponseEntity<SyncResponseDTO> sync(
+            @RequestParam(required = false) Long since,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(syncService.sync(since, limit));
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.aura.Sync.DTO;
+
+import com.example.aura.Entity.Payment.DTO.PaymentResponseDTO;
+import com.example.aura.Entity.Reservation.DTO.ReservationResponseDTO;
+import com.example.aura.Entity.Review.DTO.ReviewResponseDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Cambios posteriores a una marca de agua. El cliente guarda watermark y lo envía como since
+ * en la siguiente llamada; con hasMore debe volver a pedir enseguida.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponseDTO {
+    private Long watermark;
+    private boolean hasMore;
+    private List<ReservationResponseDTO> reservations;
+    private List<PaymentResponseDTO> payments;
+    private List<ReviewResponseDTO> reviews;
+    private List<SyncTombstoneDTO> deleted;
+}
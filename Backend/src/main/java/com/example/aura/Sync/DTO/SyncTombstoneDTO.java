@@ -0,0 +1,15 @@
+package com.example.aura.Sync.DTO;
+
+import com.example.aura.Sync.Domain.SyncEntityType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncTombstoneDTO {
+    private SyncEntityType type;
+    private Long id;
+    private Long version;
+}
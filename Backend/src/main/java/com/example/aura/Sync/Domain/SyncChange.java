@@ -0,0 +1,53 @@
+package com.example.aura.Sync.Domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Última versión en la que cambió una entidad para una cuenta. Hay una fila por cuenta y
+ * entidad, que se reescribe en cada cambio, así que la tabla crece con las entidades y no con
+ * el historial. deleted marca la lápida de algo que la cuenta ya no debe tener.
+ */
+@Entity
+@Table(name = "sync_change",
+        uniqueConstraints = @UniqueConstraint(name = "uk_sync_change_account_entity",
+                columnNames = {"account_id", "entity_type", "entity_id"}),
+        indexes = {
+                @Index(name = "idx_sync_change_account_version", columnList = "account_id, version"),
+                @Index(name = "idx_sync_change_entity", columnList = "entity_type, entity_id")
+        })
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class SyncChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "sync_change_id")
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", length = 20, nullable = false)
+    private SyncEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "deleted", nullable = false)
+    private boolean deleted;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
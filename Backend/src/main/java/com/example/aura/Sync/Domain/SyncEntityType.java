@@ -0,0 +1,7 @@
+package com.example.aura.Sync.Domain;
+
+public enum SyncEntityType {
+    RESERVATION,
+    PAYMENT,
+    REVIEW
+}
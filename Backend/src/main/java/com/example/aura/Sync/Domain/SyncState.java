@@ -0,0 +1,48 @@
+package com.example.aura.Sync.Domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Contador de versiones de sincronización de una cuenta. Solo existe para cuentas que ya se
+ * han sincronizado alguna vez; el resto no acumula cambios. La fila queda bloqueada desde que
+ * se incrementa hasta el commit, así las versiones de una cuenta siguen el orden de commit.
+ */
+@Entity
+@Table(name = "sync_state")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class SyncState implements Persistable<Long> {
+
+    @Id
+    @Column(name = "account_id")
+    private Long id;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Transient
+    private boolean fresh = true;
+
+    @Override
+    public boolean isNew() {
+        return fresh;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        fresh = false;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.aura.Sync.Repository;
+
+import com.example.aura.Sync.Domain.SyncChange;
+import com.example.aura.Sync.Domain.SyncEntityType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SyncChangeRepository extends JpaRepository<SyncChange, Long> {
+
+    @Query("SELECT c FROM SyncChange c WHERE c.accountId = :accountId AND c.version > :since ORDER BY c.version")
+    List<SyncChange> findSince(@Param("accountId") Long accountId, @Param("since") long since, Limit limit);
+
+    // Cuentas que ya tienen fila para esas entidades, aunque hayan dejado de participar
+    List<SyncChange> findByEntityTypeAndEntityIdIn(SyncEntityType entityType, Collection<Long> entityIds);
+
+    // Se lee con el contador de la cuenta ya bloqueado, así ve las filas de transacciones anteriores
+    @Query("SELECT c FROM SyncChange c WHERE c.accountId = :accountId AND c.entityType = :type AND c.entityId IN :ids")
+    List<SyncChange> findForAccount(@Param("accountId") Long accountId, @Param("type") SyncEntityType type,
+                                    @Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.example.aura.Sync.Repository.SyncParticipant(r.id, r.user.id, r.technicianService.id.technicianId) " +
+            "FROM Reservation r WHERE r.id IN :ids")
+    List<SyncParticipant> findReservationParticipants(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.example.aura.Sync.Repository.SyncParticipant(p.id, p.reservation.user.id, NULL) " +
+            "FROM Payment p WHERE p.id IN :ids")
+    List<SyncParticipant> findPaymentParticipants(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.example.aura.Sync.Repository.SyncParticipant(v.id, v.reservation.user.id, " +
+            "v.reservation.technicianService.id.technicianId) FROM Review v WHERE v.id IN :ids")
+    List<SyncParticipant> findReviewParticipants(@Param("ids") Collection<Long> ids);
+
+    // Estado inicial de una cuenta al darse de alta
+    @Query("SELECT r.id FROM Reservation r WHERE r.user.id = :accountId OR r.technicianService.id.technicianId = :accountId")
+    List<Long> findReservationIdsOf(@Param("accountId") Long accountId);
+
+    @Query("SELECT p.id FROM Payment p WHERE p.reservation.user.id = :accountId")
+    List<Long> findPaymentIdsOf(@Param("accountId") Long accountId);
+
+    @Query("SELECT v.id FROM Review v WHERE v.reservation.user.id = :accountId " +
+            "OR v.reservation.technicianService.id.technicianId = :accountId")
+    List<Long> findReviewIdsOf(@Param("accountId") Long accountId);
+}
@@ -0,0 +1,11 @@
+package com.example.aura.Sync.Repository;
+
+/**
+ * Cuentas que ven una entidad: el cliente de la reserva y, salvo en pagos, su técnico.
+ */
+public record SyncParticipant(Long entityId, Long userId, Long technicianId) {
+
+    public boolean includes(Long accountId) {
+        return accountId.equals(userId) || accountId.equals(technicianId);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.aura.Sync.Repository;
+
+import com.example.aura.Sync.Domain.SyncState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SyncStateRepository extends JpaRepository<SyncState, Long> {
+
+    // Reserva count versiones; devuelve 0 si la cuenta no está dada de alta
+    @Modifying
+    @Query("UPDATE SyncState s SET s.version = s.version + :count WHERE s.id = :accountId")
+    int advance(@Param("accountId") Long accountId, @Param("count") long count);
+
+    @Query("SELECT s.version FROM SyncState s WHERE s.id = :accountId")
+    Long findVersion(@Param("accountId") Long accountId);
+}
@@ -0,0 +1,186 @@
+package com.example.aura.Sync.Service;
+
+import com.example.aura.Sync.Domain.SyncChange;
+import com.example.aura.Sync.Domain.SyncEntityType;
+import com.example.aura.Sync.Repository.SyncChangeRepository;
+import com.example.aura.Sync.Repository.SyncParticipant;
+import com.example.aura.Sync.Repository.SyncStateRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Registra en sync_change qué entidades cambiaron para cada cuenta. Los eventos anotan
+ * entidades durante la transacción y antes del commit se resuelven sus participantes y se
+ * escribe una fila por cuenta y entidad con la siguiente versión del contador de esa cuenta.
+ * Las cuentas se procesan por id ascendente para que dos transacciones no se bloqueen en cruz.
+ */
+@Service
+public class SyncChangeRecorder {
+
+    private final SyncStateRepository stateRepository;
+    private final SyncChangeRepository changeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder tombstones = new LongAdder();
+
+    public SyncChangeRecorder(
+            SyncStateRepository stateRepository,
+            SyncChangeRepository changeRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${sync.batch-size:500}") int batchSize
+    ) {
+        this.stateRepository = stateRepository;
+        this.changeRepository = changeRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Anota entidades cambiadas en la transacción actual; se registran una sola vez antes del
+     * commit. Sin transacción se registran en una nueva.
+     */
+    public void record(SyncEntityType type, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Map<SyncEntityType, Set<Long>> single = new EnumMap<>(SyncEntityType.class);
+            single.put(type, new LinkedHashSet<>(ids));
+            transactionTemplate.executeWithoutResult(status -> write(single));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<SyncEntityType, Set<Long>> pending = (Map<SyncEntityType, Set<Long>>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<SyncEntityType, Set<Long>> created = new EnumMap<>(SyncEntityType.class);
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(SyncChangeRecorder.this);
+                }
+            });
+            pending = created;
+        }
+        pending.computeIfAbsent(type, key -> new LinkedHashSet<>()).addAll(ids);
+    }
+
+    public void recordForParticipant(Long accountId) {
+        record(SyncEntityType.RESERVATION, changeRepository.findReservationIdsOf(accountId));
+    }
+
+    /**
+     * Escribe las filas de sync_change de esas entidades para cada cuenta dada de alta que las
+     * ve o las veía. Debe ejecutarse dentro de una transacción: el contador de cada cuenta queda
+     * bloqueado hasta el commit, así una versión nunca se hace visible antes que otra menor.
+     */
+    public void write(Map<SyncEntityType, Set<Long>> pending) {
+        // cuenta -> tipo -> entidad -> ¿lápida?
+        Map<Long, Map<SyncEntityType, Map<Long, Boolean>>> byAccount = new TreeMap<>();
+        pending.forEach((type, ids) -> {
+            List<Long> all = new ArrayList<>(ids);
+            for (int from = 0; from < all.size(); from += batchSize) {
+                collect(type, all.subList(from, Math.min(all.size(), from + batchSize)), byAccount);
+            }
+        });
+
+        LocalDateTime now = LocalDateTime.now();
+        byAccount.forEach((accountId, byType) -> {
+            int count = byType.values().stream().mapToInt(Map::size).sum();
+            if (stateRepository.advance(accountId, count) == 0) {
+                return;
+            }
+            long version = stateRepository.findVersion(accountId) - count;
+            List<SyncChange> rows = new ArrayList<>(count);
+            for (Map.Entry<SyncEntityType, Map<Long, Boolean>> entry : byType.entrySet()) {
+                SyncEntityType type = entry.getKey();
+                Map<Long, SyncChange> existing = changeRepository.findForAccount(accountId, type, entry.getValue().keySet())
+                        .stream().collect(Collectors.toMap(SyncChange::getEntityId, Function.identity()));
+                for (Map.Entry<Long, Boolean> change : entry.getValue().entrySet()) {
+                    SyncChange row = existing.get(change.getKey());
+                    if (row == null) {
+                        row = new SyncChange(null, accountId, type, change.getKey(), null, false, null);
+                    }
+                    row.setVersion(++version);
+                    row.setDeleted(change.getValue());
+                    row.setChangedAt(now);
+                    rows.add(row);
+                    if (change.getValue()) {
+                        tombstones.increment();
+                    }
+                }
+            }
+            changeRepository.saveAll(rows);
+            recorded.add(rows.size());
+        });
+        changeRepository.flush();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("recorded", recorded.sum());
+        result.put("tombstones", tombstones.sum());
+        return result;
+    }
+
+    // Participantes actuales más quien ya tenía la entidad: a estos últimos se les manda lápida
+    private void collect(SyncEntityType type, List<Long> ids, Map<Long, Map<SyncEntityType, Map<Long, Boolean>>> byAccount) {
+        Map<Long, SyncParticipant> participants = participants(type, ids).stream()
+                .collect(Collectors.toMap(SyncParticipant::entityId, Function.identity()));
+        Map<Long, Set<Long>> holders = new LinkedHashMap<>();
+        for (SyncChange row : changeRepository.findByEntityTypeAndEntityIdIn(type, ids)) {
+            holders.computeIfAbsent(row.getEntityId(), key -> new TreeSet<>()).add(row.getAccountId());
+        }
+        for (Long id : ids) {
+            SyncParticipant participant = participants.get(id);
+            Set<Long> accounts = new TreeSet<>(holders.getOrDefault(id, Set.of()));
+            if (participant != null) {
+                if (participant.userId() != null) {
+                    accounts.add(participant.userId());
+                }
+                if (participant.technicianId() != null) {
+                    accounts.add(participant.technicianId());
+                }
+            }
+            for (Long accountId : accounts) {
+                boolean deleted = participant == null || !participant.includes(accountId);
+                byAccount.computeIfAbsent(accountId, key -> new EnumMap<>(SyncEntityType.class))
+                        .computeIfAbsent(type, key -> new LinkedHashMap<>())
+                        .put(id, deleted);
+            }
+        }
+    }
+
+    private List<SyncParticipant> participants(SyncEntityType type, List<Long> ids) {
+        return switch (type) {
+            case RESERVATION -> changeRepository.findReservationParticipants(ids);
+            case PAYMENT -> changeRepository.findPaymentParticipants(ids);
+            case REVIEW -> changeRepository.findReviewParticipants(ids);
+        };
+    }
+}
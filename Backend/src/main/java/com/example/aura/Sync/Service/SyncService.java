@@ -0,0 +1,195 @@
+package com.example.aura.Sync.Service;
+
+import com.example.aura.Entity.Payment.DTO.PaymentResponseDTO;
+import com.example.aura.Entity.Payment.Service.PaymentService;
+import com.example.aura.Entity.Reservation.DTO.ReservationResponseDTO;
+import com.example.aura.Entity.Reservation.DTO.ReservationRow;
+import com.example.aura.Entity.Reservation.Repository.ReservationRepository;
+import com.example.aura.Entity.Review.DTO.ReviewResponseDTO;
+import com.example.aura.Entity.Review.Service.ReviewService;
+import com.example.aura.Exception.InvalidOperationException;
+import com.example.aura.Security.Service.CurrentAccountService;
+import com.example.aura.Sync.DTO.SyncResponseDTO;
+import com.example.aura.Sync.DTO.SyncTombstoneDTO;
+import com.example.aura.Sync.Domain.SyncChange;
+import com.example.aura.Sync.Domain.SyncEntityType;
+import com.example.aura.Sync.Domain.SyncState;
+import com.example.aura.Sync.Repository.SyncChangeRepository;
+import com.example.aura.Sync.Repository.SyncStateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sincronización incremental para clientes móviles. Cada cuenta tiene un contador propio y
+ * sync_change guarda, por entidad, la última versión en la que cambió para esa cuenta; una
+ * llamada lee solo las filas con versión mayor que la marca del cliente por el índice
+ * (account_id, version) y carga el estado actual de esas entidades, o su lápida.
+ * La cuenta se da de alta en su primera sincronización, que devuelve todo su estado.
+ */
+@Service
+@Slf4j
+public class SyncService {
+
+    private final SyncStateRepository stateRepository;
+    private final SyncChangeRepository changeRepository;
+    private final SyncChangeRecorder recorder;
+    private final ReservationRepository reservationRepository;
+    private final PaymentService paymentService;
+    private final ReviewService reviewService;
+    private final CurrentAccountService currentAccountService;
+    private final TransactionTemplate transactionTemplate;
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    private final LongAdder syncs = new LongAdder();
+    private final LongAdder enrolled = new LongAdder();
+    private final LongAdder sentChanges = new LongAdder();
+
+    public SyncService(
+            SyncStateRepository stateRepository,
+            SyncChangeRepository changeRepository,
+            SyncChangeRecorder recorder,
+            ReservationRepository reservationRepository,
+            PaymentService paymentService,
+            ReviewService reviewService,
+            CurrentAccountService currentAccountService,
+            TransactionTemplate transactionTemplate,
+            @Value("${sync.default-limit:200}") int defaultLimit,
+            @Value("${sync.max-limit:1000}") int maxLimit
+    ) {
+        this.stateRepository = stateRepository;
+        this.changeRepository = changeRepository;
+        this.recorder = recorder;
+        this.reservationRepository = reservationRepository;
+        this.paymentService = paymentService;
+        this.reviewService = reviewService;
+        this.currentAccountService = currentAccountService;
+        this.transactionTemplate = transactionTemplate;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Devuelve como mucho limit cambios de la cuenta actual posteriores a since, en orden de
+     * versión. Sin since, o en la primera llamada de la cuenta, se parte de cero.
+     */
+    public SyncResponseDTO sync(Long since, Integer limit) {
+        int size = limit == null ? defaultLimit : limit;
+        if (size < 1 || size > maxLimit) {
+            throw new InvalidOperationException("sync", "limit must be between 1 and " + maxLimit);
+        }
+        if (since != null && since < 0) {
+            throw new InvalidOperationException("sync", "since must not be negative");
+        }
+        Long accountId = currentAccountService.currentAccountId();
+        long from = enroll(accountId) || since == null ? 0L : since;
+        syncs.increment();
+        return transactionTemplate.execute(status -> read(accountId, from, size));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("defaultLimit", defaultLimit);
+        result.put("maxLimit", maxLimit);
+        result.put("syncs", syncs.sum());
+        result.put("enrolledAccounts", enrolled.sum());
+        result.put("sentChanges", sentChanges.sum());
+        result.putAll(recorder.stats());
+        return result;
+    }
+
+    /**
+     * Da de alta la cuenta si aún no lo está: primero el contador, para que los cambios
+     * concurrentes ya se registren, y después una fila por cada entidad que ve hoy.
+     * Devuelve true si la cuenta se acaba de dar de alta.
+     */
+    boolean enroll(Long accountId) {
+        if (stateRepository.existsById(accountId)) {
+            return false;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    stateRepository.saveAndFlush(new SyncState(accountId, 0L, LocalDateTime.now(), true)));
+        } catch (DataIntegrityViolationException ex) {
+            // Otra petición de la misma cuenta la dio de alta a la vez; su semilla también vale
+            return true;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<SyncEntityType, Set<Long>> seed = new EnumMap<>(SyncEntityType.class);
+            seed.put(SyncEntityType.RESERVATION, new LinkedHashSet<>(changeRepository.findReservationIdsOf(accountId)));
+            seed.put(SyncEntityType.PAYMENT, new LinkedHashSet<>(changeRepository.findPaymentIdsOf(accountId)));
+            seed.put(SyncEntityType.REVIEW, new LinkedHashSet<>(changeRepository.findReviewIdsOf(accountId)));
+            recorder.write(seed);
+        });
+        enrolled.increment();
+        log.info("Cuenta {} dada de alta en sincronización", accountId);
+        return true;
+    }
+
+    private SyncResponseDTO read(Long accountId, long since, int limit) {
+        List<SyncChange> changes = changeRepository.findSince(accountId, since, Limit.of(limit + 1));
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+        long watermark = changes.isEmpty() ? since : changes.get(changes.size() - 1).getVersion();
+
+        Map<SyncEntityType, List<Long>> live = new EnumMap<>(SyncEntityType.class);
+        List<SyncTombstoneDTO> deleted = new ArrayList<>();
+        for (SyncChange change : changes) {
+            if (change.isDeleted()) {
+                deleted.add(new SyncTombstoneDTO(change.getEntityType(), change.getEntityId(), change.getVersion()));
+            } else {
+                live.computeIfAbsent(change.getEntityType(), key -> new ArrayList<>()).add(change.getEntityId());
+            }
+        }
+
+        List<ReservationResponseDTO> reservations = load(live, SyncEntityType.RESERVATION,
+                ids -> reservationRepository.findRowsByIds(ids).stream()
+                        .filter(row -> accountId.equals(row.userId()) || accountId.equals(row.technicianId()))
+                        .map(ReservationRow::toResponseDTO)
+                        .toList(),
+                ReservationResponseDTO::getId, changes, deleted);
+        List<PaymentResponseDTO> payments = load(live, SyncEntityType.PAYMENT, paymentService::getPaymentsByIds,
+                PaymentResponseDTO::getId, changes, deleted);
+        List<ReviewResponseDTO> reviews = load(live, SyncEntityType.REVIEW, reviewService::getReviewsByIds,
+                ReviewResponseDTO::getId, changes, deleted);
+
+        sentChanges.add(changes.size());
+        return new SyncResponseDTO(watermark, hasMore, reservations, payments, reviews, deleted);
+    }
+
+    // Lo que desapareció entre el registro del cambio y esta lectura se envía como lápida
+    private <T> List<T> load(Map<SyncEntityType, List<Long>> live, SyncEntityType type,
+                             Function<List<Long>, List<T>> loader, Function<T, Long> idOf,
+                             List<SyncChange> changes, List<SyncTombstoneDTO> deleted) {
+        List<Long> ids = live.getOrDefault(type, List.of());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<T> found = loader.apply(ids);
+        Set<Long> foundIds = found.stream().map(idOf).collect(Collectors.toSet());
+        for (SyncChange change : changes) {
+            if (change.getEntityType() == type && !change.isDeleted() && !foundIds.contains(change.getEntityId())) {
+                deleted.add(new SyncTombstoneDTO(type, change.getEntityId(), change.getVersion()));
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.aura.Transition;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Ejecuta cambios de estado como un único UPDATE condicional
+ * (WHERE id = ? AND status IN (orígenes permitidos) [AND predicado de propiedad]).
+ * Solo si el UPDATE no afecta filas se consulta el estado actual para explicar el motivo.
+ */
+@Component
+public class StatusTransitionEngine {
+
+    public <S extends Enum<S>> TransitionResult<S> apply(
+            String resourceName,
+            Long id,
+            TransitionTable<S> table,
+            S target,
+            ToIntFunction<Set<S>> guardedUpdate,
+            Function<Long, Optional<S>> currentStatusLookup
+    ) {
+        Set<S> sources = table.sourcesFor(target);
+        if (sources.isEmpty()) {
+            return new TransitionResult<>(resourceName, id, target, 0, TransitionResult.Outcome.INVALID_STATE, null);
+        }
+
+        int affectedRows = guardedUpdate.applyAsInt(sources);
+        if (affectedRows > 0) {
+            return new TransitionResult<>(resourceName, id, target, affectedRows, TransitionResult.Outcome.APPLIED, target);
+        }
+
+        Optional<S> current = currentStatusLookup.apply(id);
+        if (current.isEmpty()) {
+            return new TransitionResult<>(resourceName, id, target, 0, TransitionResult.Outcome.NOT_FOUND, null);
+        }
+        if (!sources.contains(current.get())) {
+            return new TransitionResult<>(resourceName, id, target, 0, TransitionResult.Outcome.INVALID_STATE, current.get());
+        }
+        // Estado válido pero sin filas afectadas: falló el predicado de propiedad
+        return new TransitionResult<>(resourceName, id, target, 0, TransitionResult.Outcome.FORBIDDEN, current.get());
+    }
+}
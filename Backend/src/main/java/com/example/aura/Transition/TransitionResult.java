@@ -0,0 +1,41 @@
+package com.example.aura.Transition;
+
+import com.example.aura.Exception.ForbiddenException;
+import com.example.aura.Exception.InvalidOperationException;
+import com.example.aura.Exception.ResourceNotFoundException;
+
+/**
+ * Resultado de una transición guardada. affectedRows es el recuento devuelto por el UPDATE;
+ * si es 0, outcome indica por qué no se aplicó.
+ */
+public record TransitionResult<S extends Enum<S>>(
+        String resourceName,
+        Long id,
+        S target,
+        int affectedRows,
+        Outcome outcome,
+        S currentStatus
+) {
+
+    public enum Outcome {
+        APPLIED,
+        NOT_FOUND,
+        INVALID_STATE,
+        FORBIDDEN
+    }
+
+    public boolean applied() {
+        return outcome == Outcome.APPLIED;
+    }
+
+    public TransitionResult<S> orThrow() {
+        return switch (outcome) {
+            case APPLIED -> this;
+            case NOT_FOUND -> throw new ResourceNotFoundException(resourceName, "id", id);
+            case INVALID_STATE -> throw new InvalidOperationException(
+                    "transition to " + target,
+                    String.format("%s %d is %s", resourceName, id, currentStatus));
+            case FORBIDDEN -> throw new ForbiddenException(resourceName, "move to " + target);
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.aura.Transition;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tabla declarativa de transiciones de un enum de estado: para cada estado destino,
+ * los estados origen desde los que se permite llegar.
+ */
+public final class TransitionTable<S extends Enum<S>> {
+
+    private final Map<S, Set<S>> sourcesByTarget;
+
+    private TransitionTable(Map<S, Set<S>> sourcesByTarget) {
+        this.sourcesByTarget = sourcesByTarget;
+    }
+
+    public static <S extends Enum<S>> Builder<S> of(Class<S> type) {
+        return new Builder<>(type);
+    }
+
+    public Set<S> sourcesFor(S target) {
+        return sourcesByTarget.getOrDefault(target, Collections.emptySet());
+    }
+
+    public boolean allows(S from, S to) {
+        return sourcesFor(to).contains(from);
+    }
+
+    public static final class Builder<S extends Enum<S>> {
+
+        private final Class<S> type;
+        private final Map<S, Set<S>> sourcesByTarget;
+
+        private Builder(Class<S> type) {
+            this.type = type;
+            this.sourcesByTarget = new EnumMap<>(type);
+        }
+
+        @SafeVarargs
+        public final Builder<S> allow(S target, S... from) {
+            Set<S> sources = sourcesByTarget.computeIfAbsent(target, key -> EnumSet.noneOf(type));
+            Collections.addAll(sources, from);
+            return this;
+        }
+
+        public TransitionTable<S> build() {
+            Map<S, Set<S>> frozen = new EnumMap<>(type);
+            sourcesByTarget.forEach((target, sources) -> frozen.put(target, Collections.unmodifiableSet(EnumSet.copyOf(sources))));
+            return new TransitionTable<>(Collections.unmodifiableMap(frozen));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.aura.Benchmark;
+
+import com.example.aura.Booking.BookingEngine;
+import com.example.aura.Entity.Reservation.Repository.ReservationHoldRepository;
+import com.example.aura.Entity.Reservation.Repository.ReservationRepository;
+import com.example.aura.Exception.ConflictException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reservas por segundo que acepta o rechaza BookingEngine con 16 hilos compitiendo por 200
+ * técnicos y 30 días, sin base de datos (los repositorios devuelven agendas vacías).
+ * Ejecutar con: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.aura.Benchmark.BookingEngineBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(16)
+@Fork(1)
+public class BookingEngineBenchmark {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+    private static final int TECHNICIANS = 200;
+    private static final int DAYS = 30;
+
+    private final AtomicLong reservationIds = new AtomicLong();
+    private BookingEngine engine;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        ReservationRepository reservationRepository = mock(ReservationRepository.class);
+        when(reservationRepository.findBookingSlots(any(), any(), any())).thenReturn(List.of());
+        ReservationHoldRepository holdRepository = mock(ReservationHoldRepository.class);
+        when(holdRepository.findHeldSlots(any(), any(), any())).thenReturn(List.of());
+        engine = new BookingEngine(reservationRepository, holdRepository, 256, TECHNICIANS * DAYS, 30, 60);
+    }
+
+    @Benchmark
+    public boolean hold() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long technicianId = random.nextLong(1, TECHNICIANS + 1);
+        LocalDate day = FIRST_DAY.plusDays(random.nextInt(DAYS));
+        LocalTime from = LocalTime.of(8, 0).plusMinutes(30L * random.nextInt(24));
+        LocalTime to = from.plusMinutes(30L * random.nextInt(1, 4));
+        try {
+            engine.hold(technicianId, day, from, to).attach(reservationIds.incrementAndGet());
+            return true;
+        } catch (ConflictException ex) {
+            return false;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BookingEngineBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
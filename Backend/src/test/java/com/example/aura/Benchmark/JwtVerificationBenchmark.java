@@ -0,0 +1,88 @@
+package com.example.aura.Benchmark;
+
+import com.example.aura.Entity.User.Domain.User;
+import com.example.aura.Security.Domain.Role;
+import com.example.aura.Security.Domain.VerifiedToken;
+import com.example.aura.Security.Service.JwtService;
+import com.example.aura.Security.Service.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste por request de validar el JWT en JwtAuthenticationFilter.
+ * legacyTriplePass reproduce el flujo anterior: clave decodificada en cada llamada y
+ * tres parseos con HMAC (extractUsername, isTokenValid, extractExpiration).
+ * El build no lo ejecuta y no hay cifras de referencia versionadas: compara los tres modos
+ * en la misma máquina. Ejecutar con: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.aura.Benchmark.JwtVerificationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+
+    private JwtService uncachedJwtService;
+    private JwtService cachedJwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncachedJwtService = new JwtService(SECRET, 3600000L, new VerifiedTokenCache(0));
+        cachedJwtService = new JwtService(SECRET, 3600000L, new VerifiedTokenCache(10000));
+
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("bench@test.com");
+        user.setRole(Role.USER);
+        user.setTokenVersion(0L);
+        token = cachedJwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean legacyTriplePass() {
+        String username = legacyClaims(token).getSubject();
+        String usernameAgain = legacyClaims(token).getSubject();
+        Date expiration = legacyClaims(token).getExpiration();
+        return username.equals(usernameAgain) && expiration.after(new Date());
+    }
+
+    @Benchmark
+    public VerifiedToken singlePass() {
+        return uncachedJwtService.parse(token);
+    }
+
+    @Benchmark
+    public VerifiedToken singlePassCached() {
+        return cachedJwtService.verify(token);
+    }
+
+    private Claims legacyClaims(String jwt) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(jwt)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.aura.RepositoryTest;
+
+import com.example.aura.Entity.Payment.Domain.Payment;
+import com.example.aura.Entity.Payment.Domain.PaymentMethod;
+import com.example.aura.Entity.Payment.Domain.PaymentStatus;
+import com.example.aura.Entity.Payment.Repository.PaymentRepository;
+import com.example.aura.Entity.Reservation.DTO.ArchivedReservation;
+import com.example.aura.Entity.Reservation.Domain.Reservation;
+import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+import com.example.aura.Entity.Reservation.Repository.ReservationArchiveRepository;
+import com.example.aura.Entity.Reservation.Repository.ReservationRepository;
+import com.example.aura.Entity.Reservation.Service.ReservationArchiveService;
+import com.example.aura.Entity.Reservation.Service.ReservationArchiveService.RunReport;
+import com.example.aura.Entity.Review.Domain.Review;
+import com.example.aura.Entity.Review.Domain.ReviewStatus;
+import com.example.aura.Entity.Service.Domain.Service;
+import com.example.aura.Entity.Service.Domain.ServiceCategory;
+import com.example.aura.Entity.Technician.Domain.Technician;
+import com.example.aura.Entity.TechnicianService.Domain.TechnicianService;
+import com.example.aura.Entity.TechnicianService.Domain.TechnicianServiceId;
+import com.example.aura.Entity.User.Domain.User;
+import com.example.aura.Event.Reservation.ReservationChangedEvent;
+import com.example.aura.Security.Domain.Role;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+class ReservationArchiveTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2030, 3, 10);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ReservationArchiveRepository archiveRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private ApplicationEventPublisher publisher;
+    private User user;
+    private TechnicianService technicianService;
+
+    @BeforeEach
+    void setUp() {
+        publisher = mock(ApplicationEventPublisher.class);
+        persistTechnicianService();
+    }
+
+    @Test
+    void shouldMoveOldFinishedReservationsAndPayments_toArchiveTable() {
+        Reservation january = persistReservation(ReservationStatus.COMPLETED, LocalDate.of(2028, 1, 20));
+        Reservation february = persistReservation(ReservationStatus.CANCELLED, LocalDate.of(2028, 2, 3));
+        Reservation rejected = persistReservation(ReservationStatus.REJECTED, LocalDate.of(2028, 2, 14));
+        Reservation recent = persistReservation(ReservationStatus.COMPLETED, TODAY.minusDays(30));
+        Reservation stillOpen = persistReservation(ReservationStatus.CONFIRMED, LocalDate.of(2028, 1, 5));
+        entityManager.persist(payment(january, 40.0));
+        entityManager.persist(payment(january, 15.0));
+        entityManager.flush();
+
+        RunReport report = archiveService(2, 10).run(TODAY);
+
+        assertThat(report.archived()).isEqualTo(3);
+        assertThat(report.payments()).isEqualTo(2);
+        assertThat(reservationRepository.findAllById(List.of(january.getId(), february.getId(), rejected.getId())))
+                .isEmpty();
+        assertThat(reservationRepository.existsById(recent.getId())).isTrue();
+        assertThat(reservationRepository.existsById(stillOpen.getId())).isTrue();
+        assertThat(paymentRepository.count()).isZero();
+        assertThat(archiveRepository.findAll()).hasSize(3)
+                .allSatisfy(entry -> assertThat(entry.getPayload()).isNotEmpty());
+        assertThat(report.bytes()).isPositive();
+        verify(publisher, times(2)).publishEvent(any(ReservationChangedEvent.class));
+    }
+
+    @Test
+    void shouldFindArchivedReservationById_withItsPayments() {
+        Reservation first = persistReservation(ReservationStatus.COMPLETED, LocalDate.of(2028, 5, 2));
+        Reservation second = persistReservation(ReservationStatus.COMPLETED, LocalDate.of(2028, 5, 9));
+        entityManager.persist(payment(second, 80.0));
+        entityManager.flush();
+        ReservationArchiveService archiveService = archiveService(10, 10);
+
+        archiveService.run(TODAY);
+
+        ArchivedReservation archived = archiveService.find(second.getId()).orElseThrow();
+        assertThat(archived.reservation().id()).isEqualTo(second.getId());
+        assertThat(archived.reservation().address()).isEqualTo("123 Test St");
+        assertThat(archived.reservation().paymentTotal()).isEqualTo(80.0);
+        assertThat(archived.payments()).singleElement()
+                .satisfies(payment -> assertThat(payment.amount()).isEqualTo(80.0));
+        assertThat(archiveService.find(first.getId()).orElseThrow().payments()).isEmpty();
+        assertThat(archiveService.find(-1L)).isEmpty();
+    }
+
+    @Test
+    void shouldKeepReviewedReservationsInHotTable() {
+        Reservation reviewed = persistReservation(ReservationStatus.COMPLETED, LocalDate.of(2028, 6, 1));
+        entityManager.persist(review(reviewed));
+        entityManager.flush();
+
+        RunReport report = archiveService(10, 10).run(TODAY);
+
+        assertThat(report.archived()).isZero();
+        assertThat(reservationRepository.existsById(reviewed.getId())).isTrue();
+    }
+
+    private ReservationArchiveService archiveService(int chunkSize, int maxChunks) {
+        return new ReservationArchiveService(reservationRepository, paymentRepository, archiveRepository,
+                new TransactionTemplate(transactionManager), publisher, objectMapper,
+                true, 365, chunkSize, maxChunks);
+    }
+
+    private void persistTechnicianService() {
+        user = new User();
+        user.setFirstName("Jane");
+        user.setLastName("Smith");
+        user.setEmail("jane@test.com");
+        user.setPasswordHash("hashed");
+        user.setRegisterDate(LocalDate.now());
+        user.setRole(Role.USER);
+        user.setEnabled(true);
+        entityManager.persist(user);
+
+        Technician technician = new Technician();
+        technician.setFirstName("Bob");
+        technician.setLastName("Builder");
+        technician.setEmail("bob@test.com");
+        technician.setPasswordHash("hashed");
+        technician.setRegisterDate(LocalDate.now());
+        technician.setRole(Role.TECHNICIAN);
+        technician.setEnabled(true);
+        entityManager.persist(technician);
+
+        Service service = new Service();
+        service.setName("Plumbing");
+        service.setCategory(ServiceCategory.PLUMBING);
+        entityManager.persist(service);
+
+        technicianService = new TechnicianService();
+        technicianService.setId(new TechnicianServiceId(technician.getId(), service.getId()));
+        technicianService.setTechnician(technician);
+        technicianService.setService(service);
+        technicianService.setBaseRate(50.0);
+        entityManager.persist(technicianService);
+        entityManager.flush();
+    }
+
+    private Reservation persistReservation(ReservationStatus status, LocalDate serviceDate) {
+        Reservation reservation = new Reservation();
+        reservation.setUser(user);
+        reservation.setTechnicianService(technicianService);
+        reservation.setReservationDate(serviceDate.minusDays(7));
+        reservation.setServiceDate(serviceDate);
+        reservation.setStartTime(LocalTime.of(10, 0));
+        reservation.setAddress("123 Test St");
+        reservation.setStatus(status);
+        reservation.setCreatedAt(LocalDateTime.now());
+        reservation.setUpdatedAt(LocalDateTime.now());
+        entityManager.persist(reservation);
+        return reservation;
+    }
+
+    private Payment payment(Reservation reservation, double amount) {
+        Payment payment = new Payment();
+        payment.setReservation(reservation);
+        payment.setAmount(amount);
+        payment.setPaymentDate(reservation.getServiceDate());
+        payment.setPaymentMethod(PaymentMethod.CASH);
+        payment.setPaymentStatus(PaymentStatus.COMPLETED);
+        return payment;
+    }
+
+    private Review review(Reservation reservation) {
+        Review review = new Review();
+        review.setReservation(reservation);
+        review.setRating(5);
+        review.setComment("Great");
+        review.setCreatedAt(LocalDate.now());
+        review.setStatus(ReviewStatus.ACTIVE);
+        return review;
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.aura.RepositoryTest;
+
+import com.example.aura.Entity.Reservation.Domain.Reservation;
+import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+import com.example.aura.Entity.Reservation.Repository.ReservationRepository;
+import com.example.aura.Entity.Reservation.Service.ReservationExpiryService;
+import com.example.aura.Entity.Reservation.Service.ReservationExpiryService.RunReport;
+import com.example.aura.Entity.Service.Domain.Service;
+import com.example.aura.Entity.Service.Domain.ServiceCategory;
+import com.example.aura.Entity.Technician.Domain.Technician;
+import com.example.aura.Entity.TechnicianService.Domain.TechnicianService;
+import com.example.aura.Entity.TechnicianService.Domain.TechnicianServiceId;
+import com.example.aura.Entity.User.Domain.User;
+import com.example.aura.Event.Reservation.ReservationBulkActionEvent;
+import com.example.aura.Security.Domain.Role;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+class ReservationExpiryTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2030, 3, 10);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+
+    @Test
+    void shouldExpireStalePendingAndMarkNoShows_inBoundedChunks() {
+        TechnicianService technicianService = persistTechnicianService();
+        Reservation stalePending = persistReservation(technicianService, ReservationStatus.PENDING, TODAY.minusDays(2));
+        Reservation otherStalePending = persistReservation(technicianService, ReservationStatus.PENDING, TODAY.minusDays(1));
+        Reservation upcomingPending = persistReservation(technicianService, ReservationStatus.PENDING, TODAY);
+        Reservation missed = persistReservation(technicianService, ReservationStatus.CONFIRMED, TODAY.minusDays(3));
+        Reservation withinGrace = persistReservation(technicianService, ReservationStatus.CONFIRMED, TODAY.minusDays(1));
+        entityManager.flush();
+        ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+
+        RunReport report = expiryService(publisher, 1, 10).run(TODAY);
+
+        assertThat(report.expired()).isEqualTo(2);
+        assertThat(report.noShows()).isEqualTo(1);
+        assertThat(report.pendingLagDays()).isZero();
+        assertThat(report.noShowLagDays()).isZero();
+        assertThat(statusOf(stalePending)).isEqualTo(ReservationStatus.CANCELLED);
+        assertThat(statusOf(otherStalePending)).isEqualTo(ReservationStatus.CANCELLED);
+        assertThat(statusOf(upcomingPending)).isEqualTo(ReservationStatus.PENDING);
+        assertThat(statusOf(missed)).isEqualTo(ReservationStatus.NO_SHOW);
+        assertThat(statusOf(withinGrace)).isEqualTo(ReservationStatus.CONFIRMED);
+        // Un evento por bloque con filas
+        verify(publisher, times(3)).publishEvent(any(ReservationBulkActionEvent.class));
+    }
+
+    @Test
+    void shouldReportLag_whenRunStopsAtChunkLimit() {
+        TechnicianService technicianService = persistTechnicianService();
+        for (int i = 1; i <= 5; i++) {
+            persistReservation(technicianService, ReservationStatus.PENDING, TODAY.minusDays(i));
+        }
+        entityManager.flush();
+
+        RunReport report = expiryService(mock(ApplicationEventPublisher.class), 2, 1).run(TODAY);
+
+        // Se procesan primero las más antiguas; queda la de hace 3 días
+        assertThat(report.expired()).isEqualTo(2);
+        assertThat(report.pendingLagDays()).isEqualTo(3);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldSkipRowsClaimedByAnotherNode() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            TechnicianService technicianService = persistTechnicianService();
+            for (int i = 1; i <= 4; i++) {
+                persistReservation(technicianService, ReservationStatus.PENDING, TODAY.minusDays(i));
+            }
+        });
+
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> firstNode = new ArrayList<>();
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    firstNode.addAll(reservationRepository.claimStale(ReservationStatus.PENDING.ordinal(), TODAY, 2));
+                    claimed.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+
+        assertThat(claimed.await(10, TimeUnit.SECONDS)).isTrue();
+        List<Long> secondNode = transactionTemplate.execute(status ->
+                reservationRepository.claimStale(ReservationStatus.PENDING.ordinal(), TODAY, 4));
+        release.countDown();
+        holder.get(10, TimeUnit.SECONDS);
+
+        // H2 puede devolver menos filas que PostgreSQL al saltar bloqueos; lo esencial es no repetir
+        assertThat(firstNode).hasSize(2);
+        assertThat(secondNode).doesNotContainAnyElementsOf(firstNode);
+    }
+
+    private ReservationExpiryService expiryService(ApplicationEventPublisher publisher, int chunkSize, int maxChunks) {
+        return new ReservationExpiryService(reservationRepository, new TransactionTemplate(transactionManager),
+                publisher, true, chunkSize, maxChunks, 0, 1);
+    }
+
+    private ReservationStatus statusOf(Reservation reservation) {
+        return reservationRepository.findStatusById(reservation.getId()).orElseThrow();
+    }
+
+    private TechnicianService persistTechnicianService() {
+        User user = new User();
+        user.setFirstName("Jane");
+        user.setLastName("Smith");
+        user.setEmail("jane@test.com");
+        user.setPasswordHash("hashed");
+        user.setRegisterDate(LocalDate.now());
+        user.setRole(Role.USER);
+        user.setEnabled(true);
+        entityManager.persist(user);
+
+        Technician technician = new Technician();
+        technician.setFirstName("Bob");
+        technician.setLastName("Builder");
+        technician.setEmail("bob@test.com");
+        technician.setPasswordHash("hashed");
+        technician.setRegisterDate(LocalDate.now());
+        technician.setRole(Role.TECHNICIAN);
+        technician.setEnabled(true);
+        entityManager.persist(technician);
+
+        Service service = new Service();
+        service.setName("Plumbing");
+        service.setCategory(ServiceCategory.PLUMBING);
+        entityManager.persist(service);
+
+        TechnicianService technicianService = new TechnicianService();
+        technicianService.setId(new TechnicianServiceId(technician.getId(), service.getId()));
+        technicianService.setTechnician(technician);
+        technicianService.setService(service);
+        technicianService.setBaseRate(50.0);
+        entityManager.persist(technicianService);
+        entityManager.flush();
+        this.user = user;
+        return technicianService;
+    }
+
+
+    private Reservation persistReservation(TechnicianService technicianService, ReservationStatus status, LocalDate serviceDate) {
+        Reservation reservation = new Reservation();
+        reservation.setUser(user);
+        reservation.setTechnicianService(technicianService);
+        reservation.setReservationDate(serviceDate.minusDays(7));
+        reservation.setServiceDate(serviceDate);
+        reservation.setStartTime(LocalTime.of(10, 0));
+        reservation.setAddress("123 Test St");
+        reservation.setStatus(status);
+        reservation.setCreatedAt(LocalDateTime.now());
+        reservation.setUpdatedAt(LocalDateTime.now());
+        entityManager.persist(reservation);
+        return reservation;
+    }
+}
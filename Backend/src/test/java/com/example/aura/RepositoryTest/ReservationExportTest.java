@@ -0,0 +1,147 @@
+package com.example.aura.RepositoryTest;
+
+import com.example.aura.Entity.Reservation.Domain.ExportFormat;
+import com.example.aura.Entity.Reservation.Domain.Reservation;
+import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+import com.example.aura.Entity.Reservation.Repository.ReservationRepository;
+import com.example.aura.Entity.Reservation.Service.ReservationExportService;
+import com.example.aura.Entity.Service.Domain.Service;
+import com.example.aura.Entity.Service.Domain.ServiceCategory;
+import com.example.aura.Entity.Technician.Domain.Technician;
+import com.example.aura.Entity.TechnicianService.Domain.TechnicianService;
+import com.example.aura.Entity.TechnicianService.Domain.TechnicianServiceId;
+import com.example.aura.Entity.User.Domain.User;
+import com.example.aura.Security.Domain.Role;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ReservationExportTest {
+
+    private static final int RESERVATIONS = 25;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private ReservationExportService exportService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setFirstName("Jane");
+        user.setLastName("Smith");
+        user.setEmail("jane@test.com");
+        user.setPasswordHash("hashed");
+        user.setRegisterDate(LocalDate.now());
+        user.setRole(Role.USER);
+        user.setEnabled(true);
+        entityManager.persist(user);
+
+        Technician technician = new Technician();
+        technician.setFirstName("Bob");
+        technician.setLastName("Builder");
+        technician.setEmail("bob@test.com");
+        technician.setPasswordHash("hashed");
+        technician.setRegisterDate(LocalDate.now());
+        technician.setRole(Role.TECHNICIAN);
+        technician.setEnabled(true);
+        entityManager.persist(technician);
+
+        Service service = new Service();
+        service.setName("Plumbing");
+        service.setCategory(ServiceCategory.PLUMBING);
+        entityManager.persist(service);
+
+        TechnicianService technicianService = new TechnicianService();
+        technicianService.setId(new TechnicianServiceId(technician.getId(), service.getId()));
+        technicianService.setTechnician(technician);
+        technicianService.setService(service);
+        technicianService.setBaseRate(50.0);
+        entityManager.persist(technicianService);
+
+        for (int i = 0; i < RESERVATIONS; i++) {
+            Reservation reservation = new Reservation();
+            reservation.setUser(user);
+            reservation.setTechnicianService(technicianService);
+            reservation.setReservationDate(LocalDate.now());
+            reservation.setServiceDate(LocalDate.now().plusDays(5));
+            reservation.setStartTime(LocalTime.of(10, 0));
+            reservation.setAddress(i == 0 ? "=HYPERLINK(\"x\"), Apt 2" : "Street " + i);
+            reservation.setStatus(i % 5 == 0 ? ReservationStatus.CONFIRMED : ReservationStatus.PENDING);
+            reservation.setCreatedAt(LocalDateTime.now());
+            reservation.setUpdatedAt(LocalDateTime.now());
+            entityManager.persist(reservation);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        exportService = new ReservationExportService(reservationRepository, transactionManager, objectMapper);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldStreamCsvWithSingleQuery_andEscapeUserText() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = exportService.export(ExportFormat.CSV, null, false, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(written).isEqualTo(RESERVATIONS);
+        assertThat(lines).hasSize(RESERVATIONS + 1);
+        assertThat(lines.get(0)).startsWith("id,status,");
+        assertThat(lines.get(1)).contains(",\"'=HYPERLINK(\"\"x\"\"), Apt 2\",");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldStreamGzippedNdjson_filteredByStatus() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = exportService.export(ExportFormat.NDJSON, ReservationStatus.CONFIRMED, true, out);
+
+        String content;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        List<String> lines = content.lines().toList();
+        assertThat(written).isEqualTo(RESERVATIONS / 5);
+        assertThat(lines).hasSize(RESERVATIONS / 5);
+        for (String line : lines) {
+            JsonNode node = objectMapper.readTree(line);
+            assertThat(node.get("status").asText()).isEqualTo("CONFIRMED");
+            assertThat(node.get("technicianEmail").asText()).isEqualTo("bob@test.com");
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.aura.RepositoryTest;
 
+import com.example.aura.Booking.BookingEngine;
+import com.example.aura.Booking.BookingSlot;
+import com.example.aura.Entity.Reservation.DTO.ReservationRow;
 import com.example.aura.Entity.Reservation.Domain.Reservation;
 import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
 import com.example.aura.Entity.Reservation.Repository.ReservationRepository;
@@ -134,6 +137,83 @@ class ReservationRepositoryTest {
         assertThat(reservations).hasSize(1);
     }
 
+    @Test
+    void shouldApplyTransition_whenStatusAndTechnicianMatch() {
+        Reservation reservation = entityManager.persistAndFlush(createTestReservation());
+
+        int affected = reservationRepository.transitionForTechnician(reservation.getId(), testTechnician.getId(),
+                ReservationStatus.TRANSITIONS.sourcesFor(ReservationStatus.CONFIRMED), ReservationStatus.CONFIRMED, LocalDateTime.now());
+
+        assertThat(affected).isEqualTo(1);
+        assertThat(reservationRepository.findStatusById(reservation.getId())).contains(ReservationStatus.CONFIRMED);
+    }
+
+    @Test
+    void shouldNotApplyTransition_whenTechnicianDoesNotOwnReservation() {
+        Reservation reservation = entityManager.persistAndFlush(createTestReservation());
+
+        int affected = reservationRepository.transitionForTechnician(reservation.getId(), testUser.getId(),
+                ReservationStatus.TRANSITIONS.sourcesFor(ReservationStatus.CONFIRMED), ReservationStatus.CONFIRMED, LocalDateTime.now());
+
+        assertThat(affected).isZero();
+        assertThat(reservationRepository.findStatusById(reservation.getId())).contains(ReservationStatus.PENDING);
+    }
+
+    @Test
+    void shouldNotApplyTransition_whenSourceStatusNotAllowed() {
+        Reservation reservation = createTestReservation();
+        reservation.setStatus(ReservationStatus.CANCELLED);
+        entityManager.persistAndFlush(reservation);
+
+        int affected = reservationRepository.completeForUser(reservation.getId(), testUser.getId(),
+                ReservationStatus.TRANSITIONS.sourcesFor(ReservationStatus.COMPLETED), ReservationStatus.COMPLETED,
+                LocalTime.NOON, LocalDateTime.now());
+
+        assertThat(affected).isZero();
+        assertThat(reservationRepository.findStatusById(reservation.getId())).contains(ReservationStatus.CANCELLED);
+    }
+
+    @Test
+    void shouldApplyBulkTransition_onlyToOwnedReservationsInAllowedState() {
+        Reservation pending = entityManager.persist(createTestReservation());
+        Reservation cancelled = createTestReservation();
+        cancelled.setStatus(ReservationStatus.CANCELLED);
+        entityManager.persist(cancelled);
+        Reservation alsoPending = entityManager.persistAndFlush(createTestReservation());
+        List<Long> ids = List.of(pending.getId(), cancelled.getId(), alsoPending.getId(), -1L);
+        List<Integer> sources = ReservationStatus.TRANSITIONS.sourcesFor(ReservationStatus.CONFIRMED).stream()
+                .map(ReservationStatus::ordinal)
+                .toList();
+
+        List<Long> locked = reservationRepository.lockTransitionableForTechnician(ids, testTechnician.getId(), sources);
+        List<Long> foreign = reservationRepository.lockTransitionableForTechnician(ids, testUser.getId(), sources);
+        int affected = reservationRepository.transitionAll(locked, ReservationStatus.CONFIRMED, LocalDateTime.now());
+
+        assertThat(locked).containsExactly(pending.getId(), alsoPending.getId());
+        assertThat(foreign).isEmpty();
+        assertThat(affected).isEqualTo(2);
+        assertThat(reservationRepository.findRowsByIds(ids))
+                .filteredOn(row -> row.status() == ReservationStatus.CONFIRMED)
+                .extracting(ReservationRow::id)
+                .containsExactlyInAnyOrder(pending.getId(), alsoPending.getId());
+    }
+
+    @Test
+    void shouldFindOnlyBlockingBookingSlots_forTechnicianDay() {
+        Reservation active = createTestReservation();
+        active.setEndTime(LocalTime.of(11, 0));
+        entityManager.persist(active);
+        Reservation cancelled = createTestReservation();
+        cancelled.setStartTime(LocalTime.of(12, 0));
+        cancelled.setStatus(ReservationStatus.CANCELLED);
+        entityManager.persistAndFlush(cancelled);
+
+        List<BookingSlot> slots = reservationRepository.findBookingSlots(testTechnician.getId(),
+                active.getServiceDate(), BookingEngine.BLOCKING_STATUSES);
+
+        assertThat(slots).containsExactly(new BookingSlot(active.getId(), LocalTime.of(10, 0), LocalTime.of(11, 0)));
+    }
+
     private Reservation createTestReservation() {
         Reservation reservation = new Reservation();
         reservation.setUser(testUser);
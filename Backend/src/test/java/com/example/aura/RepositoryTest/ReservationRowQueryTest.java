@@ -0,0 +1,309 @@
+package com.example.aura.RepositoryTest;
+
+import com.example.aura.Entity.Payment.Domain.Payment;
+import com.example.aura.Entity.Payment.Domain.PaymentMethod;
+import com.example.aura.Entity.Payment.Domain.PaymentStatus;
+import com.example.aura.Entity.Reservation.DTO.ReservationResponseDTO;
+import com.example.aura.Entity.Reservation.DTO.ReservationRow;
+import com.example.aura.Entity.Reservation.Domain.Reservation;
+import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+import com.example.aura.Entity.Reservation.Domain.ReservationView;
+import com.example.aura.Entity.Reservation.Repository.ReservationRepository;
+import com.example.aura.Entity.Reservation.Repository.ReservationViewRepository;
+import com.example.aura.Entity.Reservation.Service.ReservationViewProjector;
+import com.example.aura.Entity.Review.Domain.Review;
+import com.example.aura.Entity.Review.Domain.ReviewStatus;
+import com.example.aura.Entity.Review.Repository.ReviewRepository;
+import com.example.aura.Entity.Service.Domain.Service;
+import com.example.aura.Entity.Service.Domain.ServiceCategory;
+import com.example.aura.Entity.Technician.Domain.Technician;
+import com.example.aura.Entity.TechnicianService.Domain.TechnicianService;
+import com.example.aura.Entity.TechnicianService.Domain.TechnicianServiceId;
+import com.example.aura.Entity.User.Domain.User;
+import com.example.aura.Pagination.Cursor;
+import com.example.aura.Pagination.CursorPage;
+import com.example.aura.Pagination.Keyset;
+import com.example.aura.Security.Domain.Role;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ReservationRowQueryTest {
+
+    private static final int RESERVATIONS = 30;
+    private static final int MAX_STATEMENTS_PER_PAGE = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationViewRepository reservationViewRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User testUser;
+    private Technician testTechnician;
+    private ReservationViewProjector projector;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setFirstName("Jane");
+        testUser.setLastName("Smith");
+        testUser.setEmail("jane@test.com");
+        testUser.setPasswordHash("hashed");
+        testUser.setRegisterDate(LocalDate.now());
+        testUser.setRole(Role.USER);
+        testUser.setEnabled(true);
+        entityManager.persist(testUser);
+
+        testTechnician = new Technician();
+        testTechnician.setFirstName("Bob");
+        testTechnician.setLastName("Builder");
+        testTechnician.setEmail("bob@test.com");
+        testTechnician.setPasswordHash("hashed");
+        testTechnician.setRegisterDate(LocalDate.now());
+        testTechnician.setRole(Role.TECHNICIAN);
+        testTechnician.setEnabled(true);
+        entityManager.persist(testTechnician);
+
+        Service service = new Service();
+        service.setName("Plumbing");
+        service.setCategory(ServiceCategory.PLUMBING);
+        entityManager.persist(service);
+
+        TechnicianService technicianService = new TechnicianService();
+        technicianService.setId(new TechnicianServiceId(testTechnician.getId(), service.getId()));
+        technicianService.setTechnician(testTechnician);
+        technicianService.setService(service);
+        technicianService.setBaseRate(50.0);
+        entityManager.persist(technicianService);
+
+        // Las pares llevan dos pagos y reseña; las impares ninguno
+        for (int i = 0; i < RESERVATIONS; i++) {
+            Reservation reservation = new Reservation();
+            reservation.setUser(testUser);
+            reservation.setTechnicianService(technicianService);
+            reservation.setReservationDate(LocalDate.now());
+            reservation.setServiceDate(LocalDate.now().plusDays(5));
+            reservation.setStartTime(LocalTime.of(10, 0));
+            reservation.setAddress("Street " + i);
+            reservation.setStatus(ReservationStatus.PENDING);
+            reservation.setCreatedAt(LocalDateTime.now());
+            reservation.setUpdatedAt(LocalDateTime.now());
+            entityManager.persist(reservation);
+
+            if (i % 2 == 0) {
+                entityManager.persist(payment(reservation, 30.0));
+                entityManager.persist(payment(reservation, 45.0));
+                entityManager.persist(review(reservation));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        projector = new ReservationViewProjector(reservationRepository, reservationViewRepository,
+                new TransactionTemplate(transactionManager), Runnable::run, 7, false);
+        projector.rebuild();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldLoadFullPageWithinStatementBudget_forAnyPageSize() {
+        for (int size : new int[]{1, 10, 20, RESERVATIONS}) {
+            statistics.clear();
+
+            Page<ReservationResponseDTO> page = reservationViewRepository
+                    .findAllRows(PageRequest.of(0, size))
+                    .map(ReservationRow::toResponseDTO);
+            page.getContent().forEach(dto -> {
+                dto.getUser().getEmail();
+                dto.getTechnician().getEmail();
+                dto.getService().getName();
+            });
+
+            assertThat(page.getContent()).hasSize(size);
+            assertThat(page.getTotalElements()).isEqualTo(RESERVATIONS);
+            assertThat(statistics.getPrepareStatementCount()).isBetween(1L, (long) MAX_STATEMENTS_PER_PAGE);
+        }
+    }
+
+    @Test
+    void shouldComputePaymentTotalAndReviewFlagInQuery() {
+        Page<ReservationRow> page = reservationViewRepository.findRowsByUserId(testUser.getId(), PageRequest.of(0, RESERVATIONS));
+
+        assertThat(page.getContent()).hasSize(RESERVATIONS);
+        assertThat(page.getContent()).allSatisfy(row -> {
+            ReservationResponseDTO dto = row.toResponseDTO();
+            assertThat(dto.getUser().getId()).isEqualTo(testUser.getId());
+            assertThat(dto.getTechnician().getId()).isEqualTo(testTechnician.getId());
+            assertThat(dto.getTechnician().getRole()).isEqualTo("TECHNICIAN");
+            if (Boolean.TRUE.equals(dto.getHasReview())) {
+                assertThat(dto.getFinalPrice()).isEqualTo(75.0);
+            } else {
+                assertThat(dto.getFinalPrice()).isEqualTo(50.0);
+            }
+        });
+        assertThat(page.getContent()).filteredOn(row -> row.hasReview()).hasSize(RESERVATIONS / 2);
+    }
+
+    @Test
+    void shouldFilterRowsByTechnicianAndStatus() {
+        assertThat(reservationViewRepository.findRowsByTechnicianId(testTechnician.getId(), PageRequest.of(0, 5))
+                .getTotalElements()).isEqualTo(RESERVATIONS);
+        assertThat(reservationViewRepository.findRowsByStatus(ReservationStatus.CONFIRMED, PageRequest.of(0, 5))
+                .getTotalElements()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2L * MAX_STATEMENTS_PER_PAGE);
+    }
+
+    @Test
+    void shouldScrollAllRowsByCursor_withoutCountOrDuplicates() {
+        Keyset<LocalDateTime> keyset = Keyset.dateTime("reservation.createdAt");
+        Set<Long> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+
+        do {
+            statistics.clear();
+            Cursor<LocalDateTime> position = keyset.decode(cursor);
+            CursorPage<ReservationRow> page = keyset.page(
+                    reservationViewRepository.scrollAllRows(position.sortKey(), position.id(), keyset.limit(7)),
+                    7, ReservationRow::createdAt, ReservationRow::id);
+
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            page.content().forEach(row -> assertThat(seen.add(row.id())).isTrue());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(RESERVATIONS);
+        assertThat(pages).isEqualTo(5);
+    }
+
+    @Test
+    void shouldScrollReviewsByOwnerColumns_andBackfillMissingOwners() {
+        entityManager.getEntityManager().createNativeQuery("UPDATE review SET user_id = NULL, technician_id = NULL")
+                .executeUpdate();
+
+        assertThat(reviewRepository.backfillOwners()).isEqualTo(RESERVATIONS / 2);
+        assertThat(reviewRepository.scrollByUserId(testUser.getId(), LocalDate.now().plusDays(1), Long.MAX_VALUE,
+                Limit.of(RESERVATIONS))).hasSize(RESERVATIONS / 2);
+        assertThat(reviewRepository.scrollByTechnicianId(testTechnician.getId(), LocalDate.now().plusDays(1),
+                Long.MAX_VALUE, Limit.of(RESERVATIONS))).hasSize(RESERVATIONS / 2);
+        assertThat(reviewRepository.scrollByTechnicianId(testUser.getId(), LocalDate.now().plusDays(1),
+                Long.MAX_VALUE, Limit.of(RESERVATIONS))).isEmpty();
+        assertThat(reviewRepository.backfillOwners()).isZero();
+    }
+
+    @Test
+    void shouldServeListingPageFromViewTableOnly() {
+        statistics.clear();
+
+        Page<ReservationRow> page = reservationViewRepository.findRowsByTechnicianId(testTechnician.getId(), PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).hasSize(10);
+        // Página + COUNT, ambas sobre reservation_view
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getQueries()).allSatisfy(query ->
+                assertThat(query).contains("ReservationView").doesNotContain("JOIN"));
+    }
+
+    @Test
+    void shouldRefreshViewRow_whenReservationChanges() {
+        ReservationRow before = reservationViewRepository.findRowsByUserId(testUser.getId(), PageRequest.of(0, 1))
+                .getContent().get(0);
+        Reservation reservation = entityManager.find(Reservation.class, before.id());
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+        entityManager.persist(payment(reservation, 10.0));
+        entityManager.flush();
+
+        projector.refresh(List.of(before.id()));
+
+        ReservationRow after = reservationViewRepository.findRowsByStatus(ReservationStatus.CONFIRMED, PageRequest.of(0, 5))
+                .getContent().get(0);
+        assertThat(after.id()).isEqualTo(before.id());
+        assertThat(after.paymentTotal()).isEqualTo(before.paymentTotal() + 10.0);
+    }
+
+    @Test
+    void shouldRemoveOrphanRows_onRebuild() {
+        ReservationRow any = reservationViewRepository.findAllRows(PageRequest.of(0, 1)).getContent().get(0);
+        ReservationView orphan = ReservationView.from(new ReservationRow(
+                -1L, any.userId(), null, null, null, null, null, null, null,
+                any.technicianId(), null, null, null, null, null, null, null, null,
+                any.serviceId(), null, null, null, null, null,
+                null, null, null, null, null, ReservationStatus.PENDING,
+                LocalDateTime.now(), LocalDateTime.now(), 0.0, false));
+        reservationViewRepository.saveAndFlush(orphan);
+
+        Map<String, Object> report = projector.rebuild();
+
+        assertThat(report).containsEntry("rows", (long) RESERVATIONS).containsEntry("orphansRemoved", 1);
+        assertThat(reservationViewRepository.count()).isEqualTo(RESERVATIONS);
+    }
+
+    @Test
+    void shouldBackfillEmptyView_onStartup() {
+        reservationViewRepository.deleteAllInBatch();
+
+        projector.rebuildOnStartup();
+
+        assertThat(reservationViewRepository.count()).isEqualTo(RESERVATIONS);
+        assertThat(projector.stats()).containsEntry("rebuilding", false);
+    }
+
+    private Payment payment(Reservation reservation, double amount) {
+        Payment payment = new Payment();
+        payment.setReservation(reservation);
+        payment.setAmount(amount);
+        payment.setPaymentDate(LocalDate.now());
+        payment.setPaymentMethod(PaymentMethod.CASH);
+        payment.setPaymentStatus(PaymentStatus.COMPLETED);
+        return payment;
+    }
+
+    private Review review(Reservation reservation) {
+        Review review = new Review();
+        review.setReservation(reservation);
+        review.setRating(5);
+        review.setComment("Great");
+        review.setCreatedAt(LocalDate.now());
+        review.setStatus(ReviewStatus.ACTIVE);
+        return review;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.aura.RepositoryTest;
+
+import com.example.aura.Entity.Reservation.DTO.ReservationRow;
+import com.example.aura.Entity.Reservation.DTO.ReservationSearchCriteria;
+import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+import com.example.aura.Entity.Reservation.Domain.ReservationView;
+import com.example.aura.Entity.Reservation.Repository.ReservationSearchQuery;
+import com.example.aura.Entity.Reservation.Repository.ReservationSearchRepository;
+import com.example.aura.Entity.Reservation.Repository.ReservationViewRepository;
+import com.example.aura.Entity.Service.Domain.ServiceCategory;
+import com.example.aura.Pagination.Cursor;
+import com.example.aura.Pagination.CursorPage;
+import com.example.aura.Pagination.Keyset;
+import com.example.aura.Security.Domain.Role;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(ReservationSearchRepository.class)
+class ReservationSearchTest {
+
+    private static final int ROWS = 3_000;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2029, 1, 1);
+    private static final ReservationStatus[] STATUSES = ReservationStatus.values();
+    private static final ServiceCategory[] CATEGORIES = ServiceCategory.values();
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ReservationViewRepository reservationViewRepository;
+
+    @Autowired
+    private ReservationSearchRepository reservationSearchRepository;
+
+    private final Keyset<LocalDate> keyset = Keyset.date("reservation.search");
+
+    @BeforeEach
+    void setUp() {
+        List<ReservationView> rows = new ArrayList<>(ROWS);
+        for (int i = 1; i <= ROWS; i++) {
+            rows.add(ReservationView.from(row(i)));
+        }
+        reservationViewRepository.saveAll(rows);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void shouldCombineFiltersAndPageByCursor_withoutDuplicates() {
+        ReservationSearchCriteria criteria = new ReservationSearchCriteria(
+                Set.of(ReservationStatus.PENDING, ReservationStatus.CONFIRMED),
+                FIRST_DAY.plusDays(10), FIRST_DAY.plusDays(200),
+                null, 3L, null, 40.0, 120.0);
+        List<ReservationRow> expected = reservationViewRepository.findAll().stream()
+                .map(ReservationView::toRow)
+                .filter(row -> criteria.getStatuses().contains(row.status()))
+                .filter(row -> !row.serviceDate().isBefore(criteria.getFrom()) && !row.serviceDate().isAfter(criteria.getTo()))
+                .filter(row -> row.technicianId().equals(3L))
+                .filter(row -> finalPrice(row) >= 40.0 && finalPrice(row) <= 120.0)
+                .toList();
+        assertThat(expected).hasSizeGreaterThan(5);
+
+        Set<Long> seen = new HashSet<>();
+        LocalDate previousDate = LocalDate.MAX;
+        String cursor = null;
+        do {
+            Cursor<LocalDate> position = keyset.decode(cursor);
+            CursorPage<ReservationRow> page = keyset.page(reservationSearchRepository.search(
+                            ReservationSearchQuery.of(criteria, position.sortKey(), position.id(), 5 + 1)),
+                    5, ReservationRow::serviceDate, ReservationRow::id);
+            for (ReservationRow row : page.content()) {
+                assertThat(seen.add(row.id())).isTrue();
+                assertThat(row.serviceDate()).isBeforeOrEqualTo(previousDate);
+                previousDate = row.serviceDate();
+            }
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).containsExactlyInAnyOrderElementsOf(expected.stream().map(ReservationRow::id).toList());
+    }
+
+    @Test
+    void shouldUseCompositeIndex_forEachLeadingFilter() {
+        assertIndexUsed(new ReservationSearchCriteria(), "IDX_RESERVATION_VIEW_SERVICE_DATE");
+        assertIndexUsed(new ReservationSearchCriteria(Set.of(ReservationStatus.PENDING), null, null, null, null, null, null, null),
+                "IDX_RESERVATION_VIEW_STATUS_DATE");
+        assertIndexUsed(new ReservationSearchCriteria(null, null, null, null, 7L, null, null, null),
+                "IDX_RESERVATION_VIEW_TECHNICIAN_DATE");
+        assertIndexUsed(new ReservationSearchCriteria(null, null, null, null, null, 11L, 10.0, 50.0),
+                "IDX_RESERVATION_VIEW_USER_DATE");
+        assertIndexUsed(new ReservationSearchCriteria(null, FIRST_DAY, FIRST_DAY.plusDays(30), CATEGORIES[2], null, null, null, null),
+                "IDX_RESERVATION_VIEW_CATEGORY_DATE");
+    }
+
+    @Test
+    void shouldNeverScanWholeTable_forAnyFilterCombination() {
+        List<ReservationSearchCriteria> combinations = List.of(
+                new ReservationSearchCriteria(Set.of(ReservationStatus.PENDING, ReservationStatus.CONFIRMED),
+                        FIRST_DAY, FIRST_DAY.plusDays(60), null, null, null, null, null),
+                new ReservationSearchCriteria(null, null, null, CATEGORIES[1], 5L, null, null, 90.0),
+                new ReservationSearchCriteria(Set.of(ReservationStatus.COMPLETED), null, null, null, null, 4L, null, null),
+                new ReservationSearchCriteria(null, null, null, null, null, null, 60.0, null)
+        );
+        for (ReservationSearchCriteria criteria : combinations) {
+            assertThat(plan(criteria)).doesNotContainIgnoringCase("tableScan");
+        }
+    }
+
+    private void assertIndexUsed(ReservationSearchCriteria criteria, String index) {
+        assertThat(plan(criteria)).containsIgnoringCase(index).doesNotContainIgnoringCase("tableScan");
+    }
+
+    private String plan(ReservationSearchCriteria criteria) {
+        Cursor<LocalDate> start = keyset.decode(null);
+        ReservationSearchQuery searchQuery = ReservationSearchQuery.of(criteria, start.sortKey(), start.id(), 21);
+        Query explain = entityManager.createNativeQuery("EXPLAIN " + searchQuery.sql());
+        searchQuery.parameters().forEach(explain::setParameter);
+        return String.valueOf(explain.getSingleResult());
+    }
+
+    private static double finalPrice(ReservationRow row) {
+        return row.paymentTotal() > 0 ? row.paymentTotal() : row.technicianBaseRate();
+    }
+
+    private static ReservationRow row(int i) {
+        long technicianId = 1 + i % 40;
+        long userId = 1 + i % 150;
+        ServiceCategory category = CATEGORIES[i % CATEGORIES.length];
+        LocalDateTime createdAt = LocalDateTime.of(2028, 12, 1, 8, 0).plusMinutes(i);
+        return new ReservationRow(
+                (long) i, userId, "User", "" + userId, "user" + userId + "@test.com", null, Role.USER, true, null,
+                technicianId, "Tech", "" + technicianId, "tech" + technicianId + "@test.com", null, null,
+                Role.TECHNICIAN, true, null,
+                (long) category.ordinal() + 1, category.name(), null, category, null, 30.0 + i % 7 * 15,
+                FIRST_DAY, FIRST_DAY.plusDays(i % 365), LocalTime.of(9, 0), LocalTime.of(10, 0), "Street " + i,
+                STATUSES[i % STATUSES.length], createdAt, createdAt,
+                i % 3 == 0 ? 20.0 + i % 11 * 10 : 0.0, false);
+    }
+}
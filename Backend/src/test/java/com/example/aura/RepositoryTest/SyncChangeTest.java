@@ -0,0 +1,188 @@
+package com.example.aura.RepositoryTest;
+
+import com.example.aura.Entity.Payment.Domain.Payment;
+import com.example.aura.Entity.Payment.Domain.PaymentMethod;
+import com.example.aura.Entity.Payment.Domain.PaymentStatus;
+import com.example.aura.Entity.Reservation.Domain.Reservation;
+import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+import com.example.aura.Entity.Review.Domain.Review;
+import com.example.aura.Entity.Review.Domain.ReviewStatus;
+import com.example.aura.Entity.Service.Domain.Service;
+import com.example.aura.Entity.Service.Domain.ServiceCategory;
+import com.example.aura.Entity.Technician.Domain.Technician;
+import com.example.aura.Entity.TechnicianService.Domain.TechnicianService;
+import com.example.aura.Entity.TechnicianService.Domain.TechnicianServiceId;
+import com.example.aura.Entity.User.Domain.User;
+import com.example.aura.Security.Domain.Role;
+import com.example.aura.Sync.Domain.SyncChange;
+import com.example.aura.Sync.Domain.SyncEntityType;
+import com.example.aura.Sync.Domain.SyncState;
+import com.example.aura.Sync.Repository.SyncChangeRepository;
+import com.example.aura.Sync.Repository.SyncStateRepository;
+import com.example.aura.Sync.Service.SyncChangeRecorder;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+class SyncChangeTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private SyncStateRepository stateRepository;
+
+    @Autowired
+    private SyncChangeRepository changeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SyncChangeRecorder recorder;
+    private User user;
+    private Technician technician;
+    private Reservation reservation;
+    private Payment payment;
+
+    @BeforeEach
+    void setUp() {
+        recorder = new SyncChangeRecorder(stateRepository, changeRepository, new TransactionTemplate(transactionManager), 500);
+        persistFixtures();
+        // Solo el cliente se ha sincronizado alguna vez
+        stateRepository.saveAndFlush(new SyncState(user.getId(), 0L, LocalDateTime.now(), true));
+    }
+
+    @Test
+    void shouldRecordChanges_onlyForEnrolledParticipants() {
+        recorder.write(changes(SyncEntityType.RESERVATION, reservation.getId(), SyncEntityType.PAYMENT, payment.getId()));
+
+        List<SyncChange> changes = changeRepository.findSince(user.getId(), 0, Limit.of(10));
+        assertThat(changes).extracting(SyncChange::getEntityType)
+                .containsExactly(SyncEntityType.RESERVATION, SyncEntityType.PAYMENT);
+        assertThat(changes).extracting(SyncChange::getVersion).containsExactly(1L, 2L);
+        assertThat(changeRepository.findSince(technician.getId(), 0, Limit.of(10))).isEmpty();
+        assertThat(changeRepository.findSince(user.getId(), 1, Limit.of(10))).hasSize(1);
+    }
+
+    @Test
+    void shouldRewriteSingleRowPerEntity_andTombstoneDeletions() {
+        recorder.write(changes(SyncEntityType.RESERVATION, reservation.getId(), SyncEntityType.PAYMENT, payment.getId()));
+        recorder.write(changes(SyncEntityType.RESERVATION, reservation.getId(), null, null));
+        entityManager.remove(payment);
+        entityManager.flush();
+        recorder.write(changes(SyncEntityType.PAYMENT, payment.getId(), null, null));
+
+        // Tras la versión 2 solo quedan la reserva reescrita y la lápida del pago
+        List<SyncChange> changes = changeRepository.findSince(user.getId(), 2, Limit.of(10));
+        assertThat(changes).extracting(SyncChange::getEntityType, SyncChange::getVersion, SyncChange::isDeleted)
+                .containsExactly(
+                        tuple(SyncEntityType.RESERVATION, 3L, false),
+                        tuple(SyncEntityType.PAYMENT, 4L, true));
+        assertThat(changeRepository.count()).isEqualTo(2);
+        assertThat(stateRepository.findVersion(user.getId())).isEqualTo(4L);
+    }
+
+    @Test
+    void shouldSeedEverythingTheAccountSees() {
+        Review review = new Review();
+        review.setReservation(reservation);
+        review.setRating(5);
+        review.setComment("Great");
+        review.setCreatedAt(LocalDate.now());
+        review.setStatus(ReviewStatus.ACTIVE);
+        entityManager.persist(review);
+        entityManager.flush();
+
+        assertThat(changeRepository.findReservationIdsOf(technician.getId())).containsExactly(reservation.getId());
+        assertThat(changeRepository.findPaymentIdsOf(technician.getId())).isEmpty();
+        assertThat(changeRepository.findPaymentIdsOf(user.getId())).containsExactly(payment.getId());
+        assertThat(changeRepository.findReviewIdsOf(technician.getId())).containsExactly(review.getId());
+        assertThat(changeRepository.findReviewParticipants(List.of(review.getId())))
+                .singleElement()
+                .satisfies(participant -> {
+                    assertThat(participant.includes(user.getId())).isTrue();
+                    assertThat(participant.includes(technician.getId())).isTrue();
+                });
+    }
+
+    private static Map<SyncEntityType, Set<Long>> changes(SyncEntityType type, Long id, SyncEntityType otherType, Long otherId) {
+        Map<SyncEntityType, Set<Long>> changes = new EnumMap<>(SyncEntityType.class);
+        changes.put(type, Set.of(id));
+        if (otherType != null) {
+            changes.put(otherType, Set.of(otherId));
+        }
+        return changes;
+    }
+
+    private void persistFixtures() {
+        user = new User();
+        user.setFirstName("Jane");
+        user.setLastName("Smith");
+        user.setEmail("jane@test.com");
+        user.setPasswordHash("hashed");
+        user.setRegisterDate(LocalDate.now());
+        user.setRole(Role.USER);
+        user.setEnabled(true);
+        entityManager.persist(user);
+
+        technician = new Technician();
+        technician.setFirstName("Bob");
+        technician.setLastName("Builder");
+        technician.setEmail("bob@test.com");
+        technician.setPasswordHash("hashed");
+        technician.setRegisterDate(LocalDate.now());
+        technician.setRole(Role.TECHNICIAN);
+        technician.setEnabled(true);
+        entityManager.persist(technician);
+
+        Service service = new Service();
+        service.setName("Plumbing");
+        service.setCategory(ServiceCategory.PLUMBING);
+        entityManager.persist(service);
+
+        TechnicianService technicianService = new TechnicianService();
+        technicianService.setId(new TechnicianServiceId(technician.getId(), service.getId()));
+        technicianService.setTechnician(technician);
+        technicianService.setService(service);
+        technicianService.setBaseRate(50.0);
+        entityManager.persist(technicianService);
+
+        reservation = new Reservation();
+        reservation.setUser(user);
+        reservation.setTechnicianService(technicianService);
+        reservation.setReservationDate(LocalDate.now());
+        reservation.setServiceDate(LocalDate.now().plusDays(5));
+        reservation.setStartTime(LocalTime.of(10, 0));
+        reservation.setAddress("123 Test St");
+        reservation.setStatus(ReservationStatus.PENDING);
+        reservation.setCreatedAt(LocalDateTime.now());
+        reservation.setUpdatedAt(LocalDateTime.now());
+        entityManager.persist(reservation);
+
+        payment = new Payment();
+        payment.setReservation(reservation);
+        payment.setAmount(50.0);
+        payment.setPaymentDate(LocalDate.now());
+        payment.setPaymentMethod(PaymentMethod.CASH);
+        payment.setPaymentStatus(PaymentStatus.COMPLETED);
+        entityManager.persist(payment);
+        entityManager.flush();
+    }
+}
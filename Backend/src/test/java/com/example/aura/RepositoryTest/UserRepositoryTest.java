@@ -1,8 +1,12 @@
 package com.example.aura.RepositoryTest;
 
+import com.example.aura.Entity.Superuser.Domain.Superuser;
+import com.example.aura.Entity.Superuser.Repository.SuperuserRepository;
 import com.example.aura.Entity.User.Domain.User;
 import com.example.aura.Entity.User.Repository.UserRepository;
+import com.example.aura.Security.Domain.AuthPrincipal;
 import com.example.aura.Security.Domain.Role;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +17,7 @@ import java.time.LocalDate;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
 class UserRepositoryTest {
@@ -23,6 +28,9 @@ class UserRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private SuperuserRepository<Superuser> superuserRepository;
+
     private User testUser;
 
     @BeforeEach
@@ -66,6 +74,56 @@ class UserRepositoryTest {
         assertThat(found).isEmpty();
     }
 
+    @Test
+    void shouldIncrementTokenVersion_inPlace() {
+        User saved = entityManager.persistAndFlush(testUser);
+        long before = superuserRepository.findActiveTokenVersionById(saved.getId()).orElseThrow();
+
+        assertThat(superuserRepository.incrementTokenVersion(saved.getId())).isEqualTo(1);
+        entityManager.clear();
+
+        assertThat(superuserRepository.findActiveTokenVersionById(saved.getId())).contains(before + 1);
+    }
+
+    @Test
+    void shouldRaiseUniqueViolation_whenEmailAlreadyRegistered() {
+        entityManager.persistAndFlush(testUser);
+
+        User duplicate = new User();
+        duplicate.setFirstName("Jane");
+        duplicate.setLastName("Doe");
+        duplicate.setEmail("john.doe@test.com");
+        duplicate.setPasswordHash("hashedpassword456");
+        duplicate.setRegisterDate(LocalDate.now());
+        duplicate.setRole(Role.USER);
+        duplicate.setEnabled(true);
+
+        assertThatThrownBy(() -> entityManager.persistAndFlush(duplicate))
+                .isInstanceOf(ConstraintViolationException.class)
+                .satisfies(ex -> assertThat(((ConstraintViolationException) ex).getSQLState()).isEqualTo("23505"));
+    }
+
+    @Test
+    void shouldFindPrincipalByEmail_whenExists() {
+        User savedUser = entityManager.persistAndFlush(testUser);
+        entityManager.clear();
+
+        Optional<AuthPrincipal> found = superuserRepository.findPrincipalByEmail("john.doe@test.com");
+
+        assertThat(found).isPresent();
+        assertThat(found.get().id()).isEqualTo(savedUser.getId());
+        assertThat(found.get().role()).isEqualTo(Role.USER);
+        assertThat(found.get().enabled()).isTrue();
+        assertThat(found.get().getPassword()).isEqualTo("hashedpassword123");
+    }
+
+    @Test
+    void shouldReturnEmptyPrincipal_whenEmailNotFound() {
+        Optional<AuthPrincipal> found = superuserRepository.findPrincipalByEmail("nonexistent@test.com");
+
+        assertThat(found).isEmpty();
+    }
+
     @Test
     void shouldReturnTrue_whenEmailExists() {
         entityManager.persistAndFlush(testUser);
@@ -0,0 +1,170 @@
+package com.example.aura.ServiceTest;
+
+import com.example.aura.Entity.User.Domain.User;
+import com.example.aura.Exception.ConflictException;
+import com.example.aura.Exception.UnauthorizedException;
+import com.example.aura.Security.DTO.RefreshRequestDTO;
+import com.example.aura.Security.DTO.RegisterRequestDTO;
+import com.example.aura.Security.Domain.Role;
+import com.example.aura.Security.Domain.VerifiedToken;
+import com.example.aura.Security.Repository.RefreshTokenRepository;
+import com.example.aura.Security.Service.AuthenticationService;
+import com.example.aura.Security.Service.JwtService;
+import com.example.aura.Security.Service.LoginThrottle;
+import com.example.aura.Security.Service.RefreshTokenService;
+import com.example.aura.Security.Service.TokenRevocationService;
+import com.example.aura.Service.AuditService;
+import com.example.aura.Service.NotificationService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+class AuthenticationServiceTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JwtService jwtService;
+    private TokenRevocationService tokenRevocationService;
+    private RefreshTokenService refreshTokenService;
+    private AuthenticationService authenticationService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = mock(JwtService.class);
+        tokenRevocationService = mock(TokenRevocationService.class);
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, 30);
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(any())).thenReturn("hashed");
+        authenticationService = new AuthenticationService(entityManager, passwordEncoder, jwtService,
+                mock(AuthenticationManager.class), mock(NotificationService.class), mock(AuditService.class),
+                mock(ApplicationEventPublisher.class), tokenRevocationService, refreshTokenService,
+                mock(LoginThrottle.class), new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    void shouldRejectRefresh_afterLogout() {
+        User user = persistUser("jane@test.com", "999111222");
+        String refreshToken = refreshTokenService.issue(user.getId());
+        VerifiedToken accessToken = new VerifiedToken("jti-1", user.getEmail(), user.getId(), Role.USER, 0L,
+                Instant.now(), Instant.now().plusSeconds(600));
+        when(jwtService.verify("access")).thenReturn(accessToken);
+
+        authenticationService.logout("Bearer access");
+
+        verify(tokenRevocationService).revoke(accessToken, user.getId());
+        assertThat(refreshTokenRepository.count()).isZero();
+        assertThatThrownBy(() -> authenticationService.refresh(new RefreshRequestDTO(refreshToken)))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+
+    @Test
+    void shouldKeepAccessTokenValid_whenRefreshRevocationFails() {
+        RefreshTokenService failingRefreshTokens = mock(RefreshTokenService.class);
+        doThrow(new IllegalStateException("database unavailable")).when(failingRefreshTokens).revokeAll(7L);
+        AuthenticationService service = new AuthenticationService(entityManager, mock(PasswordEncoder.class), jwtService,
+                mock(AuthenticationManager.class), mock(NotificationService.class), mock(AuditService.class),
+                mock(ApplicationEventPublisher.class), tokenRevocationService, failingRefreshTokens,
+                mock(LoginThrottle.class), new TransactionTemplate(transactionManager));
+        VerifiedToken accessToken = new VerifiedToken("jti-2", "jane@test.com", 7L, Role.USER, 0L,
+                Instant.now(), Instant.now().plusSeconds(600));
+        when(jwtService.verify("access")).thenReturn(accessToken);
+
+        // Sin revocar la familia de refresh tokens no se revoca el access token: el logout se reintenta entero
+        assertThatThrownBy(() -> service.logout("Bearer access")).isInstanceOf(IllegalStateException.class);
+        verify(tokenRevocationService, never()).revoke(any(), any());
+    }
+
+    @Test
+    void shouldReportDuplicatePhone_asPhoneConflict() {
+        persistUser("jane@test.com", "999111222");
+
+        assertThatThrownBy(() -> authenticationService.register(registerRequest("other@test.com", "999111222")))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("phone")
+                .hasMessageContaining("999111222");
+    }
+
+    @Test
+    void shouldReportDuplicateEmail_asEmailConflict() {
+        persistUser("jane@test.com", "999111222");
+
+        assertThatThrownBy(() -> authenticationService.register(registerRequest("jane@test.com", "999333444")))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("email")
+                .hasMessageContaining("jane@test.com");
+    }
+
+    @Test
+    void shouldMapConstraintName_toConflictingField() {
+        persistUser("jane@test.com", "999111222");
+        TransactionTemplate failing = mock(TransactionTemplate.class);
+        doThrow(new ConstraintViolationException("duplicate", new SQLException("duplicate", "23505"), "uk_superuser_phone"))
+                .when(failing).executeWithoutResult(any());
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(any())).thenReturn("hashed");
+        AuthenticationService service = new AuthenticationService(entityManager, passwordEncoder, jwtService,
+                mock(AuthenticationManager.class), mock(NotificationService.class), mock(AuditService.class),
+                mock(ApplicationEventPublisher.class), tokenRevocationService, refreshTokenService,
+                mock(LoginThrottle.class), failing);
+
+        // El email también existe, pero manda el nombre de la restricción violada
+        assertThatThrownBy(() -> service.register(registerRequest("jane@test.com", "999555666")))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("phone");
+    }
+
+    private RegisterRequestDTO registerRequest(String email, String phone) {
+        RegisterRequestDTO request = new RegisterRequestDTO();
+        request.setFirstName("John");
+        request.setLastName("Doe");
+        request.setEmail(email);
+        request.setPassword("password123");
+        request.setPhone(phone);
+        request.setRole(Role.USER);
+        return request;
+    }
+
+    private User persistUser(String email, String phone) {
+        User user = new User();
+        user.setFirstName("Jane");
+        user.setLastName("Smith");
+        user.setEmail(email);
+        user.setPhone(phone);
+        user.setPasswordHash("hashed");
+        user.setRegisterDate(LocalDate.now());
+        user.setRole(Role.USER);
+        user.setEnabled(true);
+        entityManager.persist(user);
+        entityManager.flush();
+        return user;
+    }
+}
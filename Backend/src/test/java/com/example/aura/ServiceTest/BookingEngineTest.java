@@ -0,0 +1,206 @@
+package com.example.aura.ServiceTest;
+
+import com.example.aura.Booking.BookingEngine;
+import com.example.aura.Booking.BookingHold;
+import com.example.aura.Booking.BookingSlot;
+import com.example.aura.Booking.HeldSlot;
+import com.example.aura.Booking.TechnicianDay;
+import com.example.aura.Entity.Reservation.Repository.ReservationHoldRepository;
+import com.example.aura.Entity.Reservation.Repository.ReservationRepository;
+import com.example.aura.Exception.ConflictException;
+import com.example.aura.Exception.InvalidOperationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingEngineTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 15);
+
+    private ReservationRepository reservationRepository;
+    private ReservationHoldRepository holdRepository;
+    private BookingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository = mock(ReservationRepository.class);
+        when(reservationRepository.findBookingSlots(any(), any(), any())).thenReturn(List.of());
+        holdRepository = mock(ReservationHoldRepository.class);
+        when(holdRepository.findHeldSlots(any(), any(), any())).thenReturn(List.of());
+        engine = new BookingEngine(reservationRepository, holdRepository, 64, 10_000, 30, 60);
+    }
+
+    @Test
+    void shouldRejectOverlap_butAllowAdjacentSlots() {
+        engine.hold(1L, DAY, LocalTime.of(10, 0), LocalTime.of(11, 0)).attach(100L);
+
+        engine.hold(1L, DAY, LocalTime.of(11, 0), LocalTime.of(12, 0)).attach(101L);
+        engine.hold(1L, DAY, LocalTime.of(9, 0), LocalTime.of(10, 0)).attach(102L);
+
+        assertThatThrownBy(() -> engine.hold(1L, DAY, LocalTime.of(10, 30), LocalTime.of(11, 30)))
+                .isInstanceOf(ConflictException.class);
+        assertThatThrownBy(() -> engine.hold(1L, DAY, LocalTime.of(8, 0), LocalTime.of(13, 0)))
+                .isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    void shouldKeepTechniciansAndDaysIndependent() {
+        engine.hold(1L, DAY, LocalTime.of(10, 0), LocalTime.of(11, 0)).attach(100L);
+
+        engine.hold(2L, DAY, LocalTime.of(10, 0), LocalTime.of(11, 0)).attach(200L);
+        engine.hold(1L, DAY.plusDays(1), LocalTime.of(10, 0), LocalTime.of(11, 0)).attach(300L);
+
+        assertThat(engine.stats()).containsEntry("conflicts", 0L);
+    }
+
+    @Test
+    void shouldWarmIndexLazilyFromRepository_oncePerDay() {
+        when(reservationRepository.findBookingSlots(eq(5L), eq(DAY), any()))
+                .thenReturn(List.of(new BookingSlot(50L, LocalTime.of(14, 0), null)));
+
+        assertThatThrownBy(() -> engine.hold(5L, DAY, LocalTime.of(14, 30), LocalTime.of(15, 30)))
+                .isInstanceOf(ConflictException.class);
+        engine.hold(5L, DAY, LocalTime.of(15, 0), LocalTime.of(16, 0)).attach(51L);
+
+        verify(reservationRepository, times(1)).findBookingSlots(eq(5L), eq(DAY), any());
+    }
+
+    @Test
+    void shouldIgnoreOwnSlot_whenRescheduling() {
+        engine.hold(1L, DAY, LocalTime.of(10, 0), LocalTime.of(11, 0)).attach(100L);
+
+        BookingHold moved = engine.hold(1L, DAY, LocalTime.of(10, 30), LocalTime.of(11, 30),
+                new TechnicianDay(1L, DAY), 100L);
+        moved.attach(100L);
+
+        engine.hold(1L, DAY, LocalTime.of(9, 30), LocalTime.of(10, 30)).attach(101L);
+    }
+
+    @Test
+    void shouldFreeSlot_whenReleased() {
+        engine.hold(1L, DAY, LocalTime.of(10, 0), LocalTime.of(11, 0)).attach(100L);
+
+        engine.release(1L, DAY, 100L);
+
+        engine.hold(1L, DAY, LocalTime.of(10, 0), LocalTime.of(11, 0)).attach(101L);
+    }
+
+    @Test
+    void shouldCountCheckoutHolds_untilTheyExpire() {
+        engine.placeHold(1L, 1L, DAY, LocalTime.of(10, 0), LocalTime.of(11, 0), LocalDateTime.now().plusMinutes(10));
+        engine.placeHold(2L, 1L, DAY, LocalTime.of(12, 0), LocalTime.of(13, 0), LocalDateTime.now().minusSeconds(1));
+
+        assertThatThrownBy(() -> engine.hold(1L, DAY, LocalTime.of(10, 30), LocalTime.of(11, 30)))
+                .isInstanceOf(ConflictException.class);
+        assertThatThrownBy(() -> engine.placeHold(3L, 1L, DAY, LocalTime.of(9, 30), LocalTime.of(10, 30),
+                LocalDateTime.now().plusMinutes(10))).isInstanceOf(ConflictException.class);
+        engine.hold(1L, DAY, LocalTime.of(12, 0), LocalTime.of(13, 0)).attach(100L);
+    }
+
+    @Test
+    void shouldTurnClaimedHoldIntoReservation_withoutRecheckingOverlap() {
+        engine.placeHold(7L, 1L, DAY, LocalTime.of(10, 0), LocalTime.of(11, 0), LocalDateTime.now().plusMinutes(10));
+
+        engine.claimHold(7L, 1L, DAY, LocalTime.of(10, 0), LocalTime.of(11, 0)).attach(700L);
+
+        assertThatThrownBy(() -> engine.hold(1L, DAY, LocalTime.of(10, 0), LocalTime.of(11, 0)))
+                .isInstanceOf(ConflictException.class);
+        engine.release(1L, DAY, 700L);
+        engine.hold(1L, DAY, LocalTime.of(10, 0), LocalTime.of(11, 0)).attach(701L);
+    }
+
+    @Test
+    void shouldReloadActiveHoldsFromDatabase_whenWarmingIndex() {
+        when(holdRepository.findHeldSlots(eq(5L), eq(DAY), any())).thenReturn(List.of(
+                new HeldSlot(9L, LocalTime.of(14, 0), LocalTime.of(15, 0), LocalDateTime.now().plusMinutes(5))));
+
+        assertThatThrownBy(() -> engine.hold(5L, DAY, LocalTime.of(14, 30), LocalTime.of(15, 30)))
+                .isInstanceOf(ConflictException.class);
+        engine.claimHold(9L, 5L, DAY, LocalTime.of(14, 0), LocalTime.of(15, 0)).attach(90L);
+
+        assertThat(engine.stats()).containsEntry("conflicts", 1L);
+    }
+
+    @Test
+    void shouldRejectSlotsCrossingMidnight() {
+        assertThat(engine.resolveEnd(LocalTime.of(9, 0), null)).isEqualTo(LocalTime.of(10, 0));
+        assertThatThrownBy(() -> engine.resolveEnd(LocalTime.of(23, 30), null))
+                .isInstanceOf(InvalidOperationException.class);
+        assertThatThrownBy(() -> engine.resolveEnd(LocalTime.of(10, 0), LocalTime.of(9, 0)))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    @Test
+    void shouldNeverDoubleBook_underConcurrentHolds() throws Exception {
+        int threads = 16;
+        int attemptsPerThread = 5_000;
+        int technicians = 200;
+        Map<Long, List<BookingSlot>> accepted = new ConcurrentHashMap<>();
+        AtomicLong reservationIds = new AtomicLong();
+        AtomicLong conflicts = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    long technicianId = random.nextLong(1, technicians + 1);
+                    LocalTime from = LocalTime.of(8, 0).plusMinutes(30L * random.nextInt(24));
+                    LocalTime to = from.plusMinutes(30L * random.nextInt(1, 4));
+                    try {
+                        BookingHold hold = engine.hold(technicianId, DAY, from, to);
+                        long id = reservationIds.incrementAndGet();
+                        hold.attach(id);
+                        accepted.computeIfAbsent(technicianId, k -> new CopyOnWriteArrayList<>())
+                                .add(new BookingSlot(id, from, to));
+                    } catch (ConflictException ex) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        // El rendimiento se mide en Benchmark/BookingEngineBenchmark; aquí solo la corrección
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+
+        long total = (long) threads * attemptsPerThread;
+        assertThat(reservationIds.get() + conflicts.get()).isEqualTo(total);
+
+        accepted.values().forEach(slots -> {
+            List<BookingSlot> sorted = new ArrayList<>(slots);
+            sorted.sort(Comparator.comparing(BookingSlot::start));
+            for (int i = 1; i < sorted.size(); i++) {
+                assertThat(sorted.get(i - 1).end()).isBeforeOrEqualTo(sorted.get(i).start());
+            }
+        });
+    }
+}
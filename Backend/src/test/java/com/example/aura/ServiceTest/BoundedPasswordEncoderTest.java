@@ -0,0 +1,103 @@
+package com.example.aura.ServiceTest;
+
+import com.example.aura.Exception.ServiceUnavailableException;
+import com.example.aura.Security.Service.BoundedPasswordEncoder;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    void shouldEncodeAndMatch_whenPoolHasCapacity() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(2, 4, 5000, 2, 4, 250, 4, 4);
+
+        String hash = encoder.encode("secret123");
+
+        assertThat(hash).startsWith("$2a$04$");
+        assertThat(encoder.matches("secret123", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        encoder.destroy();
+    }
+
+    @Test
+    void shouldRequestUpgrade_onlyWhenStoredCostIsLower() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(1, 1, 5000, 2, 5, 250, 4, 4);
+
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret123"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("secret123"))).isFalse();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret123"))).isFalse();
+        assertThat(encoder.upgradeEncoding("not-a-bcrypt-hash")).isFalse();
+        encoder.destroy();
+    }
+
+    @Test
+    void shouldPickCostWithinBounds_whenCalibrating() {
+        int cost = BoundedPasswordEncoder.calibrate(10_000, 4, 6);
+
+        assertThat(cost).isBetween(4, 6);
+        assertThat(BoundedPasswordEncoder.calibrate(0, 5, 8)).isEqualTo(5);
+    }
+
+    @Test
+    void shouldShedWithRetryHint_whenQueueIsFull() throws InterruptedException {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(1, 1, 30000, 3, 4, 250, 4, 4);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Ocupa el único hilo del pool hasta que el test lo suelte, sin depender del cost
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> encoder.encode(blockingPassword(started, release)));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        while ((int) encoder.stats().get("queued") < 1) {
+            Thread.sleep(5);
+        }
+
+        assertThatThrownBy(() -> encoder.encode("third"))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .satisfies(ex -> assertThat(((ServiceUnavailableException) ex).getRetryAfterSeconds()).isEqualTo(3L));
+        assertThat(encoder.stats().get("rejected")).isEqualTo(1L);
+
+        release.countDown();
+        assertThat(first.join()).startsWith("$2a$04$");
+        assertThat(second.join()).startsWith("$2a$04$");
+        encoder.destroy();
+    }
+
+    private static CharSequence blockingPassword(CountDownLatch started, CountDownLatch release) {
+        String password = "blocked";
+        return new CharSequence() {
+            @Override
+            public int length() {
+                return password.length();
+            }
+
+            @Override
+            public char charAt(int index) {
+                return password.charAt(index);
+            }
+
+            @Override
+            public CharSequence subSequence(int start, int end) {
+                return password.subSequence(start, end);
+            }
+
+            // BCryptPasswordEncoder lee la contraseña con toString() dentro del hilo del pool
+            @Override
+            public String toString() {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return password;
+            }
+        };
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.aura.ServiceTest;
+
+import com.example.aura.Calendar.Service.CalendarFeedService;
+import com.example.aura.Calendar.Service.CalendarFeedService.CalendarFeed;
+import com.example.aura.Calendar.Service.CalendarFeedSigner;
+import com.example.aura.Calendar.Service.IcsRenderer;
+import com.example.aura.Entity.Reservation.DTO.ReservationCalendarEntry;
+import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+import com.example.aura.Entity.Reservation.Repository.ReservationRepository;
+import com.example.aura.Entity.Superuser.Domain.Superuser;
+import com.example.aura.Entity.Superuser.Repository.SuperuserRepository;
+import com.example.aura.Event.User.AccountChangedEvent;
+import com.example.aura.Exception.ForbiddenException;
+import com.example.aura.Security.Service.CurrentAccountService;
+import com.example.aura.Security.Service.TokenVersionCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CalendarFeedServiceTest {
+
+    private ReservationRepository reservationRepository;
+    private SuperuserRepository<Superuser> superuserRepository;
+    private CurrentAccountService currentAccountService;
+    private ApplicationEventPublisher eventPublisher;
+    private TokenVersionCache tokenVersionCache;
+    private CalendarFeedSigner signer;
+    private CalendarFeedService calendarFeedService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        reservationRepository = mock(ReservationRepository.class);
+        superuserRepository = mock(SuperuserRepository.class);
+        currentAccountService = mock(CurrentAccountService.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        tokenVersionCache = mock(TokenVersionCache.class);
+        when(tokenVersionCache.isCurrent(2L, 4L)).thenReturn(true);
+        signer = new CalendarFeedSigner("test-secret", tokenVersionCache);
+        calendarFeedService = new CalendarFeedService(reservationRepository, superuserRepository,
+                currentAccountService, signer, new IcsRenderer("UTC", 60), eventPublisher, 30, 180, 100, 900);
+    }
+
+    @Test
+    void shouldServeCachedFeed_untilTechnicianIsEvicted() {
+        when(reservationRepository.findCalendarEntries(eq(2L), any(), any()))
+                .thenReturn(List.of(entry(1L, ReservationStatus.CONFIRMED, LocalDateTime.of(2030, 1, 1, 8, 0))))
+                .thenReturn(List.of(entry(1L, ReservationStatus.CANCELLED, LocalDateTime.of(2030, 1, 2, 8, 0))));
+        String token = signer.sign(2L, 4L);
+
+        CalendarFeed first = calendarFeedService.getFeed(2L, token);
+        CalendarFeed cached = calendarFeedService.getFeed(2L, token);
+
+        assertThat(cached).isSameAs(first);
+        verify(reservationRepository, times(1)).findCalendarEntries(eq(2L), any(), any());
+        assertThat(first.etag()).startsWith("\"").endsWith("\"");
+
+        calendarFeedService.evict(List.of(2L));
+        CalendarFeed changed = calendarFeedService.getFeed(2L, token);
+
+        assertThat(changed.etag()).isNotEqualTo(first.etag());
+        assertThat(changed.body()).contains("STATUS:CANCELLED");
+        assertThat(calendarFeedService.stats()).containsEntry("renders", 2L).containsEntry("invalidations", 1L);
+    }
+
+    @Test
+    void shouldRejectTokens_forOtherTechniciansOrOldVersions() {
+        assertThatThrownBy(() -> calendarFeedService.getFeed(3L, signer.sign(2L, 4L)))
+                .isInstanceOf(ForbiddenException.class);
+        // Firma válida pero versión ya revocada (URL rotada)
+        assertThatThrownBy(() -> calendarFeedService.getFeed(2L, signer.sign(2L, 3L)))
+                .isInstanceOf(ForbiddenException.class);
+        assertThatThrownBy(() -> calendarFeedService.getFeed(2L, "4.forged"))
+                .isInstanceOf(ForbiddenException.class);
+        verify(reservationRepository, never()).findCalendarEntries(anyLong(), any(), any());
+    }
+
+    @Test
+    void shouldRotateFeedUrl_byBumpingTokenVersion() {
+        when(currentAccountService.currentAccountId()).thenReturn(2L);
+        when(currentAccountService.currentEmail()).thenReturn("bob@test.com");
+        when(superuserRepository.incrementTokenVersion(2L)).thenReturn(1);
+        when(superuserRepository.findActiveTokenVersionById(2L)).thenReturn(Optional.of(5L));
+
+        String url = calendarFeedService.rotateMyFeedUrl().getUrl();
+
+        verify(superuserRepository).incrementTokenVersion(2L);
+        verify(eventPublisher).publishEvent(any(AccountChangedEvent.class));
+        assertThat(url).endsWith("/technicians/2/feed.ics?token=" + signer.sign(2L, 5L));
+        assertThat(calendarFeedService.stats()).containsEntry("rotations", 1L);
+    }
+
+    @Test
+    void shouldRenderEscapedAndFoldedEvents() {
+        String address = "Av. Arequipa 123, Lima; piso 4, departamento 402, frente al parque Kennedy, Miraflores";
+        ReservationCalendarEntry entry = new ReservationCalendarEntry(7L, LocalDate.of(2030, 1, 7),
+                LocalTime.of(9, 0), null, address, ReservationStatus.PENDING,
+                LocalDateTime.of(2030, 1, 1, 8, 0), "Gasfitería", "José", "Núñez", "999888777");
+
+        String ics = new IcsRenderer("UTC", 90).render("Aura", List.of(entry));
+
+        assertThat(ics).startsWith("BEGIN:VCALENDAR\r\n").endsWith("END:VCALENDAR\r\n");
+        // Las líneas largas se pliegan con CRLF + espacio
+        assertThat(ics.replace("\r\n ", "")).contains("UID:reservation-7@aura\r\n", "DTSTART:20300107T090000Z\r\n",
+                "DTEND:20300107T103000Z\r\n", "STATUS:TENTATIVE\r\n",
+                "LOCATION:Av. Arequipa 123\\, Lima\\; piso 4\\, departamento 402\\, frente al parque Kennedy\\, Miraflores\r\n");
+        for (String line : ics.split("\r\n")) {
+            assertThat(line.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(75);
+        }
+    }
+
+    private static ReservationCalendarEntry entry(Long id, ReservationStatus status, LocalDateTime updatedAt) {
+        return new ReservationCalendarEntry(id, LocalDate.now().plusDays(2), LocalTime.of(9, 0), LocalTime.of(10, 0),
+                "123 Test St", status, updatedAt, "Plumbing", "Jane", "Smith", null);
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.aura.ServiceTest;
+
+import com.example.aura.Exception.ConflictException;
+import com.example.aura.Exception.InvalidOperationException;
+import com.example.aura.Idempotency.Domain.IdempotencyRecord;
+import com.example.aura.Idempotency.Domain.IdempotencyStatus;
+import com.example.aura.Idempotency.Repository.IdempotencyRecordRepository;
+import com.example.aura.Idempotency.Service.IdempotencyService;
+import com.example.aura.Idempotency.Service.IdempotencyService.IdempotentResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotencyServiceTest {
+
+    private static final String ID = "7:key-1";
+
+    record Payload(String value) {
+    }
+
+    private IdempotencyRecordRepository repository;
+    private IdempotencyService service;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(IdempotencyRecordRepository.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        service = new IdempotencyService(repository, transactionTemplate, new ObjectMapper(), 24, 60, 5_000);
+    }
+
+    @Test
+    void shouldRunActionDirectly_withoutKey() {
+        IdempotentResponse<Payload> response = service.execute(7L, null, new Payload("a"), Payload.class, this::create);
+
+        assertThat(response.replayed()).isFalse();
+        assertThat(executions).hasValue(1);
+        verify(repository, times(0)).saveAndFlush(any());
+    }
+
+    @Test
+    void shouldStoreResponse_andReplayItOnRetry() {
+        IdempotentResponse<Payload> first = service.execute(7L, "key-1", new Payload("a"), Payload.class, this::create);
+        verify(repository).complete(eq(ID), eq("{\"value\":\"created-1\"}"), any(),
+                eq(IdempotencyStatus.COMPLETED), eq(IdempotencyStatus.IN_PROGRESS));
+
+        duplicateOf(stored(IdempotencyStatus.COMPLETED, new Payload("a"), "{\"value\":\"created-1\"}"));
+        IdempotentResponse<Payload> retry = service.execute(7L, "key-1", new Payload("a"), Payload.class, this::create);
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.body()).isEqualTo(first.body());
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void shouldRejectKeyReuse_withDifferentBody() {
+        duplicateOf(stored(IdempotencyStatus.COMPLETED, new Payload("a"), "{\"value\":\"created-1\"}"));
+
+        assertThatThrownBy(() -> service.execute(7L, "key-1", new Payload("b"), Payload.class, this::create))
+                .isInstanceOf(InvalidOperationException.class);
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    void shouldReportConflict_whileAnotherNodeHoldsTheKey() {
+        duplicateOf(stored(IdempotencyStatus.IN_PROGRESS, new Payload("a"), null));
+        when(repository.takeOver(anyString(), anyString(), any(), any(), any(), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> service.execute(7L, "key-1", new Payload("a"), Payload.class, this::create))
+                .isInstanceOf(ConflictException.class);
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    void shouldReleaseKey_whenActionFails() {
+        assertThatThrownBy(() -> service.execute(7L, "key-1", new Payload("a"), Payload.class, () -> {
+            throw new ConflictException("slot taken");
+        })).isInstanceOf(ConflictException.class);
+
+        verify(repository).release(ID, IdempotencyStatus.IN_PROGRESS);
+    }
+
+    @Test
+    void shouldCoalesceConcurrentDuplicates_ontoSingleExecution() throws Exception {
+        int callers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        List<Future<IdempotentResponse<Payload>>> futures = new ArrayList<>();
+
+        for (int i = 0; i < callers; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return service.execute(7L, "key-1", new Payload("a"), Payload.class, () -> {
+                    // La primera ejecución espera a que el resto se haya unido a ella
+                    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                    while ((long) service.stats().get("coalesced") < callers - 1 && System.nanoTime() < deadline) {
+                        Thread.onSpinWait();
+                    }
+                    return create();
+                });
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        List<IdempotentResponse<Payload>> responses = new ArrayList<>();
+        for (Future<IdempotentResponse<Payload>> future : futures) {
+            responses.add(future.get());
+        }
+        assertThat(executions).hasValue(1);
+        assertThat(responses).extracting(IdempotentResponse::body).containsOnly(new Payload("created-1"));
+        assertThat(responses).filteredOn(IdempotentResponse::replayed).hasSize(callers - 1);
+        verify(repository, times(1)).saveAndFlush(any());
+    }
+
+    @Test
+    void shouldRejectOversizedKeys() {
+        assertThatThrownBy(() -> service.execute(7L, "k".repeat(256), new Payload("a"), Payload.class, this::create))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    private Payload create() {
+        return new Payload("created-" + executions.incrementAndGet());
+    }
+
+    private void duplicateOf(IdempotencyRecord existing) {
+        when(repository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(repository.findById(ID)).thenReturn(Optional.of(existing));
+    }
+
+    private IdempotencyRecord stored(IdempotencyStatus status, Payload request, String responseBody) {
+        Instant now = Instant.now();
+        String requestHash;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            requestHash = HexFormat.of().formatHex(digest.digest(
+                    new ObjectMapper().writeValueAsString(request).getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+        return new IdempotencyRecord(ID, requestHash, status, responseBody,
+                now.plusSeconds(60), now, now.plusSeconds(3600), false);
+    }
+}
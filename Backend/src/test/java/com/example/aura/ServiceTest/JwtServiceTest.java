@@ -0,0 +1,86 @@
+package com.example.aura.ServiceTest;
+
+import com.example.aura.Entity.User.Domain.User;
+import com.example.aura.Security.Domain.AuthPrincipal;
+import com.example.aura.Security.Domain.Role;
+import com.example.aura.Security.Domain.VerifiedToken;
+import com.example.aura.Security.Service.JwtService;
+import com.example.aura.Security.Service.VerifiedTokenCache;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(
+                "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437",
+                3600000L,
+                new VerifiedTokenCache(100)
+        );
+
+        user = new User();
+        user.setId(7L);
+        user.setEmail("john@test.com");
+        user.setPasswordHash("hashed");
+        user.setRole(Role.USER);
+        user.setEnabled(true);
+        user.setTokenVersion(3L);
+    }
+
+    @Test
+    void shouldCarryIdRoleAndVersion_whenTokenGeneratedForSuperuser() {
+        String token = jwtService.generateToken(user);
+
+        AuthPrincipal principal = jwtService.extractPrincipal(token);
+
+        assertThat(principal).isNotNull();
+        assertThat(principal.id()).isEqualTo(7L);
+        assertThat(principal.getUsername()).isEqualTo("john@test.com");
+        assertThat(principal.role()).isEqualTo(Role.USER);
+        assertThat(principal.tokenVersion()).isEqualTo(3L);
+        assertThat(principal.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void shouldReturnSameVerifiedToken_whenTokenVerifiedTwice() {
+        String token = jwtService.generateToken(user);
+
+        VerifiedToken first = jwtService.verify(token);
+        VerifiedToken second = jwtService.verify(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.subject()).isEqualTo("john@test.com");
+    }
+
+    @Test
+    void shouldRejectToken_whenSignatureIsTampered() {
+        String token = jwtService.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtService.verify(tampered)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void shouldRejectToken_whenTokenVersionIsStale() {
+        String token = jwtService.generateToken(user);
+        AuthPrincipal current = new AuthPrincipal(7L, "john@test.com", Role.USER, true, "hashed", 4L);
+
+        assertThat(jwtService.isTokenValid(token, current)).isFalse();
+    }
+
+    @Test
+    void shouldAcceptToken_whenTokenVersionMatches() {
+        String token = jwtService.generateToken(user);
+        AuthPrincipal current = new AuthPrincipal(7L, "john@test.com", Role.USER, true, "hashed", 3L);
+
+        assertThat(jwtService.isTokenValid(token, current)).isTrue();
+    }
+}
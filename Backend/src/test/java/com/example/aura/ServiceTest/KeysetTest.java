@@ -0,0 +1,76 @@
+package com.example.aura.ServiceTest;
+
+import com.example.aura.Exception.InvalidOperationException;
+import com.example.aura.Pagination.Cursor;
+import com.example.aura.Pagination.CursorPage;
+import com.example.aura.Pagination.Keyset;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 12, 30, 15);
+
+    private final Keyset<LocalDateTime> keyset = Keyset.dateTime("test.createdAt");
+
+    @Test
+    void shouldRoundTripCursor_whenIssuedBySameKeyset() {
+        String token = keyset.encode(NOW, 42L);
+
+        Cursor<LocalDateTime> cursor = keyset.decode(token);
+
+        assertThat(cursor.sortKey()).isEqualTo(NOW);
+        assertThat(cursor.id()).isEqualTo(42L);
+        assertThat(token).doesNotContain("test.createdAt");
+    }
+
+    @Test
+    void shouldStartFromSentinel_whenCursorMissing() {
+        Cursor<LocalDateTime> cursor = keyset.decode(null);
+
+        assertThat(cursor.sortKey()).isAfter(NOW);
+        assertThat(cursor.id()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void shouldRejectCursor_whenMalformedOrFromAnotherListing() {
+        String foreign = Keyset.dateTime("other.createdAt").encode(NOW, 1L);
+
+        assertThatThrownBy(() -> keyset.decode(foreign)).isInstanceOf(InvalidOperationException.class);
+        assertThatThrownBy(() -> keyset.decode("not-base64!")).isInstanceOf(InvalidOperationException.class);
+        assertThatThrownBy(() -> keyset.decode("dGVzdC5jcmVhdGVkQXR8eHx5")).isInstanceOf(InvalidOperationException.class);
+    }
+
+    @Test
+    void shouldTrimExtraRowAndEmitCursor_whenMoreRowsExist() {
+        List<Long> fetched = LongStream.rangeClosed(1, 6).boxed().toList();
+
+        CursorPage<Long> page = keyset.page(fetched, 5, id -> NOW.minusMinutes(id), id -> id);
+
+        assertThat(page.content()).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(keyset.decode(page.nextCursor())).isEqualTo(new Cursor<>(NOW.minusMinutes(5), 5L));
+    }
+
+    @Test
+    void shouldOmitCursor_whenLastPage() {
+        CursorPage<String> page = keyset.page(List.of(1L, 2L), 5, id -> NOW, id -> id).map(String::valueOf);
+
+        assertThat(page.content()).containsExactly("1", "2");
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldClampPageSize() {
+        assertThat(Keyset.clamp(0)).isEqualTo(Keyset.DEFAULT_SIZE);
+        assertThat(Keyset.clamp(10_000)).isEqualTo(Keyset.MAX_SIZE);
+        assertThat(keyset.limit(10).max()).isEqualTo(11);
+    }
+}
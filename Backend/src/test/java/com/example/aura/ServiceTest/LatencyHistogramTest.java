@@ -0,0 +1,62 @@
+package com.example.aura.ServiceTest;
+
+import com.example.aura.Security.Service.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyHistogramTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReportBucketPercentiles_whenSamplesRecorded() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(40));
+        }
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+
+        Map<String, Object> snapshot = histogram.snapshot();
+
+        assertThat(snapshot.get("count")).isEqualTo(100L);
+        assertThat(snapshot.get("p50Micros")).isEqualTo(50L);
+        assertThat(snapshot.get("p99Micros")).isEqualTo(50L);
+        assertThat(snapshot.get("maxMicros")).isEqualTo(3000L);
+        assertThat((Map<String, Object>) snapshot.get("buckets")).containsEntry("le_50us", 99L).containsEntry("le_5000us", 1L);
+    }
+
+    @Test
+    void shouldStartNewInterval_whenReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000);
+
+        Map<String, Object> interval = histogram.snapshotAndReset();
+
+        assertThat(interval.get("count")).isEqualTo(1L);
+        assertThat(histogram.snapshot().get("count")).isEqualTo(0L);
+        assertThat(histogram.snapshot().get("maxMicros")).isEqualTo(0L);
+    }
+
+    @Test
+    void shouldNotLoseSamples_whenRecordedConcurrently() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i * 100L);
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertThat(histogram.snapshot().get("count")).isEqualTo(80_000L);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.aura.ServiceTest;
+
+import com.example.aura.Exception.TooManyRequestsException;
+import com.example.aura.Security.Service.LoginThrottle;
+import com.example.aura.Security.Service.TokenBucket;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottleTest {
+
+    @Test
+    void shouldRejectWithRetryHint_whenEmailBucketExhausted() {
+        LoginThrottle throttle = new LoginThrottle(3, 3, 100, 100, 1000, 900);
+
+        for (int i = 0; i < 3; i++) {
+            throttle.checkAllowed("john@test.com", "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> throttle.checkAllowed("JOHN@test.com", "10.0.0.2"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .satisfies(ex -> assertThat(((TooManyRequestsException) ex).getRetryAfterSeconds()).isPositive());
+        throttle.checkAllowed("jane@test.com", "10.0.0.1");
+    }
+
+    @Test
+    void shouldRejectAcrossEmails_whenIpBucketExhausted() {
+        LoginThrottle throttle = new LoginThrottle(100, 100, 2, 2, 1000, 900);
+
+        throttle.checkAllowed("a@test.com", "10.0.0.1");
+        throttle.checkAllowed("b@test.com", "10.0.0.1");
+
+        assertThatThrownBy(() -> throttle.checkAllowed("c@test.com", "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(throttle.stats().get("rejectedByIp")).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldNotDrainIpBucket_whenEmailIsRejected() {
+        LoginThrottle throttle = new LoginThrottle(1, 1, 3, 3, 1000, 900);
+
+        throttle.checkAllowed("locked@test.com", "10.0.0.1");
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> throttle.checkAllowed("locked@test.com", "10.0.0.1"))
+                    .isInstanceOf(TooManyRequestsException.class);
+        }
+
+        // Solo el primer intento gastó un token de la IP
+        throttle.checkAllowed("a@test.com", "10.0.0.1");
+        throttle.checkAllowed("b@test.com", "10.0.0.1");
+        assertThat(throttle.stats()).containsEntry("rejectedByEmail", 5L).containsEntry("rejectedByIp", 0L);
+    }
+
+    @Test
+    void shouldRestoreAttempts_whenLoginSucceeds() {
+        LoginThrottle throttle = new LoginThrottle(1, 1, 100, 100, 1000, 900);
+
+        throttle.checkAllowed("john@test.com", "10.0.0.1");
+        throttle.reset("john@test.com");
+
+        throttle.checkAllowed("john@test.com", "10.0.0.1");
+    }
+
+    @Test
+    void shouldRefillOverTime_whenBucketEmpty() {
+        TokenBucket bucket = new TokenBucket(1, 60, 0);
+
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isPositive();
+        assertThat(bucket.tryConsume(TimeUnit.SECONDS.toNanos(1))).isZero();
+
+        bucket.refund();
+        bucket.refund();
+        assertThat(bucket.tryConsume(TimeUnit.SECONDS.toNanos(1))).isZero();
+        // El reembolso no supera la capacidad
+        assertThat(bucket.tryConsume(TimeUnit.SECONDS.toNanos(1))).isPositive();
+    }
+
+    @Test
+    void shouldGrantExactlyCapacity_whenConsumedConcurrently() throws Exception {
+        TokenBucket bucket = new TokenBucket(50, 0, 0);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int i = 0; i < 200; i++) {
+            pool.submit(() -> {
+                start.await();
+                if (bucket.tryConsume(0) == 0) {
+                    granted.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertThat(granted.get()).isEqualTo(50);
+    }
+}
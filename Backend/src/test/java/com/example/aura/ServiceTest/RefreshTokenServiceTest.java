@@ -0,0 +1,92 @@
+package com.example.aura.ServiceTest;
+
+import com.example.aura.Exception.UnauthorizedException;
+import com.example.aura.Security.Domain.RefreshToken;
+import com.example.aura.Security.Repository.RefreshTokenRepository;
+import com.example.aura.Security.Service.RefreshTokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, 30);
+    }
+
+    @Test
+    void shouldStoreOnlyHash_whenIssuingToken() {
+        String rawToken = refreshTokenService.issue(7L);
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertThat(captor.getValue().getTokenHash()).hasSize(64).isNotEqualTo(rawToken);
+        assertThat(captor.getValue().getAccountId()).isEqualTo(7L);
+    }
+
+    @Test
+    void shouldIssueNewTokenInSameFamily_whenRotating() {
+        RefreshToken stored = new RefreshToken(1L, "hash", 7L, "family-1",
+                Instant.now(), Instant.now().plus(1, ChronoUnit.DAYS), null);
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.markRotated(eq(1L), any())).thenReturn(1);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("raw-token");
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertThat(rotation.accountId()).isEqualTo(7L);
+        assertThat(rotation.refreshToken()).isNotEqualTo("raw-token");
+        assertThat(captor.getValue().getFamilyId()).isEqualTo("family-1");
+    }
+
+    @Test
+    void shouldRevokeFamily_whenRotatedTokenIsReused() {
+        RefreshToken stored = new RefreshToken(1L, "hash", 7L, "family-1",
+                Instant.now(), Instant.now().plus(1, ChronoUnit.DAYS), Instant.now());
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.markRotated(eq(1L), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("raw-token"))
+                .isInstanceOf(UnauthorizedException.class);
+        verify(refreshTokenRepository).deleteFamily("family-1");
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldRejectToken_whenUnknownOrExpired() {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("unknown"))
+                .isInstanceOf(UnauthorizedException.class);
+
+        RefreshToken expired = new RefreshToken(2L, "hash", 7L, "family-2",
+                Instant.now().minus(31, ChronoUnit.DAYS), Instant.now().minus(1, ChronoUnit.DAYS), null);
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(expired));
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("expired"))
+                .isInstanceOf(UnauthorizedException.class);
+        verify(refreshTokenRepository, never()).markRotated(any(), any());
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.aura.ServiceTest;
+
+import com.example.aura.Booking.BookingEngine;
+import com.example.aura.Entity.Reservation.DTO.ReservationOccurrenceDTO;
+import com.example.aura.Entity.Reservation.DTO.ReservationOccurrenceDTO.State;
+import com.example.aura.Entity.Reservation.DTO.ReservationRow;
+import com.example.aura.Entity.Reservation.Domain.RecurrenceFrequency;
+import com.example.aura.Entity.Reservation.Domain.Reservation;
+import com.example.aura.Entity.Reservation.Domain.ReservationSeries;
+import com.example.aura.Entity.Reservation.Domain.ReservationSeriesStatus;
+import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+import com.example.aura.Entity.Reservation.Repository.ReservationRepository;
+import com.example.aura.Entity.Reservation.Repository.ReservationSeriesRepository;
+import com.example.aura.Entity.Reservation.Service.ReservationSeriesService;
+import com.example.aura.Entity.Reservation.Service.ReservationService;
+import com.example.aura.Entity.TechnicianService.Domain.TechnicianService;
+import com.example.aura.Entity.TechnicianService.Domain.TechnicianServiceId;
+import com.example.aura.Entity.TechnicianService.Repository.TechnicianServiceRepository;
+import com.example.aura.Entity.User.Domain.User;
+import com.example.aura.Entity.User.Repository.UserRepository;
+import com.example.aura.Event.Reservation.ReservationChangedEvent;
+import com.example.aura.Event.Reservation.ReservationSlotFreedEvent;
+import com.example.aura.Exception.ConflictException;
+import com.example.aura.Exception.InvalidOperationException;
+import com.example.aura.Security.Domain.Role;
+import com.example.aura.Security.Service.CurrentAccountService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ReservationSeriesServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2030, 1, 7);
+
+    private ReservationSeriesRepository seriesRepository;
+    private ReservationRepository reservationRepository;
+    private ReservationService reservationService;
+    private CurrentAccountService currentAccountService;
+    private BookingEngine bookingEngine;
+    private ApplicationEventPublisher eventPublisher;
+    private ReservationSeriesService seriesService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        seriesRepository = mock(ReservationSeriesRepository.class);
+        reservationRepository = mock(ReservationRepository.class);
+        reservationService = mock(ReservationService.class);
+        currentAccountService = mock(CurrentAccountService.class);
+        bookingEngine = mock(BookingEngine.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        seriesService = new ReservationSeriesService(seriesRepository, reservationRepository, reservationService,
+                mock(UserRepository.class), mock(TechnicianServiceRepository.class), currentAccountService,
+                bookingEngine, eventPublisher, transactionTemplate,
+                7, 50, 366);
+    }
+
+    @Test
+    void shouldExpandMonthlyRule_keepingDayOfMonthAfterShortMonths() {
+        ReservationSeries series = series(RecurrenceFrequency.MONTHLY, 1, LocalDate.of(2030, 1, 31), null);
+
+        assertThat(series.occurrencesBetween(LocalDate.of(2030, 1, 1), LocalDate.of(2030, 4, 30)))
+                .containsExactly(LocalDate.of(2030, 1, 31), LocalDate.of(2030, 2, 28),
+                        LocalDate.of(2030, 3, 31), LocalDate.of(2030, 4, 30));
+    }
+
+    @Test
+    void shouldExpandOnlyRequestedWindow_andHonourOccurrenceLimit() {
+        ReservationSeries series = series(RecurrenceFrequency.WEEKLY, 2, LocalDate.of(2030, 1, 7), 30);
+
+        // Ventana a mitad de serie: no se recorren las ocurrencias anteriores
+        assertThat(series.occurrencesBetween(LocalDate.of(2030, 6, 1), LocalDate.of(2030, 6, 30)))
+                .containsExactly(LocalDate.of(2030, 6, 10), LocalDate.of(2030, 6, 24));
+        // 30 ocurrencias cada dos semanas: la última es inicio + 29 * 14 días
+        assertThat(series.occurrencesBetween(LocalDate.of(2031, 1, 1), LocalDate.of(2031, 12, 31)))
+                .containsExactly(LocalDate.of(2031, 1, 6), LocalDate.of(2031, 1, 20),
+                        LocalDate.of(2031, 2, 3), LocalDate.of(2031, 2, 17));
+        assertThat(series.isOccurrence(LocalDate.of(2030, 1, 14))).isFalse();
+        assertThat(series.isOccurrence(LocalDate.of(2030, 1, 21))).isTrue();
+    }
+
+    @Test
+    void shouldMergeMaterializedRowsIntoProjectedCalendar() {
+        ReservationSeries series = series(RecurrenceFrequency.WEEKLY, 1, LocalDate.of(2030, 1, 7), null);
+        series.setMaterializedThrough(LocalDate.of(2030, 1, 14));
+        when(seriesRepository.findById(1L)).thenReturn(Optional.of(series));
+        when(currentAccountService.hasRole(Role.ADMIN)).thenReturn(true);
+        when(reservationRepository.findOccurrences(anyCollection(), any(), any())).thenReturn(List.of(
+                new ReservationOccurrenceDTO(1L, LocalDate.of(2030, 1, 7), 500L, LocalDate.of(2030, 1, 8),
+                        LocalTime.of(9, 0), LocalTime.of(10, 0), ReservationStatus.CONFIRMED)));
+
+        List<ReservationOccurrenceDTO> occurrences = seriesService.getOccurrences(1L,
+                LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 31));
+
+        assertThat(occurrences).extracting(ReservationOccurrenceDTO::state).containsExactly(
+                State.MATERIALIZED, State.SKIPPED, State.PROJECTED, State.PROJECTED);
+        assertThat(occurrences.get(0).reservationId()).isEqualTo(500L);
+        assertThat(occurrences.get(0).serviceDate()).isEqualTo(LocalDate.of(2030, 1, 8));
+        assertThatThrownBy(() -> seriesService.getOccurrences(1L, TODAY, TODAY.plusYears(2)))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    @Test
+    void shouldMaterializeDueOccurrences_skippingConflicts() {
+        ReservationSeries series = series(RecurrenceFrequency.WEEKLY, 1, TODAY, null);
+        series.setMaterializedThrough(TODAY.minusDays(1));
+        when(seriesRepository.findDueIds(eq(ReservationSeriesStatus.ACTIVE), eq(TODAY.plusDays(7)), any()))
+                .thenReturn(List.of(1L));
+        when(seriesRepository.findById(1L)).thenReturn(Optional.of(series));
+        when(reservationRepository.findIdBySeriesOccurrence(eq(1L), any())).thenReturn(Optional.empty());
+        when(reservationService.book(any(Reservation.class)))
+                .thenThrow(new ConflictException("Technician 2 is already booked"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        int created = seriesService.materializeDue(TODAY);
+
+        assertThat(created).isEqualTo(1);
+        verify(reservationService, times(2)).book(any(Reservation.class));
+        verify(seriesRepository).advanceMaterializedThrough(eq(1L), eq(TODAY.plusDays(7)), any(LocalDateTime.class));
+        assertThat(seriesService.stats()).containsEntry("materialized", 1L).containsEntry("skipped", 1L);
+    }
+
+    @Test
+    void shouldCancelSeries_notifyingOnlyLockedReservations() {
+        ReservationSeries series = series(RecurrenceFrequency.WEEKLY, 1, TODAY, null);
+        when(seriesRepository.findById(1L)).thenReturn(Optional.of(series));
+        when(currentAccountService.hasRole(Role.ADMIN)).thenReturn(true);
+        when(reservationRepository.findSeriesReservationIds(eq(1L), any(), any())).thenReturn(List.of(500L, 501L, 502L));
+        // 501 cambió de estado entre la lectura y el bloqueo
+        when(reservationRepository.lockTransitionable(eq(List.of(500L, 501L, 502L)), anyCollection()))
+                .thenReturn(List.of(500L, 502L));
+        List<ReservationRow> rows = List.of(row(500L, TODAY.plusDays(1)), row(502L, TODAY.plusDays(1)));
+        when(reservationRepository.findRowsByIds(List.of(500L, 502L))).thenReturn(rows);
+
+        seriesService.cancelSeries(1L);
+
+        verify(reservationRepository).transitionAll(eq(List.of(500L, 502L)), eq(ReservationStatus.CANCELLED),
+                any(LocalDateTime.class));
+        verify(bookingEngine).release(2L, TODAY.plusDays(1), 500L);
+        verify(bookingEngine).release(2L, TODAY.plusDays(1), 502L);
+        ArgumentCaptor<ApplicationEvent> events = ArgumentCaptor.forClass(ApplicationEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues()).filteredOn(ReservationSlotFreedEvent.class::isInstance).hasSize(1);
+        assertThat(events.getAllValues()).filteredOn(ReservationChangedEvent.class::isInstance)
+                .singleElement()
+                .extracting(event -> ((ReservationChangedEvent) event).getReservationIds())
+                .isEqualTo(List.of(500L, 502L));
+    }
+
+    @Test
+    void shouldNotPublishChange_whenNoReservationIsStillCancellable() {
+        when(seriesRepository.findById(1L)).thenReturn(Optional.of(series(RecurrenceFrequency.WEEKLY, 1, TODAY, null)));
+        when(currentAccountService.hasRole(Role.ADMIN)).thenReturn(true);
+        when(reservationRepository.findSeriesReservationIds(eq(1L), any(), any())).thenReturn(List.of(500L));
+        when(reservationRepository.lockTransitionable(any(), anyCollection())).thenReturn(List.of());
+
+        seriesService.cancelSeries(1L);
+
+        verify(reservationRepository, never()).transitionAll(any(), any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private static ReservationRow row(Long id, LocalDate serviceDate) {
+        ReservationRow row = mock(ReservationRow.class);
+        when(row.id()).thenReturn(id);
+        when(row.technicianId()).thenReturn(2L);
+        when(row.serviceDate()).thenReturn(serviceDate);
+        return row;
+    }
+
+    private static ReservationSeries series(RecurrenceFrequency frequency, int interval, LocalDate start, Integer count) {
+        User user = new User();
+        user.setId(10L);
+        user.setRole(Role.USER);
+        TechnicianService technicianService = new TechnicianService();
+        technicianService.setId(new TechnicianServiceId(2L, 3L));
+
+        ReservationSeries series = new ReservationSeries();
+        series.setId(1L);
+        series.setUser(user);
+        series.setTechnicianService(technicianService);
+        series.setFrequency(frequency);
+        series.setInterval(interval);
+        series.setStartDate(start);
+        series.setOccurrenceCount(count);
+        series.setStartTime(LocalTime.of(9, 0));
+        series.setEndTime(LocalTime.of(10, 0));
+        series.setAddress("123 Test St");
+        series.setStatus(ReservationSeriesStatus.ACTIVE);
+        series.setMaterializedThrough(start.minusDays(1));
+        return series;
+    }
+}
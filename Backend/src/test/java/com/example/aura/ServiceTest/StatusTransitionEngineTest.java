@@ -0,0 +1,72 @@
+package com.example.aura.ServiceTest;
+
+import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+import com.example.aura.Exception.ForbiddenException;
+import com.example.aura.Exception.InvalidOperationException;
+import com.example.aura.Exception.ResourceNotFoundException;
+import com.example.aura.Transition.StatusTransitionEngine;
+import com.example.aura.Transition.TransitionResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StatusTransitionEngineTest {
+
+    private final StatusTransitionEngine engine = new StatusTransitionEngine();
+
+    @Test
+    void shouldReturnAffectedRowsWithoutLookup_whenUpdateApplies() {
+        AtomicBoolean looked = new AtomicBoolean();
+
+        TransitionResult<ReservationStatus> result = engine.apply("Reservation", 1L, ReservationStatus.TRANSITIONS,
+                ReservationStatus.CONFIRMED,
+                sources -> sources.contains(ReservationStatus.PENDING) ? 1 : 0,
+                id -> {
+                    looked.set(true);
+                    return Optional.empty();
+                });
+
+        assertThat(result.applied()).isTrue();
+        assertThat(result.affectedRows()).isEqualTo(1);
+        assertThat(looked).isFalse();
+    }
+
+    @Test
+    void shouldReportInvalidState_whenCurrentStatusIsNotASource() {
+        TransitionResult<ReservationStatus> result = engine.apply("Reservation", 1L, ReservationStatus.TRANSITIONS,
+                ReservationStatus.CONFIRMED, sources -> 0, id -> Optional.of(ReservationStatus.COMPLETED));
+
+        assertThat(result.outcome()).isEqualTo(TransitionResult.Outcome.INVALID_STATE);
+        assertThatThrownBy(result::orThrow).isInstanceOf(InvalidOperationException.class);
+    }
+
+    @Test
+    void shouldReportForbidden_whenStatusAllowedButOwnershipFails() {
+        TransitionResult<ReservationStatus> result = engine.apply("Reservation", 1L, ReservationStatus.TRANSITIONS,
+                ReservationStatus.CONFIRMED, sources -> 0, id -> Optional.of(ReservationStatus.PENDING));
+
+        assertThatThrownBy(result::orThrow).isInstanceOf(ForbiddenException.class);
+    }
+
+    @Test
+    void shouldReportNotFound_whenRowMissing() {
+        TransitionResult<ReservationStatus> result = engine.apply("Reservation", 1L, ReservationStatus.TRANSITIONS,
+                ReservationStatus.CONFIRMED, sources -> 0, id -> Optional.empty());
+
+        assertThatThrownBy(result::orThrow).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void shouldNeverRunUpdate_whenTargetHasNoSources() {
+        TransitionResult<ReservationStatus> result = engine.apply("Reservation", 1L, ReservationStatus.TRANSITIONS,
+                ReservationStatus.PENDING, sources -> {
+                    throw new AssertionError("update must not run");
+                }, id -> Optional.of(ReservationStatus.CONFIRMED));
+
+        assertThat(result.outcome()).isEqualTo(TransitionResult.Outcome.INVALID_STATE);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.aura.ServiceTest;
+
+import com.example.aura.Security.Domain.RevokedToken;
+import com.example.aura.Security.Domain.Role;
+import com.example.aura.Security.Domain.VerifiedToken;
+import com.example.aura.Security.Repository.RevokedTokenRepository;
+import com.example.aura.Security.Service.TokenRevocationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationService revocationService;
+
+    @BeforeEach
+    void setUp() {
+        when(revokedTokenRepository.findActiveTokenIds(any())).thenReturn(List.of("already-revoked"));
+        revocationService = new TokenRevocationService(revokedTokenRepository, 1000, 0.01);
+        revocationService.init();
+    }
+
+    @Test
+    void shouldNotHitDatabase_whenTokenNeverRevoked() {
+        boolean revoked = revocationService.isRevoked("fresh-token");
+
+        assertThat(revoked).isFalse();
+        verify(revokedTokenRepository, never()).existsById(any());
+    }
+
+    @Test
+    void shouldConfirmInDatabase_whenLoadedOnRebuild() {
+        when(revokedTokenRepository.existsById("already-revoked")).thenReturn(true);
+
+        assertThat(revocationService.isRevoked("already-revoked")).isTrue();
+    }
+
+    @Test
+    void shouldPersistAndFlagToken_whenRevoked() {
+        VerifiedToken token = token("jti-1", Instant.now().plus(1, ChronoUnit.HOURS));
+        when(revokedTokenRepository.existsById("jti-1")).thenReturn(true);
+
+        revocationService.revoke(token, 7L);
+
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+        assertThat(revocationService.isRevoked("jti-1")).isTrue();
+    }
+
+    @Test
+    void shouldSkipPersistence_whenTokenAlreadyExpired() {
+        VerifiedToken token = token("jti-2", Instant.now().minus(1, ChronoUnit.MINUTES));
+
+        revocationService.revoke(token, 7L);
+
+        verify(revokedTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldPickUpRevocationsFromOtherNodes_whenSyncing() {
+        when(revokedTokenRepository.findTokenIdsRevokedSince(any(), any())).thenReturn(List.of("remote-jti"));
+        when(revokedTokenRepository.existsById("remote-jti")).thenReturn(true);
+
+        revocationService.syncIncrementally();
+
+        assertThat(revocationService.isRevoked("remote-jti")).isTrue();
+    }
+
+    private VerifiedToken token(String tokenId, Instant expiresAt) {
+        return new VerifiedToken(tokenId, "john@test.com", 7L, Role.USER, 0L, Instant.now(), expiresAt);
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.aura.ServiceTest;
+
+import com.example.aura.Booking.BookingEngine;
+import com.example.aura.Entity.Reservation.DTO.ReservationRequestDTO;
+import com.example.aura.Entity.Reservation.Domain.Reservation;
+import com.example.aura.Entity.Reservation.Domain.WaitlistEntry;
+import com.example.aura.Entity.Reservation.Domain.WaitlistStatus;
+import com.example.aura.Entity.Reservation.Repository.WaitlistRepository;
+import com.example.aura.Entity.Reservation.Service.ReservationService;
+import com.example.aura.Entity.Reservation.Service.WaitlistService;
+import com.example.aura.Entity.Service.Domain.Service;
+import com.example.aura.Entity.TechnicianService.Domain.TechnicianService;
+import com.example.aura.Entity.TechnicianService.Domain.TechnicianServiceId;
+import com.example.aura.Entity.TechnicianService.Repository.TechnicianServiceRepository;
+import com.example.aura.Entity.User.Domain.User;
+import com.example.aura.Entity.User.Repository.UserRepository;
+import com.example.aura.Event.Reservation.WaitlistPromotedEvent;
+import com.example.aura.Exception.ConflictException;
+import com.example.aura.Exception.InvalidOperationException;
+import com.example.aura.Security.Service.CurrentAccountService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WaitlistServiceTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(3);
+
+    private WaitlistRepository waitlistRepository;
+    private ReservationService reservationService;
+    private TechnicianServiceRepository technicianServiceRepository;
+    private BookingEngine bookingEngine;
+    private ApplicationEventPublisher eventPublisher;
+    private WaitlistService waitlistService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        waitlistRepository = mock(WaitlistRepository.class);
+        reservationService = mock(ReservationService.class);
+        technicianServiceRepository = mock(TechnicianServiceRepository.class);
+        bookingEngine = mock(BookingEngine.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        CurrentAccountService currentAccountService = mock(CurrentAccountService.class);
+        when(currentAccountService.currentAccountId()).thenReturn(10L);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+
+        waitlistService = new WaitlistService(waitlistRepository, reservationService, mock(UserRepository.class),
+                technicianServiceRepository, currentAccountService, bookingEngine, eventPublisher,
+                transactionTemplate, 20);
+    }
+
+    @Test
+    void shouldPromoteInArrivalOrder_keepingBlockedEntriesQueued() {
+        when(waitlistRepository.findQueue(eq(2L), eq(DAY), eq(WaitlistStatus.WAITING), any()))
+                .thenReturn(List.of(1L, 2L, 3L));
+        when(waitlistRepository.transition(any(), eq(WaitlistStatus.WAITING), eq(WaitlistStatus.PROMOTED), any()))
+                .thenReturn(1);
+        when(waitlistRepository.findById(1L)).thenReturn(Optional.of(entry(1L, LocalTime.of(9, 0))));
+        when(waitlistRepository.findById(2L)).thenReturn(Optional.of(entry(2L, LocalTime.of(10, 0))));
+        when(waitlistRepository.findById(3L)).thenReturn(Optional.of(entry(3L, LocalTime.of(10, 0))));
+        // La primera sigue ocupada, la segunda cabe y la tercera choca con la recién promovida
+        when(reservationService.bookWithoutNotification(any(Reservation.class), eq("WAITLIST_PROMOTED")))
+                .thenThrow(new ConflictException("Technician 2 is already booked"))
+                .thenAnswer(invocation -> {
+                    Reservation reservation = invocation.getArgument(0);
+                    reservation.setId(500L);
+                    return reservation;
+                })
+                .thenThrow(new ConflictException("Technician 2 is already booked"));
+
+        int promoted = waitlistService.promote(2L, DAY);
+
+        assertThat(promoted).isEqualTo(1);
+        ArgumentCaptor<WaitlistPromotedEvent> event = ArgumentCaptor.forClass(WaitlistPromotedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertThat(event.getValue().getWaitlistEntryId()).isEqualTo(2L);
+        assertThat(event.getValue().getReservationId()).isEqualTo(500L);
+        assertThat(waitlistService.stats()).containsEntry("promoted", 1L).containsEntry("stillBlocked", 2L);
+    }
+
+    @Test
+    void shouldSkipEntryClaimedElsewhere() {
+        when(waitlistRepository.findQueue(eq(2L), eq(DAY), eq(WaitlistStatus.WAITING), any())).thenReturn(List.of(1L));
+        when(waitlistRepository.transition(eq(1L), eq(WaitlistStatus.WAITING), eq(WaitlistStatus.PROMOTED), any()))
+                .thenReturn(0);
+
+        assertThat(waitlistService.promote(2L, DAY)).isZero();
+        verify(reservationService, never()).bookWithoutNotification(any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void shouldRejectJoin_whenSlotIsFree() {
+        TechnicianService technicianService = technicianService();
+        when(technicianServiceRepository.findById(technicianService.getId())).thenReturn(Optional.of(technicianService));
+        when(bookingEngine.resolveEnd(any(), any())).thenReturn(LocalTime.of(10, 0));
+        when(bookingEngine.isFree(2L, DAY, LocalTime.of(9, 0), LocalTime.of(10, 0))).thenReturn(true);
+
+        assertThatThrownBy(() -> waitlistService.join(new ReservationRequestDTO(2L, 3L, DAY,
+                LocalTime.of(9, 0), null, "123 Test St"))).isInstanceOf(InvalidOperationException.class);
+        verify(waitlistRepository, never()).save(any());
+    }
+
+    private static WaitlistEntry entry(Long id, LocalTime start) {
+        User user = new User();
+        user.setId(10L);
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setId(id);
+        entry.setUser(user);
+        entry.setTechnicianService(technicianService());
+        entry.setServiceDate(DAY);
+        entry.setStartTime(start);
+        entry.setEndTime(start.plusHours(1));
+        entry.setAddress("123 Test St");
+        entry.setStatus(WaitlistStatus.PROMOTED);
+        return entry;
+    }
+
+    private static TechnicianService technicianService() {
+        Service service = new Service();
+        service.setId(3L);
+        service.setName("Plumbing");
+        TechnicianService technicianService = new TechnicianService();
+        technicianService.setId(new TechnicianServiceId(2L, 3L));
+        technicianService.setService(service);
+        return technicianService;
+    }
+}
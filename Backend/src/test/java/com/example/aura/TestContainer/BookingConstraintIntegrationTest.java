@@ -0,0 +1,140 @@
+package com.example.aura.TestContainer;
+
+import com.example.aura.Booking.BookingConstraintInitializer;
+import com.example.aura.Entity.Reservation.Domain.Reservation;
+import com.example.aura.Entity.Reservation.Domain.ReservationStatus;
+import com.example.aura.Entity.Service.Domain.Service;
+import com.example.aura.Entity.Service.Domain.ServiceCategory;
+import com.example.aura.Entity.Technician.Domain.Technician;
+import com.example.aura.Entity.TechnicianService.Domain.TechnicianService;
+import com.example.aura.Entity.TechnicianService.Domain.TechnicianServiceId;
+import com.example.aura.Entity.User.Domain.User;
+import com.example.aura.Security.Domain.Role;
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Ejecuta overlapQuery() y constraintDdl() contra el esquema real que genera Hibernate
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BookingConstraintIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private BookingConstraintInitializer initializer;
+    private User testUser;
+    private TechnicianService technicianService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        initializer = new BookingConstraintInitializer(jdbcTemplate, true, 60);
+
+        testUser = new User();
+        testUser.setFirstName("Jane");
+        testUser.setLastName("Smith");
+        testUser.setEmail("jane@test.com");
+        testUser.setPasswordHash("hashed");
+        testUser.setRegisterDate(LocalDate.now());
+        testUser.setRole(Role.USER);
+        testUser.setEnabled(true);
+        entityManager.persistAndFlush(testUser);
+
+        Technician technician = new Technician();
+        technician.setFirstName("Bob");
+        technician.setLastName("Builder");
+        technician.setEmail("bob@test.com");
+        technician.setPasswordHash("hashed");
+        technician.setRegisterDate(LocalDate.now());
+        technician.setRole(Role.TECHNICIAN);
+        technician.setEnabled(true);
+        entityManager.persistAndFlush(technician);
+
+        Service service = new Service();
+        service.setName("Plumbing");
+        service.setCategory(ServiceCategory.PLUMBING);
+        entityManager.persistAndFlush(service);
+
+        technicianService = new TechnicianService();
+        technicianService.setId(new TechnicianServiceId(technician.getId(), service.getId()));
+        technicianService.setTechnician(technician);
+        technicianService.setService(service);
+        technicianService.setBaseRate(50.0);
+        entityManager.persistAndFlush(technicianService);
+    }
+
+    @Test
+    void shouldCreateConstraint_andRejectOverlappingBookings() {
+        entityManager.persistAndFlush(reservation(LocalTime.of(10, 0), LocalTime.of(11, 0), ReservationStatus.CONFIRMED));
+        // Una cancelada no bloquea agenda
+        entityManager.persistAndFlush(reservation(LocalTime.of(10, 30), LocalTime.of(11, 30), ReservationStatus.CANCELLED));
+
+        initializer.createExclusionConstraint();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_constraint WHERE conname = 'reservation_no_technician_overlap'",
+                Long.class)).isEqualTo(1L);
+        assertThatThrownBy(() -> entityManager.persistAndFlush(
+                reservation(LocalTime.of(10, 30), LocalTime.of(11, 30), ReservationStatus.PENDING)))
+                .isInstanceOf(PersistenceException.class);
+    }
+
+    @Test
+    void shouldFailStartup_whenActiveReservationsAlreadyOverlap() {
+        entityManager.persistAndFlush(reservation(LocalTime.of(10, 0), LocalTime.of(11, 0), ReservationStatus.CONFIRMED));
+        // Sin hora de fin ocupa la duración por defecto (60 min)
+        entityManager.persistAndFlush(reservation(LocalTime.of(10, 30), null, ReservationStatus.PENDING));
+
+        assertThatThrownBy(() -> initializer.createExclusionConstraint())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageStartingWith("1 overlapping active reservations");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_constraint WHERE conname = 'reservation_no_technician_overlap'",
+                Long.class)).isZero();
+    }
+
+    private Reservation reservation(LocalTime start, LocalTime end, ReservationStatus status) {
+        Reservation reservation = new Reservation();
+        reservation.setUser(testUser);
+        reservation.setTechnicianService(technicianService);
+        reservation.setReservationDate(LocalDate.now());
+        reservation.setServiceDate(LocalDate.now().plusDays(5));
+        reservation.setStartTime(start);
+        reservation.setEndTime(end);
+        reservation.setAddress("123 Test St");
+        reservation.setStatus(status);
+        reservation.setCreatedAt(LocalDateTime.now());
+        reservation.setUpdatedAt(LocalDateTime.now());
+        return reservation;
+    }
+}